@@ -1,5 +1,7 @@
 package com.marketsystem.api.v1.cart.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import lombok.Setter;
 @AllArgsConstructor
 public class CartResponseDto {
     private Long customerId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long productId;
     private Integer quantity;
     private String createdAt;
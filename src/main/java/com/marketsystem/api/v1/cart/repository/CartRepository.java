@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
-public interface CartRepository extends JpaRepository<Cart, CartId> {
+public interface CartRepository extends JpaRepository<Cart, CartId>, CartUpsertRepository {
     List<Cart> findByCustomerId(Long customerId);
 
     @Query("SELECT c FROM Cart c JOIN FETCH c.product WHERE c.customer.id = :customerId")
@@ -0,0 +1,26 @@
+package com.marketsystem.api.v1.cart.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA 엔터티를 거치지 않고 장바구니 수량을 한 문장씩 원자적으로 증감하는 커스텀 리포지토리
+ */
+public interface CartUpsertRepository {
+
+    /**
+     * 상품별 수량을 장바구니에 더하는 메서드.
+     * 상품마다 {@code INSERT ... SELECT ... ON DUPLICATE KEY UPDATE quantity = quantity + ?} 한 문장을 만들어 하나의 JDBC 배치로 전송한다.
+     * 수량을 늘리는 줄은 같은 문장 안에서 (기존 수량 + 추가 수량)이 재고 이하일 때만 반영된다.
+     * @param quantities 상품 ID별 증감 수량 (락 순서를 맞추기 위해 상품 ID 오름차순 권장)
+     * @param stockLimits 재고 원장을 쓸 때 상품 ID별 재고. 없는 상품은 상품 테이블의 재고와 비교한다.
+     * @return 고객이나 상품이 없거나 재고가 부족해 반영되지 않은 상품 ID 목록
+     */
+    List<Long> addQuantityAll(Long customerId, Map<Long, Integer> quantities, Map<Long, Integer> stockLimits);
+
+    /**
+     * 수량이 0 이하가 된 고객의 장바구니 항목을 한 문장으로 지우는 메서드.
+     * @return 삭제된 항목 수
+     */
+    int deleteEmptyLines(Long customerId);
+}
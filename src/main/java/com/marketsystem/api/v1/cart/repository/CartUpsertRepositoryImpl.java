@@ -0,0 +1,69 @@
+package com.marketsystem.api.v1.cart.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class CartUpsertRepositoryImpl implements CartUpsertRepository {
+
+    // 고객과 상품이 모두 있고, 수량을 줄이거나 (기존 수량 + 추가 수량) <= 재고일 때만 한 행을 넣거나 더함
+    // 재고는 상품 행과 핫 상품 버킷의 합 (Product.bucketStock 과 같은 식)
+    private static final String ADD_QUANTITY_SQL =
+            "INSERT INTO cart (customer_id, product_id, quantity, created_at, updated_at) "
+                    + "SELECT cu.id, p.id, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+                    + "FROM customer cu JOIN product p ON p.id = ? "
+                    + "LEFT JOIN cart c ON c.customer_id = cu.id AND c.product_id = p.id "
+                    + "WHERE cu.id = ? AND (? <= 0 OR COALESCE(c.quantity, 0) + ? <= COALESCE(CAST(? AS INTEGER), p.stock "
+                    + "+ COALESCE((SELECT SUM(b.stock) FROM product_stock_bucket b WHERE b.product_id = p.id), 0))) "
+                    + "ON DUPLICATE KEY UPDATE quantity = cart.quantity + VALUES(quantity), updated_at = VALUES(updated_at)";
+
+    private static final String DELETE_EMPTY_LINES_SQL = "DELETE FROM cart WHERE customer_id = ? AND quantity <= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> addQuantityAll(Long customerId, Map<Long, Integer> quantities, Map<Long, Integer> stockLimits) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(ADD_QUANTITY_SQL, entries, entries.size(), (ps, entry) -> {
+            int quantity = entry.getValue();
+            ps.setInt(1, quantity);
+            ps.setLong(2, entry.getKey());
+            ps.setLong(3, customerId);
+            ps.setInt(4, quantity);
+            ps.setInt(5, quantity);
+            Integer limit = stockLimits.get(entry.getKey());
+            if (limit == null) {
+                ps.setNull(6, Types.INTEGER);
+            } else {
+                ps.setInt(6, limit);
+            }
+        });
+
+        // 영향받은 행이 0인 상품은 조건(고객/상품 존재, 재고)을 만족하지 못해 반영되지 않은 것
+        List<Long> ids = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0 || count == Statement.EXECUTE_FAILED) {
+                    ids.add(entries.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public int deleteEmptyLines(Long customerId) {
+        return jdbcTemplate.update(DELETE_EMPTY_LINES_SQL, customerId);
+    }
+}
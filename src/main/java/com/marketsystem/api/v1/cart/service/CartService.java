@@ -3,25 +3,23 @@ package com.marketsystem.api.v1.cart.service;
 import com.marketsystem.api.v1.cart.dto.CartItemDto;
 import com.marketsystem.api.v1.cart.dto.CartRequestDto;
 import com.marketsystem.api.v1.cart.entity.Cart;
-import com.marketsystem.api.v1.cart.entity.CartId;
 import com.marketsystem.api.v1.cart.repository.CartRepository;
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
-import com.marketsystem.api.v1.customer.entity.Customer;
 import com.marketsystem.api.v1.customer.repository.CustomerRepository;
 import com.marketsystem.api.v1.product.dto.ProductDto;
 import com.marketsystem.api.v1.product.entity.Product;
 import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,112 +29,80 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
     private static final Logger logger = LoggerFactory.getLogger(CartService.class);
 
     /**
-     * Cart에 상품을 등록하거나 수량 추가, 제거, 삭제하는 메서드
+     * Cart에 상품을 등록하거나 수량 추가, 제거, 삭제하는 메서드.
+     * 상품별 증감은 재고 조건을 포함한 upsert 한 문장씩 하나의 배치로 보내고, 수량이 0 이하가 된 항목은 한 문장으로 지운다.
+     * 기존 수량을 읽어 계산한 값을 덮어쓰지 않으므로 같은 상품을 동시에 담아도 수량이 유실되지 않는다.
      * @param cartRequestDto
      */
     @Transactional
     public void addToCart(CartRequestDto cartRequestDto) {
-        // 고객 조회
-        Customer customer = customerRepository.findById(cartRequestDto.getCustomerId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND));
-
-        // 요청된 모든 제품 ID 수집
-        Set<Long> productIds = cartRequestDto.getProductList().stream()
-                .map(CartRequestDto.Product::getProductId)
-                .collect(Collectors.toSet());
-
-        // 모든 제품을 한 번에 조회
-        List<Product> products = productRepository.findAllByIdIn(productIds);
+        Long customerId = cartRequestDto.getCustomerId();
 
-        // 제품 존재 여부 확인
-        if (products.size() != productIds.size()) {
-            List<Long> foundIds = products.stream()
-                    .map(Product::getId)
-                    .toList();
-            List<Long> notFoundIds = productIds.stream()
-                    .filter(id -> !foundIds.contains(id))
-                    .toList();
-            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product IDs not found: " + notFoundIds);
+        // 같은 상품은 수량을 합치고, 락 순서를 맞추기 위해 상품 ID 순으로 정렬
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (var p : cartRequestDto.getProductList()) {
+            quantities.merge(p.getProductId(), p.getQuantity(), Integer::sum);
+        }
+        if (quantities.isEmpty()) {
+            if (!customerRepository.existsById(customerId)) {
+                throw new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND);
+            }
+            return;
         }
 
-        // 제품 ID에 따른 매핑
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
-
-        // 장바구니 ID 수집
-        List<CartId> cartIds = cartRequestDto.getProductList().stream()
-                .map(p -> new CartId(customer.getId(), p.getProductId()))
+        // 재고 원장을 사용하면 수량을 늘리는 상품의 원장 재고를 조건 값으로 넘김
+        List<Long> increasedIds = quantities.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .map(Map.Entry::getKey)
                 .toList();
+        Map<Long, Integer> stockLimits = productStockService.ledgerAvailableStocks(increasedIds);
 
-        // 기존 장바구니 항목 한 번에 조회
-        List<Cart> existingCarts = cartRepository.findAllById(cartIds);
-        Map<CartId, Cart> existingCartMap = existingCarts.stream()
-                .collect(Collectors.toMap(Cart::getId, Function.identity()));
-
-        // 업데이트할 장바구니 리스트 초기화
-        List<Cart> cartsToSave = new ArrayList<>();
-        List<Cart> cartsToDelete = new ArrayList<>();
-
-        for (var p : cartRequestDto.getProductList()) {
-            var product = productMap.get(p.getProductId());
-            var cartId = new CartId(customer.getId(), product.getId());
-
-            // 기존 장바구니 수량
-            var existingCart = existingCartMap.get(cartId);
-            int existingQuantity = existingCart != null ? existingCart.getQuantity() : 0;
-
-            // 새로운 수량 합산
-            int newQuantity = existingQuantity + p.getQuantity();
-
-            // 재고 검사
-            if (product.getStock() < newQuantity) {
-                throw new BusinessException(ErrorCode.OUT_OF_STOCK,
-                        "Requested quantity: " + p.getQuantity() + ", Available: " + product.getStock());
-            }
-
-            if (existingCart != null) {
-                // 기존 장바구니 업데이트
-                updateQuantity(existingCart, p.getQuantity());
-                if (existingCart.getQuantity() <= 0) {
-                    cartsToDelete.add(existingCart);
-                } else {
-                    cartsToSave.add(existingCart);
-                }
-            } else {
-                // 새로운 장바구니 생성
-                var cart = new Cart(cartId, customer, product, p.getQuantity());
-                cartsToSave.add(cart);
-            }
+        List<Long> rejectedIds;
+        try {
+            rejectedIds = cartRepository.addQuantityAll(customerId, quantities, stockLimits);
+        } catch (PessimisticLockingFailureException e) {
+            throw new BusinessException(ErrorCode.CONFLICT, "Cart update conflict. Please try again.");
         }
-
-        // 삭제할 장바구니 항목을 한 번에 삭제
-        if (!cartsToDelete.isEmpty()) {
-            cartRepository.deleteAll(cartsToDelete);
+        if (!rejectedIds.isEmpty()) {
+            throw addToCartFailure(customerId, rejectedIds, quantities, stockLimits);
         }
 
-        // 저장할 장바구니 항목을 한 번에 저장
-        if (!cartsToSave.isEmpty()) {
-            try {
-                cartRepository.saveAll(cartsToSave);
-            } catch (OptimisticLockingFailureException e) {
-                throw new BusinessException(ErrorCode.CONFLICT, "Cart update conflict. Please try again.");
-            }
+        // 수량을 줄인 상품이 있으면 0 이하가 된 항목을 한 번에 삭제
+        if (quantities.values().stream().anyMatch(quantity -> quantity <= 0)) {
+            cartRepository.deleteEmptyLines(customerId);
         }
     }
 
-    protected void updateQuantity(Cart cart, int quantity) {
-        if(cart.getQuantity() + quantity <= 0) {
-             deleteCart(cart);
-        }else {
-            cart.addQuantity(quantity);
+    /**
+     * 반영되지 않은 상품이 있을 때만 원인을 조회해 예외를 만드는 메서드. 예외로 트랜잭션이 롤백되어 앞서 반영한 상품도 취소된다.
+     */
+    private BusinessException addToCartFailure(Long customerId, List<Long> rejectedIds,
+                                               Map<Long, Integer> quantities, Map<Long, Integer> stockLimits) {
+        if (!customerRepository.existsById(customerId)) {
+            return new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+
+        List<Product> products = productRepository.findAllByIdIn(new HashSet<>(rejectedIds));
+        if (products.size() != rejectedIds.size()) {
+            List<Long> foundIds = products.stream()
+                    .map(Product::getId)
+                    .toList();
+            List<Long> notFoundIds = rejectedIds.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .toList();
+            return new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product IDs not found: " + notFoundIds);
         }
-    }
 
-    protected void deleteCart(Cart cart) {
-        cartRepository.delete(cart);
+        Product product = products.stream()
+                .min(Comparator.comparing(Product::getId))
+                .orElseThrow();
+        int available = stockLimits.getOrDefault(product.getId(), product.getStock());
+        return new BusinessException(ErrorCode.OUT_OF_STOCK,
+                "Requested quantity: " + quantities.get(product.getId()) + ", Available: " + available);
     }
 
     /**
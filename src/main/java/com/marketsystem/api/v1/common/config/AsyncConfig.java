@@ -0,0 +1,60 @@
+package com.marketsystem.api.v1.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 결제 아웃박스 디스패처가 가져온 결제 요청과 결과 반영을 처리하는 스레드 풀.
+     * 디스패처는 큐에 남은 자리만큼만 아웃박스에서 가져오고, 큐가 가득 차면 거절된 요청을 아웃박스로 되돌린다.
+     * spring.threads.virtual.enabled 이면 가상 스레드를 사용하고, pool-size 는 동시 결제 호출 수 상한으로만 동작한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor orderPaymentExecutor(
+            @Value("${market.order.async.pool-size:16}") int poolSize,
+            @Value("${market.order.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-payment-");
+        // 종료 시 진행 중인 결제는 마무리하고, 결과를 반영하지 못한 주문은 대사 작업이 정리
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 상품 자동완성 목록을 만드는 스레드. 상품이 많으면 수 초가 걸리므로 다른 @Scheduled 작업이 쓰는 스케줄러 스레드를 막지 않도록 따로 둔다.
+     * 큐가 없어 이전 작업이 끝나지 않았으면 새 요청은 거절된다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productAutocompleteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("product-autocomplete-");
+        return executor;
+    }
+
+    /**
+     * 상품 검색 색인을 새로 만드는 스레드. 상품이 많으면 수 초가 걸리므로 카탈로그를 다시 읽는 스케줄러 스레드를 막지 않도록 따로 둔다.
+     * 큐가 없어 이전 작업이 끝나지 않았으면 새 요청은 거절된다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productSearchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("product-search-index-");
+        return executor;
+    }
+}
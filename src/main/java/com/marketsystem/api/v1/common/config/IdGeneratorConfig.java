@@ -0,0 +1,20 @@
+package com.marketsystem.api.v1.common.config;
+
+import com.marketsystem.api.v1.common.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Snowflake ID 생성기에 이 서버의 노드 ID(0-1023)를 넘겨주는 설정.
+ * 여러 대를 띄울 때는 서버마다 market.id.node-id 를 다르게 줘야 ID가 겹치지 않는다.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeNodeIdCustomizer(@Value("${market.id.node-id:0}") long nodeId) {
+        return properties -> properties.put(SnowflakeIdGenerator.NODE_ID_SETTING, nodeId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.marketsystem.api.v1.common.config;
+
+import com.marketsystem.api.v1.order.client.PaymentCircuitBreaker;
+import com.marketsystem.api.v1.order.client.PaymentGatewayInterceptor;
+import com.marketsystem.api.v1.order.client.PaymentGatewayMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * 결제 게이트웨이 전용 HTTP 클라이언트 설정.
+ * JDK HttpClient 는 HTTP/2 를 협상하면 커넥션 하나로 요청을 다중화하고, HTTP/1.1 이면 keep-alive 커넥션을 재사용한다.
+ * 게이트웨이가 응답하지 않아도 스레드가 무한정 묶이지 않도록 연결, 응답, 동시 요청 한도 대기에 모두 타임아웃을 둔다.
+ * 게이트웨이 장애가 이어지면 서킷 브레이커가 열려 타임아웃을 기다리지 않고 바로 실패시킨다.
+ */
+@Configuration
+public class PaymentClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public HttpClient paymentHttpClient(@Value("${market.payment.gateway.connect-timeout:PT1S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate paymentRestTemplate(
+            HttpClient paymentHttpClient,
+            PaymentGatewayMetrics paymentGatewayMetrics,
+            @Value("${market.payment.gateway.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${market.payment.gateway.max-concurrent-requests:200}") int maxConcurrentRequests,
+            @Value("${market.payment.gateway.acquire-timeout:PT0.5S}") Duration acquireTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(paymentHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new PaymentGatewayInterceptor(maxConcurrentRequests, acquireTimeout, paymentGatewayMetrics));
+        return restTemplate;
+    }
+
+    @Bean
+    public PaymentCircuitBreaker paymentCircuitBreaker(
+            PaymentGatewayMetrics paymentGatewayMetrics,
+            @Value("${market.payment.gateway.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${market.payment.gateway.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${market.payment.gateway.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${market.payment.gateway.circuit-breaker.slow-call-threshold:PT2S}") Duration slowCallThreshold,
+            @Value("${market.payment.gateway.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${market.payment.gateway.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+            @Value("${market.payment.gateway.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        return new PaymentCircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold,
+                slowCallRateThreshold, openDuration, halfOpenCalls, paymentGatewayMetrics);
+    }
+}
@@ -0,0 +1,48 @@
+package com.marketsystem.api.v1.common.config;
+
+import com.marketsystem.api.v1.order.client.stub.LatencyModel;
+import com.marketsystem.api.v1.order.client.stub.StubPaymentGateway;
+import com.marketsystem.api.v1.order.client.stub.StubPaymentGatewaySettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * stub-gateway 프로필에서 애플리케이션과 같은 프로세스에 결제 게이트웨이 스텁을 띄우는 설정.
+ * 프로필이 market.payment.gateway.url 을 스텁 주소로 바꾸므로 외부 결제 API 없이 주문/결제 흐름을 실행할 수 있다.
+ */
+@Configuration
+@Profile("stub-gateway")
+public class StubPaymentGatewayConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubPaymentGateway stubPaymentGateway(
+            @Value("${market.payment.stub.port:18080}") int port,
+            @Value("${market.payment.stub.backlog:1000}") int backlog,
+            @Value("${market.payment.stub.latency:fixed:100}") String latency,
+            @Value("${market.payment.stub.error-rate:0}") double errorRate,
+            @Value("${market.payment.stub.decline-rate:0}") double declineRate,
+            @Value("${market.payment.stub.timeout-rate:0}") double timeoutRate,
+            @Value("${market.payment.stub.slow-drip-rate:0}") double slowDripRate,
+            @Value("${market.payment.stub.timeout-hold:PT60S}") Duration timeoutHold,
+            @Value("${market.payment.stub.drip-interval:PT0.1S}") Duration dripInterval,
+            @Value("${market.payment.stub.callback-url:}") String callbackUrl,
+            @Value("${market.payment.webhook.secret:}") String webhookSecret) {
+        return new StubPaymentGateway(StubPaymentGatewaySettings.builder()
+                .port(port)
+                .backlog(backlog)
+                .latency(LatencyModel.parse(latency))
+                .errorRate(errorRate)
+                .declineRate(declineRate)
+                .timeoutRate(timeoutRate)
+                .slowDripRate(slowDripRate)
+                .timeoutHold(timeoutHold)
+                .dripInterval(dripInterval)
+                .callbackUrl(callbackUrl.isBlank() ? null : callbackUrl)
+                .webhookSecret(webhookSecret)
+                .build());
+    }
+}
@@ -0,0 +1,49 @@
+package com.marketsystem.api.v1.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * MVC 비동기 응답(StreamingResponseBody 등)의 스레드 풀과 제한 시간 설정.
+ * 결제 스레드 풀이 있으면 스프링 부트 기본 applicationTaskExecutor 가 만들어지지 않아 요청마다 스레드를 새로 만들게 되므로 직접 지정한다.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    // 상품 내보내기는 끝날 때까지 DB 커넥션을 하나 잡으므로 동시에 내보내는 수를 제한하고 나머지는 큐에서 기다림
+    @Value("${market.product.export.pool-size:4}")
+    private int poolSize = 4;
+
+    @Value("${market.product.export.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    // 큰 카탈로그 내보내기가 서블릿 기본 제한 시간(30초)에 끊기지 않도록 늘림
+    @Value("${market.product.export.timeout:PT30M}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+}
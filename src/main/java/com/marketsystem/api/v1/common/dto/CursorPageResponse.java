@@ -0,0 +1,20 @@
+package com.marketsystem.api.v1.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    // 다음 페이지 요청에 그대로 넘기는 값 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+    // 요청한 경우에만 채움 (짧은 시간 캐시한 값이라 근사치)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
@@ -21,6 +21,13 @@ public abstract class BaseEntity {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * JPA 콜백이 호출되지 않는 StatelessSession 으로 INSERT 할 때 생성/수정 시각을 채우는 메서드.
+     */
+    public void initTimestamps() {
+        onCreate();
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -4,6 +4,7 @@ public enum BusinessCode {
     SUCCESS(200, "SUCCESS"),
     UPDATE(200, "UPDATE"),
     CREATED(201, "CREATED"),
+    ACCEPTED(202, "ACCEPTED"),
     PRODUCT_DELETED(200, "PRODUCT_DELETED"),
     CART_CLEARED(200, "CART_CLEARED");
 
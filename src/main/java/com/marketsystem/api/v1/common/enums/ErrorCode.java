@@ -7,6 +7,8 @@ public enum ErrorCode {
     BAD_PARAMETER(400, "Bad parameter"),
     VALIDATION_ERROR(400, "Validation error"),
 
+    WEBHOOK_SIGNATURE_INVALID(401, "Invalid webhook signature"),
+
     CUSTOMER_NOT_FOUND(404, "Customer not found"),
     PRODUCT_NOT_FOUND(404, "Product not found"),
     ORDER_NOT_FOUND(404, "Order not found"),
@@ -16,7 +18,10 @@ public enum ErrorCode {
 
     NOT_FOUND(404, "Resource not found"),
     CONFLICT(409, "Conflict"),
+    IDEMPOTENCY_KEY_IN_PROGRESS(409, "Request with this Idempotency-Key is in progress"),
+    IDEMPOTENCY_KEY_MISMATCH(422, "Idempotency-Key was used for a different request"),
     PAYMENT_SERVER_ERROR(503, "Payment server error"),
+    PAYMENT_UNAVAILABLE(503, "Payment service unavailable"),
     INTERNAL_SERVER_ERROR(500, "Internal server error");
 
     private final int status;
@@ -0,0 +1,14 @@
+package com.marketsystem.api.v1.common.exception;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+
+/**
+ * 결제 요청을 게이트웨이에 보낸 뒤 발생한 오류.
+ * 이미 결제됐을 수 있으므로 Idempotency-Key 를 풀지 않고 같은 결과로 응답해야 한다.
+ */
+public class PaymentSentException extends BusinessException {
+
+    public PaymentSentException(ErrorCode errorCode, String additionalMessage) {
+        super(errorCode, additionalMessage);
+    }
+}
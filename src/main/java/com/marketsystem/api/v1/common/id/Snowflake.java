@@ -0,0 +1,63 @@
+package com.marketsystem.api.v1.common.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순으로 증가하는 64비트 ID 생성기. (Snowflake 방식)
+ * 부호 비트 0 | 기준 시각부터의 밀리초 41비트 | 노드 ID 10비트 | 같은 밀리초 안의 순번 12비트로 구성된다.
+ * 노드마다 밀리초당 4096개까지 만들고, 넘치면 다음 밀리초 값을 미리 당겨 쓴다.
+ * 시계가 뒤로 가도 마지막으로 쓴 시각부터 이어서 만들어 ID가 줄어들지 않는다.
+ * 동시에 떠 있는 서버끼리는 노드 ID가 달라야 한다.
+ */
+public class Snowflake {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long node;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public Snowflake(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    Snowflake(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be 0-" + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = clock.getAsLong() - EPOCH_MILLIS;
+        if (timestamp > lastTimestamp) {
+            lastTimestamp = timestamp;
+            sequence = 0;
+        } else if (++sequence > SEQUENCE_MASK) {
+            // 순번을 다 쓰면(또는 시계가 뒤로 가면) 마지막 시각의 다음 밀리초로 넘어감
+            lastTimestamp++;
+            sequence = 0;
+        }
+        return lastTimestamp << TIMESTAMP_SHIFT | node | sequence;
+    }
+
+    /**
+     * ID가 만들어진 시각(epoch 밀리초)을 반환하는 메서드.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
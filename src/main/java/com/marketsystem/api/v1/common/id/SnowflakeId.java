@@ -0,0 +1,18 @@
+package com.marketsystem.api.v1.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔티티 ID를 애플리케이션에서 Snowflake 방식으로 채우는 어노테이션.
+ * IDENTITY 와 달리 INSERT 전에 ID가 정해지므로 Hibernate 가 INSERT 를 JDBC 배치로 묶을 수 있다.
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
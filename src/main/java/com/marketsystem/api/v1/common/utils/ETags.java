@@ -0,0 +1,21 @@
+package com.marketsystem.api.v1.common.utils;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 응답 본문을 직렬화하지 않고 표현을 결정하는 값들로 강한 ETag 를 만드는 유틸리티
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * 값들을 '-' 로 이어 따옴표로 감싼 강한 ETag 를 반환하는 메서드. (예: "p-1-2024-12-05T10:00-50")
+     * 표현이 바뀌면 반드시 달라지는 값들만 넘겨야 한다.
+     */
+    public static String strong(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+}
@@ -0,0 +1,253 @@
+package com.marketsystem.api.v1.common.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * long 키에 대한 카운터 맵.
+ * 키는 박싱 없이 오픈 어드레싱 배열에 저장하고, 값은 키마다 하나의 AtomicLong 셀에 담아 CAS로 갱신한다.
+ * 키 추가는 스트라이프 단위 잠금 아래 테이블을 복사해 교체(copy-on-write)하므로, 조회와 값 갱신은 잠금 없이 동작한다.
+ */
+public class StripedLongCounterMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedLongCounterMap(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    /**
+     * 키의 카운터 셀을 반환하는 메서드. 없으면 null
+     */
+    public AtomicLong cell(long key) {
+        return stripeFor(key).table.find(key);
+    }
+
+    /**
+     * 키가 없으면 초기값으로 셀을 만들고, 있으면 기존 셀을 반환하는 메서드.
+     */
+    public AtomicLong cellOrCreate(long key, LongUnaryOperator initialValue) {
+        Stripe stripe = stripeFor(key);
+        AtomicLong cell = stripe.table.find(key);
+        if (cell != null) {
+            return cell;
+        }
+        stripe.lock.lock();
+        try {
+            cell = stripe.table.find(key);
+            if (cell == null) {
+                cell = new AtomicLong(initialValue.applyAsLong(key));
+                stripe.table = stripe.table.with(key, cell);
+            }
+            return cell;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 키의 값을 덮어쓰는 메서드. (초기 적재용)
+     */
+    public void put(long key, long value) {
+        cellOrCreate(key, k -> value).set(value);
+    }
+
+    /**
+     * 여러 키를 한 번에 적재하는 메서드. 스트라이프마다 테이블을 한 번만 다시 만든다.
+     */
+    public void putAll(long[] keys, long[] values, int length) {
+        for (int s = 0; s < stripes.length; s++) {
+            Stripe stripe = stripes[s];
+            stripe.lock.lock();
+            try {
+                Table table = stripe.table;
+                int count = 0;
+                for (int i = 0; i < length; i++) {
+                    if (((int) mix(keys[i]) & stripeMask) == s) {
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    continue;
+                }
+                long[] stripeKeys = new long[count];
+                AtomicLong[] stripeCells = new AtomicLong[count];
+                int n = 0;
+                for (int i = 0; i < length; i++) {
+                    if (((int) mix(keys[i]) & stripeMask) == s) {
+                        AtomicLong cell = table.find(keys[i]);
+                        if (cell != null) {
+                            cell.set(values[i]);
+                        } else {
+                            stripeKeys[n] = keys[i];
+                            stripeCells[n++] = new AtomicLong(values[i]);
+                        }
+                    }
+                }
+                stripe.table = table.withAll(stripeKeys, stripeCells, n);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 결과가 floor 이상일 때만 delta를 더하는 메서드.
+     * @return 반영 여부. 키가 없으면 false
+     */
+    public boolean tryAdd(long key, long delta, long floor) {
+        AtomicLong cell = cell(key);
+        if (cell == null) {
+            return false;
+        }
+        long current;
+        do {
+            current = cell.get();
+            if (current + delta < floor) {
+                return false;
+            }
+        } while (!cell.compareAndSet(current, current + delta));
+        return true;
+    }
+
+    public void remove(long key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.table = stripe.table.without(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.table = Table.EMPTY_TABLE;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.table.size;
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) mix(key) & stripeMask];
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table = Table.EMPTY_TABLE;
+    }
+
+    /**
+     * 한 번 공개된 뒤에는 변경되지 않는 오픈 어드레싱 테이블
+     */
+    private static final class Table {
+        private static final Table EMPTY_TABLE = new Table(8);
+
+        private final long[] keys;
+        private final AtomicLong[] cells;
+        private final int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            this.cells = new AtomicLong[capacity];
+            this.size = 0;
+        }
+
+        private Table(long[] keys, AtomicLong[] cells, int size) {
+            this.keys = keys;
+            this.cells = cells;
+            this.size = size;
+        }
+
+        private AtomicLong find(long key) {
+            int mask = keys.length - 1;
+            int i = (int) (mix(key) >>> 16) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    return cells[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private Table with(long key, AtomicLong cell) {
+            return withAll(new long[]{key}, new AtomicLong[]{cell}, 1);
+        }
+
+        private Table withAll(long[] addKeys, AtomicLong[] addCells, int count) {
+            if (count == 0) {
+                return this;
+            }
+            int capacity = keys.length;
+            // 적재율 0.5 이하 유지
+            while ((size + count) * 2 > capacity) {
+                capacity <<= 1;
+            }
+            long[] newKeys = new long[capacity];
+            Arrays.fill(newKeys, EMPTY);
+            AtomicLong[] newCells = new AtomicLong[capacity];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    insert(newKeys, newCells, keys[i], cells[i]);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                insert(newKeys, newCells, addKeys[i], addCells[i]);
+            }
+            return new Table(newKeys, newCells, size + count);
+        }
+
+        private Table without(long key) {
+            if (find(key) == null) {
+                return this;
+            }
+            long[] newKeys = new long[keys.length];
+            Arrays.fill(newKeys, EMPTY);
+            AtomicLong[] newCells = new AtomicLong[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && keys[i] != key) {
+                    insert(newKeys, newCells, keys[i], cells[i]);
+                }
+            }
+            return new Table(newKeys, newCells, size - 1);
+        }
+
+        private static void insert(long[] keys, AtomicLong[] cells, long key, AtomicLong cell) {
+            int mask = keys.length - 1;
+            int i = (int) (mix(key) >>> 16) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            cells[i] = cell;
+        }
+    }
+}
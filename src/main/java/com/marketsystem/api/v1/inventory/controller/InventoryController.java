@@ -0,0 +1,29 @@
+package com.marketsystem.api.v1.inventory.controller;
+
+import com.marketsystem.api.v1.common.enums.BusinessCode;
+import com.marketsystem.api.v1.common.utils.CommonResponse;
+import com.marketsystem.api.v1.inventory.dto.InventoryStockResponseDto;
+import com.marketsystem.api.v1.inventory.service.InventoryQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/inventory")
+@RestController
+public class InventoryController {
+
+    private final InventoryQueryService inventoryQueryService;
+
+    @GetMapping("/{productId}/stock")
+    public ResponseEntity<?> getStockAt(
+            @PathVariable long productId,
+            @RequestParam(value = "at", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        InventoryStockResponseDto res = inventoryQueryService.getStockAt(productId, at != null ? at : LocalDateTime.now());
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+}
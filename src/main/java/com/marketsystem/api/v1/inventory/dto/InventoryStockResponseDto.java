@@ -0,0 +1,19 @@
+package com.marketsystem.api.v1.inventory.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class InventoryStockResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    private LocalDateTime at;
+    private Integer stock;
+}
@@ -0,0 +1,54 @@
+package com.marketsystem.api.v1.inventory.entity;
+
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고가 움직인 이유를 남기는 재고 이벤트. 추가만 하고 수정하거나 지우지 않는다.
+ */
+@Entity
+@Table(name = "inventory_event", indexes = {
+        @Index(name = "idx_inventory_event_product_id_id", columnList = "product_id, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class InventoryEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private InventoryEventType type;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    // 상품 재고의 증감분 (quantity * type.stockSign)
+    @Column(name = "stock_delta", nullable = false)
+    private int stockDelta;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Builder
+    public InventoryEvent(Long id, Long productId, InventoryEventType type, int quantity, Long orderId, LocalDateTime occurredAt) {
+        this.id = id;
+        this.productId = productId;
+        this.type = type;
+        this.quantity = quantity;
+        this.stockDelta = quantity * type.getStockSign();
+        this.orderId = orderId;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.marketsystem.api.v1.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품별 재고 이벤트를 lastEventId까지 누적한 재고 스냅샷.
+ * 특정 시점의 재고는 그 시점 이전의 최신 스냅샷에 이후 이벤트만 더해 구한다.
+ */
+@Entity
+@Table(name = "inventory_snapshot", indexes = {
+        @Index(name = "idx_inventory_snapshot_product_id_taken_at", columnList = "product_id, taken_at"),
+        @Index(name = "idx_inventory_snapshot_product_id_last_event_id", columnList = "product_id, last_event_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "stock", nullable = false)
+    private int stock;
+
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,53 @@
+package com.marketsystem.api.v1.inventory.entity;
+
+import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성부터 결제 완료까지 상품 재고를 점유하는 엔터티.
+ * 점유 시점에 상품 재고(stock)에서 미리 차감되므로 상품의 구매 가능 재고는 stock 컬럼 그대로이다.
+ */
+@Entity
+@Table(name = "stock_reservation", indexes = {
+        @Index(name = "idx_stock_reservation_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_stock_reservation_order_id", columnList = "order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockReservation extends BaseEntity {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public StockReservation(Long id, Long orderId, Long productId, Integer quantity, ReservationStatus status, LocalDateTime expiresAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.marketsystem.api.v1.inventory.enums;
+
+public enum InventoryEventType {
+    RESTOCK(1, "입고"),
+    WRITE_OFF(-1, "관리자 차감"),
+    RESERVE(-1, "주문 점유"),
+    RELEASE(1, "점유 해제"),
+    CONFIRM(0, "점유 판매 확정"),
+    SALE(-1, "점유 없이 판매");
+
+    // 상품 재고에 반영되는 방향 (점유 확정은 점유 시점에 이미 차감되어 0)
+    private final int stockSign;
+    private final String description;
+
+    InventoryEventType(int stockSign, String description) {
+        this.stockSign = stockSign;
+        this.description = description;
+    }
+
+    public int getStockSign() {
+        return stockSign;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
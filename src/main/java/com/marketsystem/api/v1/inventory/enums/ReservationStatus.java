@@ -0,0 +1,17 @@
+package com.marketsystem.api.v1.inventory.enums;
+
+public enum ReservationStatus {
+    HELD("재고 점유"),
+    CONFIRMED("점유 확정"),
+    RELEASED("점유 해제");
+
+    private final String description;
+
+    ReservationStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,7 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InventoryEventRepository extends JpaRepository<InventoryEvent, Long>, InventoryJournalRepository {
+}
@@ -0,0 +1,39 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 재고 이벤트와 스냅샷을 JDBC로 직접 다루는 커스텀 리포지토리
+ */
+public interface InventoryJournalRepository {
+
+    /**
+     * 재고 이벤트를 하나의 JDBC 배치로 추가하는 메서드.
+     */
+    void appendAll(List<InventoryEvent> events);
+
+    /**
+     * 마지막 스냅샷 이후의 이벤트를 상품별로 더해 새 스냅샷을 만드는 메서드.
+     * 이전 실행이 반영한 마지막 이벤트 ID 이후 범위만 읽는다.
+     * 자동 증가 ID는 커밋 순서와 다를 수 있으므로 MAX(id) 가 아니라 committedBefore 이전에 추가된 마지막 ID까지만 더한다.
+     * @param committedBefore 이 시각 이전에 추가된 이벤트는 모두 커밋되었다고 볼 수 있는 시각
+     * @return 스냅샷을 만든 상품 수
+     */
+    int snapshotSinceLast(LocalDateTime takenAt, LocalDateTime committedBefore);
+
+    /**
+     * 스냅샷도 이벤트도 없는 상품의 현재 재고를 시작 스냅샷으로 남기는 메서드.
+     * @return 스냅샷을 만든 상품 수
+     */
+    int snapshotOpening(LocalDateTime takenAt);
+
+    /**
+     * 특정 시점의 상품 재고를 조회하는 메서드. (그 시점 이전의 최신 스냅샷 + 이후 이벤트)
+     * @return 기록이 없는 상품이면 empty
+     */
+    Optional<Integer> findStockAt(Long productId, LocalDateTime at);
+}
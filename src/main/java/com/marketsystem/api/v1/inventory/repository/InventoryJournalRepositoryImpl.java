@@ -0,0 +1,97 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class InventoryJournalRepositoryImpl implements InventoryJournalRepository {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO inventory_event (product_id, type, quantity, stock_delta, order_id, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_WATERMARK_SQL = "SELECT COALESCE(MAX(last_event_id), 0) FROM inventory_snapshot";
+
+    // 워터마크 이후 이벤트 중 committedBefore 이전에 추가된 마지막 ID (기본 키 범위만 읽음)
+    private static final String SELECT_SAFE_EVENT_ID_SQL =
+            "SELECT COALESCE(MAX(id), 0) FROM inventory_event WHERE id > ? AND occurred_at <= ?";
+
+    // 상품별 최신 스냅샷 재고에 (watermark, safeId] 범위 이벤트를 더한다.
+    private static final String SNAPSHOT_SINCE_LAST_SQL =
+            "INSERT INTO inventory_snapshot (product_id, stock, last_event_id, taken_at) "
+                    + "SELECT e.product_id, "
+                    + "COALESCE((SELECT s.stock FROM inventory_snapshot s WHERE s.product_id = e.product_id "
+                    + "ORDER BY s.last_event_id DESC, s.id DESC LIMIT 1), 0) + SUM(e.stock_delta), MAX(e.id), ? "
+                    + "FROM inventory_event e WHERE e.id > ? AND e.id <= ? GROUP BY e.product_id";
+
+    private static final String SNAPSHOT_OPENING_SQL =
+            "INSERT INTO inventory_snapshot (product_id, stock, last_event_id, taken_at) "
+                    + "SELECT p.id, p.stock + COALESCE((SELECT SUM(b.stock) FROM product_stock_bucket b WHERE b.product_id = p.id), 0), ?, ? "
+                    + "FROM product p "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM inventory_snapshot s WHERE s.product_id = p.id) "
+                    + "AND NOT EXISTS (SELECT 1 FROM inventory_event e WHERE e.product_id = p.id)";
+
+    private static final String SELECT_STOCK_AT_SQL =
+            "SELECT s.stock + COALESCE((SELECT SUM(e.stock_delta) FROM inventory_event e "
+                    + "WHERE e.product_id = s.product_id AND e.id > s.last_event_id AND e.occurred_at <= ?), 0) "
+                    + "FROM inventory_snapshot s WHERE s.product_id = ? AND s.taken_at <= ? "
+                    + "ORDER BY s.taken_at DESC, s.id DESC LIMIT 1";
+
+    // 첫 스냅샷 이전 시점은 처음부터 더한다. (상품 생성 후 첫 스냅샷까지의 짧은 구간)
+    private static final String SELECT_STOCK_FROM_START_SQL =
+            "SELECT SUM(stock_delta) FROM inventory_event WHERE product_id = ? AND occurred_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(List<InventoryEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getProductId());
+            ps.setString(2, event.getType().name());
+            ps.setInt(3, event.getQuantity());
+            ps.setInt(4, event.getStockDelta());
+            if (event.getOrderId() != null) {
+                ps.setLong(5, event.getOrderId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+
+    @Override
+    public int snapshotSinceLast(LocalDateTime takenAt, LocalDateTime committedBefore) {
+        Long watermark = jdbcTemplate.queryForObject(SELECT_WATERMARK_SQL, Long.class);
+        Long safeEventId = jdbcTemplate.queryForObject(SELECT_SAFE_EVENT_ID_SQL, Long.class,
+                watermark, Timestamp.valueOf(committedBefore));
+        if (safeEventId <= watermark) {
+            return 0;
+        }
+        return jdbcTemplate.update(SNAPSHOT_SINCE_LAST_SQL, Timestamp.valueOf(takenAt), watermark, safeEventId);
+    }
+
+    @Override
+    public int snapshotOpening(LocalDateTime takenAt) {
+        Long watermark = jdbcTemplate.queryForObject(SELECT_WATERMARK_SQL, Long.class);
+        return jdbcTemplate.update(SNAPSHOT_OPENING_SQL, watermark, Timestamp.valueOf(takenAt));
+    }
+
+    @Override
+    public Optional<Integer> findStockAt(Long productId, LocalDateTime at) {
+        Timestamp timestamp = Timestamp.valueOf(at);
+        List<Integer> fromSnapshot = jdbcTemplate.queryForList(SELECT_STOCK_AT_SQL, Integer.class, timestamp, productId, timestamp);
+        if (!fromSnapshot.isEmpty()) {
+            return Optional.of(fromSnapshot.get(0));
+        }
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_STOCK_FROM_START_SQL, Integer.class, productId, timestamp));
+    }
+}
@@ -0,0 +1,21 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.entity.StockReservation;
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long>, StockReservationStatusRepository {
+    List<StockReservation> findByOrderIdAndStatus(Long orderId, ReservationStatus status);
+
+    // (status, expires_at) 인덱스를 타는 만료 대기열 조회
+    List<StockReservation> findByStatusAndExpiresAtLessThanEqualOrderByExpiresAtAsc(ReservationStatus status, LocalDateTime now, Limit limit);
+
+    @Query("SELECT r.productId, SUM(r.quantity) FROM StockReservation r WHERE r.status = :status GROUP BY r.productId")
+    List<Object[]> sumQuantityByProduct(@Param("status") ReservationStatus status);
+}
@@ -0,0 +1,15 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+
+import java.util.List;
+
+public interface StockReservationStatusRepository {
+
+    /**
+     * 점유 상태를 조건부로 전이시키는 메서드.
+     * 확정과 만료 해제가 동시에 일어나도 한쪽만 성공하도록 {@code WHERE status = from} 조건으로 배치 갱신한다.
+     * @return 실제로 상태가 전이된 점유 ID 목록
+     */
+    List<Long> transitionAll(List<Long> ids, ReservationStatus from, ReservationStatus to);
+}
@@ -0,0 +1,41 @@
+package com.marketsystem.api.v1.inventory.repository;
+
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockReservationStatusRepositoryImpl implements StockReservationStatusRepository {
+
+    private static final String TRANSITION_SQL =
+            "UPDATE stock_reservation SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> transitionAll(List<Long> ids, ReservationStatus from, ReservationStatus to) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(TRANSITION_SQL, ids, ids.size(), (ps, id) -> {
+            ps.setString(1, to.name());
+            ps.setLong(2, id);
+            ps.setString(3, from.name());
+        });
+
+        List<Long> transitioned = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    transitioned.add(ids.get(index));
+                }
+                index++;
+            }
+        }
+        return transitioned;
+    }
+}
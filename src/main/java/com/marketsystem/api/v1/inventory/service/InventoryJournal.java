@@ -0,0 +1,118 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.repository.InventoryEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 변경 이유를 inventory_event 테이블에 추가만 하는 재고 저널.
+ * <p>
+ * 이벤트는 재고를 바꾼 트랜잭션 안에서 하나의 JDBC 배치로 추가하므로, 재고 변경이 커밋되면 이벤트도 함께 커밋된다.
+ * 주기적으로 상품별 스냅샷을 남겨, 특정 시점 재고를 전체 이력 대신 최신 스냅샷과 이후 이벤트만으로 구할 수 있게 한다.
+ * 자동 증가 ID는 커밋 순서와 다를 수 있으므로, 스냅샷은 snapshot-lag 보다 오래된(이미 커밋된) 이벤트까지만 더한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryJournal implements SmartLifecycle {
+
+    private final InventoryEventRepository inventoryEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(InventoryJournal.class);
+
+    @Value("${market.inventory.journal.enabled:true}")
+    private boolean enabled = true;
+
+    // 이벤트를 추가한 트랜잭션이 이 시간 안에 끝난다고 보고, 이보다 오래된 이벤트까지만 스냅샷에 더함
+    @Value("${market.inventory.journal.snapshot-lag:PT1M}")
+    private Duration snapshotLag = Duration.ofMinutes(1);
+
+    private volatile boolean running;
+
+    /**
+     * 상품별 수량만큼 같은 종류의 재고 이벤트를 기록하는 메서드.
+     */
+    public void append(InventoryEventType type, Long orderId, Map<Long, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        append(quantities.entrySet().stream()
+                .map(e -> InventoryEvent.builder()
+                        .productId(e.getKey())
+                        .type(type)
+                        .quantity(e.getValue())
+                        .orderId(orderId)
+                        .occurredAt(now)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * 재고 이벤트를 기록하는 메서드. 트랜잭션 안이면 같은 트랜잭션에서 추가하고, 밖이면 새 트랜잭션에서 바로 추가한다.
+     */
+    public void append(List<InventoryEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            inventoryEventRepository.appendAll(events);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> inventoryEventRepository.appendAll(events));
+    }
+
+    /**
+     * 마지막 스냅샷 이후 이벤트가 있는 상품의 스냅샷을 남기는 메서드.
+     * 아직 커밋되지 않은 트랜잭션의 이벤트를 건너뛰지 않도록 snapshot-lag 이전에 추가된 이벤트까지만 더한다.
+     */
+    @Scheduled(fixedDelayString = "${market.inventory.journal.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int count = transactionTemplate.execute(status ->
+                inventoryEventRepository.snapshotSinceLast(now, now.minus(snapshotLag)));
+        if (count > 0) {
+            logger.info("Inventory snapshot taken for {} product(s)", count);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            int count = transactionTemplate.execute(status -> inventoryEventRepository.snapshotOpening(LocalDateTime.now()));
+            if (count > 0) {
+                logger.info("Inventory opening snapshot taken for {} product(s)", count);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버보다 먼저 시작하고 나중에 종료
+        return 0;
+    }
+}
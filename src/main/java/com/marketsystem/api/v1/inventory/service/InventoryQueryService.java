@@ -0,0 +1,28 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.inventory.dto.InventoryStockResponseDto;
+import com.marketsystem.api.v1.inventory.repository.InventoryEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryQueryService {
+
+    private final InventoryEventRepository inventoryEventRepository;
+
+    /**
+     * 재고 저널로 특정 시점의 상품 재고를 구하는 메서드.
+     */
+    @Transactional(readOnly = true)
+    public InventoryStockResponseDto getStockAt(Long productId, LocalDateTime at) {
+        int stock = inventoryEventRepository.findStockAt(productId, at)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "No inventory history. Product ID: " + productId));
+        return new InventoryStockResponseDto(productId, at, stock);
+    }
+}
@@ -0,0 +1,279 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.common.utils.StripedLongCounterMap;
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import com.marketsystem.api.v1.inventory.repository.StockReservationRepository;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.repository.OrderItemRepository;
+import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.service.HotStockBucketService;
+import com.marketsystem.api.v1.product.service.ProductCache;
+import com.marketsystem.api.v1.product.service.ProductCatalog;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품별 구매 가능 재고를 메모리에서 관리하는 재고 원장. (market.stock.ledger.enabled=true 일 때만 사용)
+ * <p>
+ * 점유/해제는 메모리 카운터의 CAS로만 처리하고, 확정된 판매 수량은 주기적으로 모아 상품 테이블에 반영(write-behind)한다.
+ * 핫 상품의 판매 수량은 상품 행이 아니라 버킷 재고에서 차감한다.
+ * 반영 전 장애가 나면 재시작 시 stock_applied = false 인 결제 완료 주문의 order_items를 다시 반영한 뒤 원장을 적재한다.
+ * 원장 모드를 켜고 끌 때는 HELD 상태의 점유가 남아있지 않은 상태에서 재시작해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockLedger implements SmartLifecycle {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final OrdersRepository ordersRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCache productCache;
+    private final ProductCatalog productCatalog;
+    private final HotStockBucketService hotStockBucketService;
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    @Value("${market.stock.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${market.stock.ledger.flush-batch-size:1000}")
+    private int flushBatchSize = 1000;
+
+    private final StripedLongCounterMap available = new StripedLongCounterMap(64);
+    private final ConcurrentLinkedDeque<PendingSale> pendingSales = new ConcurrentLinkedDeque<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 상품의 구매 가능 재고를 반환하는 메서드. 원장에 없는 상품은 처음 조회할 때 DB에서 적재한다.
+     */
+    public int availableStock(Long productId) {
+        return (int) cellOf(productId).get();
+    }
+
+    /**
+     * 재고를 메모리에서 차감하는 메서드. 하나라도 부족하면 앞서 차감한 수량을 되돌리고 예외를 던진다.
+     * 트랜잭션이 롤백되면 차감한 수량을 다시 되돌린다.
+     */
+    public void decrease(Map<Long, Integer> quantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        sorted.keySet().forEach(this::cellOf);
+
+        Map<Long, Integer> applied = new TreeMap<>();
+        for (Map.Entry<Long, Integer> e : sorted.entrySet()) {
+            if (!available.tryAdd(e.getKey(), -e.getValue(), 0)) {
+                applied.forEach((id, quantity) -> available.cell(id).addAndGet(quantity));
+                throw new BusinessException(ErrorCode.OUT_OF_STOCK, "Product IDs out of stock: [" + e.getKey() + "]");
+            }
+            applied.put(e.getKey(), e.getValue());
+        }
+        afterRollback(() -> applied.forEach((id, quantity) -> available.cell(id).addAndGet(quantity)));
+    }
+
+    /**
+     * 재고를 메모리에 되돌리는 메서드. 트랜잭션이 커밋된 뒤에 반영한다.
+     */
+    public void increase(Map<Long, Integer> quantities) {
+        afterCommit(() -> quantities.forEach((id, quantity) -> cellOf(id).addAndGet(quantity)));
+    }
+
+    /**
+     * 확정된 판매 수량을 상품 테이블 반영 대기열에 넣는 메서드. 트랜잭션이 커밋된 뒤에 넣는다.
+     */
+    public void recordSale(Long orderId, Map<Long, Integer> quantities) {
+        PendingSale sale = new PendingSale(orderId, Map.copyOf(quantities));
+        afterCommit(() -> pendingSales.add(sale));
+    }
+
+    /**
+     * 대기 중인 판매 수량을 상품별로 합산해 상품 테이블에 반영하는 메서드.
+     * 반영과 주문의 stock_applied 갱신은 하나의 트랜잭션에서 처리하며, 실패하면 대기열에 되돌린다.
+     */
+    @Scheduled(fixedDelayString = "${market.stock.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingSale> batch;
+            do {
+                batch = new ArrayList<>();
+                PendingSale sale;
+                while (batch.size() < flushBatchSize && (sale = pendingSales.poll()) != null) {
+                    batch.add(sale);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                Map<Long, Integer> sold = new TreeMap<>();
+                List<Long> orderIds = new ArrayList<>();
+                for (PendingSale s : batch) {
+                    orderIds.add(s.orderId());
+                    s.quantities().forEach((id, quantity) -> sold.merge(id, quantity, Integer::sum));
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        applySales(sold);
+                        ordersRepository.markStockApplied(orderIds);
+                    });
+                } catch (Exception e) {
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        pendingSales.addFirst(batch.get(i));
+                    }
+                    logger.error("Failed to flush stock ledger. Pending orders: {}. Error: {}", pendingSales.size(), e.getMessage());
+                    return;
+                }
+            } while (batch.size() == flushBatchSize);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            recover();
+            seed();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // 웹 서버가 요청 처리를 마친 뒤 남은 판매 수량을 반영
+        flush();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버보다 먼저 시작하고 나중에 종료
+        return 0;
+    }
+
+    /**
+     * 반영되지 않은 판매 수량을 order_items에서 다시 계산해 상품 테이블에 반영하는 메서드.
+     */
+    private void recover() {
+        List<Long> orderIds = ordersRepository.findIdsByStatusAndStockPending(OrderStatus.PAID);
+        for (int from = 0; from < orderIds.size(); from += flushBatchSize) {
+            List<Long> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + flushBatchSize));
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Integer> sold = new TreeMap<>();
+                for (Object[] row : orderItemRepository.sumQuantityByProductForOrders(chunk)) {
+                    sold.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+                applySales(sold);
+                ordersRepository.markStockApplied(chunk);
+            });
+        }
+        if (!orderIds.isEmpty()) {
+            logger.warn("Replayed unflushed stock of {} order(s)", orderIds.size());
+        }
+    }
+
+    /**
+     * 상품 테이블의 재고에서 HELD 점유 수량을 뺀 값으로 원장을 적재하는 메서드.
+     */
+    private void seed() {
+        Map<Long, Long> held = new HashMap<>();
+        for (Object[] row : stockReservationRepository.sumQuantityByProduct(ReservationStatus.HELD)) {
+            held.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        long[][] buffer = {new long[1024], new long[1024]};
+        int[] size = {0};
+        productRepository.forEachStock((id, stock) -> {
+            if (size[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], size[0] * 2);
+                buffer[1] = Arrays.copyOf(buffer[1], size[0] * 2);
+            }
+            buffer[0][size[0]] = id;
+            buffer[1][size[0]++] = stock - held.getOrDefault(id, 0L);
+        });
+        available.clear();
+        available.putAll(buffer[0], buffer[1], size[0]);
+        logger.info("Stock ledger seeded with {} product(s)", size[0]);
+    }
+
+    /**
+     * 판매 수량을 상품 테이블에 반영하는 메서드. 핫 상품은 상품 행 재고가 0 이므로 버킷에서 차감하고, 나머지는 상품 행에서 차감한다.
+     * 원장이 재고 이상 팔지 않으므로 버킷 차감은 실패하지 않아야 하며, 실패하면 합계가 맞도록 상품 행에서 차감한다.
+     */
+    private void applySales(Map<Long, Integer> sold) {
+        SortedMap<Long, Integer> rows = new TreeMap<>(sold);
+        List<Long> failedIds = hotStockBucketService.decreaseHot(rows);
+        if (!failedIds.isEmpty()) {
+            logger.warn("Bucket stock short while flushing stock ledger. Applied to product rows: {}", failedIds);
+            failedIds.forEach(id -> rows.put(id, sold.get(id)));
+        }
+        Map<Long, Integer> deltas = new TreeMap<>();
+        rows.forEach((id, quantity) -> deltas.put(id, -quantity));
+        productRepository.increaseStockAll(deltas);
+        productCache.evictAll(sold.keySet());
+        productCatalog.markChanged(sold.keySet());
+    }
+
+    private AtomicLong cellOf(Long productId) {
+        return available.cellOrCreate(productId, id -> productRepository.findById(id)
+                .map(Product::getStock)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product ID: " + id)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private record PendingSale(Long orderId, Map<Long, Integer> quantities) {
+    }
+}
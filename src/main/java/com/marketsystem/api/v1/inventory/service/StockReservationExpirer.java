@@ -0,0 +1,35 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 실패나 서버 장애로 확정되지 않은 재고 점유를 주기적으로 해제하는 컴포넌트.
+ * (status, expires_at) 인덱스를 만료 대기열로 사용하므로 만료된 점유만 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReservationExpirer {
+
+    private final StockReservationService stockReservationService;
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationExpirer.class);
+
+    @Value("${market.stock.reservation.expire-batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(fixedDelayString = "${market.stock.reservation.expire-interval-ms:5000}")
+    public void releaseExpiredReservations() {
+        try {
+            int released;
+            do {
+                released = stockReservationService.releaseExpired(batchSize);
+            } while (released == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to release expired stock reservations. Error: {}", e.getMessage());
+        }
+    }
+}
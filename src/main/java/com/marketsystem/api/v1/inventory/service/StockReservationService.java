@@ -0,0 +1,147 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+import com.marketsystem.api.v1.inventory.entity.StockReservation;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import com.marketsystem.api.v1.inventory.repository.StockReservationRepository;
+import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.product.service.ProductStockService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductStockService productStockService;
+    private final InventoryJournal inventoryJournal;
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    @Value("${market.stock.reservation.ttl:PT10M}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 주문 항목만큼 재고를 점유하는 메서드.
+     * 점유 수량은 상품 재고에서 즉시 차감되며, TTL 안에 확정되지 않으면 만료 처리기가 되돌린다.
+     * @param order 저장된(ID가 발급된) 주문 엔터티
+     */
+    @Transactional
+    public void reserve(Orders order) {
+        Map<Long, Integer> quantities = order.quantitiesByProduct();
+        productStockService.decreaseStock(quantities);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        List<StockReservation> reservations = quantities.entrySet().stream()
+                .map(e -> StockReservation.builder()
+                        .orderId(order.getId())
+                        .productId(e.getKey())
+                        .quantity(e.getValue())
+                        .status(ReservationStatus.HELD)
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList();
+        stockReservationRepository.saveAll(reservations);
+        inventoryJournal.append(InventoryEventType.RESERVE, order.getId(), quantities);
+    }
+
+    /**
+     * 주문의 점유를 확정하는 메서드.
+     * 이미 만료되어 해제된 점유는 재고가 되돌려진 상태이므로, 해당 수량을 반환해 호출자가 다시 차감하도록 한다.
+     * @param order 결제가 완료된 주문 엔터티
+     * @return 점유가 유효하지 않아 다시 차감해야 하는 상품 ID별 수량
+     */
+    @Transactional
+    public Map<Long, Integer> confirm(Orders order) {
+        List<StockReservation> held = stockReservationRepository.findByOrderIdAndStatus(order.getId(), ReservationStatus.HELD);
+        Set<Long> confirmedIds = new HashSet<>(stockReservationRepository.transitionAll(
+                held.stream().map(StockReservation::getId).toList(), ReservationStatus.HELD, ReservationStatus.CONFIRMED));
+
+        Map<Long, Integer> confirmed = held.stream()
+                .filter(r -> confirmedIds.contains(r.getId()))
+                .collect(Collectors.toMap(StockReservation::getProductId, StockReservation::getQuantity, Integer::sum));
+        inventoryJournal.append(InventoryEventType.CONFIRM, order.getId(), confirmed);
+
+        Map<Long, Integer> lost = new TreeMap<>();
+        order.quantitiesByProduct().forEach((productId, quantity) -> {
+            int remaining = quantity - confirmed.getOrDefault(productId, 0);
+            if (remaining > 0) {
+                lost.put(productId, remaining);
+            }
+        });
+        if (!lost.isEmpty()) {
+            logger.warn("Order ID: {} reservation expired before confirmation. Products: {}", order.getId(), lost);
+        }
+        return lost;
+    }
+
+    /**
+     * 주문의 점유를 해제하고 재고를 되돌리는 메서드. (결제 실패 등)
+     * @param order 점유를 해제할 주문 엔터티
+     */
+    @Transactional
+    public void release(Orders order) {
+        releaseAll(stockReservationRepository.findByOrderIdAndStatus(order.getId(), ReservationStatus.HELD), ReservationStatus.HELD);
+    }
+
+    /**
+     * 확정한 점유를 해제하고 재고를 되돌리는 메서드. (결제 후 재고가 모자라 주문을 채우지 못한 경우)
+     * @param order 점유를 확정했던 주문 엔터티
+     */
+    @Transactional
+    public void releaseConfirmed(Orders order) {
+        releaseAll(stockReservationRepository.findByOrderIdAndStatus(order.getId(), ReservationStatus.CONFIRMED),
+                ReservationStatus.CONFIRMED);
+    }
+
+    /**
+     * 만료 시각이 지난 점유를 만료 순으로 최대 batchSize개 해제하는 메서드.
+     * @return 조회된 만료 점유 수
+     */
+    @Transactional
+    public int releaseExpired(int batchSize) {
+        List<StockReservation> expired = stockReservationRepository.findByStatusAndExpiresAtLessThanEqualOrderByExpiresAtAsc(
+                ReservationStatus.HELD, LocalDateTime.now(), Limit.of(batchSize));
+        releaseAll(expired, ReservationStatus.HELD);
+        return expired.size();
+    }
+
+    private void releaseAll(List<StockReservation> reservations, ReservationStatus from) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        Set<Long> releasedIds = new HashSet<>(stockReservationRepository.transitionAll(
+                reservations.stream().map(StockReservation::getId).toList(), from, ReservationStatus.RELEASED));
+
+        // 상태 전이에 성공한 점유만 재고를 되돌린다 (확정과 경합한 경우 중복 복원 방지)
+        List<StockReservation> released = reservations.stream()
+                .filter(r -> releasedIds.contains(r.getId()))
+                .toList();
+        Map<Long, Integer> quantities = released.stream()
+                .collect(Collectors.toMap(StockReservation::getProductId, StockReservation::getQuantity, Integer::sum));
+        productStockService.increaseStock(quantities);
+
+        LocalDateTime now = LocalDateTime.now();
+        inventoryJournal.append(released.stream()
+                .map(r -> InventoryEvent.builder()
+                        .productId(r.getProductId())
+                        .type(InventoryEventType.RELEASE)
+                        .quantity(r.getQuantity())
+                        .orderId(r.getOrderId())
+                        .occurredAt(now)
+                        .build())
+                .toList());
+        logger.info("Released {} stock reservation(s)", releasedIds.size());
+    }
+}
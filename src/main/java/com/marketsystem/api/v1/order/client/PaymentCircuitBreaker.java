@@ -0,0 +1,215 @@
+package com.marketsystem.api.v1.order.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 결제 게이트웨이 호출용 서킷 브레이커.
+ * 최근 window-size 건의 호출 중 실패 비율 또는 느린 호출 비율이 기준을 넘으면 열려서 open-duration 동안 요청을 바로 거절한다.
+ * 시간이 지나면 half-open-calls 건만 시험 삼아 보내고, 모두 정상이면 닫고 하나라도 실패하거나 느리면 다시 연다.
+ */
+public class PaymentCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+    private static final Logger logger = LoggerFactory.getLogger(PaymentCircuitBreaker.class);
+
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final long slowCallNanos;
+    private final float slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 최근 호출 결과 링 버퍼 (FAILED | SLOW 비트)
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failedCalls;
+    private int slowCalls;
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSucceeded;
+
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    public PaymentCircuitBreaker(int windowSize, int minimumCalls, float failureRateThreshold,
+                                 Duration slowCallThreshold, float slowCallRateThreshold,
+                                 Duration openDuration, int halfOpenCalls, PaymentGatewayMetrics metrics) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, slowCallRateThreshold,
+                openDuration, halfOpenCalls, System::nanoTime);
+        metrics.bindCircuitBreaker(this);
+    }
+
+    PaymentCircuitBreaker(int windowSize, int minimumCalls, float failureRateThreshold,
+                          Duration slowCallThreshold, float slowCallRateThreshold,
+                          Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.outcomes = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 게이트웨이를 호출해도 되는지 확인하는 메서드.
+     * 허가를 받으면 호출 결과를 onSuccess/onError 로, 호출하지 않았으면 releasePermission 으로 알려야 한다.
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (nanoClock.getAsLong() - openedAt < openNanos) {
+                    notPermittedCalls.increment();
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSucceeded = 0;
+                logger.info("Payment circuit half-open, sending {} trial calls", halfOpenCalls);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    notPermittedCalls.increment();
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 허가를 받았지만 게이트웨이를 호출하지 않은 경우 허가를 반납하는 메서드.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : 0);
+    }
+
+    public void onError(long durationNanos) {
+        record((byte) (FAILED | (durationNanos >= slowCallNanos ? SLOW : 0)));
+    }
+
+    private void record(byte outcome) {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    if (recorded == outcomes.length) {
+                        count(outcomes[next], -1);
+                    } else {
+                        recorded++;
+                    }
+                    outcomes[next] = outcome;
+                    count(outcome, 1);
+                    next = (next + 1) % outcomes.length;
+                    if (recorded >= minimumCalls
+                            && (rate(failedCalls) >= failureRateThreshold || rate(slowCalls) >= slowCallRateThreshold)) {
+                        open();
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (outcome != 0) {
+                        open();
+                    } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                        close();
+                    }
+                }
+                // 열리기 전에 나간 호출의 결과는 집계하지 않음
+                case OPEN -> {
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void count(byte outcome, int delta) {
+        if ((outcome & FAILED) != 0) {
+            failedCalls += delta;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls += delta;
+        }
+    }
+
+    private float rate(int calls) {
+        return recorded == 0 ? 0 : calls * 100f / recorded;
+    }
+
+    private void open() {
+        logger.warn("Payment circuit opened. failure rate: {}%, slow call rate: {}%", rate(failedCalls), rate(slowCalls));
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        openedCount.increment();
+    }
+
+    private void close() {
+        logger.info("Payment circuit closed");
+        next = 0;
+        recorded = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        state = State.CLOSED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public float getFailureRate() {
+        lock.lock();
+        try {
+            return rate(failedCalls);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public float getSlowCallRate() {
+        lock.lock();
+        try {
+            return rate(slowCalls);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    public long getOpenedCount() {
+        return openedCount.sum();
+    }
+}
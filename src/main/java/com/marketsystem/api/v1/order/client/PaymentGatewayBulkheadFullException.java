@@ -0,0 +1,14 @@
+package com.marketsystem.api.v1.order.client;
+
+import java.io.IOException;
+
+/**
+ * 동시 요청 한도(벌크헤드)가 가득 차 결제 게이트웨이로 요청을 보내지 못했을 때 발생하는 예외.
+ * 요청이 나가지 않았으므로 결제가 처리되었을 가능성이 없다.
+ */
+public class PaymentGatewayBulkheadFullException extends IOException {
+
+    public PaymentGatewayBulkheadFullException(String message) {
+        super(message);
+    }
+}
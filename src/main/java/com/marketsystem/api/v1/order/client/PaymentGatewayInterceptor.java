@@ -0,0 +1,73 @@
+package com.marketsystem.api.v1.order.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 게이트웨이로 나가는 동시 요청 수를 제한(벌크헤드)하고 지표를 기록하는 인터셉터.
+ * 한도가 가득 차면 acquire-timeout 만큼만 기다리고 실패시켜, 느린 게이트웨이 때문에 요청 스레드가 줄지어 묶이지 않도록 한다.
+ * 한도 초과는 요청을 보내기 전의 실패이므로 {@link PaymentGatewayBulkheadFullException} 으로 구분한다.
+ */
+public class PaymentGatewayInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final PaymentGatewayMetrics metrics;
+
+    public PaymentGatewayInterceptor(int maxConcurrentRequests, Duration acquireTimeout, PaymentGatewayMetrics metrics) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.metrics = metrics;
+        metrics.bindLimit(maxConcurrentRequests);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        acquire();
+        long startedAt = System.nanoTime();
+        boolean timedOut = false;
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = false;
+            return response;
+        } catch (HttpTimeoutException e) {
+            timedOut = true;
+            throw e;
+        } catch (CancellationException e) {
+            // JdkClientHttpRequest(6.2.0)가 read-timeout 으로 취소한 요청을 IOException 으로 감싸지 않고 그대로 던짐
+            timedOut = true;
+            throw new HttpTimeoutException("Payment gateway response timed out");
+        } finally {
+            permits.release();
+            metrics.requestFinished(System.nanoTime() - startedAt, timedOut, failed);
+        }
+    }
+
+    private void acquire() throws IOException {
+        metrics.waitStarted();
+        long startedAt = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a payment gateway slot");
+        } finally {
+            metrics.waitFinished(System.nanoTime() - startedAt, acquired);
+        }
+        if (!acquired) {
+            throw new PaymentGatewayBulkheadFullException("Payment gateway concurrency limit reached");
+        }
+    }
+}
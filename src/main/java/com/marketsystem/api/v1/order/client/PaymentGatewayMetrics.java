@@ -0,0 +1,100 @@
+package com.marketsystem.api.v1.order.client;
+
+import com.marketsystem.api.v1.order.dto.PaymentGatewayMetricsDto;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 결제 게이트웨이 HTTP 클라이언트 지표를 모으는 컴포넌트. (GET /api/v1/payment/gateway/metrics)
+ * 동시 요청 한도 사용량(포화도), 한도 대기 시간, 응답 시간, 실패 수를 누적하고 서킷 브레이커 상태를 함께 보여준다.
+ */
+@Component
+public class PaymentGatewayMetrics {
+
+    private final Timer acquireWait = new Timer();
+    private final Timer response = new Timer();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile int maxConcurrentRequests;
+    private volatile PaymentCircuitBreaker circuitBreaker;
+
+    void bindLimit(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    void bindCircuitBreaker(PaymentCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    void waitStarted() {
+        waiting.incrementAndGet();
+    }
+
+    void waitFinished(long nanos, boolean acquired) {
+        waiting.decrementAndGet();
+        acquireWait.record(nanos);
+        if (acquired) {
+            inFlight.incrementAndGet();
+        } else {
+            acquireTimeouts.increment();
+        }
+    }
+
+    void requestFinished(long nanos, boolean timedOut, boolean failed) {
+        inFlight.decrementAndGet();
+        response.record(nanos);
+        if (timedOut) {
+            timeouts.increment();
+        }
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    public PaymentGatewayMetricsDto snapshot() {
+        PaymentGatewayMetricsDto.PaymentGatewayMetricsDtoBuilder builder = PaymentGatewayMetricsDto.builder();
+        PaymentCircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            builder.circuitState(breaker.getState().name())
+                    .circuitFailureRate(breaker.getFailureRate())
+                    .circuitSlowCallRate(breaker.getSlowCallRate())
+                    .circuitOpened(breaker.getOpenedCount())
+                    .circuitRejections(breaker.getNotPermittedCalls());
+        }
+        return builder
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .inFlight(inFlight.get())
+                .waiting(waiting.get())
+                .acquireTimeouts(acquireTimeouts.sum())
+                .timeouts(timeouts.sum())
+                .failures(failures.sum())
+                .acquireWait(acquireWait.snapshot())
+                .response(response.snapshot())
+                .build();
+    }
+
+    private static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        PaymentGatewayMetricsDto.Timing snapshot() {
+            long n = count.sum();
+            return new PaymentGatewayMetricsDto.Timing(n,
+                    n == 0 ? 0 : totalNanos.sum() / n / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.marketsystem.api.v1.order.client;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * 결제 웹훅 본문 서명. 게이트웨이와 공유한 비밀 키로 본문을 HMAC-SHA256 서명한 16진수 값을 X-Payment-Signature 헤더로 주고받는다.
+ */
+public final class PaymentWebhookSignature {
+
+    public static final String HEADER = "X-Payment-Signature";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private PaymentWebhookSignature() {
+    }
+
+    public static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign webhook body", e);
+        }
+    }
+
+    /**
+     * 서명을 상수 시간에 비교하는 메서드. 비밀 키가 없거나 서명이 없으면 false.
+     */
+    public static boolean verify(String secret, byte[] body, String signature) {
+        if (secret == null || secret.isEmpty() || signature == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(secret, body).getBytes(StandardCharsets.UTF_8),
+                signature.trim().toLowerCase().getBytes(StandardCharsets.UTF_8));
+    }
+}
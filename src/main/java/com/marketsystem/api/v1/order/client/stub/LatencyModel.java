@@ -0,0 +1,49 @@
+package com.marketsystem.api.v1.order.client.stub;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 스텁 결제 게이트웨이의 응답 지연 분포.
+ * 설정 문자열 형식: fixed:{ms} | normal:{평균 ms},{표준편차 ms} | long-tail:{중앙값 ms},{p99 ms}
+ * long-tail 은 중앙값과 p99 를 맞춘 로그 정규 분포로, 대부분 빠르고 드물게 매우 느린 게이트웨이를 흉내 낸다.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    // 표준 정규 분포의 99 백분위수
+    double Z_99 = 2.326;
+
+    long sampleMillis(RandomGenerator random);
+
+    static LatencyModel fixed(long millis) {
+        return random -> millis;
+    }
+
+    static LatencyModel normal(double meanMillis, double stdDevMillis) {
+        return random -> Math.max(0, Math.round(random.nextGaussian(meanMillis, stdDevMillis)));
+    }
+
+    static LatencyModel longTail(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("long-tail latency requires 0 < median <= p99");
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+        return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        String[] values = parts.length == 2 ? parts[1].split(",") : new String[0];
+        try {
+            return switch (parts[0]) {
+                case "fixed" -> fixed(Long.parseLong(values[0].trim()));
+                case "normal" -> normal(Double.parseDouble(values[0].trim()), Double.parseDouble(values[1].trim()));
+                case "long-tail" -> longTail(Double.parseDouble(values[0].trim()), Double.parseDouble(values[1].trim()));
+                default -> throw new IllegalArgumentException("Unknown latency model: " + spec);
+            };
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid latency model: " + spec, e);
+        }
+    }
+}
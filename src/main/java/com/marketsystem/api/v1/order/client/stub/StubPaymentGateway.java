@@ -0,0 +1,364 @@
+package com.marketsystem.api.v1.order.client.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.order.client.PaymentWebhookSignature;
+import com.marketsystem.api.v1.order.dto.PaymentRequestDto;
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusRequestDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentWebhookDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 부하 테스트용 결제 게이트웨이 스텁.
+ * PaymentRequestDto 를 받아 PaymentResponseDto 로 응답하며, 지연 분포와 실패 유형별 비율은 {@link StubPaymentGatewaySettings} 로 정한다.
+ * 요청마다 가상 스레드 하나가 처리하므로 느린 응답을 수만 건 동시에 흉내 낼 수 있다.
+ * 승인/거절한 주문은 최근 {@value #MAX_REMEMBERED} 건까지 기억해 같은 주문의 재요청에는 같은 결과를 돌려주고,
+ * {path}/status 로 여러 주문의 결과를 한 번에 조회할 수 있다. (응답 없이 끊은 요청도 승인된 것으로 기억)
+ * callbackUrl 을 지정하면 요청을 202(PENDING) 로 바로 받아들이고, 지연 후 최종 결과를 서명한 웹훅으로 보낸다.
+ * stub-gateway 프로필로 애플리케이션 안에서 띄우거나, ./gradlew stubGateway --args="--port=18080 --latency=long-tail:50,800" 로 단독 실행한다.
+ */
+public class StubPaymentGateway implements AutoCloseable {
+
+    public enum Outcome { SUCCESS, DECLINE, ERROR, TIMEOUT, SLOW_DRIP }
+
+    private static final int MAX_REMEMBERED = 100_000;
+    private static final int CALLBACK_ATTEMPTS = 3;
+    private static final Logger logger = LoggerFactory.getLogger(StubPaymentGateway.class);
+
+    private final StubPaymentGatewaySettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong transactionIds = new AtomicLong();
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    // 주문 ID 별 결제 결과와, 오래된 것부터 잊기 위한 기록 순서
+    private final Map<String, PaymentResponseDto> payments = new ConcurrentHashMap<>();
+    private final Queue<String> paymentOrder = new ConcurrentLinkedQueue<>();
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient callbackClient;
+
+    public StubPaymentGateway(StubPaymentGatewaySettings settings) {
+        settings.validate();
+        this.settings = settings;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        // 클라이언트의 keep-alive 커넥션을 스텁이 임의로 닫지 않도록 (JDK 기본 200개, 첫 HttpServer 생성 전에만 적용됨)
+        System.getProperties().putIfAbsent("sun.net.httpserver.maxIdleConnections", String.valueOf(settings.getBacklog()));
+        server = HttpServer.create(new InetSocketAddress("localhost", settings.getPort()), settings.getBacklog());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        if (settings.getCallbackUrl() != null) {
+            callbackClient = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(5)).build();
+        }
+        server.createContext(settings.getPath() + "/status", this::handleStatus);
+        server.createContext(settings.getPath(), this::handle);
+        server.start();
+        logger.info("Stub payment gateway listening on {}", getUrl());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            if (callbackClient != null) {
+                callbackClient.close();
+                callbackClient = null;
+            }
+            server = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + getPort() + settings.getPath();
+    }
+
+    public long getCount(Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, new PaymentResponseDto("FAILED", null, "Method not allowed"));
+                return;
+            }
+            PaymentRequestDto request = readRequest(exchange);
+            if (request == null) {
+                send(exchange, 400, new PaymentResponseDto("FAILED", null, "Invalid payment request"));
+                return;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latencyMillis = settings.getLatency().sampleMillis(random);
+            if (callbackClient == null) {
+                Thread.sleep(latencyMillis);
+            }
+            PaymentResponseDto previous = payments.get(request.getOrderId());
+            if (previous != null) {
+                // 이미 처리한 주문은 다시 결제하지 않고 같은 결과로 응답
+                send(exchange, statusCode(previous), previous);
+                return;
+            }
+            Outcome outcome = pickOutcome(random.nextDouble());
+            outcomes.get(outcome).increment();
+            if (callbackClient != null && outcome != Outcome.ERROR) {
+                accept(exchange, request, outcome, latencyMillis);
+                return;
+            }
+            switch (outcome) {
+                // 응답 없이 붙잡고 있다가 연결을 닫음
+                case TIMEOUT -> {
+                    remember(request.getOrderId(), approve(request));
+                    Thread.sleep(settings.getTimeoutHold().toMillis());
+                }
+                case ERROR -> send(exchange, 500, new PaymentResponseDto("ERROR", null, "Stub gateway error"));
+                case DECLINE -> send(exchange, 402, remember(request.getOrderId(), new PaymentResponseDto("FAILED", null, "Payment declined")));
+                case SLOW_DRIP -> drip(exchange, remember(request.getOrderId(), approve(request)));
+                case SUCCESS -> {
+                    PaymentResponseDto response = remember(request.getOrderId(), approve(request));
+                    send(exchange, statusCode(response), response);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 요청을 받아들였다고 먼저 응답하고, 최종 결과는 지연 후 웹훅으로 보냄
+    private void accept(HttpExchange exchange, PaymentRequestDto request, Outcome outcome, long latencyMillis)
+            throws IOException, InterruptedException {
+        String transactionId = nextTransactionId();
+        PaymentResponseDto accepted = remember(request.getOrderId(),
+                new PaymentResponseDto("PENDING", transactionId, "Payment accepted for order " + request.getOrderId()));
+        if (!transactionId.equals(accepted.getTransactionId())) {
+            // 같은 주문의 요청이 동시에 들어와 먼저 받아들인 쪽이 있음
+            send(exchange, statusCode(accepted), accepted);
+            return;
+        }
+        PaymentResponseDto result = outcome == Outcome.DECLINE
+                ? new PaymentResponseDto("FAILED", transactionId, "Payment declined")
+                : new PaymentResponseDto("SUCCESS", transactionId, "Payment processed for order " + request.getOrderId());
+        executor.execute(() -> callBack(request.getOrderId(), result, latencyMillis));
+        switch (outcome) {
+            case TIMEOUT -> Thread.sleep(settings.getTimeoutHold().toMillis());
+            case SLOW_DRIP -> drip(exchange, accepted);
+            default -> send(exchange, 202, accepted);
+        }
+    }
+
+    private void callBack(String orderId, PaymentResponseDto result, long latencyMillis) {
+        try {
+            Thread.sleep(latencyMillis);
+            payments.put(orderId, result);
+            byte[] body = objectMapper.writeValueAsBytes(
+                    new PaymentWebhookDto(orderId, result.getTransactionId(), result.getStatus(), result.getMessage()));
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(settings.getCallbackUrl()))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            if (!settings.getWebhookSecret().isEmpty()) {
+                builder.header(PaymentWebhookSignature.HEADER, PaymentWebhookSignature.sign(settings.getWebhookSecret(), body));
+            }
+            HttpRequest webhook = builder.build();
+            for (int attempt = 1; attempt <= CALLBACK_ATTEMPTS; attempt++) {
+                try {
+                    int status = callbackClient.send(webhook, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    // 4xx 는 다시 보내도 결과가 같으므로 재시도하지 않음
+                    if (status < 500) {
+                        if (status >= 400) {
+                            logger.warn("Webhook for order {} rejected with {}", orderId, status);
+                        }
+                        return;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Webhook for order {} failed: {}", orderId, e.getMessage());
+                }
+                Thread.sleep(1000L * attempt);
+            }
+            logger.warn("Webhook for order {} gave up after {} attempts", orderId, CALLBACK_ATTEMPTS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Webhook for order {} could not be built: {}", orderId, e.getMessage());
+        }
+    }
+
+    // 주문 ID 목록을 받아 기억하고 있는 결제 결과만 돌려줌
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, new PaymentResponseDto("FAILED", null, "Method not allowed"));
+                return;
+            }
+            PaymentStatusRequestDto request;
+            try {
+                request = objectMapper.readValue(exchange.getRequestBody(), PaymentStatusRequestDto.class);
+            } catch (IOException e) {
+                request = null;
+            }
+            if (request == null || request.getOrderIds() == null) {
+                send(exchange, 400, new PaymentResponseDto("FAILED", null, "Invalid status request"));
+                return;
+            }
+            List<PaymentStatusDto> found = new ArrayList<>();
+            for (String orderId : request.getOrderIds()) {
+                PaymentResponseDto payment = payments.get(orderId);
+                if (payment != null) {
+                    found.add(new PaymentStatusDto(orderId, payment.getStatus(), payment.getTransactionId(), payment.getMessage()));
+                }
+            }
+            send(exchange, 200, new PaymentStatusResponseDto(found));
+        }
+    }
+
+    // 동시에 들어온 같은 주문의 요청 중 먼저 기억된 결과를 돌려줌
+    private PaymentResponseDto remember(String orderId, PaymentResponseDto response) {
+        PaymentResponseDto previous = payments.putIfAbsent(orderId, response);
+        if (previous != null) {
+            return previous;
+        }
+        paymentOrder.add(orderId);
+        if (payments.size() > MAX_REMEMBERED) {
+            String eldest = paymentOrder.poll();
+            if (eldest != null) {
+                payments.remove(eldest);
+            }
+        }
+        return response;
+    }
+
+    private static int statusCode(PaymentResponseDto response) {
+        return switch (response.getStatus()) {
+            case "SUCCESS" -> 200;
+            case "PENDING" -> 202;
+            default -> 402;
+        };
+    }
+
+    private PaymentRequestDto readRequest(HttpExchange exchange) {
+        try {
+            PaymentRequestDto request = objectMapper.readValue(exchange.getRequestBody(), PaymentRequestDto.class);
+            return request.getOrderId() == null || request.getNumber() == null ? null : request;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Outcome pickOutcome(double roll) {
+        if ((roll -= settings.getErrorRate()) < 0) {
+            return Outcome.ERROR;
+        }
+        if ((roll -= settings.getDeclineRate()) < 0) {
+            return Outcome.DECLINE;
+        }
+        if ((roll -= settings.getTimeoutRate()) < 0) {
+            return Outcome.TIMEOUT;
+        }
+        if (roll - settings.getSlowDripRate() < 0) {
+            return Outcome.SLOW_DRIP;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    private PaymentResponseDto approve(PaymentRequestDto request) {
+        return new PaymentResponseDto("SUCCESS", nextTransactionId(), "Payment processed for order " + request.getOrderId());
+    }
+
+    private String nextTransactionId() {
+        return "STUB-" + transactionIds.incrementAndGet();
+    }
+
+    private void send(HttpExchange exchange, int status, Object response) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // 헤더는 바로 보내고 본문을 한 바이트씩 흘려보냄
+    private void drip(HttpExchange exchange, PaymentResponseDto response) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode(response), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (byte b : body) {
+                out.write(b);
+                out.flush();
+                Thread.sleep(settings.getDripInterval().toMillis());
+            }
+        }
+    }
+
+    /**
+     * 단독 실행 진입점. 옵션: --port= --path= --backlog= --latency= --error-rate= --decline-rate= --timeout-rate=
+     * --slow-drip-rate= --timeout-hold=(ISO-8601, 예: PT60S) --drip-interval= --callback-url= --webhook-secret=
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but was " + arg);
+            }
+            options.put(option[0], option[1]);
+        }
+        StubPaymentGatewaySettings settings = StubPaymentGatewaySettings.builder()
+                .port(Integer.parseInt(options.getOrDefault("port", "18080")))
+                .path(options.getOrDefault("path", "/payment"))
+                .backlog(Integer.parseInt(options.getOrDefault("backlog", "1000")))
+                .latency(LatencyModel.parse(options.getOrDefault("latency", "fixed:100")))
+                .errorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+                .declineRate(Double.parseDouble(options.getOrDefault("decline-rate", "0")))
+                .timeoutRate(Double.parseDouble(options.getOrDefault("timeout-rate", "0")))
+                .slowDripRate(Double.parseDouble(options.getOrDefault("slow-drip-rate", "0")))
+                .timeoutHold(Duration.parse(options.getOrDefault("timeout-hold", "PT60S")))
+                .dripInterval(Duration.parse(options.getOrDefault("drip-interval", "PT0.1S")))
+                .callbackUrl(options.get("callback-url"))
+                .webhookSecret(options.getOrDefault("webhook-secret", ""))
+                .build();
+        StubPaymentGateway gateway = new StubPaymentGateway(settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(gateway::stop));
+        gateway.start();
+    }
+}
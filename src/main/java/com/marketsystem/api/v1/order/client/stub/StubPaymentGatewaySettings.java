@@ -0,0 +1,53 @@
+package com.marketsystem.api.v1.order.client.stub;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 스텁 결제 게이트웨이 동작 설정.
+ * 요청마다 지연을 뽑아 기다린 뒤, 각 비율에 따라 5xx 오류 / 결제 거절(402) / 무응답(timeout) / 느린 응답(slow-drip) / 성공 중 하나로 응답한다.
+ */
+@Getter
+@Builder
+public class StubPaymentGatewaySettings {
+
+    // 0 이면 빈 포트 사용
+    @Builder.Default
+    private int port = 0;
+    @Builder.Default
+    private String path = "/payment";
+    // 받아 둘 수 있는 연결 대기열 크기
+    @Builder.Default
+    private int backlog = 1000;
+    @Builder.Default
+    private LatencyModel latency = LatencyModel.fixed(100);
+    // 각 응답 유형의 비율 (0~1, 합계 1 이하)
+    private double errorRate;
+    private double declineRate;
+    private double timeoutRate;
+    private double slowDripRate;
+    // timeout: 응답 없이 연결을 붙잡아 두는 시간
+    @Builder.Default
+    private Duration timeoutHold = Duration.ofSeconds(60);
+    // slow-drip: 헤더를 보낸 뒤 본문을 한 바이트씩 보내는 간격
+    @Builder.Default
+    private Duration dripInterval = Duration.ofMillis(100);
+    // 지정하면 요청을 202(PENDING) 로 바로 받아들이고, 지연 후 최종 결과를 이 주소로 웹훅 전송
+    private String callbackUrl;
+    // 웹훅 본문 서명 키 (market.payment.webhook.secret 과 같아야 함)
+    @Builder.Default
+    private String webhookSecret = "";
+
+    void validate() {
+        for (double rate : new double[]{errorRate, declineRate, timeoutRate, slowDripRate}) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Stub gateway rates must be between 0 and 1");
+            }
+        }
+        if (errorRate + declineRate + timeoutRate + slowDripRate > 1) {
+            throw new IllegalArgumentException("Sum of stub gateway rates must not exceed 1");
+        }
+    }
+}
@@ -2,11 +2,21 @@ package com.marketsystem.api.v1.order.controller;
 
 import com.marketsystem.api.v1.common.enums.BusinessCode;
 import com.marketsystem.api.v1.common.utils.CommonResponse;
+import com.marketsystem.api.v1.common.utils.ETags;
 import com.marketsystem.api.v1.order.dto.OrderResponseDto;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
 import com.marketsystem.api.v1.order.service.OrderService;
+import com.marketsystem.api.v1.order.service.OrderStatusPollingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -14,15 +24,53 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusPollingService orderStatusPollingService;
 
     /**
      * 주문 상세 조회 API
      * Path Variable: orderId
-     * Response: 주문 상세 정보
+     * Response: 주문 상세 정보 (ETag 포함)
+     * If-None-Match 가 현재 상태와 같으면 주문 항목을 읽지 않고 304 를 반환
+     * 결제가 끝난 주문(PAID/FAILED)은 바뀌지 않으므로 immutable 로 캐시하게 함
      */
     @GetMapping("/{orderId}")
-    public ResponseEntity<?> getOrderDetail(@PathVariable Long orderId) {
+    public ResponseEntity<?> getOrderDetail(@PathVariable Long orderId, WebRequest request) {
+        Optional<OrderStatus> status = orderService.findOrderStatus(orderId);
+        if (status.isPresent() && request.checkNotModified(orderETag(orderId, status.get()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(orderETag(orderId, status.get()))
+                    .cacheControl(orderCacheControl(status.get()))
+                    .build();
+        }
         OrderResponseDto response = orderService.getOrderDetail(orderId);
-        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS,response));
+        // 상태 조회 후 바뀌었을 수 있으므로 실제로 읽은 상태로 ETag 를 붙임
+        OrderStatus loaded = OrderStatus.valueOf(response.getOrderStatus());
+        return ResponseEntity.ok()
+                .eTag(orderETag(orderId, loaded))
+                .cacheControl(orderCacheControl(loaded))
+                .body(CommonResponse.success(BusinessCode.SUCCESS,response));
+    }
+
+    /**
+     * 주문 상세 롱 폴링 API
+     * Path Variable: orderId
+     * Query Param: waitMs (주문이 CREATED 상태를 벗어날 때까지 최대 대기 시간)
+     * Response: 주문 상세 정보 (대기 시간이 끝나면 그 시점의 상태)
+     */
+    @GetMapping(value = "/{orderId}", params = "waitMs")
+    public CompletableFuture<ResponseEntity<?>> awaitOrderDetail(@PathVariable Long orderId, @RequestParam long waitMs) {
+        return orderStatusPollingService.awaitOrderDetail(orderId, waitMs)
+                .<ResponseEntity<?>>thenApply(response -> ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, response)));
+    }
+
+    // 주문 상세는 상태가 바뀔 때만 달라짐 (상태 전이와 주문 항목 변경이 한 트랜잭션으로 커밋됨)
+    private static String orderETag(Long orderId, OrderStatus status) {
+        return ETags.strong("o" + orderId, status);
+    }
+
+    private static CacheControl orderCacheControl(OrderStatus status) {
+        return status.isFinalized()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
     }
 }
@@ -2,18 +2,26 @@ package com.marketsystem.api.v1.order.controller;
 
 import com.marketsystem.api.v1.common.enums.BusinessCode;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.utils.CommonResponse;
+import com.marketsystem.api.v1.order.client.PaymentGatewayMetrics;
+import com.marketsystem.api.v1.order.client.PaymentWebhookSignature;
 import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
 import com.marketsystem.api.v1.order.dto.OrderRequestDto;
+import com.marketsystem.api.v1.order.dto.OrderResponseDto;
 import com.marketsystem.api.v1.order.dto.PaymentDetailsDto;
 import com.marketsystem.api.v1.order.enums.PaymentStatus;
+import com.marketsystem.api.v1.order.service.CheckoutIdempotencyService;
 import com.marketsystem.api.v1.order.service.OrderService;
 import com.marketsystem.api.v1.order.service.PaymentService;
+import com.marketsystem.api.v1.order.service.PaymentWebhookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/v1/payment")
 @RequiredArgsConstructor
@@ -21,21 +29,68 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final OrderService orderService;
+    private final PaymentGatewayMetrics paymentGatewayMetrics;
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
+    private final PaymentWebhookService paymentWebhookService;
 
     /**
      * 주문 생성 API
      * Request Body: { "customerId": Long }
+     * Query Param: async=true 이면 주문 생성 직후 202 와 주문 정보를 반환하고, 결제는 백그라운드에서 처리
+     *              (GET /api/v1/orders/{orderId}?waitMs= 로 최종 상태 조회)
+     * 게이트웨이가 요청만 받아들이고(PENDING) 결과를 웹훅으로 알려주면 202 와 주문 정보를 반환
+     * Header: Idempotency-Key 가 있으면 같은 키로 재시도해도 주문과 결제는 한 번만 실행되고 처음 결과를 그대로 반환 (동기 요청만 지원)
      */
     @PostMapping
-    public ResponseEntity<?> placeOrder(@Valid @RequestBody OrderRequestDto requestDto) {
-        OrderCreateResponseDto res = orderService.placeOrder(requestDto.getCustomerId());
+    public ResponseEntity<?> placeOrder(@Valid @RequestBody OrderRequestDto requestDto,
+                                        @RequestParam(defaultValue = "false") boolean async,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (async) {
+            if (idempotencyKey != null) {
+                throw new BusinessException(ErrorCode.BAD_PARAMETER, "Idempotency-Key is not supported with async=true");
+            }
+            OrderResponseDto res = orderService.placeOrderAsync(requestDto.getCustomerId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/orders/" + res.getOrderId()))
+                    .body(CommonResponse.success(BusinessCode.ACCEPTED, res));
+        }
+        OrderCreateResponseDto res = idempotencyKey == null
+                ? orderService.placeOrder(requestDto.getCustomerId())
+                : checkoutIdempotencyService.placeOrder(idempotencyKey, requestDto.getCustomerId());
         if(res.getStatus().equals("SUCCESS")) {
             return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+        } else if (res.getStatus().equals("PENDING")) {
+            // 게이트웨이가 요청만 받아들이고 결과는 웹훅으로 알려줌
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/orders/" + res.getOrderId()))
+                    .body(CommonResponse.success(BusinessCode.ACCEPTED, res));
         } else {
             return ResponseEntity.internalServerError().body(CommonResponse.error(ErrorCode.PAYMENT_SERVER_ERROR.getStatus(), ErrorCode.PAYMENT_SERVER_ERROR.getMessage(),res));
         }
     }
 
+    /**
+     * 결제 결과 웹훅 API (게이트웨이 → 서버)
+     * Request Body: { "orderId": String, "transactionId": String, "status": "SUCCESS" | "FAILED", "message": String }
+     * Header: X-Payment-Signature 에 본문의 HMAC-SHA256 서명 (market.payment.webhook.secret)
+     * 같은 결과를 다시 보내도 200 으로 응답하고, 다른 결과가 이미 반영된 주문이면 409 를 반환
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<?> confirmPayment(@RequestBody byte[] body,
+                                            @RequestHeader(value = PaymentWebhookSignature.HEADER, required = false) String signature) {
+        Long orderId = paymentWebhookService.handle(body, signature);
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, orderId));
+    }
+
+    /**
+     * 결제 게이트웨이 클라이언트 지표 조회 API
+     * Response: 커넥션 풀 사용량, 풀 대기/연결/응답 시간
+     */
+    @GetMapping("/gateway/metrics")
+    public ResponseEntity<?> getGatewayMetrics() {
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, paymentGatewayMetrics.snapshot()));
+    }
+
     @GetMapping("{orderId}")
     public ResponseEntity<?> getPaymentDetail(@PathVariable Long orderId) {
         PaymentDetailsDto res = paymentService.getPaymentDetails(orderId);
@@ -1,9 +1,13 @@
 package com.marketsystem.api.v1.order.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
@@ -12,9 +16,11 @@ import java.util.List;
 @Getter
 @Setter
 @AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class OrderCreateResponseDto {
     private Long customerId;
     private String customerName;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long orderId;
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private String transactionId;
@@ -1,11 +1,17 @@
 package com.marketsystem.api.v1.order.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class OrderItemResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long productId;
     private String productName;
     private long productPrice;
@@ -1,6 +1,8 @@
 package com.marketsystem.api.v1.order.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,6 +13,7 @@ import java.util.List;
 @Getter
 @AllArgsConstructor
 public class OrderResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long orderId;
     private String orderStatus;
     private long totalAmount;
@@ -1,5 +1,7 @@
 package com.marketsystem.api.v1.order.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class PaymentDetailsDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long paymentId;
     private String transactionId;
     private String status;
@@ -0,0 +1,30 @@
+package com.marketsystem.api.v1.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+@AllArgsConstructor
+public class PaymentGatewayMetricsDto {
+    // 동시 요청 한도(벌크헤드)와 사용량 (waiting: 한도가 풀리기를 기다리는 요청 수, acquireTimeouts: 한도 초과로 거절한 요청 수)
+    private int maxConcurrentRequests;
+    private int inFlight;
+    private int waiting;
+    private long acquireTimeouts;
+    // 연결/응답 타임아웃 수, 응답을 받지 못한 전체 요청 수
+    private long timeouts;
+    private long failures;
+    private Timing acquireWait;
+    private Timing response;
+    // 서킷 브레이커 상태, 최근 호출 중 실패/느린 호출 비율(%), 열린 횟수, 열려 있어 바로 거절한 요청 수
+    private String circuitState;
+    private float circuitFailureRate;
+    private float circuitSlowCallRate;
+    private long circuitOpened;
+    private long circuitRejections;
+
+    public record Timing(long count, double avgMs, double maxMs) {
+    }
+}
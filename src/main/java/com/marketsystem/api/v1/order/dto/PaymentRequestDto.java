@@ -2,11 +2,13 @@ package com.marketsystem.api.v1.order.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
 @AllArgsConstructor
+@NoArgsConstructor
 public class PaymentRequestDto {
     private String orderId;
     private Long number;
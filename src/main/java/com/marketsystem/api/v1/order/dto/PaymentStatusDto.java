@@ -0,0 +1,20 @@
+package com.marketsystem.api.v1.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게이트웨이가 알고 있는 주문별 결제 결과. (SUCCESS | FAILED)
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStatusDto {
+    private String orderId;
+    private String status;
+    private String transactionId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+}
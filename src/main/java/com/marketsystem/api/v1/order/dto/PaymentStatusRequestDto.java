@@ -0,0 +1,14 @@
+package com.marketsystem.api.v1.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStatusRequestDto {
+    private List<String> orderIds;
+}
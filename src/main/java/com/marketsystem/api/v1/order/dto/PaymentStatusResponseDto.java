@@ -0,0 +1,17 @@
+package com.marketsystem.api.v1.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 결제 상태 일괄 조회 응답. 게이트웨이가 받은 적 없는 주문은 목록에 없다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStatusResponseDto {
+    private List<PaymentStatusDto> payments;
+}
@@ -0,0 +1,19 @@
+package com.marketsystem.api.v1.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게이트웨이가 결제 최종 결과를 알려주는 웹훅 본문. orderId 나 transactionId 중 하나로 주문을 찾는다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentWebhookDto {
+    private String orderId;
+    private String transactionId;
+    // SUCCESS | FAILED
+    private String status;
+    private String message;
+}
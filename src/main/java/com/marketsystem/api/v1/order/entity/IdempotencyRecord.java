@@ -0,0 +1,62 @@
+package com.marketsystem.api.v1.order.entity;
+
+import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.order.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 주문 생성 요청의 Idempotency-Key 와 처리 결과를 보관하는 엔터티.
+ * idempotency_key 유니크 인덱스로 같은 키의 주문이 서버 여러 대에서 중복 실행되지 않도록 막는다.
+ */
+@Entity
+@Table(name = "idempotency_record",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_record_key", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyRecord extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    // COMPLETED: 주문 생성 응답(JSON)
+    @Lob
+    @Column(name = "response")
+    private String response;
+
+    // FAILED: 다시 던질 오류 코드와 메시지
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // 키로 생성한 주문 (주문과 같은 트랜잭션에서 기록). 처리하던 서버가 죽으면 이 주문으로 결과를 정리한다.
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Builder
+    public IdempotencyRecord(Long id, String idempotencyKey, Long customerId, IdempotencyStatus status,
+                             String response, String errorCode, String errorMessage, Long orderId) {
+        this.id = id;
+        this.idempotencyKey = idempotencyKey;
+        this.customerId = customerId;
+        this.status = status;
+        this.response = response;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.orderId = orderId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.marketsystem.api.v1.order.entity;
 
 import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,7 +12,7 @@ import lombok.*;
 public class OrderItem extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "product_id", nullable = false)
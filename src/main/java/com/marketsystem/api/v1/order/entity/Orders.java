@@ -1,6 +1,7 @@
 package com.marketsystem.api.v1.order.entity;
 
 import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
 import com.marketsystem.api.v1.customer.entity.Customer;
 import com.marketsystem.api.v1.order.enums.OrderStatus;
 import jakarta.persistence.*;
@@ -8,6 +9,9 @@ import lombok.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "orders")
@@ -16,7 +20,7 @@ import java.util.List;
 public class Orders extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +34,10 @@ public class Orders extends BaseEntity {
     @Column(name = "status", nullable = false)
     private OrderStatus status;
 
+    // 인메모리 재고 원장 사용 시, 판매 수량이 아직 상품 테이블에 반영되지 않았으면 false
+    @Column(name = "stock_applied", nullable = false, columnDefinition = "boolean default true")
+    private boolean stockApplied = true;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
@@ -59,4 +67,20 @@ public class Orders extends BaseEntity {
         this.status = OrderStatus.FAILED;
     }
 
+    public void markAsError() {
+        this.status = OrderStatus.ERROR;
+    }
+
+    /**
+     * 주문 항목의 수량을 상품 ID별로 합산해 반환하는 메서드. (상품 ID 오름차순)
+     */
+    public Map<Long, Integer> quantitiesByProduct() {
+        return orderItems.stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum, TreeMap::new));
+    }
+
+    public void markStockPending() {
+        this.stockApplied = false;
+    }
+
 }
\ No newline at end of file
@@ -1,18 +1,19 @@
 package com.marketsystem.api.v1.order.entity;
 
 import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
 import com.marketsystem.api.v1.order.enums.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", indexes = @Index(name = "idx_payment_transaction_id", columnList = "transaction_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Payment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -37,4 +38,23 @@ public class Payment extends BaseEntity {
         this.status = status;
         this.message = message;
     }
+
+    /**
+     * 게이트웨이가 요청을 받아들이고 결과는 웹훅으로 알려주는 경우, PENDING 결제에 거래 ID만 기록하는 메서드.
+     * 웹훅이 먼저 도착해 결과가 기록됐으면 아무것도 하지 않는다.
+     */
+    public void accept(String transactionId) {
+        if (this.status == PaymentStatus.PENDING) {
+            this.transactionId = transactionId;
+        }
+    }
+
+    /**
+     * PENDING 결제에 게이트웨이 결과를 기록하는 메서드.
+     */
+    public void complete(PaymentStatus status, String transactionId, String message) {
+        this.status = status;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.marketsystem.api.v1.order.entity;
+
+import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보내야 할 결제 요청을 주문과 같은 트랜잭션에 기록하는 아웃박스 엔터티.
+ * 결제 결과가 반영되거나 주문이 ERROR 로 정리되면 같은 트랜잭션에서 삭제되므로, 남아 있는 행은 모두 미해결 결제이다.
+ * READY 는 디스패처가 보낼 차례를, DISPATCHING 은 요청을 보낸 뒤 available_at 까지 결과를 기다리는 중임을 뜻한다.
+ */
+@Entity
+@Table(name = "payment_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_outbox_order_id", columnNames = "order_id"),
+        indexes = @Index(name = "idx_payment_outbox_status_available_at", columnList = "status, available_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentOutbox extends BaseEntity {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    // 결제 요청을 보낸 횟수
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // READY: 보낼 수 있는 시각, DISPATCHING: 결과를 기다리는 기한
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Builder
+    public PaymentOutbox(Long id, Long orderId, Long amount, OutboxStatus status, int attempts, LocalDateTime availableAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.status = status;
+        this.attempts = attempts;
+        this.availableAt = availableAt;
+    }
+
+    public void markDispatching(LocalDateTime leaseUntil) {
+        this.status = OutboxStatus.DISPATCHING;
+        this.attempts++;
+        this.availableAt = leaseUntil;
+    }
+
+    public void extendLease(LocalDateTime leaseUntil) {
+        this.availableAt = leaseUntil;
+    }
+
+    public void markReady(LocalDateTime availableAt) {
+        this.status = OutboxStatus.READY;
+        this.availableAt = availableAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.marketsystem.api.v1.order.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS("처리 중"),
+    COMPLETED("처리 완료"),
+    FAILED("결제 결과를 알 수 없는 실패");
+
+    private final String description;
+
+    IdempotencyStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
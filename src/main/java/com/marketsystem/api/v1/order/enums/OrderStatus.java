@@ -15,4 +15,9 @@ public enum OrderStatus {
     public String getDescription() {
         return description;
     }
+
+    // 결제가 끝나 더 이상 바뀌지 않는 상태
+    public boolean isFinalized() {
+        return this == PAID || this == FAILED;
+    }
 }
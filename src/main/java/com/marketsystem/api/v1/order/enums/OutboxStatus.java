@@ -0,0 +1,16 @@
+package com.marketsystem.api.v1.order.enums;
+
+public enum OutboxStatus {
+    READY("결제 요청 대기"),
+    DISPATCHING("결제 요청 중");
+
+    private final String description;
+
+    OutboxStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -2,8 +2,11 @@ package com.marketsystem.api.v1.order.enums;
 
 public enum PaymentStatus {
 
+    PENDING("결제 대기"),
     SUCCESS("결제 성공"),
-    FAILED("결제 실패");
+    FAILED("결제 실패"),
+    // 결제는 됐지만 주문을 채우지 못해 환불해야 하는 결제 (게이트웨이에 환불 API 가 없어 운영자가 처리)
+    REFUND_REQUIRED("환불 필요");
 
     private final String description;
 
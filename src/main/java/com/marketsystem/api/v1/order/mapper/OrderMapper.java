@@ -35,13 +35,19 @@ public interface OrderMapper {
     @Mapping(source = "order", target = "order")
     PaymentDetailsDto toPaymentDetailsDto(Payment payment);
 
-    default OrderCreateResponseDto toOrderCreateResponseDto(Orders order, PaymentResponseDto paymentResponseDto) {
+    // 상태는 결과 반영 후의 주문 상태를 받음 (이미 반영된 결과면 주문 엔터티의 상태는 갱신되지 않음)
+    default OrderCreateResponseDto toOrderCreateResponseDto(Orders order, OrderStatus status, PaymentResponseDto paymentResponseDto) {
         Long customerId = order.getCustomer().getId();
         String customerName = order.getCustomer().getName();
-        String statusStr = (order.getStatus() == OrderStatus.PAID) ? "SUCCESS" : "FAILED";
+        // 결과를 웹훅으로 기다리는 주문은 PENDING
+        String statusStr = switch (status) {
+            case PAID -> "SUCCESS";
+            case CREATED -> "PENDING";
+            default -> "FAILED";
+        };
         String message = paymentResponseDto.getMessage();
         String transactionId = paymentResponseDto.getTransactionId();
-        Long totalPrice = (order.getStatus() == OrderStatus.PAID) ? order.getTotalAmount() : null;
+        Long totalPrice = (status == OrderStatus.PAID) ? order.getTotalAmount() : null;
         List<OrderItemResponseDto> orderItemResponseDtoList = toOrderItemResponseDtoList(order.getOrderItems());
         return new OrderCreateResponseDto(customerId, customerName, order.getId(), transactionId, statusStr, message, totalPrice, orderItemResponseDtoList);
     }
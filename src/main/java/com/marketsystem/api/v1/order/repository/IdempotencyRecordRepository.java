@@ -0,0 +1,47 @@
+package com.marketsystem.api.v1.order.repository;
+
+import com.marketsystem.api.v1.order.entity.IdempotencyRecord;
+import com.marketsystem.api.v1.order.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.response = :response, r.errorCode = :errorCode, " +
+            "r.errorMessage = :errorMessage, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.idempotencyKey = :key AND r.status = com.marketsystem.api.v1.order.enums.IdempotencyStatus.IN_PROGRESS")
+    int finish(@Param("key") String key, @Param("status") IdempotencyStatus status, @Param("response") String response,
+               @Param("errorCode") String errorCode, @Param("errorMessage") String errorMessage);
+
+    // 주문 생성 트랜잭션에서 키에 주문을 연결 (이미 다른 요청이 주문을 연결했으면 0)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.orderId = :orderId, r.updatedAt = :now " +
+            "WHERE r.idempotencyKey = :key AND r.orderId IS NULL " +
+            "AND r.status = com.marketsystem.api.v1.order.enums.IdempotencyStatus.IN_PROGRESS")
+    int attachOrder(@Param("key") String key, @Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+    // 임대 시간이 지났고 주문이 연결되지 않은 IN_PROGRESS 키를 넘겨받음 (updated_at 을 갱신해 다른 요청이 함께 넘겨받지 못하게 함)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.updatedAt = :now " +
+            "WHERE r.idempotencyKey = :key AND r.orderId IS NULL AND r.updatedAt < :expiredBefore " +
+            "AND r.status = com.marketsystem.api.v1.order.enums.IdempotencyStatus.IN_PROGRESS")
+    int takeOver(@Param("key") String key, @Param("expiredBefore") LocalDateTime expiredBefore,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.status = com.marketsystem.api.v1.order.enums.IdempotencyStatus.IN_PROGRESS")
+    int deleteInProgress(@Param("key") String key);
+
+    // created_at 인덱스를 타는 보관 기간 만료 정리
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,20 @@
 package com.marketsystem.api.v1.order.repository;
 
 import com.marketsystem.api.v1.order.entity.OrderItem;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("SELECT oi.productId, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.id IN :orderIds GROUP BY oi.productId")
+    List<Object[]> sumQuantityByProductForOrders(@Param("orderIds") Collection<Long> orderIds);
+
+    // 상품별 판매 수량 (자동완성 순위용)
+    @Query("SELECT oi.productId, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.status = :status GROUP BY oi.productId")
+    List<Object[]> sumQuantityByProductForStatus(@Param("status") OrderStatus status);
 }
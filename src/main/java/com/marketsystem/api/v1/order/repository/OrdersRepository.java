@@ -1,7 +1,34 @@
 package com.marketsystem.api.v1.order.repository;
 
 import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrdersRepository extends JpaRepository<Orders, Long> {
+
+    // 주문 항목 없이 상태만 조회 (조건부 GET 확인용)
+    @Query("SELECT o.status FROM Orders o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT o.id FROM Orders o WHERE o.status = :status AND o.stockApplied = false")
+    List<Long> findIdsByStatusAndStockPending(@Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("UPDATE Orders o SET o.stockApplied = true WHERE o.id IN :ids")
+    int markStockApplied(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 주문 상태를 조건부로 전이시키는 메서드. 결제 결과 반영과 ERROR 정리 중 한쪽만 성공한다.
+     * @return 전이된 행 수 (0 이면 이미 다른 쪽에서 처리됨)
+     */
+    @Modifying
+    @Query("UPDATE Orders o SET o.status = :to WHERE o.id = :id AND o.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
 }
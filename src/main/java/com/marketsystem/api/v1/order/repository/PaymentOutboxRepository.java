@@ -0,0 +1,32 @@
+package com.marketsystem.api.v1.order.repository;
+
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    /**
+     * (status, available_at) 인덱스를 타는 처리 대기열을 잠그며 조회하는 메서드.
+     * 다른 트랜잭션이 잠근 행은 건너뛰므로(SELECT ... FOR UPDATE SKIP LOCKED) 여러 서버가 서로 다른 행을 나눠 가진다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM PaymentOutbox o WHERE o.status = :status AND o.availableAt <= :now ORDER BY o.availableAt")
+    List<PaymentOutbox> findAvailableForUpdate(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM PaymentOutbox o WHERE o.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
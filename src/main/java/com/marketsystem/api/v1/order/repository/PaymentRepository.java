@@ -12,4 +12,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p JOIN FETCH p.order o JOIN FETCH o.orderItems WHERE o.id = :orderId")
     Optional<Payment> findByOrderIdWithOrderItems(@Param("orderId") Long orderId);
 
+    Optional<Payment> findByOrderId(Long orderId);
+
+    @Query("SELECT p.order.id FROM Payment p WHERE p.transactionId = :transactionId")
+    Optional<Long> findOrderIdByTransactionId(@Param("transactionId") String transactionId);
+
 }
@@ -0,0 +1,265 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.common.exception.PaymentSentException;
+import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
+import com.marketsystem.api.v1.order.entity.IdempotencyRecord;
+import com.marketsystem.api.v1.order.enums.IdempotencyStatus;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key 가 붙은 주문 생성 요청을 한 번만 실행하는 서비스.
+ * 최근 키의 결과는 메모리 LRU 에서 바로 돌려주고, 없으면 idempotency_record 테이블에서 찾는다.
+ * 같은 서버에서 처리 중인 키로 들어온 중복 요청은 먼저 들어온 요청이 끝날 때까지 기다렸다가 같은 결과를 받는다.
+ * 결제 결과를 알 수 없는 실패(PAYMENT_SERVER_ERROR 등)와 결제 요청 뒤 결과 반영 중의 실패도 기록해 재시도가 두 번 결제하지 않도록 하고,
+ * 결제 요청 전에 실패한 경우(재고 부족, 서킷 브레이커 등)만 키를 풀어 같은 키로 다시 시도할 수 있게 한다.
+ * 처리하던 서버가 죽어 IN_PROGRESS 로 남은 키는 임대 시간(wait-timeout + 결제 대기 시간)이 지나면
+ * 연결된 주문의 상태로 결과를 정리하고, 주문을 만들기 전에 멈춘 키는 다음 요청이 넘겨받는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CheckoutIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final IdempotencyRecordService idempotencyRecordService;
+    private final ObjectMapper objectMapper;
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutIdempotencyService.class);
+
+    @Value("${market.order.idempotency.cache-size:10000}")
+    private int cacheSize = 10000;
+
+    @Value("${market.order.idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${market.order.idempotency.wait-timeout:PT30S}")
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    // 결제 요청 뒤 결과를 기다리는 시간. wait-timeout 과 더해 IN_PROGRESS 키의 임대 시간으로 쓴다.
+    @Value("${market.payment.outbox.lease:PT1M}")
+    private Duration paymentTimeout = Duration.ofMinutes(1);
+
+    // 처리가 끝난 최근 키의 결과 (접근 순서 LRU)
+    private final Map<String, Outcome> recentOutcomes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    // 이 서버에서 처리 중인 키
+    private final Map<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 같은 Idempotency-Key 로 한 번만 주문을 생성하고 결제하는 메서드.
+     * @return 처음 처리한 요청의 주문 생성 응답
+     */
+    public OrderCreateResponseDto placeOrder(String key, Long customerId) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        Outcome cached = getCached(key);
+        if (cached != null) {
+            return cached.replay(key, customerId);
+        }
+
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(key, running).replay(key, customerId);
+        }
+        try {
+            Outcome outcome = execute(key, customerId);
+            mine.complete(outcome);
+            return outcome.replay(key, customerId);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Outcome execute(String key, Long customerId) {
+        Optional<IdempotencyRecord> stored = idempotencyRecordService.find(key);
+        if (stored.isPresent()) {
+            if (!isLeaseExpired(stored.get())) {
+                return remember(key, toOutcome(key, stored.get()));
+            }
+            Outcome recovered = recoverExpired(key, customerId, stored.get());
+            if (recovered != null) {
+                return remember(key, recovered);
+            }
+        } else if (!idempotencyRecordService.begin(key, customerId)) {
+            // 다른 서버가 같은 키를 처리 중
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key);
+        }
+
+        OrderCreateResponseDto response;
+        try {
+            response = orderService.placeOrder(customerId, key);
+        } catch (BusinessException e) {
+            if (e instanceof PaymentSentException || e.getErrorCode() == ErrorCode.PAYMENT_SERVER_ERROR) {
+                // 결제 요청을 보낸 뒤의 실패는 다시 주문하면 두 번 결제될 수 있으므로 결과로 기록
+                recordFailure(key, customerId, e.getErrorCode(), e.getMessage());
+            } else if (e.getErrorCode() != ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS) {
+                // 결제 요청 전에 실패 (IDEMPOTENCY_KEY_IN_PROGRESS 는 임대 시간이 지나 다른 요청이 넘겨받은 키이므로 두고 감)
+                idempotencyRecordService.release(key);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            recordFailure(key, customerId, ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw e;
+        }
+
+        try {
+            idempotencyRecordService.complete(key, objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            // 주문은 이미 처리됐으므로 응답은 그대로 돌려주고 메모리에만 남김
+            logger.error("Failed to store idempotency record. Key: {}, Error: {}", key, e.getMessage());
+        }
+        return remember(key, new Outcome(customerId, response, null, null));
+    }
+
+    private boolean isLeaseExpired(IdempotencyRecord record) {
+        return record.getStatus() == IdempotencyStatus.IN_PROGRESS
+                && record.getUpdatedAt().isBefore(LocalDateTime.now().minus(waitTimeout).minus(paymentTimeout));
+    }
+
+    /**
+     * 임대 시간이 지난 IN_PROGRESS 키를 정리하는 메서드.
+     * 주문이 연결돼 있으면 주문의 현재 상태로 결과를 기록하고, 주문을 만들기 전에 멈춘 키는 넘겨받는다.
+     * @return 정리한 결과. 키를 넘겨받아 이 요청이 다시 처리해야 하면 null
+     */
+    private Outcome recoverExpired(String key, Long customerId, IdempotencyRecord record) {
+        if (record.getOrderId() == null) {
+            if (!record.getCustomerId().equals(customerId)) {
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, "Idempotency-Key: " + key);
+            }
+            LocalDateTime expiredBefore = LocalDateTime.now().minus(waitTimeout).minus(paymentTimeout);
+            if (!idempotencyRecordService.takeOver(key, expiredBefore)) {
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key);
+            }
+            logger.warn("Took over expired idempotency key. Key: {}", key);
+            return null;
+        }
+
+        // 결제 결과를 아직 모르면 대사 작업이 주문을 정리할 때까지 처리 중으로 응답
+        OrderCreateResponseDto response = orderService.findSettledOrderResponse(record.getOrderId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key));
+        try {
+            idempotencyRecordService.complete(key, objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            logger.error("Failed to store idempotency record. Key: {}, Error: {}", key, e.getMessage());
+        }
+        logger.warn("Recovered expired idempotency key from order. Key: {}, Order ID: {}", key, record.getOrderId());
+        return new Outcome(record.getCustomerId(), response, null, null);
+    }
+
+    private void recordFailure(String key, Long customerId, ErrorCode errorCode, String message) {
+        String errorMessage = message == null || message.length() <= MAX_ERROR_MESSAGE_LENGTH
+                ? message : message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+        try {
+            idempotencyRecordService.fail(key, errorCode.name(), errorMessage);
+        } catch (Exception e) {
+            logger.error("Failed to store idempotency failure. Key: {}, Error: {}", key, e.getMessage());
+        }
+        remember(key, new Outcome(customerId, null, errorCode, errorMessage));
+    }
+
+    private Outcome toOutcome(String key, IdempotencyRecord record) {
+        if (record.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key);
+        }
+        if (record.getStatus() == IdempotencyStatus.FAILED) {
+            return new Outcome(record.getCustomerId(), null, ErrorCode.valueOf(record.getErrorCode()), record.getErrorMessage());
+        }
+        try {
+            return new Outcome(record.getCustomerId(),
+                    objectMapper.readValue(record.getResponse(), OrderCreateResponseDto.class), null, null);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Unreadable idempotency record. Key: " + key);
+        }
+    }
+
+    private Outcome await(String key, CompletableFuture<Outcome> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 먼저 들어온 요청과 같은 예외로 응답
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Idempotency-Key: " + key);
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + key);
+        }
+    }
+
+    private Outcome getCached(String key) {
+        synchronized (recentOutcomes) {
+            return recentOutcomes.get(key);
+        }
+    }
+
+    private Outcome remember(String key, Outcome outcome) {
+        synchronized (recentOutcomes) {
+            recentOutcomes.put(key, outcome);
+        }
+        return outcome;
+    }
+
+    /**
+     * 보관 기간이 지난 키를 테이블에서 지우는 메서드. (메모리 LRU 는 크기로만 제한)
+     */
+    @Scheduled(fixedDelayString = "${market.order.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            int purged = idempotencyRecordService.purgeCreatedBefore(LocalDateTime.now().minus(ttl));
+            if (purged > 0) {
+                logger.info("Purged {} expired idempotency records", purged);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to purge idempotency records. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 키의 처리 결과. 주문 생성 응답 또는 다시 던질 오류 중 하나를 가진다.
+     */
+    private record Outcome(Long customerId, OrderCreateResponseDto response, ErrorCode errorCode, String errorMessage) {
+
+        OrderCreateResponseDto replay(String key, Long requestCustomerId) {
+            if (!customerId.equals(requestCustomerId)) {
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, "Idempotency-Key: " + key);
+            }
+            if (response == null) {
+                throw new BusinessException(errorCode, errorMessage);
+            }
+            return response;
+        }
+    }
+}
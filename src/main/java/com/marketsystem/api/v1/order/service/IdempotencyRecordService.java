@@ -0,0 +1,77 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.entity.IdempotencyRecord;
+import com.marketsystem.api.v1.order.enums.IdempotencyStatus;
+import com.marketsystem.api.v1.order.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 처리 결과를 idempotency_record 테이블에 기록하는 서비스.
+ * 각 메서드는 짧은 트랜잭션으로 끝나며, 주문 생성과 결제는 이 트랜잭션 밖에서 실행된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyRecordService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyRecord> find(String key) {
+        return idempotencyRecordRepository.findByIdempotencyKey(key);
+    }
+
+    /**
+     * 키를 IN_PROGRESS 로 선점하는 메서드.
+     * @return 다른 요청이 이미 같은 키를 선점했으면 false
+     */
+    public boolean begin(String key, Long customerId) {
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .customerId(customerId)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 임대 시간이 지난 IN_PROGRESS 키를 넘겨받는 메서드. 주문이 연결된 키는 넘겨받지 않는다.
+     * @return 다른 요청이 먼저 넘겨받았거나 주문이 이미 연결돼 있으면 false
+     */
+    @Transactional
+    public boolean takeOver(String key, LocalDateTime expiredBefore) {
+        return idempotencyRecordRepository.takeOver(key, expiredBefore, LocalDateTime.now()) == 1;
+    }
+
+    @Transactional
+    public void complete(String key, String response) {
+        idempotencyRecordRepository.finish(key, IdempotencyStatus.COMPLETED, response, null, null);
+    }
+
+    @Transactional
+    public void fail(String key, String errorCode, String errorMessage) {
+        idempotencyRecordRepository.finish(key, IdempotencyStatus.FAILED, null, errorCode, errorMessage);
+    }
+
+    /**
+     * 결제 요청이 나가기 전에 실패한 키를 지워 같은 키로 다시 시도할 수 있게 하는 메서드.
+     */
+    @Transactional
+    public void release(String key) {
+        idempotencyRecordRepository.deleteInProgress(key);
+    }
+
+    @Transactional
+    public int purgeCreatedBefore(LocalDateTime before) {
+        return idempotencyRecordRepository.deleteCreatedBefore(before);
+    }
+}
@@ -9,6 +9,7 @@ import com.marketsystem.api.v1.customer.repository.CustomerRepository;
 import com.marketsystem.api.v1.order.entity.OrderDraft;
 import com.marketsystem.api.v1.order.entity.OrderItem;
 import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,7 @@ public class OrderCalculationService {
 
     private final CartService cartService;
     private final CustomerRepository customerRepository;
+    private final ProductStockService productStockService;
 
     /**
      * 주문 정보를 계산하는 메서드
@@ -49,9 +51,10 @@ public class OrderCalculationService {
             Product product = en.getProduct();
 
             // 재고 체크
-            if (product.getStock() < en.getQuantity()) {
+            int available = productStockService.availableStock(product);
+            if (available < en.getQuantity()) {
                 throw new BusinessException(ErrorCode.OUT_OF_STOCK, "Product ID: " + product.getId() +
-                        ", Requested: " + en.getQuantity() + ", Available: " + product.getStock());
+                        ", Requested: " + en.getQuantity() + ", Available: " + available);
             }
 
             // 총 금액 계산
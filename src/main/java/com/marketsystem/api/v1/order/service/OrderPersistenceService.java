@@ -1,33 +1,85 @@
 package com.marketsystem.api.v1.order.service;
 
+import com.marketsystem.api.v1.inventory.service.StockReservationService;
 import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
 import com.marketsystem.api.v1.order.entity.OrderDraft;
 import com.marketsystem.api.v1.order.entity.Orders;
 import com.marketsystem.api.v1.order.entity.OrderItem;
 import com.marketsystem.api.v1.order.entity.Payment;
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
 import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
 import com.marketsystem.api.v1.order.enums.PaymentStatus;
+import com.marketsystem.api.v1.order.repository.IdempotencyRecordRepository;
 import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
 import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class OrderPersistenceService {
 
     private final OrdersRepository ordersRepository;
     private final PaymentRepository paymentRepository;
+    private final PaymentOutboxRepository paymentOutboxRepository;
     private final OrderUpdateService orderUpdateService;
+    private final StockReservationService stockReservationService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private static final Logger logger = LoggerFactory.getLogger(OrderPersistenceService.class);
+
+    // 결제 후 재고가 모자라 환불 대상이 된 결제의 메시지
+    public static final String REFUND_REQUIRED_MESSAGE = "Paid but out of stock. Payment will be refunded";
+
+    @Value("${market.payment.outbox.lease:PT1M}")
+    private Duration lease = Duration.ofMinutes(1);
 
     /**
-     * 계산된 주문 정보를 데이터베이스에 저장하는 메서드.
+     * 계산된 주문 정보를 데이터베이스에 저장하고, 주문 항목만큼 재고를 점유하는 메서드.
+     * 호출한 스레드가 바로 결제를 요청하므로 아웃박스 행은 DISPATCHING 으로 기록해 디스패처가 가져가지 않도록 한다.
      * @param draft 계산된 주문 정보 객체
      * @return 저장된 주문 엔터티
      */
     @Transactional
     public Orders createOrder(OrderDraft draft) {
+        return createOrder(draft, OutboxStatus.DISPATCHING, LocalDateTime.now().plus(lease));
+    }
+
+    /**
+     * 주문을 저장하고, 같은 트랜잭션에서 선점한 Idempotency-Key 에 주문을 연결하는 메서드.
+     * 처리하던 서버가 결제 도중 죽어도 키에 연결된 주문으로 결과를 정리할 수 있다.
+     * @param idempotencyKey IN_PROGRESS 로 선점한 키
+     */
+    @Transactional
+    public Orders createOrder(OrderDraft draft, String idempotencyKey) {
+        Orders order = createOrder(draft);
+        if (idempotencyRecordRepository.attachOrder(idempotencyKey, order.getId(), LocalDateTime.now()) == 0) {
+            // 임대 시간이 지나 다른 요청이 키를 넘겨받아 주문을 만듦 (주문 생성까지 롤백)
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, "Idempotency-Key: " + idempotencyKey);
+        }
+        return order;
+    }
+
+    /**
+     * 주문을 저장하고 결제 요청을 아웃박스에 READY 로 남겨 디스패처가 보내도록 하는 메서드.
+     */
+    @Transactional
+    public Orders createOrderForDispatch(OrderDraft draft) {
+        return createOrder(draft, OutboxStatus.READY, LocalDateTime.now());
+    }
+
+    // 주문, PENDING 결제, 결제 아웃박스를 한 트랜잭션에 기록
+    private Orders createOrder(OrderDraft draft, OutboxStatus outboxStatus, LocalDateTime availableAt) {
         // 새로운 주문 엔터티 생성 및 초기 상태 설정
         Orders order = Orders.builder()
                 .customer(draft.getCustomer())
@@ -42,34 +94,90 @@ public class OrderPersistenceService {
         }
 
         ordersRepository.save(order);
+
+        // 결제가 끝날 때까지 재고 점유 (재고 부족 시 주문 생성까지 롤백)
+        stockReservationService.reserve(order);
+
+        paymentRepository.save(Payment.builder()
+                .order(order)
+                .status(PaymentStatus.PENDING)
+                .build());
+        paymentOutboxRepository.save(PaymentOutbox.builder()
+                .orderId(order.getId())
+                .amount(order.getTotalAmount())
+                .status(outboxStatus)
+                .attempts(outboxStatus == OutboxStatus.DISPATCHING ? 1 : 0)
+                .availableAt(availableAt)
+                .build());
         return order;
     }
 
     /**
      * 결제 응답을 바탕으로 주문의 상태를 결정 메서드.
-     * 결제 상태에 따라 주문의 상태를 업데이트하고, 결제 정보를 저장
+     * 결제 상태에 따라 주문의 상태를 업데이트하고, PENDING 결제에 결과를 기록한 뒤 아웃박스 행을 지운다.
+     * 결제 응답, 웹훅, 대사 작업이 같은 결과를 여러 번 반영해도 처음 한 번만 적용되고, 게이트웨이가 요청만 받아들인
+     * PENDING 응답은 거래 ID만 기록하고 결과는 웹훅이나 대사 작업을 기다린다.
      * @param order            상태를 확정할 주문 정보 엔터티
      * @param paymentResponse  결제 처리 결과를 담은 PaymentResponseDto 객체
+     * @return 결과 반영 후의 주문 상태 (이미 반영된 결과면 DB 에 기록된 상태)
      */
     @Transactional
-    public void finalizeOrder(Orders order, PaymentResponseDto paymentResponse) {
-        // 결제 정보 엔터티 생성
-        Payment payment = Payment.builder()
-                .order(order)
-                .transactionId(paymentResponse.getTransactionId())
-                .message(paymentResponse.getMessage())
-                .status("SUCCESS".equalsIgnoreCase(paymentResponse.getStatus()) ? PaymentStatus.SUCCESS : PaymentStatus.FAILED)
-                .build();
+    public OrderStatus finalizeOrder(Orders order, PaymentResponseDto paymentResponse) {
+        // PENDING 결제가 없는 이전 주문이면 새로 생성
+        Payment payment = paymentRepository.findByOrderId(order.getId())
+                .orElseGet(() -> Payment.builder().order(order).build());
+        if (PaymentStatus.PENDING.name().equalsIgnoreCase(paymentResponse.getStatus())) {
+            payment.accept(paymentResponse.getTransactionId());
+            paymentRepository.save(payment);
+            return order.getStatus();
+        }
 
-        // 결제 정보 저장
+        PaymentStatus result = "SUCCESS".equalsIgnoreCase(paymentResponse.getStatus()) ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+        OrderStatus target = result == PaymentStatus.SUCCESS ? OrderStatus.PAID : OrderStatus.FAILED;
+        if (ordersRepository.transitionStatus(order.getId(), OrderStatus.CREATED, target) == 0) {
+            // 같은 결과가 이미 반영됨 (웹훅과 결제 응답 중 늦게 도착한 쪽)
+            // ERROR 로 정리된 주문도 결제는 FAILED 로 기록되므로 결제가 아니라 주문의 현재 상태로 판단한다.
+            // 주문 엔터티는 이 트랜잭션에서 읽은 영속 상태일 수 있으므로 건드리지 않고 상태만 반환한다.
+            OrderStatus current = ordersRepository.findStatusById(order.getId()).orElse(null);
+            // 결제 후 재고가 모자라 ERROR 로 정리한 주문에 같은 성공 결과가 다시 온 경우도 이미 반영된 것
+            boolean refundRequired = result == PaymentStatus.SUCCESS && current == OrderStatus.ERROR
+                    && payment.getStatus() == PaymentStatus.REFUND_REQUIRED;
+            if (current == target || refundRequired) {
+                logger.info("Order ID: {} payment {} was already applied", order.getId(), result);
+                return current;
+            }
+            // 결제 요청 실패나 대사 작업으로 먼저 ERROR로 정리됐거나 다른 결과가 반영된 주문이면 결과를 반영하지 않는다.
+            logger.error("Order ID: {} was already resolved. Payment {} (transaction ID: {}) needs reconciliation",
+                    order.getId(), result, paymentResponse.getTransactionId());
+            throw new BusinessException(ErrorCode.CONFLICT, "Order ID: " + order.getId() + " was already resolved");
+        }
+
+        // 결제 결과 기록
+        payment.complete(result, paymentResponse.getTransactionId(), paymentResponse.getMessage());
         paymentRepository.save(payment);
+        paymentOutboxRepository.deleteByOrderId(order.getId());
 
         if (payment.getStatus() == PaymentStatus.SUCCESS) {
             // 결제 성공시 order update 메서드
-            orderUpdateService.handlePaymentSuccess(order);
+            if (!orderUpdateService.handlePaymentSuccess(order)) {
+                // 결제는 됐지만 주문을 채울 재고가 없어 환불 대상으로 기록
+                payment.complete(PaymentStatus.REFUND_REQUIRED, paymentResponse.getTransactionId(), REFUND_REQUIRED_MESSAGE);
+                return OrderStatus.ERROR;
+            }
         } else {
             // 결제 실패시 order update 메서드
             orderUpdateService.handlePaymentFailure(order);
         }
+        return target;
+    }
+
+    /**
+     * 디스패처나 대사 작업처럼 주문 엔터티 없이 결과만 가진 경우, 주문을 읽어 결과를 반영하는 메서드.
+     */
+    @Transactional
+    public void finalizeOrder(Long orderId, PaymentResponseDto paymentResponse) {
+        Orders order = ordersRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order ID: " + orderId));
+        finalizeOrder(order, paymentResponse);
     }
 }
@@ -2,16 +2,25 @@ package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.common.exception.PaymentSentException;
 import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
 import com.marketsystem.api.v1.order.dto.OrderResponseDto;
 import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
 import com.marketsystem.api.v1.order.entity.OrderDraft;
 import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.entity.Payment;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
 import com.marketsystem.api.v1.order.mapper.OrderMapper;
 import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,25 +29,122 @@ public class OrderService {
     private final OrderCalculationService orderCalculationService;
     private final OrderPersistenceService orderPersistenceService;
     private final OrdersRepository ordersRepository;
+    private final PaymentRepository paymentRepository;
     private final PaymentService paymentService;
     private final OrderMapper orderMapper;
+    private final OrderUpdateService orderUpdateService;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
-    @Transactional
+    /**
+     * 주문을 생성하고 결제한 뒤 결과를 반영하는 메서드.
+     * 결제 API 호출 동안 DB 커넥션을 잡지 않도록 트랜잭션을 두지 않고, 주문 생성과 결과 반영만 각각 짧은 트랜잭션으로 처리한다.
+     */
     public OrderCreateResponseDto placeOrder(Long customerId) {
         // 주문 정보 계산
         OrderDraft draft = orderCalculationService.calculateOrderInfo(customerId);
 
-        // 주문 생성 및 저장
+        // 주문 생성 및 저장 (커밋)
         Orders order = orderPersistenceService.createOrder(draft);
 
-        // 결제 요청
-        PaymentResponseDto paymentResponse = paymentService.requestPayment(order);
+        return payAndFinalize(order);
+    }
+
+    /**
+     * 선점한 Idempotency-Key 로 주문을 생성하고 결제하는 메서드. 주문과 같은 트랜잭션에서 키에 주문을 연결한다.
+     */
+    public OrderCreateResponseDto placeOrder(Long customerId, String idempotencyKey) {
+        OrderDraft draft = orderCalculationService.calculateOrderInfo(customerId);
+        Orders order = orderPersistenceService.createOrder(draft, idempotencyKey);
+        return payAndFinalize(order);
+    }
+
+    /**
+     * 처리하던 서버가 죽은 주문의 생성 응답을 현재 주문과 결제 상태로 다시 만드는 메서드.
+     * @return 결제 결과가 아직 반영되지 않은 주문(CREATED)이면 empty (대사 작업이 정리함)
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderCreateResponseDto> findSettledOrderResponse(Long orderId) {
+        Payment payment = paymentRepository.findByOrderIdWithOrderItems(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order ID: " + orderId));
+        Orders order = payment.getOrder();
+        if (order.getStatus() == OrderStatus.CREATED) {
+            return Optional.empty();
+        }
+        PaymentResponseDto paymentResponse =
+                new PaymentResponseDto(payment.getStatus().name(), payment.getTransactionId(), payment.getMessage());
+        return Optional.of(orderMapper.toOrderCreateResponseDto(order, order.getStatus(), paymentResponse));
+    }
+
+    /**
+     * 주문과 결제 아웃박스 행만 기록하고 결제는 아웃박스 디스패처에 맡기는 메서드.
+     * 호출자는 CREATED 상태의 주문을 바로 받고, 주문 조회 API 로 최종 상태를 폴링한다.
+     */
+    public OrderResponseDto placeOrderAsync(Long customerId) {
+        OrderDraft draft = orderCalculationService.calculateOrderInfo(customerId);
+        Orders order = orderPersistenceService.createOrderForDispatch(draft);
+        return orderMapper.toOrderResponseDto(order);
+    }
+
+    /**
+     * 아웃박스 디스패처가 가져간 결제 요청을 보내고 결과를 반영하는 메서드.
+     * 실패는 로그만 남기고, 결과를 알 수 없는 주문은 아웃박스에 남아 대사 작업이 정리한다.
+     */
+    public void dispatchPayment(Long orderId, Long amount) {
+        try {
+            PaymentResponseDto paymentResponse = requestPayment(Orders.builder().id(orderId).totalAmount(amount).build());
+            orderPersistenceService.finalizeOrder(orderId, paymentResponse);
+        } catch (Exception e) {
+            logger.error("Order ID: {} payment dispatch failed. Error: {}", orderId, e.getMessage());
+        } finally {
+            orderStatusNotifier.notifyChanged(orderId);
+        }
+    }
 
-        // 결제 결과 반영 및 재고 차감
-        orderPersistenceService.finalizeOrder(order, paymentResponse);
+    // 결제 요청 및 결과 반영 (아웃박스 행은 DISPATCHING 으로 기록돼 있어 디스패처가 다시 보내지 않음)
+    private OrderCreateResponseDto payAndFinalize(Orders order) {
+        PaymentResponseDto paymentResponse = requestPayment(order);
+        OrderStatus status;
+        try {
+            status = orderPersistenceService.finalizeOrder(order, paymentResponse);
+        } catch (BusinessException e) {
+            // 게이트웨이가 이미 결제했을 수 있으므로 결제 전 실패와 구분
+            throw new PaymentSentException(e.getErrorCode(), e.getMessage());
+        }
+        if (status == OrderStatus.ERROR) {
+            // 결제 후 재고가 모자라 환불 대상이 된 주문
+            paymentResponse = new PaymentResponseDto(paymentResponse.getStatus(), paymentResponse.getTransactionId(),
+                    OrderPersistenceService.REFUND_REQUIRED_MESSAGE);
+        }
 
         // 주문 생성 응답 DTO 매핑 및 반환
-        return orderMapper.toOrderCreateResponseDto(order, paymentResponse);
+        return orderMapper.toOrderCreateResponseDto(order, status, paymentResponse);
+    }
+
+    /**
+     * 트랜잭션 밖에서 결제를 요청하는 메서드.
+     * 결제 호출 중 장애가 나면 주문은 CREATED, 결제는 PENDING 으로 남고 대사 작업이 게이트웨이에 결과를 물어 정리한다.
+     * 서킷 브레이커나 동시 요청 한도로 요청을 보내지도 못했으면 결제됐을 가능성이 없으므로 바로 ERROR 로 정리한다.
+     */
+    private PaymentResponseDto requestPayment(Orders order) {
+        try {
+            return paymentService.requestPayment(order);
+        } catch (BusinessException e) {
+            logger.warn("Order ID: {} payment rejected without calling gateway. {}", order.getId(), e.getMessage());
+            orderUpdateService.markOrderAsError(order.getId());
+            throw e;
+        } catch (RestClientException e) {
+            logger.error("Order ID: {} payment request failed, left for reconciliation. Error: {}", order.getId(), e.getMessage());
+            throw new BusinessException(ErrorCode.PAYMENT_SERVER_ERROR, "Order ID: " + order.getId());
+        }
+    }
+
+    /**
+     * 주문 상태만 조회하는 메서드. 주문 항목을 읽지 않으므로 조건부 요청 확인에 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderStatus> findOrderStatus(Long orderId) {
+        return ordersRepository.findStatusById(orderId);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,54 @@
+package com.marketsystem.api.v1.order.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 주문 상태 변경을 기다리는 롱 폴링 요청을 주문 ID별로 보관하고, 결과가 반영되면 깨우는 컴포넌트.
+ * 같은 인스턴스에서 처리된 주문만 알림을 받으므로, 대기자는 타임아웃 시 DB 에서 현재 상태를 다시 읽는다.
+ */
+@Component
+public class OrderStatusNotifier {
+
+    private final Map<Long, Set<Consumer<Long>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * 주문 상태 변경 대기자를 등록하는 메서드.
+     * notifyChanged 가 집합을 떼어낸 뒤 그 집합에 추가되어 알림을 놓치지 않도록, 추가도 compute 안에서 한다.
+     */
+    public void register(Long orderId, Consumer<Long> waiter) {
+        waiters.compute(orderId, (id, set) -> {
+            Set<Consumer<Long>> registered = set != null ? set : ConcurrentHashMap.newKeySet();
+            registered.add(waiter);
+            return registered;
+        });
+    }
+
+    /**
+     * 대기자를 제거하는 메서드. (완료 또는 타임아웃 시)
+     */
+    public void unregister(Long orderId, Consumer<Long> waiter) {
+        waiters.computeIfPresent(orderId, (id, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * 주문의 모든 대기자를 깨우는 메서드.
+     */
+    public void notifyChanged(Long orderId) {
+        Set<Consumer<Long>> set = waiters.remove(orderId);
+        if (set != null) {
+            set.forEach(waiter -> waiter.accept(orderId));
+        }
+    }
+
+    int waiterCount() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+}
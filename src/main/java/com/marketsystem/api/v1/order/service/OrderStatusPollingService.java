@@ -0,0 +1,56 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.dto.OrderResponseDto;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class OrderStatusPollingService {
+
+    private final OrderService orderService;
+    private final OrderStatusNotifier orderStatusNotifier;
+    // 깨어난 뒤 주문 조회는 MVC 비동기 스레드 풀에서 함 (결제 스레드 풀의 큐는 아웃박스 디스패처가 크기를 맞춰 쓰므로 사용하지 않음)
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    @Value("${market.order.async.max-wait-ms:30000}")
+    private long maxWaitMs = 30000;
+
+    /**
+     * 주문이 CREATED 상태를 벗어나거나 대기 시간이 끝날 때까지 기다렸다가 주문 상세를 반환하는 메서드. (롱 폴링)
+     * 대기 중에는 요청 스레드를 점유하지 않는다.
+     * @param waitMs 최대 대기 시간(ms), market.order.async.max-wait-ms 를 넘지 않음
+     */
+    public CompletableFuture<OrderResponseDto> awaitOrderDetail(Long orderId, long waitMs) {
+        CompletableFuture<Long> changed = new CompletableFuture<>();
+        Consumer<Long> waiter = changed::complete;
+
+        // 조회와 결과 반영 사이의 알림을 놓치지 않도록 먼저 등록
+        orderStatusNotifier.register(orderId, waiter);
+        OrderResponseDto current;
+        try {
+            current = orderService.getOrderDetail(orderId);
+        } catch (RuntimeException e) {
+            orderStatusNotifier.unregister(orderId, waiter);
+            throw e;
+        }
+        if (!OrderStatus.CREATED.name().equals(current.getOrderStatus()) || waitMs <= 0) {
+            orderStatusNotifier.unregister(orderId, waiter);
+            return CompletableFuture.completedFuture(current);
+        }
+
+        // 타임아웃이면 다른 인스턴스에서 처리되었을 수 있으므로 현재 상태를 다시 읽음
+        return changed.completeOnTimeout(orderId, Math.min(waitMs, maxWaitMs), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(id -> {
+                    orderStatusNotifier.unregister(id, waiter);
+                    return orderService.getOrderDetail(id);
+                }, mvcAsyncExecutor);
+    }
+}
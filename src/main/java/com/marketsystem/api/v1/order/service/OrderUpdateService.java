@@ -1,34 +1,48 @@
 package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.cart.service.CartService;
-import com.marketsystem.api.v1.order.entity.OrderItem;
-import com.marketsystem.api.v1.order.entity.Orders;
-import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.service.InventoryJournal;
+import com.marketsystem.api.v1.inventory.service.StockReservationService;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.enums.PaymentStatus;
 import com.marketsystem.api.v1.order.repository.OrdersRepository;
-import com.marketsystem.api.v1.product.entity.Product;
-import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class OrderUpdateService {
 
     private final OrdersRepository ordersRepository;
-    private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
+    private final StockReservationService stockReservationService;
     private final CartService cartService;
+    private final InventoryJournal inventoryJournal;
+    private final PaymentRepository paymentRepository;
+    private final PaymentOutboxRepository paymentOutboxRepository;
     private static final Logger logger = LoggerFactory.getLogger(OrderUpdateService.class);
 
     /**
-     * 결제 실패 시 Order 상태를 FAILED로 변경하고, OrderItem을 삭제하는 메서드.
+     * 결제 실패 시 Order 상태를 FAILED로 변경하고, 점유한 재고를 되돌린 뒤 OrderItem을 삭제하는 메서드.
      */
     @Transactional
     public void handlePaymentFailure(Orders order) {
         order.markAsFailed();
+        // 점유 재고 해제
+        stockReservationService.release(order);
         // 주문 항목을 컬렉션에서 제거
         order.getOrderItems().clear();
         ordersRepository.save(order);
@@ -36,20 +50,58 @@ public class OrderUpdateService {
     }
 
     /**
-     * 결제 성공 시 Order 상태를 PAID로 변경하고, 재고를 차감하며, 장바구니를 비우는 메서드.
+     * 결제되지 않은 CREATED 상태의 주문을 ERROR로 바꾸고 점유한 재고를 되돌리는 메서드.
+     * 결제 요청을 보내지 못한 주문과, 대사 결과 게이트웨이가 끝내 받지 못한 주문의 정리에 쓰인다.
+     * PENDING 결제는 FAILED 로 기록하고 아웃박스 행을 지운다.
+     * 결제 결과 반영과 경합하면 먼저 상태를 바꾼 쪽만 처리한다.
+     * @return 이 호출로 정리되었으면 true
+     */
+    @Transactional
+    public boolean markOrderAsError(Long orderId) {
+        if (ordersRepository.transitionStatus(orderId, OrderStatus.CREATED, OrderStatus.ERROR) == 0) {
+            return false;
+        }
+        Orders order = ordersRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND, "Order ID: " + orderId));
+        stockReservationService.release(order);
+        paymentRepository.findByOrderId(orderId)
+                .ifPresent(payment -> payment.complete(PaymentStatus.FAILED, null, "Payment was not processed"));
+        paymentOutboxRepository.deleteByOrderId(orderId);
+        logger.warn("Order ID: {} marked as ERROR, stock reservation released", orderId);
+        return true;
+    }
+
+    /**
+     * 결제 성공 시 Order 상태를 PAID로 변경하고, 재고 점유를 확정하며, 장바구니를 비우는 메서드.
+     * 결제 도중 점유가 만료된 항목은 조건부 UPDATE로 다시 차감하며, 재고가 모자라면 확정한 점유도 되돌리고 주문을 ERROR 로 정리한다.
+     * 예외로 롤백하면 이미 결제된 주문이 CREATED 로 남아 대사 작업과 웹훅이 끝없이 다시 반영하므로, 정리 결과를 커밋한다.
+     * @return PAID 로 확정했으면 true, 재고가 모자라 ERROR 로 정리했으면 false (결제는 호출자가 환불 대상으로 기록)
      */
     @Transactional
-    public void handlePaymentSuccess(Orders order) {
+    public boolean handlePaymentSuccess(Orders order) {
+        // 점유 확정 및 만료된 점유분 재고 차감
+        Map<Long, Integer> lost = stockReservationService.confirm(order);
+        if (!lost.isEmpty()) {
+            List<Long> failedIds = productStockService.tryDecreaseStock(lost);
+            if (!failedIds.isEmpty()) {
+                order.markAsError();
+                stockReservationService.releaseConfirmed(order);
+                ordersRepository.save(order);
+                logger.error("Order ID: {} was paid but products {} ran out of stock. Marked as ERROR, refund required",
+                        order.getId(), failedIds);
+                return false;
+            }
+            inventoryJournal.append(InventoryEventType.SALE, order.getId(), lost);
+        }
         order.markAsPaid();
-        // 재고 차감
-        for (OrderItem oi : order.getOrderItems()) {
-            Product product = productRepository.findById(oi.getProductId())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product ID: " + oi.getProductId()));
-            product.decreaseStock(oi.getQuantity());
+        // 재고 원장 사용 시 판매 수량은 상품 테이블에 나중에 반영
+        if (productStockService.recordSale(order.getId(), order.quantitiesByProduct())) {
+            order.markStockPending();
         }
         ordersRepository.save(order);
 
         // 별도의 트랜잭션에서 장바구니 비우기
         cartService.clearCart(order.getCustomer().getId());
+        return true;
     }
 }
@@ -0,0 +1,68 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 결제 아웃박스의 READY 행을 묶음으로 가져와 결제 스레드 풀에서 보내는 컴포넌트.
+ * 풀 큐에 남은 자리만큼만 가져오므로, 처리량은 market.order.async.pool-size 에 비례하고 밀린 요청은 아웃박스에서 기다린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxDispatcher {
+
+    private final PaymentOutboxService paymentOutboxService;
+    private final OrderService orderService;
+    private final ThreadPoolTaskExecutor orderPaymentExecutor;
+    private static final Logger logger = LoggerFactory.getLogger(PaymentOutboxDispatcher.class);
+
+    @Value("${market.payment.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${market.payment.outbox.lease:PT1M}")
+    private Duration lease = Duration.ofMinutes(1);
+
+    @Scheduled(fixedDelayString = "${market.payment.outbox.dispatch-interval-ms:100}")
+    public void dispatch() {
+        try {
+            int limit;
+            List<PaymentOutbox> entries;
+            do {
+                limit = Math.min(batchSize, orderPaymentExecutor.getQueueCapacity() - orderPaymentExecutor.getQueueSize());
+                if (limit <= 0) {
+                    return;
+                }
+                entries = paymentOutboxService.claimReady(limit, lease);
+                submit(entries);
+            } while (entries.size() == limit);
+        } catch (Exception e) {
+            logger.error("Failed to dispatch payment outbox. Error: {}", e.getMessage());
+        }
+    }
+
+    private void submit(List<PaymentOutbox> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            PaymentOutbox entry = entries.get(i);
+            try {
+                orderPaymentExecutor.execute(() -> orderService.dispatchPayment(entry.getOrderId(), entry.getAmount()));
+            } catch (TaskRejectedException e) {
+                // 보내지 못한 요청은 다음 주기에 다시 가져감
+                logger.warn("Payment queue is full, {} outbox entries returned", entries.size() - i);
+                for (PaymentOutbox rejected : entries.subList(i, entries.size())) {
+                    paymentOutboxService.retry(rejected.getId());
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 결제 아웃박스 행을 나눠 가지는 서비스.
+ * 잠근 행의 상태와 기한을 바꾸고 바로 커밋하므로, 결제 요청은 잠금 없이 트랜잭션 밖에서 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+
+    /**
+     * 보낼 차례인 결제 요청을 최대 batchSize 건 가져와 DISPATCHING 으로 바꾸는 메서드.
+     * @param lease 결과를 기다리는 시간. 지나도 결과가 반영되지 않으면 대사 대상이 된다.
+     */
+    @Transactional
+    public List<PaymentOutbox> claimReady(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentOutbox> entries = paymentOutboxRepository.findAvailableForUpdate(OutboxStatus.READY, now, Limit.of(batchSize));
+        for (PaymentOutbox entry : entries) {
+            entry.markDispatching(now.plus(lease));
+        }
+        return entries;
+    }
+
+    /**
+     * 결과를 기다리는 기한이 지난 결제 요청을 최대 batchSize 건 가져와 기한을 늘리는 메서드. (대사 작업용)
+     */
+    @Transactional
+    public List<PaymentOutbox> claimExpired(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentOutbox> entries = paymentOutboxRepository.findAvailableForUpdate(OutboxStatus.DISPATCHING, now, Limit.of(batchSize));
+        for (PaymentOutbox entry : entries) {
+            entry.extendLease(now.plus(lease));
+        }
+        return entries;
+    }
+
+    /**
+     * 게이트웨이에 전달되지 않은 결제 요청을 다시 READY 로 돌리는 메서드.
+     */
+    @Transactional
+    public void retry(Long outboxId) {
+        paymentOutboxRepository.findById(outboxId)
+                .ifPresent(entry -> entry.markReady(LocalDateTime.now()));
+    }
+}
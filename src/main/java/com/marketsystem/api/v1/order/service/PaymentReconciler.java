@@ -0,0 +1,83 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusDto;
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결과를 기다리는 기한이 지난 결제 아웃박스 행을 게이트웨이에 일괄 조회해 정리하는 컴포넌트.
+ * 게이트웨이가 결과를 알면 주문에 반영하고, 받은 적이 없으면 max-attempts 까지 다시 보내고 그 뒤에는 ERROR 로 정리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentReconciler {
+
+    private final PaymentOutboxService paymentOutboxService;
+    private final PaymentService paymentService;
+    private final OrderPersistenceService orderPersistenceService;
+    private final OrderUpdateService orderUpdateService;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciler.class);
+
+    @Value("${market.payment.outbox.reconcile-batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${market.payment.outbox.lease:PT1M}")
+    private Duration lease = Duration.ofMinutes(1);
+
+    @Value("${market.payment.outbox.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Scheduled(fixedDelayString = "${market.payment.outbox.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        try {
+            List<PaymentOutbox> entries;
+            do {
+                entries = paymentOutboxService.claimExpired(batchSize, lease);
+                if (!entries.isEmpty()) {
+                    reconcile(entries);
+                }
+            } while (entries.size() == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to reconcile pending payments. Error: {}", e.getMessage());
+        }
+    }
+
+    private void reconcile(List<PaymentOutbox> entries) {
+        Map<Long, PaymentStatusDto> statuses = paymentService.queryPaymentStatuses(
+                entries.stream().map(PaymentOutbox::getOrderId).toList());
+        for (PaymentOutbox entry : entries) {
+            Long orderId = entry.getOrderId();
+            try {
+                PaymentStatusDto status = statuses.get(orderId);
+                if (status != null) {
+                    if (!"SUCCESS".equalsIgnoreCase(status.getStatus()) && !"FAILED".equalsIgnoreCase(status.getStatus())) {
+                        // 게이트웨이에서 아직 처리 중이면 다음 기한까지 기다림
+                        continue;
+                    }
+                    orderPersistenceService.finalizeOrder(orderId,
+                            new PaymentResponseDto(status.getStatus(), status.getTransactionId(), status.getMessage()));
+                } else if (entry.getAttempts() < maxAttempts) {
+                    paymentOutboxService.retry(entry.getId());
+                    continue;
+                } else {
+                    logger.warn("Order ID: {} payment not received after {} attempts", orderId, entry.getAttempts());
+                    orderUpdateService.markOrderAsError(orderId);
+                }
+                orderStatusNotifier.notifyChanged(orderId);
+            } catch (Exception e) {
+                logger.error("Order ID: {} reconciliation failed. Error: {}", orderId, e.getMessage());
+            }
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.order.client.PaymentCircuitBreaker;
+import com.marketsystem.api.v1.order.client.PaymentGatewayBulkheadFullException;
 import com.marketsystem.api.v1.order.dto.PaymentDetailsDto;
 import com.marketsystem.api.v1.order.dto.PaymentRequestDto;
 import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusRequestDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusResponseDto;
 import com.marketsystem.api.v1.order.entity.Orders;
 import com.marketsystem.api.v1.order.entity.Payment;
 import com.marketsystem.api.v1.order.mapper.OrderMapper;
@@ -12,38 +17,86 @@ import com.marketsystem.api.v1.order.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final OrderMapper orderMapper;
-    private final RestTemplate restTemplate;
+    private final RestTemplate paymentRestTemplate;
+    private final PaymentCircuitBreaker paymentCircuitBreaker;
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
-    private final String paymentUrl = "https://payment-api.free.beeceptor.com/payment";
+    @Value("${market.payment.gateway.url}")
+    private String paymentUrl;
+
+    @Value("${market.payment.gateway.status-url:${market.payment.gateway.url}/status}")
+    private String paymentStatusUrl;
 
     /**
      * 외부 결제 API에 결제 요청을 보내는 메서드.
+     * 서킷 브레이커가 열려 있거나 동시 요청 한도가 가득 차면 요청을 보내지 않고 PAYMENT_UNAVAILABLE 로 바로 실패한다.
+     * 5xx 응답, 타임아웃, 연결 실패는 서킷 브레이커에 실패로 집계하고 그대로 던진다.
      * @param order 결제 요청을 할 주문 정보(Orders) 엔터티
      * @return 외부 결제 API로부터 받은 응답(PaymentResponseDto) 객체
      */
     public PaymentResponseDto requestPayment(Orders order) {
+        if (!paymentCircuitBreaker.tryAcquirePermission()) {
+            throw new BusinessException(ErrorCode.PAYMENT_UNAVAILABLE, "Payment circuit is open. Order ID: " + order.getId());
+        }
         PaymentRequestDto request = new PaymentRequestDto(order.getId().toString(), order.getTotalAmount());
+        long startedAt = System.nanoTime();
         try {
-            ResponseEntity<PaymentResponseDto> response = restTemplate.postForEntity(paymentUrl, request, PaymentResponseDto.class);
+            ResponseEntity<PaymentResponseDto> response = paymentRestTemplate.postForEntity(paymentUrl, request, PaymentResponseDto.class);
+            paymentCircuitBreaker.onSuccess(System.nanoTime() - startedAt);
             return response.getBody();
         } catch (HttpClientErrorException e) {
+            // 4xx 는 게이트웨이가 정상적으로 거절한 응답이므로 장애로 집계하지 않음
+            paymentCircuitBreaker.onSuccess(System.nanoTime() - startedAt);
             // HTTP 클라이언트 오류 발생 시, 오류 메시지를 로그에 기록
             logger.error("failed payment api response body : {}", e.getResponseBodyAsString());
             // 결제 실패를 나타내는 PaymentResponseDto 객체 생성 및 반환
             return new PaymentResponseDto("FAILED", null, "something wrong!");
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof PaymentGatewayBulkheadFullException) {
+                // 게이트웨이로 나가지 않은 요청은 집계하지 않음
+                paymentCircuitBreaker.releasePermission();
+                throw new BusinessException(ErrorCode.PAYMENT_UNAVAILABLE, "Payment gateway is busy. Order ID: " + order.getId());
+            }
+            paymentCircuitBreaker.onError(System.nanoTime() - startedAt);
+            throw e;
+        } catch (RuntimeException e) {
+            paymentCircuitBreaker.onError(System.nanoTime() - startedAt);
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 주문의 결제 결과를 게이트웨이에 한 번에 조회하는 메서드. (결과를 모르는 주문의 대사용)
+     * @return 주문 ID 별 결제 결과. 게이트웨이가 받은 적 없는 주문은 포함되지 않는다.
+     */
+    public Map<Long, PaymentStatusDto> queryPaymentStatuses(List<Long> orderIds) {
+        PaymentStatusRequestDto request = new PaymentStatusRequestDto(orderIds.stream().map(String::valueOf).toList());
+        PaymentStatusResponseDto response = paymentRestTemplate.postForObject(paymentStatusUrl, request, PaymentStatusResponseDto.class);
+        Map<Long, PaymentStatusDto> statuses = new HashMap<>();
+        if (response != null && response.getPayments() != null) {
+            for (PaymentStatusDto status : response.getPayments()) {
+                statuses.put(Long.valueOf(status.getOrderId()), status);
+            }
         }
+        return statuses;
     }
 
     /**
@@ -51,6 +104,7 @@ public class PaymentService {
      * @param orderId 결제 상세 정보를 조회할 주문의 ID
      * @return 조회된 결제 상세 정보(PaymentDetailsDto) 객체
      */
+    @Transactional(readOnly = true)
     public PaymentDetailsDto getPaymentDetails(Long orderId) {
         Payment payment = paymentRepository.findByOrderIdWithOrderItems(orderId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PAYMENT_NOT_FOUND, "Payment not found for Order ID: " + orderId));
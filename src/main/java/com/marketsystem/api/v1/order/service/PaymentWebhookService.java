@@ -0,0 +1,83 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.order.client.PaymentWebhookSignature;
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentWebhookDto;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * 게이트웨이가 보낸 결제 결과 웹훅을 주문에 반영하는 서비스.
+ * 본문 서명을 확인한 뒤 결제 응답과 같은 경로(finalizeOrder)로 반영하므로, 같은 결과가 여러 번 오거나
+ * 결제 응답보다 먼저 와도 한 번만 적용된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookService {
+
+    private final OrderPersistenceService orderPersistenceService;
+    private final PaymentRepository paymentRepository;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private final ObjectMapper objectMapper;
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookService.class);
+
+    // 비어 있으면 모든 웹훅을 거절
+    @Value("${market.payment.webhook.secret:}")
+    private String secret;
+
+    /**
+     * 웹훅 본문을 검증하고 결제 결과를 반영하는 메서드.
+     * @param body      서명 대상인 요청 본문 그대로
+     * @param signature X-Payment-Signature 헤더 값
+     * @return 결과를 반영한 주문 ID
+     */
+    public Long handle(byte[] body, String signature) {
+        if (!PaymentWebhookSignature.verify(secret, body, signature)) {
+            throw new BusinessException(ErrorCode.WEBHOOK_SIGNATURE_INVALID, "Invalid webhook signature");
+        }
+        PaymentWebhookDto webhook = read(body);
+        if (!"SUCCESS".equalsIgnoreCase(webhook.getStatus()) && !"FAILED".equalsIgnoreCase(webhook.getStatus())) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Unsupported payment status: " + webhook.getStatus());
+        }
+
+        Long orderId = resolveOrderId(webhook);
+        orderPersistenceService.finalizeOrder(orderId,
+                new PaymentResponseDto(webhook.getStatus().toUpperCase(), webhook.getTransactionId(), webhook.getMessage()));
+        logger.info("Order ID: {} payment {} confirmed by webhook", orderId, webhook.getStatus());
+        orderStatusNotifier.notifyChanged(orderId);
+        return orderId;
+    }
+
+    private PaymentWebhookDto read(byte[] body) {
+        try {
+            return objectMapper.readValue(body, PaymentWebhookDto.class);
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Unreadable webhook body");
+        }
+    }
+
+    private Long resolveOrderId(PaymentWebhookDto webhook) {
+        if (webhook.getOrderId() != null) {
+            try {
+                return Long.valueOf(webhook.getOrderId());
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ErrorCode.BAD_PARAMETER, "Invalid order ID: " + webhook.getOrderId());
+            }
+        }
+        if (webhook.getTransactionId() != null) {
+            // 주문 ID 없이 거래 ID만 오면 PENDING 응답으로 기록해 둔 거래 ID로 찾음
+            return paymentRepository.findOrderIdByTransactionId(webhook.getTransactionId())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.PAYMENT_NOT_FOUND, "Transaction ID: " + webhook.getTransactionId()));
+        }
+        throw new BusinessException(ErrorCode.BAD_PARAMETER, "orderId or transactionId is required");
+    }
+}
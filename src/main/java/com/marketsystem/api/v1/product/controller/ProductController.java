@@ -1,18 +1,36 @@
 package com.marketsystem.api.v1.product.controller;
 
+import com.marketsystem.api.v1.common.dto.CursorPageResponse;
 import com.marketsystem.api.v1.common.dto.PaginatedResponse;
 import com.marketsystem.api.v1.common.enums.BusinessCode;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.utils.CommonResponse;
+import com.marketsystem.api.v1.common.utils.ETags;
+import com.marketsystem.api.v1.product.dto.ProductImportResultDto;
 import com.marketsystem.api.v1.product.dto.ProductRequestDto;
 import com.marketsystem.api.v1.product.dto.ProductResponseDto;
+import com.marketsystem.api.v1.product.dto.ProductSuggestionDto;
+import com.marketsystem.api.v1.product.enums.ProductExportFormat;
+import com.marketsystem.api.v1.product.enums.ProductSort;
+import com.marketsystem.api.v1.product.service.ProductAutocomplete;
+import com.marketsystem.api.v1.product.service.ProductCache;
+import com.marketsystem.api.v1.product.service.ProductImportService;
 import com.marketsystem.api.v1.product.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -21,6 +39,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductCache productCache;
+    private final ProductAutocomplete productAutocomplete;
 
     @PostMapping
     public ResponseEntity<?> createProducts(@Valid @RequestBody List<ProductRequestDto.Save> saveDtos) {
@@ -28,25 +49,125 @@ public class ProductController {
         return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS));
     }
 
+    /**
+     * NDJSON(application/x-ndjson) 또는 CSV(text/csv) 상품 파일을 스트리밍으로 일괄 등록
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            InputStream body) {
+        ProductImportResultDto res = productImportService.importProducts(MediaType.parseMediaType(contentType), body);
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+
+    /**
+     * 단건 상품 조회 (ETag 포함)
+     * If-None-Match 가 같으면 본문을 직렬화하지 않고 304 를 반환
+     */
     @GetMapping("/{productId}")
-    public ResponseEntity<?> getProduct(@PathVariable long productId) {
+    public ResponseEntity<?> getProduct(@PathVariable long productId, WebRequest request) {
         ProductResponseDto res = productService.getProduct(productId);
-        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS,res));
+        // 수정 시각은 재고 변경(주문/버킷)으로는 바뀌지 않으므로 재고도 포함
+        String etag = ETags.strong("p" + res.getId(), res.getUpdatedAt(), res.getStock());
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(CommonResponse.success(BusinessCode.SUCCESS,res));
     }
 
+    /**
+     * 단건 상품 캐시 지표 조회 (적중/실패 수, 적중률, 교체/무효화 수)
+     */
+    @GetMapping("/cache/metrics")
+    public ResponseEntity<?> getProductCacheMetrics() {
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, productCache.snapshot()));
+    }
+
+    /**
+     * 전체 상품 조회
+     * 카탈로그에서 읽을 때는 카탈로그 버전을 ETag 로 붙이고, 버전이 같으면 목록을 만들지 않고 304 를 반환
+     */
     @GetMapping("/all")
-    public ResponseEntity<?> getAllProductList() {
+    public ResponseEntity<?> getAllProductList(WebRequest request) {
+        String etag = catalogETag();
+        if (etag != null && request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
         var res =productService.getAllProducts();
-        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+        return listResponse(etag, CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+
+    /**
+     * 전체 상품을 id 순으로 스트리밍 (format: ndjson | json)
+     * /all 과 달리 전체 목록을 메모리에 모으지 않고 읽는 대로 내려보냄
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        ProductExportFormat exportFormat = ProductExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> productService.exportProducts(out, exportFormat));
     }
 
+    /**
+     * 구매 가능한 상품 페이지 조회 (ETag 는 /all 과 같은 방식)
+     */
     @GetMapping
     public ResponseEntity<?> getAvailablePurchaseProductList(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            WebRequest request
     ) {
+        String etag = catalogETag();
+        if (etag != null && request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
         Pageable pageable = PageRequest.of(page, size);
         PaginatedResponse<ProductResponseDto> res = productService.getAvailablePurchaseProducts(pageable);
+        return listResponse(etag, CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+
+    /**
+     * 상품명/설명 검색. 관련도(BM25) 순으로 최대 size 건 반환
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        List<ProductResponseDto> res = productService.searchProducts(query, size);
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+
+    /**
+     * 상품명 자동완성. prefix 로 시작하는 단어가 이름에 있는 상품을 판매 수량 순으로 반환 (DB 를 거치지 않음)
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocompleteProducts(
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "size must be at least 1");
+        }
+        List<ProductSuggestionDto> res = productAutocomplete.suggest(prefix, size);
+        return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
+    }
+
+    /**
+     * 구매 가능한 상품을 커서 방식으로 조회 (sort: newest | price_asc | price_desc | name)
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 요청하며, 페이지 깊이와 상관없이 비용이 같음
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<?> browseAvailablePurchaseProductList(
+            @RequestParam(value = "sort", defaultValue = "newest") String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        CursorPageResponse<ProductResponseDto> res =
+                productService.browseAvailableProducts(ProductSort.from(sort), cursor, size, withTotal);
         return ResponseEntity.ok(CommonResponse.success(BusinessCode.SUCCESS, res));
     }
 
@@ -61,4 +182,22 @@ public class ProductController {
         productService.deleteProduct(productId);
         return ResponseEntity.ok(CommonResponse.success(BusinessCode.PRODUCT_DELETED));
     }
+
+    // 카탈로그 버전은 목록을 읽기 전에 구함. 그 사이 카탈로그가 바뀌면 더 새로운 목록에 이전 버전이 붙을 뿐이라 다음 요청에서 다시 받음
+    private String catalogETag() {
+        String version = productService.getCatalogVersion();
+        return version == null ? null : ETags.strong("c" + version);
+    }
+
+    // DB 에서 읽은 목록(카탈로그 적재 전)은 버전을 알 수 없으므로 ETag 를 붙이지 않음
+    private static ResponseEntity<?> listResponse(String etag, Object body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
 }
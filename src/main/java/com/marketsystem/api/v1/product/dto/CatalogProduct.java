@@ -0,0 +1,14 @@
+package com.marketsystem.api.v1.product.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카탈로그 스냅샷에 담는 상품 한 건. (재고는 핫 상품 버킷 재고를 합한 값)
+ */
+public record CatalogProduct(Long id, String name, String description, long price, int stock,
+                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public boolean isAvailable() {
+        return stock > 0;
+    }
+}
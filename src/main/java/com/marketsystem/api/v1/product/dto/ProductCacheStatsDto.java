@@ -0,0 +1,22 @@
+package com.marketsystem.api.v1.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+@AllArgsConstructor
+public class ProductCacheStatsDto {
+    // 현재 항목 수(근사치), 최대 항목 수, 항목 유지 시간(= 다른 인스턴스에서 바꾼 재고가 반영되기까지 최대 시간)
+    private long size;
+    private long maximumSize;
+    private long ttlSeconds;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    // 크기/시간 초과로 밀려난 수, 상품/재고 변경으로 무효화한 수, 없는 상품이거나 조회에 실패해 담지 못한 수
+    private long evictions;
+    private long invalidations;
+    private long loadFailures;
+}
@@ -1,6 +1,8 @@
 package com.marketsystem.api.v1.product.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.*;
 
 @Builder
@@ -10,6 +12,7 @@ import lombok.*;
 @AllArgsConstructor
 @EqualsAndHashCode
 public class ProductDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String name;
     @JsonInclude(JsonInclude.Include.NON_NULL)
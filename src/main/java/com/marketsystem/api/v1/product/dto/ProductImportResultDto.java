@@ -0,0 +1,30 @@
+package com.marketsystem.api.v1.product.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductImportResultDto {
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    // 앞에서부터 market.product.import.max-reported-errors 건까지만 담음
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -2,6 +2,7 @@ package com.marketsystem.api.v1.product.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,7 +16,9 @@ public class ProductRequestDto {
     @AllArgsConstructor
     public static class Save{
         @NotBlank
+        @Size(max = 255)
         private String name;
+        @Size(max = 1000)
         private String description;
         @NotNull
         private Long price;
@@ -33,5 +36,7 @@ public class ProductRequestDto {
         private String description;
         private Long price;
         private Integer stock;
+        // 핫 상품 재고 버킷 수 (0 또는 1이면 일반 상품으로 되돌림)
+        private Integer hotBuckets;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.marketsystem.api.v1.product.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 public class ProductResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String name;
     private String description;
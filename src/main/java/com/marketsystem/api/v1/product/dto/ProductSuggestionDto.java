@@ -0,0 +1,15 @@
+package com.marketsystem.api.v1.product.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductSuggestionDto {
+    // 같은 이름의 상품이 여러 개면 가장 많이 팔린 상품
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    private String name;
+}
@@ -1,20 +1,28 @@
 package com.marketsystem.api.v1.product.entity;
 
 import com.marketsystem.api.v1.common.entity.BaseEntity;
+import com.marketsystem.api.v1.common.id.SnowflakeId;
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
 
 @Entity
+@Table(name = "product", indexes = {
+        // 상품 목록 키셋 조회용 (정렬 컬럼, id) 인덱스
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @DynamicUpdate
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String name;
@@ -23,6 +31,16 @@ public class Product extends BaseEntity {
     private long price;
     private int stock;
 
+    // 재고 동시성 전략(낙관적 락)에서 사용하는 버전. JDBC로 재고를 갱신할 때도 함께 증가시킨다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // 핫 상품 버킷에 나눠 담긴 재고의 합
+    @Getter(AccessLevel.NONE)
+    @Formula("(select coalesce(sum(b.stock), 0) from product_stock_bucket b where b.product_id = id)")
+    private int bucketStock;
+
     @Builder
     public Product(Long id, String name, String description, long price, int stock) {
         this.id = id;
@@ -32,6 +50,13 @@ public class Product extends BaseEntity {
         this.stock = stock;
     }
 
+    /**
+     * 상품 행의 재고와 핫 상품 버킷 재고를 합한 재고를 반환하는 메서드.
+     */
+    public int getStock() {
+        return stock + bucketStock;
+    }
+
     public void decreaseStock(int amount) {
         if (amount <= 0) {
             throw new BusinessException(ErrorCode.BAD_PARAMETER);
@@ -0,0 +1,25 @@
+package com.marketsystem.api.v1.product.entity;
+
+import com.marketsystem.api.v1.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 핫 상품의 재고를 나눠 담는 버킷 행.
+ * 핫 상품으로 지정되면 상품 행의 재고가 버킷들로 옮겨지고, 주문은 버킷 하나만 골라 차감하므로 한 행에 락이 몰리지 않는다.
+ * 상품의 재고는 상품 행의 stock과 버킷 재고의 합이다.
+ */
+@Entity
+@Table(name = "product_stock_bucket")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductStockBucket extends BaseEntity {
+
+    @EmbeddedId
+    private ProductStockBucketId id;
+
+    @Column(name = "stock", nullable = false)
+    private int stock;
+}
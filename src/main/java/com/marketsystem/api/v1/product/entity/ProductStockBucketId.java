@@ -0,0 +1,22 @@
+package com.marketsystem.api.v1.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProductStockBucketId implements Serializable {
+    @Column(name = "product_id")
+    private Long productId;
+    @Column(name = "bucket_no")
+    private Integer bucketNo;
+}
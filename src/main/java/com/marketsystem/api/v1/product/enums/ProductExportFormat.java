@@ -0,0 +1,29 @@
+package com.marketsystem.api.v1.product.enums;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import org.springframework.http.MediaType;
+
+public enum ProductExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    ProductExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ProductExportFormat from(String format) {
+        for (ProductExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BusinessException(ErrorCode.BAD_PARAMETER, "Unsupported export format: " + format);
+    }
+}
@@ -0,0 +1,63 @@
+package com.marketsystem.api.v1.product.enums;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * 상품 목록 정렬 기준. 같은 정렬 키 안에서는 id 로 순서를 정해 (정렬 키, id) 가 항상 유일하다.
+ * 각 정렬은 Product 의 (정렬 컬럼, id) 복합 인덱스를 탄다.
+ */
+public enum ProductSort {
+    NEWEST("createdAt", true, Product::getCreatedAt, LocalDateTime::parse),
+    PRICE_ASC("price", false, Product::getPrice, Long::valueOf),
+    PRICE_DESC("price", true, Product::getPrice, Long::valueOf),
+    NAME("name", false, Product::getName, key -> key);
+
+    private final String property;
+    private final boolean descending;
+    private final Function<Product, Object> keyExtractor;
+    private final Function<String, Object> keyParser;
+
+    ProductSort(String property, boolean descending,
+                Function<Product, Object> keyExtractor, Function<String, Object> keyParser) {
+        this.property = property;
+        this.descending = descending;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * 상품의 정렬 키를 반환하는 메서드.
+     */
+    public Object keyOf(Product product) {
+        return keyExtractor.apply(product);
+    }
+
+    /**
+     * 커서에 문자열로 담긴 정렬 키를 조회 파라미터 타입으로 바꾸는 메서드.
+     */
+    public Object parseKey(String key) {
+        return keyParser.apply(key);
+    }
+
+    public static ProductSort from(String sort) {
+        for (ProductSort value : values()) {
+            if (value.name().equalsIgnoreCase(sort)) {
+                return value;
+            }
+        }
+        throw new BusinessException(ErrorCode.BAD_PARAMETER, "Unsupported sort: " + sort);
+    }
+}
@@ -1,5 +1,6 @@
 package com.marketsystem.api.v1.product.mapper;
 
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
 import com.marketsystem.api.v1.product.dto.ProductRequestDto;
 import com.marketsystem.api.v1.product.dto.ProductResponseDto;
 import com.marketsystem.api.v1.product.entity.Product;
@@ -10,6 +11,8 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
+    Product toEntity(ProductRequestDto.Save saveDto);
+
     List<Product> toEntityList(List<ProductRequestDto.Save> saveDtos);
 
     // Update 시 null 필드는 무시
@@ -19,4 +22,6 @@ public interface ProductMapper {
     ProductResponseDto toDto(Product product);
 
     List<ProductResponseDto> toDtoList(List<Product> products);
+
+    ProductResponseDto catalogToDto(CatalogProduct product);
 }
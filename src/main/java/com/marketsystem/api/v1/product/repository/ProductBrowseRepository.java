@@ -0,0 +1,25 @@
+package com.marketsystem.api.v1.product.repository;
+
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.enums.ProductSort;
+
+import java.util.List;
+
+/**
+ * 구매 가능한 상품(버킷 포함 재고가 1 이상)을 키셋 방식으로 조회하는 커스텀 리포지토리
+ */
+public interface ProductBrowseRepository {
+
+    /**
+     * 정렬 순서상 (afterKey, afterId) 다음 상품부터 limit 건을 조회하는 메서드.
+     * OFFSET 없이 (정렬 컬럼, id) 인덱스 범위를 바로 찾아 읽으므로 몇 번째 페이지든 비용이 같다.
+     * @param afterKey 이전 페이지 마지막 상품의 정렬 키 (첫 페이지면 null)
+     * @param afterId 이전 페이지 마지막 상품의 ID (첫 페이지면 null)
+     */
+    List<Product> findAvailableAfter(ProductSort sort, Object afterKey, Long afterId, int limit);
+
+    /**
+     * 구매 가능한 상품 수를 세는 메서드.
+     */
+    long countAvailable();
+}
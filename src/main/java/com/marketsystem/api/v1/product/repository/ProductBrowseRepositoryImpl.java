@@ -0,0 +1,48 @@
+package com.marketsystem.api.v1.product.repository;
+
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.enums.ProductSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductBrowseRepositoryImpl implements ProductBrowseRepository {
+
+    // 상품 행 재고 또는 핫 상품 버킷 재고 중 하나라도 남아 있으면 구매 가능 (재고는 음수가 되지 않음)
+    private static final String AVAILABLE_CONDITION = "(p.stock > 0 or exists ("
+            + "select 1 from ProductStockBucket b where b.id.productId = p.id and b.stock > 0))";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Product> findAvailableAfter(ProductSort sort, Object afterKey, Long afterId, int limit) {
+        String column = "p." + sort.getProperty();
+        String direction = sort.isDescending() ? "desc" : "asc";
+        StringBuilder jpql = new StringBuilder("select p from Product p where ").append(AVAILABLE_CONDITION);
+        if (afterId != null) {
+            // (key, id) > (:key, :id) 를 인덱스 범위 조건으로 풀어 씀
+            String op = sort.isDescending() ? "<" : ">";
+            jpql.append(" and (").append(column).append(' ').append(op).append(" :key or (")
+                    .append(column).append(" = :key and p.id ").append(op).append(" :id))");
+        }
+        jpql.append(" order by ").append(column).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+
+        TypedQuery<Product> query = entityManager.createQuery(jpql.toString(), Product.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("key", afterKey);
+            query.setParameter("id", afterId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long countAvailable() {
+        return entityManager.createQuery("select count(p) from Product p where " + AVAILABLE_CONDITION, Long.class)
+                .getSingleResult();
+    }
+}
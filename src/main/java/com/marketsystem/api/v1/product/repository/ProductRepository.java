@@ -1,14 +1,51 @@
 package com.marketsystem.api.v1.product.repository;
 
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
 import com.marketsystem.api.v1.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository, ProductBrowseRepository {
     List<Product> findAllByIdIn(Set<Long> ids);
-    Page<Product> findByStockGreaterThanEqual(int stock, Pageable pageable);
-}
\ No newline at end of file
+
+    // 핫 상품 버킷에 나눠 담긴 재고까지 합해서 비교
+    @Query("select p from Product p where p.stock + p.bucketStock >= :stock")
+    Page<Product> findByStockGreaterThanEqual(@Param("stock") int stock, Pageable pageable);
+
+    // 전체 상품을 id 순으로 fetch size 만큼씩 가져오는 전진 전용 커서 (트랜잭션 안에서 읽고 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAllOrderById();
+
+    // 카탈로그 스냅샷 적재용. 엔터티 대신 필요한 값만 읽음
+    @Query("select new com.marketsystem.api.v1.product.dto.CatalogProduct("
+            + "p.id, p.name, p.description, p.price, p.stock + p.bucketStock, p.createdAt, p.updatedAt) "
+            + "from Product p order by p.id")
+    List<CatalogProduct> findAllCatalogProducts();
+
+    @Query("select new com.marketsystem.api.v1.product.dto.CatalogProduct("
+            + "p.id, p.name, p.description, p.price, p.stock + p.bucketStock, p.createdAt, p.updatedAt) "
+            + "from Product p where p.id in :ids order by p.id")
+    List<CatalogProduct> findCatalogProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 검색 색인이 적재되기 전 검색용. 상품명/설명에 검색어가 들어간 상품을 id 순으로 읽음 (전체를 훑으므로 느림)
+    @Query("select new com.marketsystem.api.v1.product.dto.CatalogProduct("
+            + "p.id, p.name, p.description, p.price, p.stock + p.bucketStock, p.createdAt, p.updatedAt) "
+            + "from Product p where lower(p.name) like lower(concat('%', :keyword, '%')) "
+            + "or lower(p.description) like lower(concat('%', :keyword, '%')) order by p.id")
+    List<CatalogProduct> searchCatalogProducts(@Param("keyword") String keyword, Pageable pageable);
+}
@@ -0,0 +1,88 @@
+package com.marketsystem.api.v1.product.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * JPA 엔터티를 거치지 않고 상품 재고를 직접 갱신하는 커스텀 리포지토리
+ */
+public interface ProductStockRepository {
+
+    /**
+     * 상품별 수량만큼 재고를 조건부로 차감하는 메서드.
+     * 상품마다 {@code UPDATE ... WHERE id = ? AND stock >= ?} 한 문장을 만들어 하나의 JDBC 배치로 전송한다.
+     * @param quantities 상품 ID별 차감 수량 (락 순서를 맞추기 위해 상품 ID 오름차순 권장)
+     * @return 재고가 부족하거나 존재하지 않아 차감되지 않은 상품 ID 목록
+     */
+    List<Long> decreaseStockAll(Map<Long, Integer> quantities);
+
+    /**
+     * 상품별 수량만큼 재고를 되돌리는 메서드. (점유 해제 등)
+     * @param quantities 상품 ID별 복원 수량
+     */
+    void increaseStockAll(Map<Long, Integer> quantities);
+
+    /**
+     * 상품의 (ID, 재고, 버전)을 상품 ID 오름차순으로 조회하는 메서드.
+     * @param forUpdate true 이면 {@code SELECT ... FOR UPDATE}로 행 락을 ID 순서대로 잡는다.
+     */
+    List<StockVersion> findStockVersions(Collection<Long> ids, boolean forUpdate);
+
+    /**
+     * 조회한 버전이 그대로인 경우에만 재고를 지정한 값으로 바꾸는 메서드. (버전 CAS)
+     * 모든 행을 하나의 JDBC 배치로 전송한다.
+     * @return 그 사이 다른 트랜잭션이 갱신해 반영되지 않은 상품 ID 목록
+     */
+    List<Long> compareAndSetStockAll(List<StockVersion> rows);
+
+    /**
+     * 상품들의 핫 상품 버킷을 조회하는 메서드. 버킷이 없는 상품(일반 상품)은 결과에 포함되지 않는다.
+     * @return 상품 ID별 버킷 목록 (버킷 번호 오름차순)
+     */
+    Map<Long, List<BucketStock>> findBucketsByProductIds(Collection<Long> productIds);
+
+    /**
+     * 상품 하나의 버킷을 버킷 번호 오름차순으로 조회하는 메서드.
+     * @param forUpdate true 이면 모든 버킷의 행 락을 잡는다. (재분배, 모드 전환)
+     */
+    List<BucketStock> findBuckets(Long productId, boolean forUpdate);
+
+    /**
+     * 버킷 하나의 재고를 결과가 0 이상일 때만 증감하는 메서드.
+     * @return 반영되었으면 true
+     */
+    boolean addToBucket(Long productId, int bucketNo, int delta);
+
+    /**
+     * 버킷별 재고를 지정한 값으로 바꾸는 메서드. (재분배)
+     */
+    void updateBuckets(List<BucketStock> buckets);
+
+    /**
+     * 버킷 행을 새로 만드는 메서드.
+     */
+    void insertBuckets(List<BucketStock> buckets);
+
+    /**
+     * 상품의 버킷 행을 모두 지우는 메서드.
+     */
+    void deleteBuckets(Long productId);
+
+    /**
+     * 상품 행의 재고를 지정한 값으로 바꾸는 메서드. (핫 상품 모드 전환 시 재고 이동)
+     */
+    void updateStock(Long productId, int stock);
+
+    /**
+     * 전체 상품의 (ID, 버킷 포함 재고)를 한 행씩 읽어 전달하는 메서드. 결과 전체를 메모리에 올리지 않는다.
+     */
+    void forEachStock(ObjLongConsumer<Long> consumer);
+
+    record StockVersion(Long id, int stock, long version) {
+    }
+
+    record BucketStock(Long productId, int bucketNo, int stock) {
+    }
+}
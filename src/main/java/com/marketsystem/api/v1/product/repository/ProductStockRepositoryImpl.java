@@ -0,0 +1,186 @@
+package com.marketsystem.api.v1.product.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE product SET stock = stock - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND stock >= ?";
+
+    private static final String INCREASE_STOCK_SQL =
+            "UPDATE product SET stock = stock + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String COMPARE_AND_SET_STOCK_SQL =
+            "UPDATE product SET stock = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND version = ?";
+
+    private static final String SELECT_STOCK_SQL =
+            "SELECT p.id, p.stock + COALESCE((SELECT SUM(b.stock) FROM product_stock_bucket b WHERE b.product_id = p.id), 0) "
+                    + "FROM product p";
+
+    private static final String SELECT_BUCKETS_SQL =
+            "SELECT product_id, bucket_no, stock FROM product_stock_bucket WHERE product_id = ? ORDER BY bucket_no";
+
+    private static final String ADD_TO_BUCKET_SQL =
+            "UPDATE product_stock_bucket SET stock = stock + ?, updated_at = CURRENT_TIMESTAMP "
+                    + "WHERE product_id = ? AND bucket_no = ? AND stock + ? >= 0";
+
+    private static final String UPDATE_BUCKET_SQL =
+            "UPDATE product_stock_bucket SET stock = ?, updated_at = CURRENT_TIMESTAMP WHERE product_id = ? AND bucket_no = ?";
+
+    private static final String INSERT_BUCKET_SQL =
+            "INSERT INTO product_stock_bucket (product_id, bucket_no, stock, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private static final String DELETE_BUCKETS_SQL = "DELETE FROM product_stock_bucket WHERE product_id = ?";
+
+    private static final String UPDATE_STOCK_SQL =
+            "UPDATE product SET stock = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final RowMapper<BucketStock> BUCKET_ROW_MAPPER =
+            (rs, rowNum) -> new BucketStock(rs.getLong(1), rs.getInt(2), rs.getInt(3));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decreaseStockAll(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        });
+
+        // 영향받은 행이 0인 상품은 재고 부족(또는 미존재)으로 차감되지 않은 것
+        return unaffectedIds(counts, entries, Map.Entry::getKey);
+    }
+
+    @Override
+    public void increaseStockAll(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        jdbcTemplate.batchUpdate(INCREASE_STOCK_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    @Override
+    public List<StockVersion> findStockVersions(Collection<Long> ids, boolean forUpdate) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT id, stock, version FROM product WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") ORDER BY id"
+                + (forUpdate ? " FOR UPDATE" : "");
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new StockVersion(rs.getLong(1), rs.getInt(2), rs.getLong(3)),
+                ids.toArray());
+    }
+
+    @Override
+    public List<Long> compareAndSetStockAll(List<StockVersion> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(COMPARE_AND_SET_STOCK_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.stock());
+            ps.setLong(2, row.id());
+            ps.setLong(3, row.version());
+        });
+        return unaffectedIds(counts, rows, StockVersion::id);
+    }
+
+    @Override
+    public Map<Long, List<BucketStock>> findBucketsByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT product_id, bucket_no, stock FROM product_stock_bucket WHERE product_id IN ("
+                + String.join(", ", Collections.nCopies(productIds.size(), "?")) + ") ORDER BY product_id, bucket_no";
+        Map<Long, List<BucketStock>> buckets = new HashMap<>();
+        for (BucketStock bucket : jdbcTemplate.query(sql, BUCKET_ROW_MAPPER, productIds.toArray())) {
+            buckets.computeIfAbsent(bucket.productId(), id -> new ArrayList<>()).add(bucket);
+        }
+        return buckets;
+    }
+
+    @Override
+    public List<BucketStock> findBuckets(Long productId, boolean forUpdate) {
+        return jdbcTemplate.query(SELECT_BUCKETS_SQL + (forUpdate ? " FOR UPDATE" : ""), BUCKET_ROW_MAPPER, productId);
+    }
+
+    @Override
+    public boolean addToBucket(Long productId, int bucketNo, int delta) {
+        return jdbcTemplate.update(ADD_TO_BUCKET_SQL, delta, productId, bucketNo, delta) > 0;
+    }
+
+    @Override
+    public void updateBuckets(List<BucketStock> buckets) {
+        jdbcTemplate.batchUpdate(UPDATE_BUCKET_SQL, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setInt(1, bucket.stock());
+            ps.setLong(2, bucket.productId());
+            ps.setInt(3, bucket.bucketNo());
+        });
+    }
+
+    @Override
+    public void insertBuckets(List<BucketStock> buckets) {
+        jdbcTemplate.batchUpdate(INSERT_BUCKET_SQL, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setLong(1, bucket.productId());
+            ps.setInt(2, bucket.bucketNo());
+            ps.setInt(3, bucket.stock());
+        });
+    }
+
+    @Override
+    public void deleteBuckets(Long productId) {
+        jdbcTemplate.update(DELETE_BUCKETS_SQL, productId);
+    }
+
+    @Override
+    public void updateStock(Long productId, int stock) {
+        jdbcTemplate.update(UPDATE_STOCK_SQL, stock, productId);
+    }
+
+    @Override
+    public void forEachStock(ObjLongConsumer<Long> consumer) {
+        jdbcTemplate.query(SELECT_STOCK_SQL, rs -> {
+            consumer.accept(rs.getLong(1), rs.getLong(2));
+        });
+    }
+
+    /**
+     * 배치 결과에서 영향받은 행이 없는 문장의 상품 ID를 모으는 메서드.
+     */
+    private <T> List<Long> unaffectedIds(int[][] counts, List<T> items, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0 || count == Statement.EXECUTE_FAILED) {
+                    ids.add(idOf.apply(items.get(index)));
+                }
+                index++;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,138 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.BucketStock;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.StockVersion;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 핫 상품의 재고를 여러 버킷 행에 나눠 관리하는 서비스.
+ * 주문은 재고가 충분한 버킷 하나를 무작위로 골라 차감하므로, 같은 상품의 주문이 한 행의 락을 기다리지 않는다.
+ * 고른 버킷이 모자라면 모든 버킷에 락을 잡고 남은 재고를 다시 나누며, 버킷당 재고가 적어지면 버킷 하나로 합친다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HotStockBucketService {
+
+    private final ProductRepository productRepository;
+    private static final Logger logger = LoggerFactory.getLogger(HotStockBucketService.class);
+
+    @Value("${market.stock.hot.max-buckets:64}")
+    private int maxBuckets = 64;
+
+    @Value("${market.stock.hot.pick-attempts:3}")
+    private int pickAttempts = 3;
+
+    // 재분배할 때 버킷당 재고가 이 값보다 적으면 버킷 하나로 합친다.
+    @Value("${market.stock.hot.merge-threshold:10}")
+    private int mergeThreshold = 10;
+
+    /**
+     * 핫 상품 줄을 버킷에서 차감하고 quantities에서 제거하는 메서드. 남은 줄은 상품 행에서 차감해야 한다.
+     * @return 재고가 부족해 차감되지 않은 핫 상품 ID 목록
+     */
+    public List<Long> decreaseHot(SortedMap<Long, Integer> quantities) {
+        Map<Long, List<BucketStock>> bucketsByProduct = productRepository.findBucketsByProductIds(quantities.keySet());
+        List<Long> failedIds = new ArrayList<>();
+        for (Map.Entry<Long, List<BucketStock>> e : new TreeMap<>(bucketsByProduct).entrySet()) {
+            int quantity = quantities.remove(e.getKey());
+            if (!decrease(e.getKey(), quantity, e.getValue())) {
+                failedIds.add(e.getKey());
+            }
+        }
+        return failedIds;
+    }
+
+    /**
+     * 핫 상품 줄을 무작위 버킷에 되돌리고 quantities에서 제거하는 메서드. 남은 줄은 상품 행에 되돌려야 한다.
+     */
+    public void increaseHot(SortedMap<Long, Integer> quantities) {
+        Map<Long, List<BucketStock>> bucketsByProduct = productRepository.findBucketsByProductIds(quantities.keySet());
+        for (Map.Entry<Long, List<BucketStock>> e : new TreeMap<>(bucketsByProduct).entrySet()) {
+            List<BucketStock> buckets = e.getValue();
+            BucketStock bucket = buckets.get(ThreadLocalRandom.current().nextInt(buckets.size()));
+            productRepository.addToBucket(e.getKey(), bucket.bucketNo(), quantities.remove(e.getKey()));
+        }
+    }
+
+    /**
+     * 상품의 버킷 수를 바꾸는 메서드. 상품 행과 버킷의 재고를 모두 모아 새 버킷 수로 다시 나눈다.
+     * @param buckets 버킷 수 (0 또는 1이면 핫 상품 모드를 끄고 재고를 상품 행으로 되돌림)
+     */
+    @Transactional
+    public void changeBuckets(Long productId, int buckets) {
+        if (buckets < 0 || buckets > maxBuckets) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "hotBuckets must be between 0 and " + maxBuckets);
+        }
+        // 상품 행 -> 버킷 순서로 락을 잡아 주문의 차감과 엇갈리지 않게 한다.
+        StockVersion product = productRepository.findStockVersions(List.of(productId), true).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product ID: " + productId));
+        List<BucketStock> current = productRepository.findBuckets(productId, true);
+        int total = product.stock() + current.stream().mapToInt(BucketStock::stock).sum();
+
+        productRepository.deleteBuckets(productId);
+        if (buckets > 1) {
+            productRepository.insertBuckets(spread(productId, total, buckets, false));
+            productRepository.updateStock(productId, 0);
+        } else {
+            productRepository.updateStock(productId, total);
+        }
+        logger.info("Product {} stock buckets changed: {} -> {} (stock {})", productId, current.size(), buckets, total);
+    }
+
+    private boolean decrease(Long productId, int quantity, List<BucketStock> buckets) {
+        for (int attempt = 0; attempt < pickAttempts; attempt++) {
+            if (attempt > 0) {
+                buckets = productRepository.findBuckets(productId, false);
+            }
+            List<BucketStock> candidates = buckets.stream().filter(b -> b.stock() >= quantity).toList();
+            if (candidates.isEmpty()) {
+                break;
+            }
+            BucketStock bucket = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            if (productRepository.addToBucket(productId, bucket.bucketNo(), -quantity)) {
+                return true;
+            }
+        }
+        return takeAndRebalance(productId, quantity);
+    }
+
+    /**
+     * 모든 버킷에 락을 잡고 합계에서 차감한 뒤 남은 재고를 버킷에 다시 나누는 메서드.
+     */
+    private boolean takeAndRebalance(Long productId, int quantity) {
+        List<BucketStock> buckets = productRepository.findBuckets(productId, true);
+        int total = buckets.stream().mapToInt(BucketStock::stock).sum();
+        if (buckets.isEmpty() || total < quantity) {
+            return false;
+        }
+        productRepository.updateBuckets(spread(productId, total - quantity, buckets.size(), true));
+        return true;
+    }
+
+    /**
+     * 재고를 버킷 수만큼 고르게 나누는 메서드. 버킷당 재고가 적으면 첫 번째 버킷에 모두 담는다.
+     */
+    private List<BucketStock> spread(Long productId, int total, int buckets, boolean mergeWhenLow) {
+        boolean merge = mergeWhenLow && total < buckets * mergeThreshold;
+        List<BucketStock> result = new ArrayList<>(buckets);
+        for (int no = 0; no < buckets; no++) {
+            int stock = merge
+                    ? (no == 0 ? total : 0)
+                    : total / buckets + (no < total % buckets ? 1 : 0);
+            result.add(new BucketStock(productId, no, stock));
+        }
+        return result;
+    }
+}
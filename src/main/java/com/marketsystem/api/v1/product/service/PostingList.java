@@ -0,0 +1,96 @@
+package com.marketsystem.api.v1.product.service;
+
+import java.util.Arrays;
+
+/**
+ * 한 단어의 문서 목록. (문서 번호 오름차순)
+ * 문서 번호는 앞 문서와의 차이로, 단어 빈도와 함께 가변 길이 정수(7비트씩, 상위 비트는 계속 여부)로 바이트 배열에 이어 붙인다.
+ * 문서 번호는 늘어나기만 하므로 새 문서는 끝에 붙이기만 하면 되고, 삭제된 문서는 색인 쪽에서 건너뛴다.
+ * 스레드 안전하지 않으며 색인의 락 안에서만 사용한다.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int size;
+
+    void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documents must be added in increasing order: " + doc + " <= " + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(frequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    /**
+     * 이 단어가 나온 문서 수 (삭제된 문서 포함)
+     */
+    int size() {
+        return size;
+    }
+
+    int bytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * 앞에서부터 한 문서씩 읽는 커서. next() 가 false 를 반환하면 끝이다.
+     */
+    final class Cursor {
+        private int position;
+        private int doc = -1;
+        private int frequency;
+
+        boolean next() {
+            if (position >= length) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
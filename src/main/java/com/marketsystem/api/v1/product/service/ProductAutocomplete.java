@@ -0,0 +1,404 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.repository.OrderItemRepository;
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import com.marketsystem.api.v1.product.dto.ProductSuggestionDto;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 상품명 자동완성. (입력할 때마다 호출되므로 DB 를 거치지 않음)
+ * <p>
+ * 상품명을 소문자로 바꿔 단어 시작 위치마다 항목을 만들고 문자열 순으로 정렬해 두므로, 접두어가 같은 항목은 배열에서 연속 구간이 된다.
+ * 같은 이름은 제안 하나로 합치고, 제안 번호를 판매 수량(결제 완료 주문 기준)이 많은 순으로 매겨 구간에서 번호가 작은 k 개가 곧 상위 k 개가 되게 한다.
+ * 구간이 scan-limit 보다 큰 접두어는 만들 때 상위 k 개를 미리 구해 두고, 나머지는 구간만 훑는다.
+ * 주기적으로 전용 스레드(productAutocompleteExecutor)에서 새로 만든 뒤 참조를 바꾸며, 첫 적재 전에는 빈 목록을 반환한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductAutocomplete {
+
+    // 한 상품명에서 항목을 만드는 단어 수
+    private static final int MAX_WORDS = 8;
+
+    private final ProductCatalog productCatalog;
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ThreadPoolTaskExecutor productAutocompleteExecutor;
+    private static final Logger logger = LoggerFactory.getLogger(ProductAutocomplete.class);
+
+    @Value("${market.product.autocomplete.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${market.product.autocomplete.max-size:10}")
+    private int maxSize = 10;
+
+    @Value("${market.product.autocomplete.scan-limit:256}")
+    private int scanLimit = 256;
+
+    private volatile Index index;
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * prefix 로 시작하는 단어가 이름에 있는 상품을 판매 수량이 많은 순으로 최대 limit 건(최대 max-size) 반환하는 메서드.
+     */
+    public List<ProductSuggestionDto> suggest(String prefix, int limit) {
+        Index current = index;
+        String key = normalize(prefix);
+        if (current == null || key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return current.suggest(key, Math.min(limit, current.topK));
+    }
+
+    /**
+     * 자동완성 목록을 새로 만들도록 전용 스레드에 맡기는 메서드. 이전 작업이 아직 진행 중이면 건너뛴다.
+     */
+    @Scheduled(initialDelayString = "${market.product.autocomplete.initial-delay-ms:1000}",
+            fixedDelayString = "${market.product.autocomplete.rebuild-interval-ms:600000}")
+    public void scheduleRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            productAutocompleteExecutor.execute(this::rebuild);
+        } catch (TaskRejectedException e) {
+            logger.warn("Previous product autocomplete rebuild is still running, skipped");
+        }
+    }
+
+    /**
+     * 상품명과 판매 수량을 읽어 자동완성 목록을 새로 만든 뒤 참조를 바꾸는 메서드.
+     * 상품명은 카탈로그가 적재되어 있으면 카탈로그에서 읽는다.
+     */
+    void rebuild() {
+        try {
+            long startedAt = System.nanoTime();
+            List<CatalogProduct> products = productCatalog.isReady()
+                    ? productCatalog.findAll()
+                    : productRepository.findAllCatalogProducts();
+            Map<Long, Long> unitsSold = new HashMap<>();
+            for (Object[] row : orderItemRepository.sumQuantityByProductForStatus(OrderStatus.PAID)) {
+                unitsSold.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+            Index built = build(products, unitsSold, maxSize, scanLimit);
+            index = built;
+            logger.info("Product autocomplete rebuilt. suggestions: {}, entries: {}, precomputed prefixes: {}, took: {} ms",
+                    built.names.length, built.entrySuggestions.length, built.precomputed.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to rebuild product autocomplete. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 소문자로 바꾸고 연속된 공백을 하나로 줄인 문자열을 반환하는 메서드.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    static Index build(List<CatalogProduct> products, Map<Long, Long> unitsSold, int topK, int scanLimit) {
+        // 같은 이름은 하나로 합치고 판매 수량을 더함
+        Map<String, Candidate> byName = new HashMap<>();
+        for (CatalogProduct product : products) {
+            String key = normalize(product.name());
+            if (key.isEmpty()) {
+                continue;
+            }
+            long sold = unitsSold.getOrDefault(product.id(), 0L);
+            Candidate candidate = byName.get(key);
+            if (candidate == null) {
+                byName.put(key, new Candidate(key, product.id(), product.name(), sold));
+            } else {
+                candidate.add(product.id(), product.name(), sold);
+            }
+        }
+        // 제안 번호 = 순위 (판매 수량 많은 순, 짧은 이름 순, 이름 순)
+        List<Candidate> ranked = new ArrayList<>(byName.values());
+        ranked.sort(Comparator.comparingLong((Candidate c) -> -c.unitsSold)
+                .thenComparingInt(c -> c.key.length())
+                .thenComparing(c -> c.key));
+        int size = ranked.size();
+        String[] keys = new String[size];
+        String[] names = new String[size];
+        long[] productIds = new long[size];
+        int entryCount = 0;
+        for (int i = 0; i < size; i++) {
+            Candidate candidate = ranked.get(i);
+            keys[i] = candidate.key;
+            names[i] = candidate.name;
+            productIds[i] = candidate.productId;
+            entryCount += wordStarts(candidate.key).length;
+        }
+
+        // 단어 시작 위치마다 (제안 번호, 위치) 항목을 만들고 해당 위치부터의 문자열 순으로 정렬
+        int[] order = new int[entryCount];
+        int[] suggestionOf = new int[entryCount];
+        int[] offsetOf = new int[entryCount];
+        int e = 0;
+        for (int i = 0; i < size; i++) {
+            for (int offset : wordStarts(keys[i])) {
+                order[e] = e;
+                suggestionOf[e] = i;
+                offsetOf[e] = offset;
+                e++;
+            }
+        }
+        // 앞 네 글자를 long 하나로 묶어 먼저 비교하고, 같을 때만 문자열을 비교
+        long[] heads = new long[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            heads[i] = head(keys[suggestionOf[i]], offsetOf[i]);
+        }
+        mergeSort(order, new int[entryCount], 0, entryCount, (a, b) -> {
+            int cmp = Long.compareUnsigned(heads[a], heads[b]);
+            return cmp != 0 ? cmp : compareSuffix(keys[suggestionOf[a]], offsetOf[a], keys[suggestionOf[b]], offsetOf[b]);
+        });
+        int[] entrySuggestions = new int[entryCount];
+        int[] entryOffsets = new int[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            entrySuggestions[i] = suggestionOf[order[i]];
+            entryOffsets[i] = offsetOf[order[i]];
+        }
+
+        Index built = new Index(keys, names, productIds, entrySuggestions, entryOffsets, new HashMap<>(), topK, scanLimit);
+        built.precomputeHeavyPrefixes();
+        return built;
+    }
+
+    private static int[] wordStarts(String key) {
+        int[] starts = new int[MAX_WORDS];
+        int count = 0;
+        for (int i = 0; i < key.length() && count < MAX_WORDS; i++) {
+            if (i == 0 || key.charAt(i - 1) == ' ') {
+                starts[count++] = i;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    // 항목이 많아 Integer 배열로 정렬하지 않도록 int 배열을 직접 정렬
+    private static void mergeSort(int[] values, int[] buffer, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(values, buffer, from, mid, comparator);
+        mergeSort(values, buffer, mid, to, comparator);
+        if (comparator.applyAsInt(values[mid - 1], values[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(values, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.applyAsInt(buffer[left], buffer[right]) <= 0)) {
+                values[i] = buffer[left++];
+            } else {
+                values[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static long head(String key, int offset) {
+        long head = 0;
+        for (int i = 0; i < 4; i++) {
+            int position = offset + i;
+            head = (head << 16) | (position < key.length() ? key.charAt(position) : 0);
+        }
+        return head;
+    }
+
+    private static int compareSuffix(String a, int aOffset, String b, int bOffset) {
+        int length = Math.min(a.length() - aOffset, b.length() - bOffset);
+        for (int i = 0; i < length; i++) {
+            int diff = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (a.length() - aOffset) - (b.length() - bOffset);
+    }
+
+    private static class Candidate {
+        final String key;
+        long productId;
+        String name;
+        long unitsSold;
+        // 대표 상품을 고르는 기준 (가장 많이 팔린 상품)
+        long bestUnitsSold;
+
+        Candidate(String key, long productId, String name, long unitsSold) {
+            this.key = key;
+            this.productId = productId;
+            this.name = name;
+            this.unitsSold = unitsSold;
+            this.bestUnitsSold = unitsSold;
+        }
+
+        void add(long productId, String name, long unitsSold) {
+            this.unitsSold += unitsSold;
+            if (unitsSold > bestUnitsSold) {
+                this.productId = productId;
+                this.name = name;
+                this.bestUnitsSold = unitsSold;
+            }
+        }
+    }
+
+    /**
+     * 한 번 만든 자동완성 목록. 만든 뒤에는 바꾸지 않는다.
+     * @param keys 제안별 정규화된 이름 (순위 순)
+     * @param entrySuggestions 정렬된 항목의 제안 번호
+     * @param entryOffsets 정렬된 항목의 시작 위치 (keys 내)
+     * @param precomputed 구간이 scanLimit 보다 큰 접두어의 상위 topK 제안 번호
+     */
+    record Index(String[] keys, String[] names, long[] productIds, int[] entrySuggestions, int[] entryOffsets,
+                 Map<String, int[]> precomputed, int topK, int scanLimit) {
+
+        List<ProductSuggestionDto> suggest(String prefix, int limit) {
+            int[] top = precomputed.get(prefix);
+            if (top == null) {
+                int from = bound(prefix, false);
+                int to = bound(prefix, true);
+                top = topOf(from, to);
+            }
+            List<ProductSuggestionDto> result = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                result.add(new ProductSuggestionDto(productIds[top[i]], names[top[i]]));
+            }
+            return result;
+        }
+
+        /**
+         * 접두어 구간의 경계를 찾는 메서드. upper 가 false 면 첫 항목, true 면 마지막 항목 다음 위치.
+         */
+        private int bound(String prefix, boolean upper) {
+            int low = 0;
+            int high = entrySuggestions.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = comparePrefix(mid, prefix);
+                if (cmp < 0 || (upper && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // 항목이 prefix 로 시작하면 0, 아니면 항목과 prefix 의 문자열 순서
+        private int comparePrefix(int entry, String prefix) {
+            String key = keys[entrySuggestions[entry]];
+            int offset = entryOffsets[entry];
+            int length = Math.min(key.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int diff = key.charAt(offset + i) - prefix.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return key.length() - offset < prefix.length() ? -1 : 0;
+        }
+
+        /**
+         * [from, to) 구간에서 제안 번호가 가장 작은(순위가 높은) topK 개를 중복 없이 순위 순으로 반환하는 메서드.
+         */
+        private int[] topOf(int from, int to) {
+            int[] top = new int[topK];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int suggestion = entrySuggestions[i];
+                if (count == topK && suggestion >= top[count - 1]) {
+                    continue;
+                }
+                int position = Arrays.binarySearch(top, 0, count, suggestion);
+                if (position >= 0) {
+                    continue;
+                }
+                position = -position - 1;
+                int moved = Math.min(count, topK - 1) - position;
+                System.arraycopy(top, position, top, position + 1, moved);
+                top[position] = suggestion;
+                count = Math.min(count + 1, topK);
+            }
+            return Arrays.copyOf(top, count);
+        }
+
+        /**
+         * 접두어 길이를 1부터 늘려 가며 같은 접두어를 가진 항목이 scanLimit 개를 넘는 구간의 상위 제안을 미리 구하는 메서드.
+         * 길이 d+1 의 큰 구간은 길이 d 의 큰 구간 안에만 있으므로 그 구간들만 다시 나눈다.
+         */
+        void precomputeHeavyPrefixes() {
+            List<int[]> ranges = List.of(new int[]{0, entrySuggestions.length});
+            for (int depth = 1; !ranges.isEmpty(); depth++) {
+                List<int[]> heavy = new ArrayList<>();
+                for (int[] range : ranges) {
+                    int start = -1;
+                    for (int i = range[0]; i <= range[1]; i++) {
+                        if (start >= 0 && (i == range[1] || !samePrefix(start, i, depth))) {
+                            if (i - start > scanLimit) {
+                                precomputed.put(prefixOf(start, depth), topOf(start, i));
+                                heavy.add(new int[]{start, i});
+                            }
+                            start = -1;
+                        }
+                        if (start < 0 && i < range[1] && lengthOf(i) >= depth) {
+                            start = i;
+                        }
+                    }
+                }
+                ranges = heavy;
+            }
+        }
+
+        private int lengthOf(int entry) {
+            return keys[entrySuggestions[entry]].length() - entryOffsets[entry];
+        }
+
+        private String prefixOf(int entry, int depth) {
+            int offset = entryOffsets[entry];
+            return keys[entrySuggestions[entry]].substring(offset, offset + depth);
+        }
+
+        private boolean samePrefix(int a, int b, int depth) {
+            if (lengthOf(b) < depth) {
+                return false;
+            }
+            return keys[entrySuggestions[a]].regionMatches(entryOffsets[a],
+                    keys[entrySuggestions[b]], entryOffsets[b], depth);
+        }
+    }
+}
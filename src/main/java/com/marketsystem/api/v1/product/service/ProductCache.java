@@ -0,0 +1,95 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.marketsystem.api.v1.product.dto.ProductCacheStatsDto;
+import com.marketsystem.api.v1.product.dto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 단건 상품 조회 결과를 담는 프로세스 내 캐시. (Caffeine, W-TinyLFU 교체)
+ * <p>
+ * 이 인스턴스에서 상품이나 재고를 바꾸면 즉시, 그리고 트랜잭션이 끝난 뒤 한 번 더 무효화한다.
+ * (커밋 전 값을 다른 요청이 다시 적재해도 커밋 후 지워짐)
+ * 다른 인스턴스나 DB 에서 직접 바꾼 값은 무효화되지 않으므로 market.product.cache.ttl 이 재고가 낡을 수 있는 최대 시간이다.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductResponseDto> cache;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final LongAdder invalidations = new LongAdder();
+
+    public ProductCache(@Value("${market.product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${market.product.cache.ttl:PT5S}") Duration ttl) {
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시된 상품을 반환하고, 없으면 loader 로 읽어 담는 메서드.
+     * 같은 상품을 동시에 읽으면 한 요청만 loader 를 실행하고 나머지는 그 결과를 기다린다. loader 가 null 을 반환하면 담지 않는다.
+     */
+    public ProductResponseDto get(Long id, Function<Long, ProductResponseDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void evict(Long id) {
+        evictAll(List.of(id));
+    }
+
+    /**
+     * 상품들을 지금 무효화하고, 트랜잭션 안이면 트랜잭션이 끝난 뒤 한 번 더 무효화하는 메서드.
+     */
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> keys = List.copyOf(ids);
+        invalidate(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(keys);
+                }
+            });
+        }
+    }
+
+    private void invalidate(List<Long> keys) {
+        cache.invalidateAll(keys);
+        invalidations.add(keys.size());
+    }
+
+    public ProductCacheStatsDto snapshot() {
+        CacheStats stats = cache.stats();
+        return ProductCacheStatsDto.builder()
+                .size(cache.estimatedSize())
+                .maximumSize(maximumSize)
+                .ttlSeconds(ttl.toSeconds())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .invalidations(invalidations.sum())
+                .loadFailures(stats.loadFailureCount())
+                .build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 목록 조회용 메모리 카탈로그. (market.product.catalog.enabled=true 일 때만 사용)
+ * <p>
+ * 상품을 id 순으로 정렬한 불변 배열(스냅샷)을 volatile 참조 하나로 들고 있어, 읽는 쪽은 락이나 DB 커넥션 없이 현재 스냅샷을 읽는다.
+ * 상품/재고를 바꾸는 쪽은 커밋 후 바뀐 상품 ID만 남기고, 스케줄러가 모아서 해당 상품만 다시 읽어 새 배열을 만든 뒤 참조를 바꾼다. (copy-on-write)
+ * 다른 인스턴스나 DB 에서 직접 바꾼 값은 rebuild-interval-ms 마다 전체를 다시 읽을 때 반영된다.
+ * 첫 적재가 끝나기 전에는 isReady() 가 false 이며 호출하는 쪽이 DB 에서 조회한다.
+ * 상품 검색 색인(ProductSearchIndex)도 스냅샷을 바꿀 때 같은 상품으로 함께 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalog {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    @Value("${market.product.catalog.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${market.product.catalog.refresh-batch-size:1000}")
+    private int refreshBatchSize = 1000;
+
+    // 인스턴스마다 다른 값. 재시작하거나 다른 인스턴스와 스냅샷 버전 번호가 겹쳐도 버전 표식은 달라짐
+    private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * 현재 스냅샷의 버전 표식을 반환하는 메서드. 스냅샷이 바뀔 때마다 달라지므로 목록 응답의 ETag 로 쓴다.
+     * 목록을 읽기 전에 구해야 표식보다 오래된 목록에 표식이 붙지 않는다.
+     */
+    public String versionStamp() {
+        return instanceId + "." + snapshot.version();
+    }
+
+    /**
+     * 전체 상품을 id 순으로 반환하는 메서드.
+     */
+    public List<CatalogProduct> findAll() {
+        return Collections.unmodifiableList(Arrays.asList(snapshot.products()));
+    }
+
+    /**
+     * id 로 상품을 찾는 메서드. (스냅샷이 id 순이므로 이진 탐색)
+     */
+    public Optional<CatalogProduct> findById(long id) {
+        CatalogProduct[] products = snapshot.products();
+        int low = 0;
+        int high = products.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = products[mid].id();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return Optional.of(products[mid]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 구매 가능한 상품(재고 1 이상)을 id 순으로 페이징해 반환하는 메서드.
+     * 스냅샷에 구매 가능한 상품의 위치를 미리 모아 두므로 페이지 위치와 상관없이 페이지 크기만큼만 읽는다.
+     */
+    public Page<CatalogProduct> findAvailable(Pageable pageable) {
+        Snapshot current = snapshot;
+        int total = current.available().length;
+        int from = (int) Math.min(total, pageable.getOffset());
+        int to = Math.min(total, from + pageable.getPageSize());
+        List<CatalogProduct> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(current.products()[current.available()[i]]);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 상품이 추가/수정/삭제되었거나 재고가 바뀌었음을 알리는 메서드. 트랜잭션 안이면 커밋된 뒤에 반영 대상으로 남긴다.
+     */
+    public void markChanged(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        List<Long> copied = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedIds.addAll(copied);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changedIds.addAll(copied);
+            }
+        });
+    }
+
+    public void markChanged(Long id) {
+        markChanged(List.of(id));
+    }
+
+    /**
+     * 바뀐 상품만 다시 읽어 새 스냅샷으로 바꾸는 메서드.
+     */
+    @Scheduled(fixedDelayString = "${market.product.catalog.refresh-interval-ms:200}")
+    public void refresh() {
+        if (!enabled || snapshot == null || changedIds.isEmpty()) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            SortedSet<Long> ids = new TreeSet<>();
+            for (Iterator<Long> it = changedIds.iterator(); it.hasNext(); ) {
+                ids.add(it.next());
+                it.remove();
+            }
+            try {
+                Map<Long, CatalogProduct> loaded = new HashMap<>();
+                List<Long> idList = new ArrayList<>(ids);
+                for (int from = 0; from < idList.size(); from += refreshBatchSize) {
+                    List<Long> chunk = idList.subList(from, Math.min(idList.size(), from + refreshBatchSize));
+                    productRepository.findCatalogProductsByIdIn(chunk).forEach(p -> loaded.put(p.id(), p));
+                }
+                snapshot = merge(snapshot, ids, loaded);
+                productSearchIndex.update(ids, loaded);
+            } catch (Exception e) {
+                changedIds.addAll(ids);
+                logger.error("Failed to refresh product catalog. Pending products: {}. Error: {}", changedIds.size(), e.getMessage());
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 전체 상품을 다시 읽어 스냅샷을 새로 만드는 메서드. 시작 직후 한 번 실행되어 첫 스냅샷을 만든다.
+     */
+    @Scheduled(fixedDelayString = "${market.product.catalog.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            CatalogProduct[] products = productRepository.findAllCatalogProducts().toArray(CatalogProduct[]::new);
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(products, availableIndexes(products), current == null ? 1 : current.version() + 1);
+            logger.info("Product catalog rebuilt with {} product(s)", products.length);
+            productSearchIndex.rebuild(products);
+        } catch (Exception e) {
+            logger.error("Failed to rebuild product catalog. Error: {}", e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * id 순으로 정렬된 기존 배열과 바뀐 상품을 합쳐 새 스냅샷을 만드는 메서드.
+     * 바뀐 ID 중 다시 읽히지 않은 상품은 삭제된 것으로 보고 뺀다.
+     */
+    static Snapshot merge(Snapshot current, SortedSet<Long> changed, Map<Long, CatalogProduct> loaded) {
+        CatalogProduct[] old = current.products();
+        List<CatalogProduct> merged = new ArrayList<>(old.length + loaded.size());
+        Iterator<Long> changes = changed.iterator();
+        Long next = changes.hasNext() ? changes.next() : null;
+        for (CatalogProduct product : old) {
+            while (next != null && next < product.id()) {
+                addIfPresent(merged, loaded.get(next));
+                next = changes.hasNext() ? changes.next() : null;
+            }
+            if (next != null && next.equals(product.id())) {
+                addIfPresent(merged, loaded.get(next));
+                next = changes.hasNext() ? changes.next() : null;
+            } else {
+                merged.add(product);
+            }
+        }
+        while (next != null) {
+            addIfPresent(merged, loaded.get(next));
+            next = changes.hasNext() ? changes.next() : null;
+        }
+        CatalogProduct[] products = merged.toArray(CatalogProduct[]::new);
+        return new Snapshot(products, availableIndexes(products), current.version() + 1);
+    }
+
+    private static void addIfPresent(List<CatalogProduct> products, CatalogProduct product) {
+        if (product != null) {
+            products.add(product);
+        }
+    }
+
+    private static int[] availableIndexes(CatalogProduct[] products) {
+        int[] indexes = new int[products.length];
+        int size = 0;
+        for (int i = 0; i < products.length; i++) {
+            if (products[i].isAvailable()) {
+                indexes[size++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, size);
+    }
+
+    /**
+     * 한 시점의 카탈로그. 만든 뒤에는 바꾸지 않는다.
+     * @param products id 오름차순 상품 배열
+     * @param available 구매 가능한 상품의 products 내 위치 (오름차순)
+     * @param version 스냅샷을 바꿀 때마다 1씩 증가
+     */
+    record Snapshot(CatalogProduct[] products, int[] available, long version) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.enums.ProductSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 상품 목록 커서. 마지막으로 내려준 상품의 (정렬 키, id) 를 정렬 기준과 함께 base64url 문자열로 감싼다.
+ * 클라이언트는 내용을 해석하지 않고 다음 요청에 그대로 돌려준다.
+ */
+record ProductCursor(ProductSort sort, String key, long id) {
+
+    static ProductCursor of(ProductSort sort, Product last) {
+        return new ProductCursor(sort, String.valueOf(sort.keyOf(last)), last.getId());
+    }
+
+    String encode() {
+        // 상품명에 줄바꿈이 있어도 나눌 수 있도록 정렬 키를 마지막에 둠
+        String raw = sort.name() + '\n' + id + '\n' + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 풀고 요청한 정렬 기준으로 발급된 것인지 확인하는 메서드.
+     */
+    static ProductCursor decode(String cursor, ProductSort expectedSort) {
+        ProductCursor decoded;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+            decoded = new ProductCursor(ProductSort.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+            decoded.sort().parseKey(decoded.key());
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Invalid cursor");
+        }
+        if (decoded.sort() != expectedSort) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Cursor was issued for sort " + decoded.sort());
+        }
+        return decoded;
+    }
+
+    Object parsedKey() {
+        return sort.parseKey(key);
+    }
+}
@@ -0,0 +1,262 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.dto.ProductRequestDto;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 상품 일괄 등록 파일(NDJSON, CSV)을 한 행씩 읽는 리더.
+ * 입력을 메모리에 모두 올리지 않고 행 단위로 읽으며, 잘못된 행은 오류 행으로 돌려주고 다음 행부터 이어서 읽는다.
+ * 한 행이 maxRowLength 자를 넘으면 내용을 버리고 오류 행으로 처리해 행 버퍼 크기도 일정하게 유지한다.
+ */
+abstract class ProductImportReader implements Closeable {
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    protected final BufferedReader reader;
+    protected final int maxRowLength;
+    // 다음에 읽을 물리적 줄 번호 (1부터)
+    protected long line = 1;
+
+    ProductImportReader(InputStream in, Charset charset, int maxRowLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        this.maxRowLength = maxRowLength;
+    }
+
+    static ProductImportReader open(MediaType contentType, InputStream in, ObjectMapper objectMapper, int maxRowLength)
+            throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new Ndjson(in, charset, maxRowLength, objectMapper);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new Csv(in, charset, maxRowLength);
+        }
+        throw new BusinessException(ErrorCode.BAD_PARAMETER, "Unsupported import format: " + contentType);
+    }
+
+    /**
+     * 다음 행을 읽는 메서드. 입력이 끝나면 null
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 읽은 행. 상품 또는 오류 중 하나를 가진다.
+     */
+    record Row(long line, ProductRequestDto.Save product, String error) {
+
+        static Row ok(long line, ProductRequestDto.Save product) {
+            return new Row(line, product, null);
+        }
+
+        static Row error(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나씩 있는 NDJSON 리더. 줄마다 따로 파싱해 잘못된 줄이 다음 줄에 영향을 주지 않는다.
+     */
+    static class Ndjson extends ProductImportReader {
+
+        private final ObjectMapper objectMapper;
+        private final StringBuilder buffer = new StringBuilder();
+
+        Ndjson(InputStream in, Charset charset, int maxRowLength, ObjectMapper objectMapper) {
+            super(in, charset, maxRowLength);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                buffer.setLength(0);
+                boolean tooLong = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (buffer.length() < maxRowLength) {
+                        buffer.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                line++;
+                if (tooLong) {
+                    return Row.error(start, "Row exceeds " + maxRowLength + " characters");
+                }
+                String json = buffer.toString().strip();
+                if (json.isEmpty()) {
+                    if (c == -1) {
+                        return null;
+                    }
+                    continue;
+                }
+                try {
+                    return Row.ok(start, objectMapper.readValue(json, ProductRequestDto.Save.class));
+                } catch (MismatchedInputException e) {
+                    return Row.error(start, e.getPath().isEmpty()
+                            ? "Row must be a JSON object"
+                            : e.getPath().get(e.getPath().size() - 1).getFieldName() + ": invalid value");
+                } catch (JsonProcessingException e) {
+                    return Row.error(start, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 첫 행이 헤더(name, description, price, stock)인 CSV 리더. (RFC 4180, 따옴표 안의 쉼표/줄바꿈/"" 지원)
+     */
+    static class Csv extends ProductImportReader {
+
+        private final StringBuilder field = new StringBuilder();
+        private final int nameColumn;
+        private final int descriptionColumn;
+        private final int priceColumn;
+        private final int stockColumn;
+        private String recordError;
+
+        Csv(InputStream in, Charset charset, int maxRowLength) throws IOException {
+            super(in, charset, maxRowLength);
+            List<String> header = readRecord();
+            if (header == null || recordError != null) {
+                throw new BusinessException(ErrorCode.BAD_PARAMETER, "CSV header is missing");
+            }
+            List<String> columns = header.stream()
+                    .map(column -> column.replace("\uFEFF", "").strip().toLowerCase()).toList();
+            this.nameColumn = columns.indexOf("name");
+            this.descriptionColumn = columns.indexOf("description");
+            this.priceColumn = columns.indexOf("price");
+            this.stockColumn = columns.indexOf("stock");
+            if (nameColumn < 0 || priceColumn < 0 || stockColumn < 0) {
+                throw new BusinessException(ErrorCode.BAD_PARAMETER, "CSV header must contain name, price and stock");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                List<String> fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+                if (recordError != null) {
+                    return Row.error(start, recordError);
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                String description = column(fields, descriptionColumn);
+                Long price;
+                Integer stock;
+                try {
+                    price = toNumber(column(fields, priceColumn), Long::valueOf);
+                } catch (NumberFormatException e) {
+                    return Row.error(start, "price: invalid value");
+                }
+                try {
+                    stock = toNumber(column(fields, stockColumn), Integer::valueOf);
+                } catch (NumberFormatException e) {
+                    return Row.error(start, "stock: invalid value");
+                }
+                return Row.ok(start, new ProductRequestDto.Save(column(fields, nameColumn),
+                        description == null || description.isEmpty() ? null : description, price, stock));
+            }
+        }
+
+        private static String column(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static <T> T toNumber(String value, Function<String, T> parser) {
+            return value == null || value.isBlank() ? null : parser.apply(value.strip());
+        }
+
+        /**
+         * 레코드 하나를 필드 목록으로 읽는 메서드. 입력이 끝나면 null
+         * 레코드가 maxRowLength 자를 넘거나 따옴표가 닫히지 않으면 recordError 를 채운다.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            recordError = null;
+            boolean quoted = false;
+            boolean fieldStart = true;
+            int length = 0;
+            while (true) {
+                if (c == -1) {
+                    if (quoted && recordError == null) {
+                        recordError = "Unterminated quoted field";
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (++length > maxRowLength && recordError == null) {
+                    // 남은 내용은 버리고 레코드 끝까지 건너뜀
+                    recordError = "Row exceeds " + maxRowLength + " characters";
+                    fields.clear();
+                    field.setLength(0);
+                }
+                boolean keep = recordError == null;
+                if (quoted) {
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    if (keep) {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && fieldStart) {
+                    quoted = true;
+                } else if (c == ',') {
+                    if (keep) {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    }
+                    fieldStart = true;
+                    c = reader.read();
+                    continue;
+                } else if (c == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r' && keep) {
+                    field.append((char) c);
+                }
+                fieldStart = false;
+                c = reader.read();
+            }
+        }
+    }
+}
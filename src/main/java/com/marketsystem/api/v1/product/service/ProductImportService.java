@@ -0,0 +1,190 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.dto.ProductImportResultDto;
+import com.marketsystem.api.v1.product.dto.ProductRequestDto;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.mapper.ProductMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON/CSV 상품 파일을 스트리밍으로 읽어 등록하는 서비스.
+ * 행마다 검증한 뒤 chunk-size 건씩 StatelessSession 으로 배치 INSERT 하고 청크마다 커밋한다.
+ * 메모리에는 현재 청크와 앞쪽 max-reported-errors 건의 오류만 남으므로 업로드 크기와 상관없이 사용량이 일정하다.
+ * 중간에 실패해도 이미 커밋된 청크는 남는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductMapper productMapper;
+    private final ProductStockService productStockService;
+    private final ProductCatalog productCatalog;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    @Value("${market.product.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${market.product.import.max-reported-errors:100}")
+    private int maxReportedErrors = 100;
+
+    @Value("${market.product.import.max-row-length:65536}")
+    private int maxRowLength = 65536;
+
+    /**
+     * 상품 파일을 등록하고 처리 결과(전체/등록/실패 행 수, 행별 오류)를 반환하는 메서드.
+     */
+    public ProductImportResultDto importProducts(MediaType contentType, InputStream body) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Progress progress = new Progress();
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        List<Long> lines = new ArrayList<>(chunkSize);
+        try (ProductImportReader reader = ProductImportReader.open(contentType, body, objectMapper, maxRowLength)) {
+            ProductImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                progress.totalRows++;
+                String error = row.error() != null ? row.error() : validate(row.product());
+                if (error != null) {
+                    progress.fail(row.line(), error);
+                    continue;
+                }
+                chunk.add(productMapper.toEntity(row.product()));
+                lines.add(row.line());
+                if (chunk.size() >= chunkSize) {
+                    write(sessionFactory, chunk, lines, progress);
+                }
+            }
+            write(sessionFactory, chunk, lines, progress);
+        } catch (IOException e) {
+            logger.error("Product import aborted. rows: {}, imported: {}, Error: {}",
+                    progress.totalRows, progress.importedRows, e.getMessage());
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "Failed to read import file after "
+                    + progress.importedRows + " imported rows: " + e.getMessage());
+        }
+        logger.info("Product import finished. rows: {}, imported: {}, failed: {}",
+                progress.totalRows, progress.importedRows, progress.failedRows);
+        return progress.toDto();
+    }
+
+    private String validate(ProductRequestDto.Save product) {
+        var violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 모아 둔 청크를 한 트랜잭션으로 저장하는 메서드.
+     * 청크가 실패하면 원인 행을 찾기 위해 한 행씩 다시 저장한다.
+     */
+    private void write(SessionFactory sessionFactory, List<Product> chunk, List<Long> lines, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Product> inserted;
+        try {
+            insert(sessionFactory, chunk);
+            inserted = chunk;
+        } catch (RuntimeException e) {
+            logger.warn("Product import chunk failed, retrying row by row. lines: {}-{}, Error: {}",
+                    lines.get(0), lines.get(lines.size() - 1), e.getMessage());
+            inserted = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    insert(sessionFactory, List.of(chunk.get(i)));
+                    inserted.add(chunk.get(i));
+                } catch (RuntimeException rowError) {
+                    progress.fail(lines.get(i), rootMessage(rowError));
+                }
+            }
+        }
+        progress.importedRows += inserted.size();
+        productStockService.recordInitialStock(inserted);
+        productCatalog.markChanged(inserted.stream().map(Product::getId).toList());
+        chunk.clear();
+        lines.clear();
+        logger.info("Product import progress. rows: {}, imported: {}, failed: {}",
+                progress.totalRows, progress.importedRows, progress.failedRows);
+    }
+
+    private void insert(SessionFactory sessionFactory, List<Product> products) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (Product product : products) {
+                    product.initTimestamps();
+                    session.insert(product);
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = String.valueOf(root.getMessage());
+        return message.length() <= MAX_ERROR_MESSAGE_LENGTH ? message : message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+
+    /**
+     * 가져오기 진행 상황. 오류는 앞에서부터 maxReportedErrors 건만 보관한다.
+     */
+    private class Progress {
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        final List<ProductImportResultDto.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResultDto.RowError(line, message));
+            }
+        }
+
+        ProductImportResultDto toDto() {
+            return ProductImportResultDto.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .failedRows(failedRows)
+                    .errors(errors)
+                    .errorsTruncated(failedRows > errors.size())
+                    .build();
+        }
+    }
+}
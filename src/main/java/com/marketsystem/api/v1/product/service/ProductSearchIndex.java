@@ -0,0 +1,311 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품명/설명 검색용 메모리 역색인.
+ * <p>
+ * 상품 카탈로그가 전체를 다시 읽을 때 새로 만들어 참조를 바꾸고, 바뀐 상품을 반영할 때 같은 상품 ID로 함께 갱신된다.
+ * 갱신된 상품은 새 문서 번호로 문서 목록 끝에 붙이고 이전 번호는 삭제 표시만 하므로, 삭제된 문서는 다음 전체 재색인 때 정리된다.
+ * 점수는 BM25 이며, 단어별 문서 목록을 문서 번호 순으로 함께 읽으면서 상위 limit 건만 힙에 남긴다.
+ * 전체 재색인은 스케줄러 스레드를 막지 않도록 전용 스레드(productSearchIndexExecutor)에서 하며,
+ * 만드는 동안 들어온 갱신은 이전 색인에 반영하면서 따로 모아 두었다가 새 색인에 다시 적용한 뒤 참조를 바꾼다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 상품명에 나온 단어는 설명에 나온 단어보다 이 배수만큼 더 나온 것으로 셈
+    private static final int NAME_WEIGHT = 2;
+    // 검색어가 길어도 앞쪽 단어만 사용
+    private static final int MAX_QUERY_TERMS = 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ThreadPoolTaskExecutor productSearchIndexExecutor;
+
+    private volatile Segment segment;
+    // 재색인 중일 때만 null 이 아님. 만드는 동안 들어온 갱신 (swapLock 으로 보호)
+    private List<Update> pendingUpdates;
+    private final Object swapLock = new Object();
+
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    /**
+     * 전체 상품으로 색인을 전용 스레드에서 새로 만든 뒤 참조를 바꾸는 메서드. 만드는 동안에는 이전 색인으로 검색한다.
+     * 이전 재색인이 아직 끝나지 않았으면 건너뛴다. (그 사이 바뀐 상품은 update 로 반영됨)
+     * @param products 이 호출 이후의 update 가 모두 products 보다 새 값이어야 한다
+     */
+    public void rebuild(CatalogProduct[] products) {
+        synchronized (swapLock) {
+            if (pendingUpdates != null) {
+                logger.warn("Previous product search index rebuild is still running, skipped");
+                return;
+            }
+            pendingUpdates = new ArrayList<>();
+        }
+        try {
+            productSearchIndexExecutor.execute(() -> build(products));
+        } catch (TaskRejectedException e) {
+            synchronized (swapLock) {
+                pendingUpdates = null;
+            }
+            logger.warn("Product search index rebuild was rejected, skipped");
+        }
+    }
+
+    private void build(CatalogProduct[] products) {
+        try {
+            long startedAt = System.nanoTime();
+            Segment built = new Segment(products.length);
+            for (CatalogProduct product : products) {
+                built.put(product);
+            }
+            Segment previous;
+            synchronized (swapLock) {
+                // 만드는 동안 이전 색인에 반영된 갱신을 새 색인에도 적용한 뒤 바꿈
+                for (Update update : pendingUpdates) {
+                    built.apply(update.changedIds(), update.loaded());
+                }
+                previous = segment;
+                segment = built;
+            }
+            logger.info("Product search index rebuilt in {} ms. products: {}, terms: {}, posting bytes: {}, discarded deleted entries: {}",
+                    (System.nanoTime() - startedAt) / 1_000_000, built.liveDocs, built.postings.size(), built.postingBytes(),
+                    previous == null ? 0 : previous.deletedDocs());
+        } catch (Exception e) {
+            logger.error("Failed to rebuild product search index. Error: {}", e.getMessage());
+        } finally {
+            synchronized (swapLock) {
+                pendingUpdates = null;
+            }
+        }
+    }
+
+    /**
+     * 바뀐 상품을 색인에 반영하는 메서드. 바뀐 ID 중 loaded 에 없는 상품은 삭제된 것으로 본다.
+     */
+    public void update(Collection<Long> changedIds, Map<Long, CatalogProduct> loaded) {
+        synchronized (swapLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(new Update(List.copyOf(changedIds), Map.copyOf(loaded)));
+            }
+            Segment current = segment;
+            if (current == null) {
+                return;
+            }
+            current.lock.writeLock().lock();
+            try {
+                current.apply(changedIds, loaded);
+            } finally {
+                current.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 검색어와 관련도가 높은 순으로 최대 limit 건의 상품 ID를 반환하는 메서드. 검색어 단어 중 하나라도 포함한 상품이 대상이다.
+     */
+    public List<Match> search(String query, int limit) {
+        Segment current = segment;
+        Set<String> terms = new LinkedHashSet<>(ProductTokenizer.tokenize(query));
+        if (current == null || terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        current.lock.readLock().lock();
+        try {
+            return current.search(terms.stream().limit(MAX_QUERY_TERMS).toList(), limit);
+        } finally {
+            current.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 결과 한 건
+     */
+    public record Match(long productId, double score) {
+    }
+
+    private record Update(Collection<Long> changedIds, Map<Long, CatalogProduct> loaded) {
+    }
+
+    /**
+     * 한 번 만든 색인. 문서 번호는 0부터 늘어나기만 한다. 갱신은 쓰기 락, 검색은 읽기 락 안에서 한다.
+     */
+    private static class Segment {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, Integer> docsByProductId;
+        private final BitSet deleted = new BitSet();
+        private long[] productIds;
+        private int[] lengths;
+        // 재고만 바뀐 상품은 다시 색인하지 않도록 상품명/설명의 해시를 보관
+        private int[] textHashes;
+        private int nextDoc;
+        private int liveDocs;
+        private long liveLength;
+
+        Segment(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            docsByProductId = new HashMap<>(capacity * 4 / 3 + 1);
+            productIds = new long[capacity];
+            lengths = new int[capacity];
+            textHashes = new int[capacity];
+        }
+
+        void put(CatalogProduct product) {
+            int textHash = Objects.hash(product.name(), product.description());
+            Integer existing = docsByProductId.get(product.id());
+            if (existing != null) {
+                if (textHashes[existing] == textHash) {
+                    return;
+                }
+                delete(existing);
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : ProductTokenizer.tokenize(product.name())) {
+                frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+            }
+            for (String token : ProductTokenizer.tokenize(product.description())) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            int doc = nextDoc++;
+            if (doc == productIds.length) {
+                int capacity = productIds.length * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                textHashes = Arrays.copyOf(textHashes, capacity);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            productIds[doc] = product.id();
+            lengths[doc] = length;
+            textHashes[doc] = textHash;
+            docsByProductId.put(product.id(), doc);
+            liveDocs++;
+            liveLength += length;
+        }
+
+        void apply(Collection<Long> changedIds, Map<Long, CatalogProduct> loaded) {
+            for (Long id : changedIds) {
+                CatalogProduct product = loaded.get(id);
+                if (product == null) {
+                    remove(id);
+                } else {
+                    put(product);
+                }
+            }
+        }
+
+        void remove(Long productId) {
+            Integer doc = docsByProductId.remove(productId);
+            if (doc != null) {
+                delete(doc);
+            }
+        }
+
+        private void delete(int doc) {
+            deleted.set(doc);
+            liveDocs--;
+            liveLength -= lengths[doc];
+        }
+
+        int deletedDocs() {
+            return deleted.cardinality();
+        }
+
+        long postingBytes() {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.bytes();
+            }
+            return bytes;
+        }
+
+        List<Match> search(List<String> terms, int limit) {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) liveLength / liveDocs);
+            PostingList.Cursor[] cursors = new PostingList.Cursor[terms.size()];
+            double[] idfs = new double[terms.size()];
+            int termCount = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // 삭제된 문서도 세므로 전체 문서 수를 넘지 않게 자름
+                int documentFrequency = Math.min(list.size(), liveDocs);
+                idfs[termCount] = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                cursors[termCount] = list.cursor();
+                cursors[termCount].next();
+                termCount++;
+            }
+            if (termCount == 0) {
+                return List.of();
+            }
+
+            // 점수가 가장 낮은 결과가 맨 앞에 오는 힙. (점수가 같으면 상품 ID가 작은 쪽을 남김)
+            Comparator<Match> worstFirst = Comparator.comparingDouble(Match::score)
+                    .thenComparing(Comparator.comparingLong(Match::productId).reversed());
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, worstFirst);
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int i = 0; i < termCount; i++) {
+                    doc = Math.min(doc, cursors[i].doc());
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+                boolean live = !deleted.get(doc);
+                double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                double score = 0;
+                for (int i = 0; i < termCount; i++) {
+                    PostingList.Cursor cursor = cursors[i];
+                    if (cursor.doc() != doc) {
+                        continue;
+                    }
+                    if (live) {
+                        int frequency = cursor.frequency();
+                        score += idfs[i] * frequency * (K1 + 1) / (frequency + norm);
+                    }
+                    cursor.next();
+                }
+                if (!live) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(new Match(productIds[doc], score));
+                    continue;
+                }
+                // 힙이 차면 가장 낮은 점수를 넘는 결과만 만들어 넣음 (문서 번호가 상품 ID 순이 아니므로 같은 점수는 ID로 비교)
+                Match worst = top.peek();
+                if (score > worst.score() || (score == worst.score() && productIds[doc] < worst.productId())) {
+                    top.poll();
+                    top.add(new Match(productIds[doc], score));
+                }
+            }
+            List<Match> result = new ArrayList<>(top);
+            result.sort(worstFirst.reversed());
+            return result;
+        }
+    }
+}
@@ -1,55 +1,154 @@
 package com.marketsystem.api.v1.product.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.dto.CursorPageResponse;
 import com.marketsystem.api.v1.common.dto.PaginatedResponse;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.product.dto.ProductRequestDto;
 import com.marketsystem.api.v1.product.dto.ProductResponseDto;
 import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.enums.ProductExportFormat;
+import com.marketsystem.api.v1.product.enums.ProductSort;
 import com.marketsystem.api.v1.product.mapper.ProductMapper;
 import com.marketsystem.api.v1.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProductService {
 
+    // 이 건수마다 응답으로 내보냄 (첫 건은 바로 내보냄)
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductStockService productStockService;
+    private final ProductCache productCache;
+    private final ProductCatalog productCatalog;
+    private final ProductSearchIndex productSearchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${market.product.search.max-size:100}")
+    private int searchMaxSize = 100;
+
+    @Value("${market.product.browse.max-size:100}")
+    private int browseMaxSize = 100;
+
+    // 구매 가능 상품 수는 전체를 세야 하므로 이 시간 동안 재사용
+    @Value("${market.product.browse.count-ttl:PT10S}")
+    private Duration countTtl = Duration.ofSeconds(10);
+
+    private volatile CachedCount availableCount;
 
     @Transactional
     public void createProduct(List<ProductRequestDto.Save> productRequestDtos) {
         List<Product> products= productMapper.toEntityList(productRequestDtos);
         productRepository.saveAll(products);
+        productStockService.recordInitialStock(products);
+        productCatalog.markChanged(products.stream().map(Product::getId).toList());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 상품을 캐시에서 읽고, 없으면 DB 에서 읽어 캐시에 담는 메서드.
+     * 캐시에 있으면 DB 커넥션을 잡지 않도록 트랜잭션을 시작하지 않는다. 재고 원장을 사용하면 재고는 원장 값으로 바꿔 반환한다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponseDto getProduct(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid product ID: " + id));
-        return productMapper.toDto(product);
+        ProductResponseDto product = productCache.get(id, key -> productRepository.findById(key)
+                .map(productMapper::toDto)
+                .orElse(null));
+        if (product == null) {
+            throw new IllegalArgumentException("Invalid product ID: " + id);
+        }
+        return withAvailableStock(List.of(product)).get(0);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 목록 응답의 ETag 로 쓸 카탈로그 버전 표식을 반환하는 메서드. 카탈로그가 적재되지 않았으면 null.
+     * 목록을 조회하기 전에 호출해야 한다.
+     */
+    public String getCatalogVersion() {
+        return productCatalog.isReady() ? productCatalog.versionStamp() : null;
+    }
+
+    /**
+     * 전체 상품을 조회하는 메서드. 카탈로그가 적재되어 있으면 DB 를 거치지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductResponseDto> getAllProducts() {
+        if (productCatalog.isReady()) {
+            return withAvailableStock(productCatalog.findAll().stream().map(productMapper::catalogToDto).toList());
+        }
         List<Product> products = productRepository.findAll();
-        return productMapper.toDtoList(products);
+        return withAvailableStock(productMapper.toDtoList(products));
     }
 
+    /**
+     * 전체 상품을 id 순으로 읽으면서 바로 NDJSON 또는 JSON 배열로 쓰는 메서드.
+     * 전진 전용 커서로 읽고 쓴 상품은 영속성 컨텍스트에서 떼어내므로 상품 수와 상관없이 메모리 사용량이 일정하다.
+     */
     @Transactional(readOnly = true)
+    public void exportProducts(OutputStream out, ProductExportFormat format) throws IOException {
+        try (Stream<Product> products = productRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (format == ProductExportFormat.JSON) {
+                generator.writeStartArray();
+            }
+            long written = 0;
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                ProductResponseDto dto = productMapper.toDto(product);
+                dto.setStock(productStockService.availableStock(product));
+                generator.writeObject(dto);
+                if (format == ProductExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                entityManager.detach(product);
+                if (++written == 1 || written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (format == ProductExportFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * 구매 가능한 상품을 페이징해 조회하는 메서드. 카탈로그가 적재되어 있으면 DB 를 거치지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PaginatedResponse<ProductResponseDto> getAvailablePurchaseProducts(Pageable pageable) {
-        Page<ProductResponseDto> productsPage = productRepository.findByStockGreaterThanEqual(0, pageable)
-                .map(productMapper::toDto);
+        Page<ProductResponseDto> productsPage = productCatalog.isReady()
+                ? productCatalog.findAvailable(pageable).map(productMapper::catalogToDto)
+                : productRepository.findByStockGreaterThanEqual(1, pageable).map(productMapper::toDto);
 
         return PaginatedResponse.<ProductResponseDto>builder()
-                .content(productsPage.getContent())
+                .content(withAvailableStock(productsPage.getContent()))
                 .pageNumber(productsPage.getNumber())
                 .pageSize(productsPage.getSize())
                 .totalElements(productsPage.getTotalElements())
@@ -58,20 +157,115 @@ public class ProductService {
                 .build();
     }
 
+    /**
+     * 상품명/설명으로 상품을 검색해 관련도 순으로 최대 size 건 반환하는 메서드.
+     * 검색 색인과 카탈로그가 적재되어 있으면 DB 를 거치지 않고, 적재 전에는 DB 에서 검색어를 포함한 상품을 id 순으로 읽는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductResponseDto> searchProducts(String query, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "q must not be blank");
+        }
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "size must be at least 1");
+        }
+        int limit = Math.min(size, searchMaxSize);
+        if (productSearchIndex.isReady() && productCatalog.isReady()) {
+            return withAvailableStock(productSearchIndex.search(query, limit).stream()
+                    .map(match -> productCatalog.findById(match.productId()))
+                    .flatMap(Optional::stream)
+                    .map(productMapper::catalogToDto)
+                    .toList());
+        }
+        return withAvailableStock(productRepository.searchCatalogProducts(query.trim(), PageRequest.of(0, limit)).stream()
+                .map(productMapper::catalogToDto)
+                .toList());
+    }
+
+    /**
+     * 구매 가능한 상품을 sort 순서로 커서 이후부터 size 건 조회하는 메서드.
+     * 한 건을 더 읽어 다음 페이지가 있는지 판단하고, 전체 개수는 withTotal 일 때만 (캐시된 값으로) 채운다.
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponseDto> browseAvailableProducts(ProductSort sort, String cursor,
+                                                                          int size, boolean withTotal) {
+        if (size < 1) {
+            throw new BusinessException(ErrorCode.BAD_PARAMETER, "size must be at least 1");
+        }
+        int limit = Math.min(size, browseMaxSize);
+        List<Product> products;
+        if (cursor == null || cursor.isEmpty()) {
+            products = productRepository.findAvailableAfter(sort, null, null, limit + 1);
+        } else {
+            ProductCursor after = ProductCursor.decode(cursor, sort);
+            products = productRepository.findAvailableAfter(sort, after.parsedKey(), after.id(), limit + 1);
+        }
+
+        boolean hasNext = products.size() > limit;
+        if (hasNext) {
+            products = products.subList(0, limit);
+        }
+        return CursorPageResponse.<ProductResponseDto>builder()
+                .content(withAvailableStock(productMapper.toDtoList(products)))
+                .size(limit)
+                .nextCursor(hasNext ? ProductCursor.of(sort, products.get(limit - 1)).encode() : null)
+                .hasNext(hasNext)
+                .totalElements(withTotal ? countAvailableProducts() : null)
+                .build();
+    }
+
+    /**
+     * 재고 원장을 사용하면 응답의 재고를 원장의 구매 가능 재고로 바꾼 사본을 반환하는 메서드.
+     * 원장 모드에서는 점유(HELD)와 아직 반영되지 않은 판매 수량이 상품 테이블 재고에 빠져 있지 않아, 캐시와 카탈로그의 재고를 그대로 내보내면 안 된다.
+     * 캐시된 DTO 는 공유되므로 고치지 않고 사본을 만든다.
+     */
+    private List<ProductResponseDto> withAvailableStock(List<ProductResponseDto> products) {
+        Map<Long, Integer> stocks = productStockService.ledgerAvailableStocks(
+                products.stream().map(ProductResponseDto::getId).toList());
+        if (stocks.isEmpty()) {
+            return products;
+        }
+        return products.stream()
+                .map(p -> new ProductResponseDto(p.getId(), p.getName(), p.getDescription(), p.getPrice(),
+                        stocks.get(p.getId()), p.getCreatedAt(), p.getUpdatedAt()))
+                .toList();
+    }
+
+    private long countAvailableProducts() {
+        CachedCount cached = availableCount;
+        long now = System.nanoTime();
+        if (cached == null || now - cached.countedAt() >= countTtl.toNanos()) {
+            cached = new CachedCount(productRepository.countAvailable(), now);
+            availableCount = cached;
+        }
+        return cached.value();
+    }
+
     @Transactional
     public void updateProduct(ProductRequestDto.Update productDto) {
         Product updateProduct = productRepository.findById(productDto.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid product ID: " + productDto.getId()));
+        if(productDto.getHotBuckets() != null) {
+            productStockService.changeHotBuckets(productDto.getId(), productDto.getHotBuckets());
+        }
         if(productDto.getStock() != null) {
-            if(updateProduct.getStock() + productDto.getStock() < 0)
-                throw new BusinessException(ErrorCode.OUT_OF_STOCK);
-            productDto.setStock(updateProduct.getStock() + productDto.getStock());
+            // 읽은 값에 더해 덮어쓰지 않고, 재고 동시성 전략으로 증감분만 반영
+            productStockService.adjustStock(productDto.getId(), productDto.getStock());
+            productDto.setStock(null);
         }
         productMapper.updateEntityFromDto(productDto, updateProduct);
+        productCache.evict(productDto.getId());
+        productCatalog.markChanged(productDto.getId());
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        productCache.evict(id);
+        productCatalog.markChanged(id);
+    }
+
+    private record CachedCount(long value, long countedAt) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.service.InventoryJournal;
+import com.marketsystem.api.v1.inventory.service.StockLedger;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.strategy.StockConcurrencyStrategy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductStockService {
+
+    private final ProductRepository productRepository;
+    private final StockLedger stockLedger;
+    private final StockConcurrencyStrategy stockConcurrencyStrategy;
+    private final HotStockBucketService hotStockBucketService;
+    private final InventoryJournal inventoryJournal;
+    private final ProductCache productCache;
+    private final ProductCatalog productCatalog;
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockService.class);
+
+    /**
+     * 상품의 구매 가능 재고를 반환하는 메서드. 재고 원장을 사용하면 DB 대신 원장 값을 반환한다.
+     */
+    public int availableStock(Product product) {
+        return stockLedger.isEnabled() ? stockLedger.availableStock(product.getId()) : product.getStock();
+    }
+
+    /**
+     * 재고 원장을 사용하면 상품 ID별 원장 재고를, 사용하지 않으면 빈 맵을 반환하는 메서드.
+     * 빈 맵이면 호출자는 DB 의 재고 컬럼과 직접 비교한다.
+     */
+    public Map<Long, Integer> ledgerAvailableStocks(Collection<Long> productIds) {
+        if (!stockLedger.isEnabled()) {
+            return Map.of();
+        }
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (Long productId : productIds) {
+            stocks.put(productId, stockLedger.availableStock(productId));
+        }
+        return stocks;
+    }
+
+    /**
+     * 상품별 수량만큼 재고를 차감하는 메서드.
+     * 설정된 재고 동시성 전략으로 차감하며, 하나라도 실패하면 예외를 던져 호출 트랜잭션 전체를 롤백시킨다.
+     * 재고 원장을 사용하면 메모리에서만 차감한다.
+     * @param quantities 상품 ID별 차감 수량
+     */
+    @Transactional
+    public void decreaseStock(Map<Long, Integer> quantities) {
+        if (stockLedger.isEnabled()) {
+            stockLedger.decrease(quantities);
+            return;
+        }
+        List<Long> failedIds = decreaseRows(quantities);
+        if (!failedIds.isEmpty()) {
+            throw stockDecreaseFailure(failedIds);
+        }
+    }
+
+    /**
+     * 상품별 수량만큼 재고 차감을 시도하는 메서드.
+     * decreaseStock 과 달리 실패해도 예외를 던지지 않아 호출 트랜잭션이 커밋될 수 있으며, 하나라도 실패하면 먼저 차감한 상품의 재고를 되돌린다.
+     * @return 차감하지 못한 상품 ID 목록 (비어 있으면 모두 차감됨)
+     */
+    @Transactional
+    public List<Long> tryDecreaseStock(Map<Long, Integer> quantities) {
+        if (stockLedger.isEnabled()) {
+            try {
+                stockLedger.decrease(quantities);
+                return List.of();
+            } catch (BusinessException e) {
+                // 원장은 실패한 차감을 스스로 되돌림
+                return List.copyOf(quantities.keySet());
+            }
+        }
+        List<Long> failedIds = decreaseRows(quantities);
+        if (!failedIds.isEmpty()) {
+            Map<Long, Integer> applied = new TreeMap<>(quantities);
+            applied.keySet().removeAll(failedIds);
+            increaseRows(applied);
+        }
+        return failedIds;
+    }
+
+    /**
+     * 상품별 수량만큼 재고를 복원하는 메서드.
+     * @param quantities 상품 ID별 복원 수량
+     */
+    @Transactional
+    public void increaseStock(Map<Long, Integer> quantities) {
+        if (stockLedger.isEnabled()) {
+            stockLedger.increase(quantities);
+            return;
+        }
+        increaseRows(quantities);
+    }
+
+    /**
+     * 관리자가 상품 재고를 증감하는 메서드. 재고 원장을 사용하면 원장과 상품 테이블에 함께 반영한다.
+     * @param delta 증감 수량 (음수면 차감)
+     */
+    @Transactional
+    public void adjustStock(Long productId, int delta) {
+        Map<Long, Integer> quantities = Map.of(productId, Math.abs(delta));
+        if (delta < 0) {
+            if (stockLedger.isEnabled()) {
+                stockLedger.decrease(quantities);
+            }
+            List<Long> failedIds = decreaseRows(quantities);
+            if (!failedIds.isEmpty()) {
+                throw stockDecreaseFailure(failedIds);
+            }
+            inventoryJournal.append(InventoryEventType.WRITE_OFF, null, quantities);
+        } else if (delta > 0) {
+            increaseRows(quantities);
+            if (stockLedger.isEnabled()) {
+                stockLedger.increase(quantities);
+            }
+            inventoryJournal.append(InventoryEventType.RESTOCK, null, quantities);
+        }
+    }
+
+    /**
+     * 새로 등록한 상품의 초기 재고를 재고 저널에 입고로 기록하는 메서드.
+     */
+    public void recordInitialStock(List<Product> products) {
+        Map<Long, Integer> quantities = products.stream()
+                .filter(p -> p.getId() != null && p.getStock() > 0)
+                .collect(Collectors.toMap(Product::getId, Product::getStock));
+        inventoryJournal.append(InventoryEventType.RESTOCK, null, quantities);
+    }
+
+    /**
+     * 상품의 핫 상품 재고 버킷 수를 바꾸는 메서드.
+     */
+    @Transactional
+    public void changeHotBuckets(Long productId, int buckets) {
+        productCache.evict(productId);
+        productCatalog.markChanged(productId);
+        hotStockBucketService.changeBuckets(productId, buckets);
+    }
+
+    /**
+     * 주문으로 확정된 판매 수량을 기록하는 메서드.
+     * 재고 원장을 사용하면 상품 테이블 반영을 뒤로 미루고 true를 반환한다. (점유 시점에 이미 차감된 경우 false)
+     */
+    public boolean recordSale(Long orderId, Map<Long, Integer> quantities) {
+        if (!stockLedger.isEnabled()) {
+            return false;
+        }
+        stockLedger.recordSale(orderId, quantities);
+        return true;
+    }
+
+    /**
+     * 핫 상품은 버킷에서, 나머지는 재고 동시성 전략으로 상품 행에서 차감하는 메서드.
+     * 주문 점유/해제/확정 등 상품 테이블 재고를 바꾸는 경로는 모두 여기와 increaseRows 를 거치므로 상품 캐시와 카탈로그도 여기서 갱신한다.
+     * @return 차감되지 않은 상품 ID 목록
+     */
+    private List<Long> decreaseRows(Map<Long, Integer> quantities) {
+        productCache.evictAll(quantities.keySet());
+        productCatalog.markChanged(quantities.keySet());
+        SortedMap<Long, Integer> rows = new TreeMap<>(quantities);
+        List<Long> failedIds = new ArrayList<>(hotStockBucketService.decreaseHot(rows));
+        failedIds.addAll(stockConcurrencyStrategy.decreaseAll(rows));
+        return failedIds;
+    }
+
+    private void increaseRows(Map<Long, Integer> quantities) {
+        productCache.evictAll(quantities.keySet());
+        productCatalog.markChanged(quantities.keySet());
+        SortedMap<Long, Integer> rows = new TreeMap<>(quantities);
+        hotStockBucketService.increaseHot(rows);
+        stockConcurrencyStrategy.increaseAll(rows);
+    }
+
+    /**
+     * 재고 차감에 실패한 상품이 존재하지 않는 상품인지, 재고 부족인지 구분하는 메서드.
+     * 실패한 경우에만 한 번 조회한다.
+     */
+    private BusinessException stockDecreaseFailure(List<Long> failedIds) {
+        Set<Long> existingIds = productRepository.findAllByIdIn(new HashSet<>(failedIds)).stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+        for (Long id : failedIds) {
+            if (!existingIds.contains(id)) {
+                return new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product ID: " + id);
+            }
+        }
+        logger.warn("Stock decrease failed. Product IDs: {}", failedIds);
+        return new BusinessException(ErrorCode.OUT_OF_STOCK, "Product IDs out of stock: " + failedIds);
+    }
+}
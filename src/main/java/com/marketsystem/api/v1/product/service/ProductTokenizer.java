@@ -0,0 +1,64 @@
+package com.marketsystem.api.v1.product.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 검색용 토크나이저.
+ * 영문/숫자는 연속된 글자를 소문자 단어 하나로, 한글은 형태소 분석 없이 음절 2-gram 으로 자른다. (예: "블루투스" → 블루, 루투, 투스)
+ * 한 음절짜리 한글 단어는 그대로 쓴다. 나머지 문자(공백, 기호 등)는 구분자로 본다.
+ */
+final class ProductTokenizer {
+
+    // 이보다 긴 단어는 잘라서 색인 (URL, 모델 번호 등이 사전을 키우지 않도록)
+    static final int MAX_TOKEN_LENGTH = 32;
+
+    private ProductTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            char c = text.charAt(start);
+            if (isHangul(c)) {
+                int end = start + 1;
+                while (end < length && isHangul(text.charAt(end))) {
+                    end++;
+                }
+                addHangulBigrams(tokens, text, start, end);
+                start = end;
+            } else if (Character.isLetterOrDigit(c)) {
+                int end = start + 1;
+                while (end < length && Character.isLetterOrDigit(text.charAt(end)) && !isHangul(text.charAt(end))) {
+                    end++;
+                }
+                tokens.add(text.substring(start, Math.min(end, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ROOT));
+                start = end;
+            } else {
+                start++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addHangulBigrams(List<String> tokens, String text, int start, int end) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    // 완성형 한글 음절
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -0,0 +1,31 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * {@code UPDATE ... WHERE stock >= ?} 조건부 갱신으로 검사와 차감을 한 문장에서 처리하는 전략.
+ * 읽기 없이 행 락을 갱신 시간 동안만 잡으므로 재시도나 롤백이 생기지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "market.stock.strategy", havingValue = "atomic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AtomicSqlStockStrategy implements StockConcurrencyStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public List<Long> decreaseAll(SortedMap<Long, Integer> quantities) {
+        return productRepository.decreaseStockAll(quantities);
+    }
+
+    @Override
+    public void increaseAll(SortedMap<Long, Integer> quantities) {
+        productRepository.increaseStockAll(quantities);
+    }
+}
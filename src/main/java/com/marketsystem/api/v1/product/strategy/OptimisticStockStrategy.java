@@ -0,0 +1,103 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.StockVersion;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재고와 버전을 락 없이 읽고, 버전이 그대로인 경우에만 갱신하는 전략.
+ * 충돌한 상품만 다시 읽어 재시도하며, 재시도 사이에는 지수 백오프 상한 안에서 무작위로 대기(full jitter)한다.
+ * 다만 충돌하지 않은 상품을 이미 갱신했다면 그 행 락은 커밋까지 잡혀 있으므로, 락을 쥔 채 기다리지 않고 바로 다시 시도한다.
+ * 재시도마다 최신 값을 읽어야 하므로 READ COMMITTED 격리 수준을 전제로 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "market.stock.strategy", havingValue = "optimistic")
+@RequiredArgsConstructor
+public class OptimisticStockStrategy implements StockConcurrencyStrategy {
+
+    private final ProductRepository productRepository;
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticStockStrategy.class);
+
+    @Value("${market.stock.optimistic.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${market.stock.optimistic.backoff-ms:5}")
+    private long backoffMs = 5;
+
+    private final LongAdder conflicts = new LongAdder();
+
+    @Override
+    public List<Long> decreaseAll(SortedMap<Long, Integer> quantities) {
+        return apply(quantities, -1);
+    }
+
+    @Override
+    public void increaseAll(SortedMap<Long, Integer> quantities) {
+        apply(quantities, 1);
+    }
+
+    /**
+     * 버전 충돌로 다시 시도한 상품 수의 누적 값을 반환하는 메서드.
+     */
+    public long conflictCount() {
+        return conflicts.sum();
+    }
+
+    private List<Long> apply(SortedMap<Long, Integer> quantities, int sign) {
+        SortedMap<Long, Integer> remaining = new TreeMap<>(quantities);
+        List<Long> failedIds = new ArrayList<>();
+        boolean holdingLocks = false;
+        for (int attempt = 1; !remaining.isEmpty(); attempt++) {
+            Set<Long> missingIds = new HashSet<>(remaining.keySet());
+            List<StockVersion> updates = new ArrayList<>();
+            for (StockVersion row : productRepository.findStockVersions(remaining.keySet(), false)) {
+                missingIds.remove(row.id());
+                int stock = row.stock() + sign * remaining.get(row.id());
+                if (stock < 0) {
+                    failedIds.add(row.id());
+                } else {
+                    updates.add(new StockVersion(row.id(), stock, row.version()));
+                }
+            }
+            failedIds.addAll(missingIds);
+
+            List<Long> conflictedIds = productRepository.compareAndSetStockAll(updates);
+            holdingLocks |= conflictedIds.size() < updates.size();
+            if (conflictedIds.isEmpty()) {
+                break;
+            }
+            conflicts.add(conflictedIds.size());
+            if (attempt >= maxAttempts) {
+                logger.warn("Stock update gave up after {} attempts. Product IDs: {}", attempt, conflictedIds);
+                throw new BusinessException(ErrorCode.CONFLICT, "Stock update conflicted. Product IDs: " + conflictedIds);
+            }
+            remaining.keySet().retainAll(conflictedIds);
+            if (!holdingLocks) {
+                backoff(attempt);
+            }
+        }
+        Collections.sort(failedIds);
+        return failedIds;
+    }
+
+    private void backoff(int attempt) {
+        long bound = backoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.CONFLICT, "Interrupted while retrying stock update");
+        }
+    }
+}
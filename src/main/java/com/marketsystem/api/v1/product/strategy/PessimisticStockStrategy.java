@@ -0,0 +1,52 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.StockVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * {@code SELECT ... FOR UPDATE}로 대상 상품의 행 락을 먼저 잡고 갱신하는 전략.
+ * 락은 항상 상품 ID 오름차순으로 잡아 주문끼리 교착 상태에 빠지지 않게 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "market.stock.strategy", havingValue = "pessimistic")
+@RequiredArgsConstructor
+public class PessimisticStockStrategy implements StockConcurrencyStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public List<Long> decreaseAll(SortedMap<Long, Integer> quantities) {
+        return apply(quantities, -1);
+    }
+
+    @Override
+    public void increaseAll(SortedMap<Long, Integer> quantities) {
+        apply(quantities, 1);
+    }
+
+    private List<Long> apply(SortedMap<Long, Integer> quantities, int sign) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        List<Long> failedIds = new ArrayList<>(quantities.keySet());
+        List<StockVersion> updates = new ArrayList<>();
+        for (StockVersion row : productRepository.findStockVersions(quantities.keySet(), true)) {
+            int stock = row.stock() + sign * quantities.get(row.id());
+            if (stock >= 0) {
+                failedIds.remove(row.id());
+                updates.add(new StockVersion(row.id(), stock, row.version()));
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            return failedIds;
+        }
+        // 락을 잡고 있으므로 버전이 바뀌어 있을 수 없다.
+        productRepository.compareAndSetStockAll(updates);
+        return List.of();
+    }
+}
@@ -0,0 +1,29 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * 동시에 들어오는 재고 갱신을 처리하는 방식. market.stock.strategy 값으로 배포마다 하나를 선택한다.
+ * <ul>
+ *     <li>atomic (기본값) - 조건부 UPDATE 한 문장으로 검사와 차감을 함께 처리</li>
+ *     <li>optimistic - 버전을 비교해 갱신하고 충돌하면 지터를 준 백오프 후 재시도</li>
+ *     <li>pessimistic - {@code SELECT ... FOR UPDATE}로 상품 ID 순서대로 락을 잡은 뒤 갱신</li>
+ * </ul>
+ * 모든 구현은 호출 트랜잭션 안에서 동작하며, 상품 ID 오름차순으로 갱신한다.
+ */
+public interface StockConcurrencyStrategy {
+
+    /**
+     * 상품별 수량만큼 재고를 차감하는 메서드.
+     * @param quantities 상품 ID별 차감 수량 (상품 ID 오름차순)
+     * @return 재고가 부족하거나 존재하지 않아 차감되지 않은 상품 ID 목록
+     */
+    List<Long> decreaseAll(SortedMap<Long, Integer> quantities);
+
+    /**
+     * 상품별 수량만큼 재고를 늘리는 메서드.
+     * @param quantities 상품 ID별 증가 수량 (상품 ID 오름차순)
+     */
+    void increaseAll(SortedMap<Long, Integer> quantities);
+}
@@ -0,0 +1,125 @@
+package com.marketsystem.api.v1.cart.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 장바구니 upsert 문장을 H2(MariaDB 모드)에서 직접 실행해 재고 조건을 검증하는 테스트
+ */
+class CartUpsertRepositoryImplTest {
+
+    private static final long CUSTOMER_ID = 1L;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static CartUpsertRepositoryImpl cartUpsertRepository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:cart_upsert;MODE=MariaDB;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        cartUpsertRepository = new CartUpsertRepositoryImpl(jdbcTemplate);
+        jdbcTemplate.execute("CREATE TABLE customer (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, stock INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE product_stock_bucket (product_id BIGINT NOT NULL, bucket_no INT NOT NULL, "
+                + "stock INT NOT NULL, PRIMARY KEY (product_id, bucket_no))");
+        jdbcTemplate.execute("CREATE TABLE cart (customer_id BIGINT NOT NULL, product_id BIGINT NOT NULL, "
+                + "quantity INT NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, "
+                + "PRIMARY KEY (customer_id, product_id))");
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void setUp(){
+        jdbcTemplate.update("DELETE FROM cart");
+        jdbcTemplate.update("DELETE FROM product_stock_bucket");
+        jdbcTemplate.update("DELETE FROM product");
+        jdbcTemplate.update("DELETE FROM customer");
+        jdbcTemplate.update("INSERT INTO customer (id) VALUES (?)", CUSTOMER_ID);
+        jdbcTemplate.update("INSERT INTO product (id, stock) VALUES (101, 10)");
+        // 핫 상품: 상품 행 재고는 0이고 재고 6은 버킷 3개에 나뉘어 있음
+        jdbcTemplate.update("INSERT INTO product (id, stock) VALUES (102, 0)");
+        jdbcTemplate.update("INSERT INTO product_stock_bucket (product_id, bucket_no, stock) VALUES (102, 0, 2), (102, 1, 2), (102, 2, 2)");
+    }
+
+    private Integer quantity(long productId) {
+        return jdbcTemplate.query("SELECT quantity FROM cart WHERE customer_id = ? AND product_id = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, CUSTOMER_ID, productId);
+    }
+
+    private List<Long> add(Map<Long, Integer> quantities, Map<Long, Integer> stockLimits) {
+        return cartUpsertRepository.addQuantityAll(CUSTOMER_ID, new TreeMap<>(quantities), stockLimits);
+    }
+
+    @Test
+    void addQuantityAll_InsertsThenAddsWithinStock() {
+        // When
+        List<Long> first = add(Map.of(101L, 4), Map.of());
+        List<Long> second = add(Map.of(101L, 6), Map.of());
+        List<Long> third = add(Map.of(101L, 1), Map.of());
+
+        // Then
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        // 기존 10 + 1 > 재고 10
+        assertEquals(List.of(101L), third);
+        assertEquals(10, quantity(101L));
+    }
+
+    @Test
+    void addQuantityAll_BucketedProduct_ComparesWithBucketStock() {
+        // When
+        List<Long> accepted = add(Map.of(102L, 6), Map.of());
+        List<Long> rejected = add(Map.of(102L, 1), Map.of());
+
+        // Then
+        assertTrue(accepted.isEmpty());
+        assertEquals(List.of(102L), rejected);
+        assertEquals(6, quantity(102L));
+    }
+
+    @Test
+    void addQuantityAll_MissingProductOrCustomerOrLedgerLimit_NotApplied() {
+        // When
+        List<Long> rejected = add(Map.of(101L, 3, 999L, 1), Map.of(101L, 2));
+        List<Long> unknownCustomer = cartUpsertRepository.addQuantityAll(2L, new TreeMap<>(Map.of(101L, 1)), Map.of());
+
+        // Then
+        // 재고 원장 값(2)이 상품 행 재고(10) 대신 조건이 됨
+        assertEquals(List.of(101L, 999L), rejected);
+        assertEquals(List.of(101L), unknownCustomer);
+        assertNull(quantity(101L));
+    }
+
+    @Test
+    void deleteEmptyLines_RemovesLinesAtOrBelowZero() {
+        // Given
+        add(Map.of(101L, 3, 102L, 2), Map.of());
+
+        // When
+        // 수량을 줄이는 줄은 재고와 비교하지 않음
+        List<Long> rejected = add(Map.of(101L, -3, 102L, -1), Map.of());
+        int deleted = cartUpsertRepository.deleteEmptyLines(CUSTOMER_ID);
+
+        // Then
+        assertTrue(rejected.isEmpty());
+        assertEquals(1, deleted);
+        assertNull(quantity(101L));
+        assertEquals(1, quantity(102L));
+    }
+}
@@ -11,6 +11,7 @@ import com.marketsystem.api.v1.customer.entity.Customer;
 import com.marketsystem.api.v1.customer.repository.CustomerRepository;
 import com.marketsystem.api.v1.product.dto.ProductDto;
 import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import com.marketsystem.api.v1.product.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,9 @@ class CartServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductStockService productStockService;
+
     @InjectMocks
     private CartService cartService;
 
@@ -115,56 +119,51 @@ class CartServiceTest {
         // Given
         Long customerId = 1L;
         List<CartRequestDto.Product> products = List.of(
+                createCartProduct(102L, 3),
                 createCartProduct(101L, 2),
-                createCartProduct(102L, 3)
+                createCartProduct(101L, 1) // 같은 상품은 수량을 합쳐 한 문장으로 보냄
         );
         CartRequestDto cartRequestDto = createCartRequestDto(customerId, products);
 
-        Customer customer = createCustomer(customerId, "Customer 1");
-        Product product101 = createProductEntity(101L, "Product 101", "Description 101", 1000L, 10);
-        Product product102 = createProductEntity(102L, "Product 102", "Description 102", 2000L, 20);
+        when(cartRepository.addQuantityAll(eq(customerId), anyMap(), anyMap())).thenReturn(List.of());
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(productRepository.findAllByIdIn(Set.of(101L, 102L))).thenReturn(List.of(product101, product102));
+        // When
+        cartService.addToCart(cartRequestDto);
+
+        // Then
+        ArgumentCaptor<Map<Long, Integer>> quantityCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(cartRepository, times(1)).addQuantityAll(eq(customerId), quantityCaptor.capture(), eq(Map.of()));
+        // 락 순서를 맞추기 위해 상품 ID 오름차순
+        assertEquals(List.of(101L, 102L), List.copyOf(quantityCaptor.getValue().keySet()));
+        assertEquals(Map.of(101L, 3, 102L, 3), quantityCaptor.getValue());
+
+        // 성공 경로에서는 고객, 상품, 기존 장바구니를 따로 조회하지 않음
+        verify(customerRepository, never()).existsById(anyLong());
+        verify(productRepository, never()).findAllByIdIn(anySet());
+        verify(cartRepository, never()).findAllById(anyList());
+        verify(cartRepository, never()).deleteEmptyLines(anyLong());
+    }
 
-        // 기존 장바구니 항목: product101에 대한 기존 수량 1
-        Cart existingCart101 = createCartEntity(customerId, 101L, 1);
-        when(cartRepository.findAllById(List.of(new CartId(customerId, 101L), new CartId(customerId, 102L))))
-                .thenReturn(List.of(existingCart101));
+    // addToCart 메서드 테스트: 수량을 줄이면 0 이하가 된 항목 삭제
+    @Test
+    void addToCart_DecreaseQuantity_DeletesEmptyLines() {
+        // Given
+        Long customerId = 1L;
+        CartRequestDto cartRequestDto = createCartRequestDto(customerId, List.of(
+                createCartProduct(101L, -2),
+                createCartProduct(102L, 1)
+        ));
+
+        when(productStockService.ledgerAvailableStocks(List.of(102L))).thenReturn(Map.of(102L, 4));
+        when(cartRepository.addQuantityAll(eq(customerId), anyMap(), anyMap())).thenReturn(List.of());
 
         // When
         cartService.addToCart(cartRequestDto);
 
         // Then
-        // 고객 조회 확인
-        verify(customerRepository, times(1)).findById(customerId);
-        // 제품 조회 확인
-        verify(productRepository, times(1)).findAllByIdIn(Set.of(101L, 102L));
-        // 기존 장바구니 조회 확인
-        verify(cartRepository, times(1)).findAllById(anyList());
-
-        // 저장할 장바구니 항목 캡처
-        ArgumentCaptor<List<Cart>> cartCaptor = ArgumentCaptor.forClass(List.class);
-        verify(cartRepository, times(1)).saveAll(cartCaptor.capture());
-
-        List<Cart> savedCarts = cartCaptor.getValue();
-        assertEquals(2, savedCarts.size());
-
-        // product101의 수량이 기존 1 + 2 = 3으로 업데이트되었는지 확인
-        Cart savedCart101 = savedCarts.stream()
-                .filter(c -> c.getId().getProductId().equals(101L))
-                .findFirst()
-                .orElse(null);
-        assertNotNull(savedCart101);
-        assertEquals(3, savedCart101.getQuantity());
-
-        // product102에 대한 새로운 장바구니 항목이 저장되었는지 확인
-        Cart savedCart102 = savedCarts.stream()
-                .filter(c -> c.getId().getProductId().equals(102L))
-                .findFirst()
-                .orElse(null);
-        assertNotNull(savedCart102);
-        assertEquals(3, savedCart102.getQuantity());
+        // 재고 원장을 사용하면 수량을 늘리는 상품만 원장 재고를 조건으로 넘김
+        verify(cartRepository, times(1)).addQuantityAll(customerId, Map.of(101L, -2, 102L, 1), Map.of(102L, 4));
+        verify(cartRepository, times(1)).deleteEmptyLines(customerId);
     }
 
     // addToCart 메서드 테스트: 실패 (Customer Not Found)
@@ -177,7 +176,8 @@ class CartServiceTest {
         );
         CartRequestDto cartRequestDto = createCartRequestDto(customerId, products);
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(cartRepository.addQuantityAll(eq(customerId), anyMap(), anyMap())).thenReturn(List.of(101L));
+        when(customerRepository.existsById(customerId)).thenReturn(false);
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -186,10 +186,9 @@ class CartServiceTest {
 
         assertEquals(ErrorCode.CUSTOMER_NOT_FOUND, exception.getErrorCode());
 
-        verify(customerRepository, times(1)).findById(customerId);
+        verify(customerRepository, times(1)).existsById(customerId);
         verify(productRepository, never()).findAllByIdIn(anySet());
-        verify(cartRepository, never()).findAllById(anyList());
-        verify(cartRepository, never()).saveAll(anyList());
+        verify(cartRepository, never()).deleteEmptyLines(anyLong());
     }
 
     // addToCart 메서드 테스트: 실패 (Product Not Found)
@@ -203,12 +202,10 @@ class CartServiceTest {
         );
         CartRequestDto cartRequestDto = createCartRequestDto(customerId, products);
 
-        Customer customer = createCustomer(customerId, "Customer 1");
-        Product product101 = createProductEntity(101L, "Product 101", "Description 101", 1000L, 10);
-        // product999는 존재하지 않음
-
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(productRepository.findAllByIdIn(Set.of(101L, 999L))).thenReturn(List.of(product101)); // product999는 반환되지 않음
+        // product999는 존재하지 않아 반영되지 않음
+        when(cartRepository.addQuantityAll(eq(customerId), anyMap(), anyMap())).thenReturn(List.of(999L));
+        when(customerRepository.existsById(customerId)).thenReturn(true);
+        when(productRepository.findAllByIdIn(Set.of(999L))).thenReturn(List.of());
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -218,10 +215,8 @@ class CartServiceTest {
         assertEquals(ErrorCode.PRODUCT_NOT_FOUND, exception.getErrorCode());
         assertEquals("Product IDs not found: [999]", exception.getMessage());
 
-        verify(customerRepository, times(1)).findById(customerId);
-        verify(productRepository, times(1)).findAllByIdIn(Set.of(101L, 999L));
-        verify(cartRepository, never()).findAllById(anyList());
-        verify(cartRepository, never()).saveAll(anyList());
+        verify(productRepository, times(1)).findAllByIdIn(Set.of(999L));
+        verify(cartRepository, never()).deleteEmptyLines(anyLong());
     }
 
     // addToCart 메서드 테스트: 실패 (Out of Stock)
@@ -234,14 +229,12 @@ class CartServiceTest {
         );
         CartRequestDto cartRequestDto = createCartRequestDto(customerId, products);
 
-        Customer customer = createCustomer(customerId, "Customer 1");
         Product product101 = createProductEntity(101L, "Product 101", "Description 101", 1000L, 7);
 
-        // 기존 장바구니 항목: product101에 대한 기존 수량 3
-        Cart existingCart101 = createCartEntity(customerId, 101L, 3);
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        // 재고 조건을 만족하지 못해 반영되지 않음
+        when(cartRepository.addQuantityAll(eq(customerId), anyMap(), anyMap())).thenReturn(List.of(101L));
+        when(customerRepository.existsById(customerId)).thenReturn(true);
         when(productRepository.findAllByIdIn(Set.of(101L))).thenReturn(List.of(product101));
-        when(cartRepository.findAllById(anyList())).thenReturn(List.of(existingCart101));
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -251,10 +244,7 @@ class CartServiceTest {
         assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
         assertEquals("Requested quantity: 5, Available: 7", exception.getMessage());
 
-        verify(customerRepository, times(1)).findById(customerId);
-        verify(productRepository, times(1)).findAllByIdIn(Set.of(101L));
-        verify(cartRepository, times(1)).findAllById(anyList());
-        verify(cartRepository, never()).saveAll(anyList());
+        verify(cartRepository, never()).deleteEmptyLines(anyLong());
     }
 
     // getCartItems 메서드 테스트: 성공
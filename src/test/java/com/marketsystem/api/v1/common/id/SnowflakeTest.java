@@ -0,0 +1,86 @@
+package com.marketsystem.api.v1.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTest {
+
+    private static final long NOW = Snowflake.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void nextId_increasesAndEncodesTimeAndNode() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        Snowflake snowflake = new Snowflake(7, clock::get);
+
+        // When
+        long first = snowflake.nextId();
+        long second = snowflake.nextId();
+        clock.addAndGet(5);
+        long third = snowflake.nextId();
+
+        // Then
+        assertTrue(first < second && second < third);
+        assertEquals(NOW, Snowflake.timestampOf(first));
+        assertEquals(NOW + 5, Snowflake.timestampOf(third));
+        assertEquals(7, Snowflake.nodeOf(first));
+        assertEquals(7, Snowflake.nodeOf(third));
+    }
+
+    @Test
+    void nextId_sequenceOverflow_borrowsNextMillisecond() {
+        // Given
+        Snowflake snowflake = new Snowflake(1, () -> NOW);
+        Set<Long> ids = new HashSet<>();
+        long last = -1;
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            long id = snowflake.nextId();
+            assertTrue(id > last);
+            ids.add(id);
+            last = id;
+        }
+
+        // Then
+        assertEquals(10_000, ids.size());
+        assertEquals(NOW + 2, Snowflake.timestampOf(last));
+    }
+
+    @Test
+    void nextId_clockMovesBackwards_keepsIncreasing() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        Snowflake snowflake = new Snowflake(0, clock::get);
+        long before = snowflake.nextId();
+
+        // When
+        clock.addAndGet(-10_000);
+        long after = snowflake.nextId();
+
+        // Then
+        assertTrue(after > before);
+        assertEquals(NOW, Snowflake.timestampOf(after));
+    }
+
+    @Test
+    void differentNodes_neverCollide() {
+        // Given
+        Snowflake node1 = new Snowflake(1, () -> NOW);
+        Snowflake node2 = new Snowflake(2, () -> NOW);
+
+        // When & Then
+        assertNotEquals(node1.nextId(), node2.nextId());
+    }
+
+    @Test
+    void invalidNodeId_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new Snowflake(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Snowflake(Snowflake.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.inventory.entity.InventoryEvent;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.repository.InventoryEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InventoryJournalTest {
+
+    @Mock
+    private InventoryEventRepository inventoryEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private InventoryJournal inventoryJournal;
+
+    @Captor
+    private ArgumentCaptor<List<InventoryEvent>> eventsCaptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void append_InsideTransaction_AppendsInSameTransaction() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        inventoryJournal.append(InventoryEventType.RESERVE, 1L, new TreeMap<>(Map.of(101L, 3, 102L, 1)));
+
+        // Then
+        // 재고를 바꾼 트랜잭션에서 바로 추가하므로 커밋 후 유실될 큐가 없음
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(inventoryEventRepository, times(1)).appendAll(eventsCaptor.capture());
+        List<InventoryEvent> events = eventsCaptor.getValue();
+        assertEquals(List.of(-3, -1), events.stream().map(InventoryEvent::getStockDelta).toList());
+        assertEquals(InventoryEventType.RESERVE, events.get(0).getType());
+    }
+
+    @Test
+    void append_OutsideTransaction_AppendsInNewTransaction() {
+        // Given
+        // When
+        inventoryJournal.append(InventoryEventType.RESTOCK, null, Map.of(101L, 10));
+
+        // Then
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(inventoryEventRepository, times(1)).appendAll(eventsCaptor.capture());
+        assertEquals(10, eventsCaptor.getValue().get(0).getStockDelta());
+    }
+
+    @Test
+    void append_WhenAppendFails_PropagatesException() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        doThrow(new RuntimeException("Database error")).when(inventoryEventRepository).appendAll(anyList());
+
+        // When & Then
+        // 이벤트 추가가 실패하면 재고 변경도 함께 롤백되어야 함
+        assertThrows(RuntimeException.class,
+                () -> inventoryJournal.append(InventoryEventType.SALE, 1L, Map.of(101L, 1)));
+    }
+
+    @Test
+    void snapshot_OnlyIncludesEventsOlderThanLag() {
+        // Given
+        when(inventoryEventRepository.snapshotSinceLast(any(), any())).thenReturn(2);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        inventoryJournal.snapshot();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> takenAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> committedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(inventoryEventRepository, times(1)).snapshotSinceLast(takenAt.capture(), committedBefore.capture());
+        assertFalse(takenAt.getValue().isBefore(before));
+        assertEquals(Duration.ofMinutes(1), Duration.between(committedBefore.getValue(), takenAt.getValue()));
+    }
+}
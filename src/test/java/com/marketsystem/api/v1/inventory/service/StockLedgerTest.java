@@ -0,0 +1,124 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.inventory.repository.StockReservationRepository;
+import com.marketsystem.api.v1.order.repository.OrderItemRepository;
+import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.service.HotStockBucketService;
+import com.marketsystem.api.v1.product.service.ProductCache;
+import com.marketsystem.api.v1.product.service.ProductCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private OrdersRepository ordersRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private HotStockBucketService hotStockBucketService;
+
+    @InjectMocks
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(stockLedger, "enabled", true);
+        doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(productRepository.findById(2001L)).thenReturn(Optional.of(Product.builder().id(2001L).stock(5).build()));
+        when(productRepository.findById(2002L)).thenReturn(Optional.of(Product.builder().id(2002L).stock(1).build()));
+    }
+
+    @Test
+    void decrease_Success() {
+        // When
+        stockLedger.decrease(Map.of(2001L, 3, 2002L, 1));
+
+        // Then
+        assertEquals(2, stockLedger.availableStock(2001L));
+        assertEquals(0, stockLedger.availableStock(2002L));
+        verify(productRepository, never()).decreaseStockAll(anyMap());
+    }
+
+    @Test
+    void decrease_OutOfStock_RollsBackAppliedLines() {
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                stockLedger.decrease(Map.of(2001L, 3, 2002L, 2)));
+
+        // Then
+        assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
+        assertEquals(5, stockLedger.availableStock(2001L));
+        assertEquals(1, stockLedger.availableStock(2002L));
+    }
+
+    @Test
+    void flush_MergesPendingSalesIntoOneBatch() {
+        // Given
+        stockLedger.recordSale(1L, Map.of(2001L, 2));
+        stockLedger.recordSale(2L, Map.of(2001L, 1, 2002L, 1));
+
+        // When
+        stockLedger.flush();
+
+        // Then
+        verify(productRepository, times(1)).increaseStockAll(Map.of(2001L, -3, 2002L, -1));
+        verify(ordersRepository, times(1)).markStockApplied(List.of(1L, 2L));
+        verify(productCache, times(1)).evictAll(Set.of(2001L, 2002L));
+    }
+
+    @Test
+    void flush_HotProductSalesAreTakenFromBuckets() {
+        // Given
+        // 2001 은 핫 상품 (상품 행 재고 0, 재고는 버킷에 있음)
+        stockLedger.recordSale(1L, Map.of(2001L, 2, 2002L, 1));
+        doAnswer(inv -> {
+            inv.<SortedMap<Long, Integer>>getArgument(0).remove(2001L);
+            return List.of();
+        }).when(hotStockBucketService).decreaseHot(any());
+
+        // When
+        stockLedger.flush();
+
+        // Then
+        // 핫 상품의 판매 수량을 상품 행에 반영하면 행 재고가 음수가 됨
+        verify(hotStockBucketService, times(1)).decreaseHot(any());
+        verify(productRepository, times(1)).increaseStockAll(Map.of(2002L, -1));
+        verify(ordersRepository, times(1)).markStockApplied(List.of(1L));
+        verify(productCatalog, times(1)).markChanged(Set.of(2001L, 2002L));
+    }
+}
@@ -0,0 +1,172 @@
+package com.marketsystem.api.v1.inventory.service;
+
+import com.marketsystem.api.v1.customer.entity.Customer;
+import com.marketsystem.api.v1.inventory.entity.StockReservation;
+import com.marketsystem.api.v1.inventory.enums.InventoryEventType;
+import com.marketsystem.api.v1.inventory.enums.ReservationStatus;
+import com.marketsystem.api.v1.inventory.repository.StockReservationRepository;
+import com.marketsystem.api.v1.order.entity.OrderItem;
+import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.product.service.ProductStockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private InventoryJournal inventoryJournal;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    @Captor
+    private ArgumentCaptor<List<StockReservation>> reservationsCaptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // 헬퍼 메서드: 테스트용 주문 생성
+    private Orders createOrder(Long orderId, OrderItem... items) {
+        Orders order = Orders.builder()
+                .id(orderId)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(1L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        for (OrderItem item : items) {
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    private OrderItem createOrderItem(Long productId, int quantity) {
+        return OrderItem.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .productPrice(1000L)
+                .quantity(quantity)
+                .build();
+    }
+
+    private StockReservation createReservation(Long id, Long orderId, Long productId, int quantity) {
+        return StockReservation.builder()
+                .id(id)
+                .orderId(orderId)
+                .productId(productId)
+                .quantity(quantity)
+                .status(ReservationStatus.HELD)
+                .expiresAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void reserve_Success() {
+        // Given
+        Orders order = createOrder(1L, createOrderItem(102L, 1), createOrderItem(101L, 2), createOrderItem(101L, 1));
+
+        // When
+        stockReservationService.reserve(order);
+
+        // Then
+        // 같은 상품은 합산해 한 번에 차감
+        verify(productStockService, times(1)).decreaseStock(Map.of(101L, 3, 102L, 1));
+        verify(inventoryJournal, times(1)).append(InventoryEventType.RESERVE, 1L, Map.of(101L, 3, 102L, 1));
+        verify(stockReservationRepository, times(1)).saveAll(reservationsCaptor.capture());
+
+        List<StockReservation> saved = reservationsCaptor.getValue();
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(r -> r.getOrderId().equals(1L)
+                && r.getStatus() == ReservationStatus.HELD
+                && r.getExpiresAt().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void confirm_AllHeld() {
+        // Given
+        Orders order = createOrder(2L, createOrderItem(201L, 2));
+        StockReservation held = createReservation(10L, 2L, 201L, 2);
+
+        when(stockReservationRepository.findByOrderIdAndStatus(2L, ReservationStatus.HELD)).thenReturn(List.of(held));
+        when(stockReservationRepository.transitionAll(List.of(10L), ReservationStatus.HELD, ReservationStatus.CONFIRMED))
+                .thenReturn(List.of(10L));
+
+        // When
+        Map<Long, Integer> lost = stockReservationService.confirm(order);
+
+        // Then
+        assertTrue(lost.isEmpty());
+    }
+
+    @Test
+    void confirm_ReservationExpired() {
+        // Given
+        Orders order = createOrder(3L, createOrderItem(301L, 2), createOrderItem(302L, 4));
+        StockReservation held = createReservation(11L, 3L, 301L, 2);
+
+        // 302번 상품 점유는 이미 만료 처리되어 HELD 목록에 없음
+        when(stockReservationRepository.findByOrderIdAndStatus(3L, ReservationStatus.HELD)).thenReturn(List.of(held));
+        when(stockReservationRepository.transitionAll(List.of(11L), ReservationStatus.HELD, ReservationStatus.CONFIRMED))
+                .thenReturn(List.of(11L));
+
+        // When
+        Map<Long, Integer> lost = stockReservationService.confirm(order);
+
+        // Then
+        assertEquals(Map.of(302L, 4), lost);
+    }
+
+    @Test
+    void release_OnlyTransitionedReservations() {
+        // Given
+        Orders order = createOrder(4L, createOrderItem(401L, 1), createOrderItem(402L, 2));
+        StockReservation first = createReservation(20L, 4L, 401L, 1);
+        StockReservation second = createReservation(21L, 4L, 402L, 2);
+
+        when(stockReservationRepository.findByOrderIdAndStatus(4L, ReservationStatus.HELD)).thenReturn(List.of(first, second));
+        // 21번 점유는 동시에 다른 트랜잭션이 먼저 전이시킨 경우
+        when(stockReservationRepository.transitionAll(List.of(20L, 21L), ReservationStatus.HELD, ReservationStatus.RELEASED))
+                .thenReturn(List.of(20L));
+
+        // When
+        stockReservationService.release(order);
+
+        // Then
+        verify(productStockService, times(1)).increaseStock(Map.of(401L, 1));
+    }
+
+    @Test
+    void releaseExpired_Success() {
+        // Given
+        StockReservation expired = createReservation(30L, 5L, 501L, 3);
+
+        when(stockReservationRepository.findByStatusAndExpiresAtLessThanEqualOrderByExpiresAtAsc(
+                eq(ReservationStatus.HELD), any(LocalDateTime.class), eq(Limit.of(100))))
+                .thenReturn(List.of(expired));
+        when(stockReservationRepository.transitionAll(List.of(30L), ReservationStatus.HELD, ReservationStatus.RELEASED))
+                .thenReturn(List.of(30L));
+
+        // When
+        int count = stockReservationService.releaseExpired(100);
+
+        // Then
+        assertEquals(1, count);
+        verify(productStockService, times(1)).increaseStock(Map.of(501L, 3));
+    }
+}
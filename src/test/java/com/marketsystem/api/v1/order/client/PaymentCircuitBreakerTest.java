@@ -0,0 +1,148 @@
+package com.marketsystem.api.v1.order.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private PaymentCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp(){
+        // 최근 10건 중 최소 4건 이상일 때 실패 50% 또는 느린 호출 80% 이상이면 열림
+        circuitBreaker = new PaymentCircuitBreaker(10, 4, 50, Duration.ofSeconds(2), 80,
+                Duration.ofSeconds(10), 2, clock::get);
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        // Given
+        call(true, FAST);
+        call(true, FAST);
+        call(false, FAST);
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, circuitBreaker.getState()); // 최소 호출 수 미만
+
+        // When
+        call(false, FAST);
+
+        // Then
+        assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getNotPermittedCalls());
+        assertEquals(1, circuitBreaker.getOpenedCount());
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        // Given & When
+        call(true, SLOW);
+        call(true, SLOW);
+        call(true, SLOW);
+        call(true, FAST);
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, circuitBreaker.getState()); // 느린 호출 75%
+
+        call(true, SLOW);
+
+        // Then
+        assertEquals(80f, circuitBreaker.getSlowCallRate());
+        assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void slidingWindowDropsOldCalls() {
+        // Given: 오래된 실패 3건 뒤로 성공이 창을 채움
+        call(false, FAST);
+        call(false, FAST);
+        call(false, FAST);
+        circuitBreaker = new PaymentCircuitBreaker(4, 4, 50, Duration.ofSeconds(2), 80,
+                Duration.ofSeconds(10), 2, clock::get);
+        call(false, FAST);
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+
+        // When
+        call(false, FAST);
+
+        // Then: 창에는 성공 3건, 실패 1건
+        assertEquals(25f, circuitBreaker.getFailureRate());
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterTrialCallsSucceed() {
+        // Given
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When: 시험 호출 2건만 허용
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(PaymentCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        // Then
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpenReopensOnFailure() {
+        // Given
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // When
+        circuitBreaker.onError(FAST);
+
+        // Then
+        assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getOpenedCount());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releasePermission_returnsHalfOpenPermit() {
+        // Given
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // When: 게이트웨이로 보내지 못한 시험 호출
+        circuitBreaker.releasePermission();
+
+        // Then
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false, FAST);
+        }
+        assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void call(boolean success, long durationNanos) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        if (success) {
+            circuitBreaker.onSuccess(durationNanos);
+        } else {
+            circuitBreaker.onError(durationNanos);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.marketsystem.api.v1.order.client;
+
+import com.marketsystem.api.v1.order.dto.PaymentGatewayMetricsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentGatewayInterceptorTest {
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    @Mock
+    private ClientHttpResponse response;
+
+    private PaymentGatewayMetrics metrics;
+
+    private PaymentGatewayInterceptor interceptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        metrics = new PaymentGatewayMetrics();
+        interceptor = new PaymentGatewayInterceptor(1, Duration.ofMillis(50), metrics);
+    }
+
+    @Test
+    void intercept_success() throws Exception {
+        // Given
+        when(execution.execute(request, new byte[0])).thenReturn(response);
+
+        // When
+        ClientHttpResponse result = interceptor.intercept(request, new byte[0], execution);
+
+        // Then
+        assertSame(response, result);
+        PaymentGatewayMetricsDto snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getMaxConcurrentRequests());
+        assertEquals(0, snapshot.getInFlight());
+        assertEquals(1, snapshot.getResponse().count());
+        assertEquals(0, snapshot.getFailures());
+    }
+
+    @Test
+    void intercept_readTimeout() throws Exception {
+        // Given
+        when(execution.execute(any(), any())).thenThrow(new HttpTimeoutException("request timed out"));
+
+        // When & Then
+        assertThrows(HttpTimeoutException.class, () -> interceptor.intercept(request, new byte[0], execution));
+
+        PaymentGatewayMetricsDto snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getTimeouts());
+        assertEquals(1, snapshot.getFailures());
+        assertEquals(0, snapshot.getInFlight());
+    }
+
+    @Test
+    void intercept_cancelledByReadTimeout() throws Exception {
+        // Given
+        when(execution.execute(any(), any())).thenThrow(new CancellationException());
+
+        // When & Then
+        assertThrows(HttpTimeoutException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        assertEquals(1, metrics.snapshot().getTimeouts());
+    }
+
+    @Test
+    void intercept_limitReached() throws Exception {
+        // Given: 한도 1개를 다른 요청이 점유
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return response;
+        });
+        CompletableFuture<ClientHttpResponse> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.intercept(request, new byte[0], execution);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(1, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(PaymentGatewayBulkheadFullException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        assertEquals(1, metrics.snapshot().getAcquireTimeouts());
+        assertEquals(1, metrics.snapshot().getInFlight());
+
+        release.countDown();
+        assertSame(response, first.get(1, TimeUnit.SECONDS));
+        assertEquals(0, metrics.snapshot().getInFlight());
+    }
+}
@@ -0,0 +1,64 @@
+package com.marketsystem.api.v1.order.client.stub;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyModelTest {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Test
+    void parse_fixed() {
+        // When
+        LatencyModel model = LatencyModel.parse("fixed:250");
+
+        // Then
+        assertEquals(250, model.sampleMillis(random));
+    }
+
+    @Test
+    void parse_normal() {
+        // Given
+        LatencyModel model = LatencyModel.parse("normal:200,20");
+
+        // When
+        double mean = Arrays.stream(sample(model, 10_000)).average().orElseThrow();
+
+        // Then
+        assertEquals(200, mean, 2);
+    }
+
+    @Test
+    void parse_longTail() {
+        // Given: 중앙값 50ms, p99 800ms
+        LatencyModel model = LatencyModel.parse("long-tail:50,800");
+
+        // When
+        long[] samples = sample(model, 20_000);
+        Arrays.sort(samples);
+
+        // Then
+        assertEquals(50, samples[samples.length / 2], 5);
+        assertEquals(800, samples[samples.length * 99 / 100], 100);
+    }
+
+    @Test
+    void parse_invalid() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("uniform:1,2"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("normal:200"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("long-tail:800,50"));
+    }
+
+    private long[] sample(LatencyModel model, int count) {
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = model.sampleMillis(random);
+        }
+        return samples;
+    }
+}
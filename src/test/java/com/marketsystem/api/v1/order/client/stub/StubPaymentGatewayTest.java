@@ -0,0 +1,212 @@
+package com.marketsystem.api.v1.order.client.stub;
+
+import com.marketsystem.api.v1.order.client.PaymentWebhookSignature;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubPaymentGatewayTest {
+
+    private static final String PAYMENT_REQUEST = "{\"orderId\":\"1\",\"number\":1000}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private StubPaymentGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.stop();
+        }
+        client.close();
+    }
+
+    @Test
+    void success() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).build());
+
+        // When
+        HttpResponse<String> response = post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"status\":\"SUCCESS\""));
+        assertTrue(response.body().contains("\"transactionId\":\"STUB-1\""));
+        assertEquals(1, gateway.getCount(StubPaymentGateway.Outcome.SUCCESS));
+    }
+
+    @Test
+    void latency() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(200)).build());
+
+        // When
+        long startedAt = System.nanoTime();
+        post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // Then
+        assertTrue(System.nanoTime() - startedAt >= Duration.ofMillis(200).toNanos());
+    }
+
+    @Test
+    void invalidRequest() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).build());
+
+        // When
+        HttpResponse<String> response = post("{\"orderId\":\"1\"}", Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    void error() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).errorRate(1).build());
+
+        // When & Then
+        assertEquals(500, post(PAYMENT_REQUEST, Duration.ofSeconds(5)).statusCode());
+    }
+
+    @Test
+    void decline() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).declineRate(1).build());
+
+        // When
+        HttpResponse<String> response = post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(402, response.statusCode());
+        assertTrue(response.body().contains("\"status\":\"FAILED\""));
+    }
+
+    @Test
+    void timeout() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).timeoutRate(1)
+                .timeoutHold(Duration.ofSeconds(5)).build());
+
+        // When & Then
+        assertThrows(HttpTimeoutException.class, () -> post(PAYMENT_REQUEST, Duration.ofMillis(200)));
+        assertEquals(1, gateway.getCount(StubPaymentGateway.Outcome.TIMEOUT));
+    }
+
+    @Test
+    void slowDrip() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).slowDripRate(1)
+                .dripInterval(Duration.ofMillis(5)).build());
+
+        // When
+        long startedAt = System.nanoTime();
+        HttpResponse<String> response = post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // Then: 본문 바이트 수만큼 간격을 두고 도착
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"status\":\"SUCCESS\""));
+        assertTrue(System.nanoTime() - startedAt >= Duration.ofMillis(5L * response.body().length()).toNanos());
+    }
+
+    @Test
+    void duplicateOrder() throws Exception {
+        // Given
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).build());
+        post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // When
+        HttpResponse<String> response = post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+        // Then: 같은 주문은 다시 결제하지 않음
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"transactionId\":\"STUB-1\""));
+        assertEquals(1, gateway.getCount(StubPaymentGateway.Outcome.SUCCESS));
+    }
+
+    @Test
+    void status() throws Exception {
+        // Given: 응답은 받지 못했지만 승인된 주문 1
+        start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(0)).timeoutRate(1)
+                .timeoutHold(Duration.ofSeconds(5)).build());
+        assertThrows(HttpTimeoutException.class, () -> post(PAYMENT_REQUEST, Duration.ofMillis(200)));
+
+        // When
+        HttpResponse<String> response = post(gateway.getUrl() + "/status", "{\"orderIds\":[\"1\",\"2\"]}", Duration.ofSeconds(5));
+
+        // Then: 받은 적 없는 주문 2 는 빠짐
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"payments\":[{\"orderId\":\"1\",\"status\":\"SUCCESS\",\"transactionId\":\"STUB-1\","
+                + "\"message\":\"Payment processed for order 1\"}]}", response.body());
+    }
+
+    @Test
+    void callback() throws Exception {
+        // Given: 웹훅을 받을 서버
+        CompletableFuture<String> webhook = new CompletableFuture<>();
+        HttpServer receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/webhook", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String signature = exchange.getRequestHeaders().getFirst(PaymentWebhookSignature.HEADER);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            webhook.complete(PaymentWebhookSignature.verify("secret", body, signature) ? new String(body) : "invalid signature");
+        });
+        receiver.start();
+        try {
+            start(StubPaymentGatewaySettings.builder().latency(LatencyModel.fixed(100))
+                    .callbackUrl("http://localhost:" + receiver.getAddress().getPort() + "/webhook")
+                    .webhookSecret("secret").build());
+
+            // When
+            HttpResponse<String> response = post(PAYMENT_REQUEST, Duration.ofSeconds(5));
+
+            // Then: 바로 202 로 받아들이고, 결과는 서명한 웹훅으로 보냄
+            assertEquals(202, response.statusCode());
+            assertTrue(response.body().contains("\"status\":\"PENDING\""));
+            assertEquals("{\"orderId\":\"1\",\"transactionId\":\"STUB-1\",\"status\":\"SUCCESS\","
+                    + "\"message\":\"Payment processed for order 1\"}", webhook.get(5, TimeUnit.SECONDS));
+        } finally {
+            receiver.stop(0);
+        }
+    }
+
+    @Test
+    void invalidRates() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new StubPaymentGateway(
+                StubPaymentGatewaySettings.builder().errorRate(0.6).timeoutRate(0.6).build()));
+    }
+
+    private void start(StubPaymentGatewaySettings settings) throws IOException {
+        gateway = new StubPaymentGateway(settings);
+        gateway.start();
+    }
+
+    private HttpResponse<String> post(String body, Duration timeout) throws IOException, InterruptedException {
+        return post(gateway.getUrl(), body, timeout);
+    }
+
+    private HttpResponse<String> post(String url, String body, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,216 @@
+package com.marketsystem.api.v1.order.controller;
+
+import com.marketsystem.api.v1.order.client.stub.LatencyModel;
+import com.marketsystem.api.v1.order.client.stub.StubPaymentGateway;
+import com.marketsystem.api.v1.order.client.stub.StubPaymentGatewaySettings;
+import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.service.OrderService;
+import com.marketsystem.api.v1.order.service.PaymentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.when;
+
+/**
+ * 요청 처리 스레드 모델별 결제 처리량 벤치마크. (./gradlew benchmark)
+ * 느린 결제 게이트웨이(스텁) 앞에서 동시 주문 수를 늘려가며 플랫폼 스레드(Tomcat 기본 200개)와 가상 스레드의
+ * 처리량과 지연 시간을 비교한다. 주문 생성/반영은 제외하고 요청 스레드가 결제 응답을 기다리는 구간만 측정한다.
+ * 동시 주문 1건당 소켓이 4개 필요하므로 기본값은 ulimit -n 20000 에 맞췄다.
+ * (-Dbenchmark.checkout.concurrency=1000,5000,10000 -Dbenchmark.checkout.gateway-latency-ms=1000,
+ *  지연 분포를 바꾸려면 -Dbenchmark.checkout.gateway-latency=long-tail:500,3000)
+ */
+@Tag("benchmark")
+class CheckoutThreadingBenchmarkTest {
+
+    private static final int[] CONCURRENCY = Arrays.stream(
+                    System.getProperty("benchmark.checkout.concurrency", "1000,2000,4000").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+    private static final long GATEWAY_LATENCY_MS = Long.getLong("benchmark.checkout.gateway-latency-ms", 1000);
+    private static final String GATEWAY_LATENCY =
+            System.getProperty("benchmark.checkout.gateway-latency", "fixed:" + GATEWAY_LATENCY_MS);
+
+    private static StubPaymentGateway gateway;
+
+    @BeforeAll
+    static void startGateway() throws IOException {
+        // 요청마다 지연 후 성공 응답을 주는 결제 게이트웨이 스텁
+        gateway = new StubPaymentGateway(StubPaymentGatewaySettings.builder()
+                .backlog(20_000)
+                .latency(LatencyModel.parse(GATEWAY_LATENCY))
+                .build());
+        gateway.start();
+    }
+
+    @AfterAll
+    static void stopGateway() {
+        gateway.stop();
+    }
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("market.payment.gateway.url", () -> gateway.getUrl());
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends Scenario {
+        @Test
+        void checkout() throws Exception {
+            run("platform");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends Scenario {
+        @Test
+        void checkout() throws Exception {
+            run("virtual");
+        }
+    }
+
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:checkout_benchmark;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.hibernate.ddl-auto=create",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=warn",
+            "server.tomcat.max-connections=20000",
+            "server.tomcat.accept-count=10000",
+            // 스레드 모델만 비교하도록 게이트웨이 클라이언트의 동시 요청 한도, 응답 타임아웃, 느린 호출 기준을 풀어 둠
+            "market.payment.gateway.max-concurrent-requests=20000",
+            "market.payment.gateway.read-timeout=PT2M",
+            "market.payment.gateway.circuit-breaker.slow-call-threshold=PT2M"
+    })
+    abstract static class Scenario {
+
+        @LocalServerPort
+        int port;
+
+        @MockitoBean
+        OrderService orderService;
+
+        @Autowired
+        PaymentService paymentService;
+
+        @BeforeEach
+        void stubCheckout() {
+            when(orderService.placeOrder(anyLong())).thenAnswer(invocation -> {
+                Orders order = Orders.builder().id(invocation.getArgument(0)).totalAmount(1000L).build();
+                PaymentResponseDto payment = paymentService.requestPayment(order);
+                return OrderCreateResponseDto.builder()
+                        .orderId(order.getId())
+                        .transactionId(payment.getTransactionId())
+                        .status(payment.getStatus())
+                        .message(payment.getMessage())
+                        .totalPrice(order.getTotalAmount())
+                        .build();
+            });
+        }
+
+        void run(String name) throws Exception {
+            URL url = URI.create("http://localhost:" + port + "/api/v1/payment").toURL();
+            // 커넥션/JIT 예열
+            for (int i = 0; i < 3; i++) {
+                checkout(url, 500);
+            }
+            for (int concurrency : CONCURRENCY) {
+                checkout(url, concurrency);
+                report(name, concurrency, checkout(url, concurrency));
+            }
+        }
+
+        private Result checkout(URL url, int concurrency) throws Exception {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>(concurrency);
+            long startedAt;
+            // 클라이언트는 가상 스레드 하나가 주문 하나를 보내고 응답을 기다림
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    long customerId = i + 1;
+                    futures.add(clients.submit(() -> {
+                        start.await();
+                        long sentAt = System.nanoTime();
+                        assertEquals(200, post(url, "{\"customerId\":" + customerId + "}"));
+                        return System.nanoTime() - sentAt;
+                    }));
+                }
+                startedAt = System.nanoTime();
+                start.countDown();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            long[] latencies = new long[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            Arrays.sort(latencies);
+            // 목 객체가 호출 기록을 쌓지 않도록 라운드마다 비움
+            clearInvocations(orderService);
+            return new Result(concurrency / seconds, latencies[concurrency / 2], latencies[concurrency * 99 / 100]);
+        }
+
+        private int post(URL url, String body) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setConnectTimeout(30_000);
+            connection.setReadTimeout(120_000);
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                in.readAllBytes();
+            }
+            return status;
+        }
+
+        private void report(String name, int concurrency, Result result) {
+            System.out.printf("%-8s concurrency=%-6d throughput=%.0f checkouts/s p50=%dms p99=%dms (gateway %s)%n",
+                    name, concurrency, result.throughput(), result.p50() / 1_000_000, result.p99() / 1_000_000,
+                    GATEWAY_LATENCY);
+            assertTrue(result.throughput() > 0);
+        }
+    }
+
+    private record Result(double throughput, long p50, long p99) {
+    }
+}
@@ -5,16 +5,24 @@ import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.exception.GlobalExceptionHandler;
 import com.marketsystem.api.v1.order.dto.OrderResponseDto;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
 import com.marketsystem.api.v1.order.service.OrderService;
+import com.marketsystem.api.v1.order.service.OrderStatusPollingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,6 +31,9 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderStatusPollingService orderStatusPollingService;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -63,6 +74,62 @@ class OrderControllerTest {
         verify(orderService, times(1)).getOrderDetail(orderId);
     }
 
+    @Test
+    @DisplayName("GET /api/v1/orders/{orderId} - Paid order is tagged and immutable")
+    void getOrderDetail_PaidOrder_ImmutableWithETag() throws Exception {
+        // Given
+        Long orderId = 1L;
+        when(orderService.getOrderDetail(orderId)).thenReturn(OrderResponseDto.builder()
+                .orderId(orderId)
+                .orderStatus("PAID")
+                .totalAmount(10000L)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"o1-PAID\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/orders/{orderId} - If-None-Match matches current status")
+    void getOrderDetail_IfNoneMatch_NotModifiedWithoutLoadingOrder() throws Exception {
+        // Given
+        Long orderId = 1L;
+        when(orderService.findOrderStatus(orderId)).thenReturn(Optional.of(OrderStatus.CREATED));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"o1-CREATED\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"o1-CREATED\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+
+        verify(orderService, never()).getOrderDetail(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/orders/{orderId} - If-None-Match with outdated status")
+    void getOrderDetail_IfNoneMatchOutdated_ReturnsOrder() throws Exception {
+        // Given
+        Long orderId = 1L;
+        when(orderService.findOrderStatus(orderId)).thenReturn(Optional.of(OrderStatus.FAILED));
+        when(orderService.getOrderDetail(orderId)).thenReturn(OrderResponseDto.builder()
+                .orderId(orderId)
+                .orderStatus("FAILED")
+                .totalAmount(10000L)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"o1-CREATED\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"o1-FAILED\""))
+                .andExpect(jsonPath("$.data.orderStatus").value("FAILED"));
+    }
+
     @Test
     @DisplayName("GET /api/v1/orders/{orderId} - Order Not Found")
     void getOrderDetail_OrderNotFound() throws Exception {
@@ -82,4 +149,34 @@ class OrderControllerTest {
 
         verify(orderService, times(1)).getOrderDetail(orderId);
     }
+
+    @Test
+    @DisplayName("GET /api/v1/orders/{orderId}?waitMs= - Long Poll")
+    void awaitOrderDetail_Success() throws Exception {
+        // Given
+        Long orderId = 1L;
+        OrderResponseDto orderResponseDto = OrderResponseDto.builder()
+                .orderId(orderId)
+                .orderStatus("PAID")
+                .totalAmount(10000L)
+                .build();
+
+        CompletableFuture<OrderResponseDto> future = new CompletableFuture<>();
+        when(orderStatusPollingService.awaitOrderDetail(orderId, 5000L)).thenReturn(future);
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/orders/{orderId}", orderId)
+                        .param("waitMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        future.complete(orderResponseDto);
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(BusinessCode.SUCCESS.getStatus()))
+                .andExpect(jsonPath("$.data.orderStatus").value("PAID"));
+
+        verify(orderService, never()).getOrderDetail(any());
+    }
 }
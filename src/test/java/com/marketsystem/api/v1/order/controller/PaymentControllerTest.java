@@ -5,11 +5,16 @@ import com.marketsystem.api.v1.common.enums.BusinessCode;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.exception.GlobalExceptionHandler;
+import com.marketsystem.api.v1.order.client.PaymentGatewayMetrics;
 import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
 import com.marketsystem.api.v1.order.dto.OrderRequestDto;
+import com.marketsystem.api.v1.order.dto.OrderResponseDto;
 import com.marketsystem.api.v1.order.dto.PaymentDetailsDto;
+import com.marketsystem.api.v1.order.dto.PaymentGatewayMetricsDto;
+import com.marketsystem.api.v1.order.service.CheckoutIdempotencyService;
 import com.marketsystem.api.v1.order.service.OrderService;
 import com.marketsystem.api.v1.order.service.PaymentService;
+import com.marketsystem.api.v1.order.service.PaymentWebhookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -31,6 +37,15 @@ class PaymentControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private PaymentGatewayMetrics paymentGatewayMetrics;
+
+    @Mock
+    private CheckoutIdempotencyService checkoutIdempotencyService;
+
+    @Mock
+    private PaymentWebhookService paymentWebhookService;
+
     @InjectMocks
     private PaymentController paymentController;
 
@@ -84,6 +99,165 @@ class PaymentControllerTest {
         verify(orderService, times(1)).placeOrder(requestDto.getCustomerId());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/payment?async=true - Accepted")
+    void placeOrder_Async() throws Exception {
+        // Given
+        OrderRequestDto requestDto = new OrderRequestDto(1L);
+
+        OrderResponseDto responseDto = OrderResponseDto.builder()
+                .orderId(100L)
+                .orderStatus("CREATED")
+                .totalAmount(10000L)
+                .build();
+
+        when(orderService.placeOrderAsync(requestDto.getCustomerId())).thenReturn(responseDto);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/orders/100"))
+                .andExpect(jsonPath("$.code").value(BusinessCode.ACCEPTED.getStatus()))
+                .andExpect(jsonPath("$.data.orderId").value(100L))
+                .andExpect(jsonPath("$.data.orderStatus").value("CREATED"));
+
+        verify(orderService, times(1)).placeOrderAsync(requestDto.getCustomerId());
+        verify(orderService, never()).placeOrder(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payment - Pending")
+    void placeOrder_Pending() throws Exception {
+        // Given: 게이트웨이가 요청만 받아들이고 결과는 웹훅으로 알려줌
+        OrderRequestDto requestDto = new OrderRequestDto(1L);
+        OrderCreateResponseDto responseDto = OrderCreateResponseDto.builder()
+                .customerId(1L)
+                .orderId(100L)
+                .transactionId("TX12345")
+                .status("PENDING")
+                .build();
+
+        when(orderService.placeOrder(requestDto.getCustomerId())).thenReturn(responseDto);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/orders/100"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payment/webhook - Success")
+    void confirmPayment_Success() throws Exception {
+        // Given
+        String body = "{\"orderId\":\"100\",\"transactionId\":\"TX12345\",\"status\":\"SUCCESS\"}";
+        when(paymentWebhookService.handle(any(), eq("signature"))).thenReturn(100L);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment/webhook")
+                        .header("X-Payment-Signature", "signature")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(100));
+
+        // 서명 검증을 위해 본문을 그대로 넘김
+        verify(paymentWebhookService, times(1)).handle(aryEq(body.getBytes()), eq("signature"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payment/webhook - Invalid Signature")
+    void confirmPayment_InvalidSignature() throws Exception {
+        // Given
+        when(paymentWebhookService.handle(any(), any()))
+                .thenThrow(new BusinessException(ErrorCode.WEBHOOK_SIGNATURE_INVALID, "Invalid webhook signature"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment/webhook")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\":\"100\",\"status\":\"SUCCESS\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value(ErrorCode.WEBHOOK_SIGNATURE_INVALID.getStatus()));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payment - Idempotency-Key")
+    void placeOrder_withIdempotencyKey() throws Exception {
+        // Given
+        OrderRequestDto requestDto = new OrderRequestDto(1L);
+        OrderCreateResponseDto responseDto = OrderCreateResponseDto.builder()
+                .customerId(1L)
+                .orderId(100L)
+                .transactionId("TX12345")
+                .status("SUCCESS")
+                .message("Payment successful")
+                .totalPrice(10000L)
+                .build();
+
+        when(checkoutIdempotencyService.placeOrder("key-1", 1L)).thenReturn(responseDto);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.orderId").value(100))
+                .andExpect(jsonPath("$.data.transactionId").value("TX12345"));
+
+        verify(orderService, never()).placeOrder(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payment?async=true - Idempotency-Key not supported")
+    void placeOrderAsync_withIdempotencyKey() throws Exception {
+        // Given
+        OrderRequestDto requestDto = new OrderRequestDto(1L);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payment")
+                        .param("async", "true")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).placeOrderAsync(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/payment/gateway/metrics - Success")
+    void getGatewayMetrics_Success() throws Exception {
+        // Given
+        PaymentGatewayMetricsDto metrics = PaymentGatewayMetricsDto.builder()
+                .maxConcurrentRequests(200)
+                .inFlight(3)
+                .waiting(0)
+                .response(new PaymentGatewayMetricsDto.Timing(10, 120.5, 300.0))
+                .circuitState("OPEN")
+                .circuitRejections(42)
+                .build();
+
+        when(paymentGatewayMetrics.snapshot()).thenReturn(metrics);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/payment/gateway/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.maxConcurrentRequests").value(200))
+                .andExpect(jsonPath("$.data.inFlight").value(3))
+                .andExpect(jsonPath("$.data.response.count").value(10))
+                .andExpect(jsonPath("$.data.response.avgMs").value(120.5))
+                .andExpect(jsonPath("$.data.circuitState").value("OPEN"))
+                .andExpect(jsonPath("$.data.circuitRejections").value(42));
+
+        verify(paymentService, never()).getPaymentDetails(any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/payment/{orderId} - Success")
     void getPaymentDetail_Success() throws Exception {
@@ -0,0 +1,296 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.common.exception.PaymentSentException;
+import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
+import com.marketsystem.api.v1.order.dto.OrderItemResponseDto;
+import com.marketsystem.api.v1.order.entity.IdempotencyRecord;
+import com.marketsystem.api.v1.order.enums.IdempotencyStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CheckoutIdempotencyServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private IdempotencyRecordService idempotencyRecordService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CheckoutIdempotencyService checkoutIdempotencyService;
+
+    private final OrderCreateResponseDto response = OrderCreateResponseDto.builder()
+            .customerId(1L)
+            .orderId(100L)
+            .transactionId("TX1")
+            .status("SUCCESS")
+            .message("ok")
+            .totalPrice(3000L)
+            .orderItems(List.of(new OrderItemResponseDto(3L, "갤럭시 버즈", 3000L, 1)))
+            .build();
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        checkoutIdempotencyService = new CheckoutIdempotencyService(orderService, idempotencyRecordService, objectMapper);
+        when(idempotencyRecordService.find(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordService.begin(anyString(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void placeOrder_retryReturnsCachedResponse() throws Exception {
+        // Given
+        when(orderService.placeOrder(eq(1L), anyString())).thenReturn(response);
+
+        // When
+        OrderCreateResponseDto first = checkoutIdempotencyService.placeOrder("key-1", 1L);
+        OrderCreateResponseDto retry = checkoutIdempotencyService.placeOrder("key-1", 1L);
+
+        // Then
+        assertSame(first, retry);
+        verify(orderService, times(1)).placeOrder(eq(1L), anyString());
+        verify(idempotencyRecordService, times(1)).begin("key-1", 1L);
+        verify(idempotencyRecordService, times(1)).complete("key-1", objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void placeOrder_concurrentDuplicateWaitsForFirstResult() throws Exception {
+        // Given: 첫 요청이 결제 중인 동안 같은 키로 재시도
+        CountDownLatch paying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrder(eq(1L), anyString())).thenAnswer(invocation -> {
+            paying.countDown();
+            release.await();
+            return response;
+        });
+        CompletableFuture<OrderCreateResponseDto> first =
+                CompletableFuture.supplyAsync(() -> checkoutIdempotencyService.placeOrder("key-2", 1L));
+        assertTrue(paying.await(1, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<OrderCreateResponseDto> duplicate =
+                CompletableFuture.supplyAsync(() -> checkoutIdempotencyService.placeOrder("key-2", 1L));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        // Then
+        assertSame(first.get(1, TimeUnit.SECONDS), duplicate.get(1, TimeUnit.SECONDS));
+        verify(orderService, times(1)).placeOrder(eq(1L), anyString());
+    }
+
+    @Test
+    void placeOrder_replaysStoredRecord() throws Exception {
+        // Given: 다른 서버(또는 재시작 전)에서 처리한 키
+        when(idempotencyRecordService.find("key-3")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .idempotencyKey("key-3")
+                .customerId(1L)
+                .status(IdempotencyStatus.COMPLETED)
+                .response(objectMapper.writeValueAsString(response))
+                .build()));
+
+        // When
+        OrderCreateResponseDto result = checkoutIdempotencyService.placeOrder("key-3", 1L);
+
+        // Then
+        assertEquals(100L, result.getOrderId());
+        assertEquals("TX1", result.getTransactionId());
+        assertEquals("갤럭시 버즈", result.getOrderItems().get(0).getProductName());
+        verify(orderService, never()).placeOrder(any(), any());
+        verify(idempotencyRecordService, never()).begin(anyString(), anyLong());
+    }
+
+    @Test
+    void placeOrder_inProgressOnAnotherServer() {
+        // Given
+        when(idempotencyRecordService.begin("key-4", 1L)).thenReturn(false);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-4", 1L));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(orderService, never()).placeOrder(any(), any());
+    }
+
+    @Test
+    void placeOrder_differentCustomer() {
+        // Given
+        when(orderService.placeOrder(eq(1L), anyString())).thenReturn(response);
+        checkoutIdempotencyService.placeOrder("key-5", 1L);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-5", 2L));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, exception.getErrorCode());
+        verify(orderService, never()).placeOrder(eq(2L), any());
+    }
+
+    @Test
+    void placeOrder_unknownPaymentResultIsRemembered() {
+        // Given: 결제 요청 중 장애로 결과를 알 수 없음
+        when(orderService.placeOrder(eq(1L), anyString()))
+                .thenThrow(new BusinessException(ErrorCode.PAYMENT_SERVER_ERROR, "Order ID: 7"));
+        assertThrows(BusinessException.class, () -> checkoutIdempotencyService.placeOrder("key-6", 1L));
+
+        // When
+        BusinessException retry = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-6", 1L));
+
+        // Then
+        assertEquals(ErrorCode.PAYMENT_SERVER_ERROR, retry.getErrorCode());
+        verify(orderService, times(1)).placeOrder(eq(1L), anyString());
+        verify(idempotencyRecordService, times(1)).fail("key-6", "PAYMENT_SERVER_ERROR", "Order ID: 7");
+    }
+
+    @Test
+    void placeOrder_failureAfterPaymentIsRemembered() {
+        // Given: 결제는 됐지만 결과 반영 중 만료된 점유분을 다시 차감하지 못함
+        when(orderService.placeOrder(eq(1L), anyString()))
+                .thenThrow(new PaymentSentException(ErrorCode.OUT_OF_STOCK, "Product IDs out of stock: [3]"));
+        assertThrows(BusinessException.class, () -> checkoutIdempotencyService.placeOrder("key-13", 1L));
+
+        // When
+        BusinessException retry = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-13", 1L));
+
+        // Then
+        // 키를 풀면 재시도가 주문을 다시 만들어 두 번 결제됨
+        assertEquals(ErrorCode.OUT_OF_STOCK, retry.getErrorCode());
+        verify(orderService, times(1)).placeOrder(eq(1L), anyString());
+        verify(idempotencyRecordService, never()).release(anyString());
+        verify(idempotencyRecordService, times(1)).fail("key-13", "OUT_OF_STOCK", "Product IDs out of stock: [3]");
+    }
+
+    @Test
+    void placeOrder_failureBeforePaymentReleasesKey() {
+        // Given: 서킷 브레이커가 열려 결제 요청을 보내지 않음
+        when(orderService.placeOrder(eq(1L), anyString()))
+                .thenThrow(new BusinessException(ErrorCode.PAYMENT_UNAVAILABLE, "circuit open"))
+                .thenReturn(response);
+        assertThrows(BusinessException.class, () -> checkoutIdempotencyService.placeOrder("key-7", 1L));
+
+        // When
+        OrderCreateResponseDto retry = checkoutIdempotencyService.placeOrder("key-7", 1L);
+
+        // Then
+        assertSame(response, retry);
+        verify(idempotencyRecordService, times(1)).release("key-7");
+        verify(orderService, times(2)).placeOrder(eq(1L), anyString());
+    }
+
+    @Test
+    void placeOrder_inProgressWithinLease() {
+        // Given
+        when(idempotencyRecordService.find("key-8")).thenReturn(Optional.of(inProgress("key-8", null, LocalDateTime.now())));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-8", 1L));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(idempotencyRecordService, never()).takeOver(anyString(), any());
+        verify(orderService, never()).placeOrder(any(), any());
+    }
+
+    @Test
+    void placeOrder_expiredLeaseWithoutOrderIsTakenOver() {
+        // Given: 주문을 만들기 전에 서버가 죽어 IN_PROGRESS 로 남은 키
+        when(idempotencyRecordService.find("key-9"))
+                .thenReturn(Optional.of(inProgress("key-9", null, LocalDateTime.now().minusMinutes(5))));
+        when(idempotencyRecordService.takeOver(eq("key-9"), any())).thenReturn(true);
+        when(orderService.placeOrder(1L, "key-9")).thenReturn(response);
+
+        // When
+        OrderCreateResponseDto result = checkoutIdempotencyService.placeOrder("key-9", 1L);
+
+        // Then
+        assertSame(response, result);
+        verify(idempotencyRecordService, never()).begin(anyString(), anyLong());
+        verify(orderService, times(1)).placeOrder(1L, "key-9");
+    }
+
+    @Test
+    void placeOrder_expiredLeaseTakenOverByAnotherRequest() {
+        // Given
+        when(idempotencyRecordService.find("key-10"))
+                .thenReturn(Optional.of(inProgress("key-10", null, LocalDateTime.now().minusMinutes(5))));
+        when(idempotencyRecordService.takeOver(eq("key-10"), any())).thenReturn(false);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-10", 1L));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(orderService, never()).placeOrder(any(), any());
+    }
+
+    @Test
+    void placeOrder_expiredLeaseWithOrderIsRecoveredFromOrder() throws Exception {
+        // Given: 결제 도중 서버가 죽었고, 대사 작업이 주문을 정리함
+        when(idempotencyRecordService.find("key-11"))
+                .thenReturn(Optional.of(inProgress("key-11", 100L, LocalDateTime.now().minusMinutes(5))));
+        when(orderService.findSettledOrderResponse(100L)).thenReturn(Optional.of(response));
+
+        // When
+        OrderCreateResponseDto result = checkoutIdempotencyService.placeOrder("key-11", 1L);
+
+        // Then
+        assertSame(response, result);
+        verify(orderService, never()).placeOrder(any(), any());
+        verify(idempotencyRecordService, never()).takeOver(anyString(), any());
+        verify(idempotencyRecordService, times(1)).complete("key-11", objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void placeOrder_expiredLeaseWithUnsettledOrderStaysInProgress() {
+        // Given: 결제 결과를 아직 모르는 주문
+        when(idempotencyRecordService.find("key-12"))
+                .thenReturn(Optional.of(inProgress("key-12", 100L, LocalDateTime.now().minusMinutes(5))));
+        when(orderService.findSettledOrderResponse(100L)).thenReturn(Optional.empty());
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder("key-12", 1L));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(idempotencyRecordService, never()).complete(anyString(), anyString());
+    }
+
+    @Test
+    void placeOrder_invalidKey() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> checkoutIdempotencyService.placeOrder(" ", 1L));
+
+        assertEquals(ErrorCode.BAD_PARAMETER, exception.getErrorCode());
+    }
+
+    private IdempotencyRecord inProgress(String key, Long orderId, LocalDateTime updatedAt) {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .customerId(1L)
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .orderId(orderId)
+                .build();
+        ReflectionTestUtils.setField(record, "updatedAt", updatedAt);
+        return record;
+    }
+}
@@ -10,6 +10,7 @@ import com.marketsystem.api.v1.customer.repository.CustomerRepository;
 import com.marketsystem.api.v1.order.entity.OrderDraft;
 import com.marketsystem.api.v1.order.entity.OrderItem;
 import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -29,12 +30,17 @@ class OrderCalculationServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private ProductStockService productStockService;
+
     @InjectMocks
     private OrderCalculationService orderCalculationService;
 
     @BeforeEach
     void setUp(){
         MockitoAnnotations.openMocks(this);
+        when(productStockService.availableStock(any(Product.class)))
+                .thenAnswer(inv -> ((Product) inv.getArgument(0)).getStock());
     }
 
     @Test
@@ -0,0 +1,186 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 ID 생성 방식별 INSERT 벤치마크. (./gradlew benchmark)
+ * 50개 항목을 가진 주문을 저장할 때 IDENTITY(INSERT 마다 DB가 키를 만들어 돌려줌)와
+ * Snowflake(애플리케이션이 키를 정함) 매핑이 DB로 보내는 문장 수와 주문당 시간을 비교한다.
+ * 설정은 application.yml 과 같다. (hibernate.jdbc.batch_size=50, order_inserts=true)
+ * (-Dbenchmark.order-insert.orders=500 -Dbenchmark.order-insert.lines=50)
+ */
+@Tag("benchmark")
+class OrderInsertBatchBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.order-insert.orders", 500);
+    private static final int LINES = Integer.getInteger("benchmark.order-insert.lines", 50);
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUpSessionFactory() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:order_insert_benchmark;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityOrder.class)
+                .addAnnotatedClass(IdentityOrderLine.class)
+                .addAnnotatedClass(SnowflakeOrder.class)
+                .addAnnotatedClass(SnowflakeOrderLine.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void identity() {
+        Result result = run("identity", IdentityOrder::new);
+        assertEquals(LINES + 1, result.statementsPerOrder(), 0.01);
+    }
+
+    @Test
+    void snowflake() {
+        Result result = run("snowflake", SnowflakeOrder::new);
+        // 주문 1건 + 항목 배치(50개씩)
+        assertTrue(result.statementsPerOrder() <= 1 + Math.ceil(LINES / 50.0));
+    }
+
+    private Result run(String name, IntFunction<BenchmarkOrder> newOrder) {
+        // JIT 예열
+        insert(newOrder, ORDERS / 10);
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        insert(newOrder, ORDERS);
+        long elapsed = System.nanoTime() - startedAt;
+
+        Result result = new Result((double) statistics.getPrepareStatementCount() / ORDERS,
+                elapsed / 1_000.0 / ORDERS);
+        System.out.printf("%-10s lines=%d statements/order=%.1f us/order=%.0f%n",
+                name, LINES, result.statementsPerOrder(), result.microsPerOrder());
+        return result;
+    }
+
+    private void insert(IntFunction<BenchmarkOrder> newOrder, int orders) {
+        for (int i = 0; i < orders; i++) {
+            BenchmarkOrder order = newOrder.apply(LINES);
+            sessionFactory.inTransaction(session -> session.persist(order));
+        }
+    }
+
+    private record Result(double statementsPerOrder, double microsPerOrder) {
+    }
+
+    interface BenchmarkOrder {
+    }
+
+    @Entity
+    @Table(name = "identity_order")
+    static class IdentityOrder implements BenchmarkOrder {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        long totalAmount;
+        @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+        List<IdentityOrderLine> lines = new ArrayList<>();
+
+        IdentityOrder() {
+        }
+
+        IdentityOrder(int lineCount) {
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(new IdentityOrderLine(this, i + 1));
+                totalAmount += 1000;
+            }
+        }
+    }
+
+    @Entity
+    @Table(name = "identity_order_line")
+    static class IdentityOrderLine {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        long productId;
+        int quantity;
+        @ManyToOne(fetch = FetchType.LAZY)
+        IdentityOrder order;
+
+        IdentityOrderLine() {
+        }
+
+        IdentityOrderLine(IdentityOrder order, long productId) {
+            this.order = order;
+            this.productId = productId;
+            this.quantity = 1;
+        }
+    }
+
+    @Entity
+    @Table(name = "snowflake_order")
+    static class SnowflakeOrder implements BenchmarkOrder {
+        @Id
+        @SnowflakeId
+        Long id;
+        long totalAmount;
+        @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+        List<SnowflakeOrderLine> lines = new ArrayList<>();
+
+        SnowflakeOrder() {
+        }
+
+        SnowflakeOrder(int lineCount) {
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(new SnowflakeOrderLine(this, i + 1));
+                totalAmount += 1000;
+            }
+        }
+    }
+
+    @Entity
+    @Table(name = "snowflake_order_line")
+    static class SnowflakeOrderLine {
+        @Id
+        @SnowflakeId
+        Long id;
+        long productId;
+        int quantity;
+        @ManyToOne(fetch = FetchType.LAZY)
+        SnowflakeOrder order;
+
+        SnowflakeOrderLine() {
+        }
+
+        SnowflakeOrderLine(SnowflakeOrder order, long productId) {
+            this.order = order;
+            this.productId = productId;
+            this.quantity = 1;
+        }
+    }
+}
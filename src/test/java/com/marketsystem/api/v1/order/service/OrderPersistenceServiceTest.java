@@ -1,20 +1,29 @@
 package com.marketsystem.api.v1.order.service;
 
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.customer.entity.Customer;
+import com.marketsystem.api.v1.inventory.service.StockReservationService;
 import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
 import com.marketsystem.api.v1.order.entity.OrderDraft;
 import com.marketsystem.api.v1.order.entity.OrderItem;
 import com.marketsystem.api.v1.order.entity.Orders;
 import com.marketsystem.api.v1.order.entity.Payment;
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
 import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
 import com.marketsystem.api.v1.order.enums.PaymentStatus;
+import com.marketsystem.api.v1.order.repository.IdempotencyRecordRepository;
 import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
 import com.marketsystem.api.v1.order.repository.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,9 +36,18 @@ class OrderPersistenceServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentOutboxRepository paymentOutboxRepository;
+
     @Mock
     private OrderUpdateService orderUpdateService;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @InjectMocks
     private OrderPersistenceService orderPersistenceService;
 
@@ -39,9 +57,13 @@ class OrderPersistenceServiceTest {
     @Captor
     private ArgumentCaptor<Payment> paymentCaptor;
 
+    @Captor
+    private ArgumentCaptor<PaymentOutbox> outboxCaptor;
+
     @BeforeEach
     void setUp(){
         MockitoAnnotations.openMocks(this);
+        when(orderUpdateService.handlePaymentSuccess(any())).thenReturn(true);
     }
 
     @Test
@@ -105,6 +127,68 @@ class OrderPersistenceServiceTest {
         assertEquals(2, capturedOrder.getOrderItems().size());
         assertTrue(capturedOrder.getOrderItems().contains(item1));
         assertTrue(capturedOrder.getOrderItems().contains(item2));
+
+        // 저장된 주문 기준으로 재고 점유
+        verify(stockReservationService, times(1)).reserve(capturedOrder);
+
+        // 같은 트랜잭션에 PENDING 결제와, 호출 스레드가 바로 보낼 아웃박스 행을 기록
+        verify(paymentRepository, times(1)).save(paymentCaptor.capture());
+        assertEquals(PaymentStatus.PENDING, paymentCaptor.getValue().getStatus());
+        verify(paymentOutboxRepository, times(1)).save(outboxCaptor.capture());
+        PaymentOutbox outbox = outboxCaptor.getValue();
+        assertEquals(5000L, outbox.getAmount());
+        assertEquals(OutboxStatus.DISPATCHING, outbox.getStatus());
+        assertEquals(1, outbox.getAttempts());
+        assertTrue(outbox.getAvailableAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void createOrder_idempotencyKeyTakenOver_Conflict() {
+        // Given: 임대 시간이 지나 다른 요청이 키를 넘겨받아 주문을 연결함
+        OrderDraft draft = OrderDraft.builder()
+                .customer(Customer.builder().id(1L).name("tester").build())
+                .totalAmount(1000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+        when(idempotencyRecordRepository.attachOrder(eq("key-1"), any(), any())).thenReturn(0);
+
+        // When & Then
+        // 예외로 주문 생성 트랜잭션을 롤백해 같은 키로 주문이 두 번 만들어지지 않도록 함
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> orderPersistenceService.createOrder(draft, "key-1"));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+    }
+
+    @Test
+    void createOrderForDispatch() {
+        // Given
+        OrderDraft draft = OrderDraft.builder()
+                .customer(Customer.builder().id(5L).name("tester").build())
+                .totalAmount(3000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+
+        Orders savedOrder = Orders.builder()
+                .id(205L)
+                .customer(draft.getCustomer())
+                .totalAmount(draft.getTotalAmount())
+                .status(OrderStatus.CREATED)
+                .orderItems(new ArrayList<>())
+                .build();
+
+        when(ordersRepository.save(any(Orders.class))).thenReturn(savedOrder);
+
+        // When
+        orderPersistenceService.createOrderForDispatch(draft);
+
+        // Then: 디스패처가 바로 가져갈 수 있는 READY 행
+        verify(paymentOutboxRepository, times(1)).save(outboxCaptor.capture());
+        PaymentOutbox outbox = outboxCaptor.getValue();
+        assertEquals(OutboxStatus.READY, outbox.getStatus());
+        assertEquals(0, outbox.getAttempts());
+        assertFalse(outbox.getAvailableAt().isAfter(LocalDateTime.now()));
     }
 
     @Test
@@ -134,6 +218,8 @@ class OrderPersistenceServiceTest {
 
         PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX54321", "Payment successful");
 
+        when(ordersRepository.transitionStatus(202L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(1);
+
         // When
         orderPersistenceService.finalizeOrder(order, paymentResponse);
 
@@ -145,10 +231,92 @@ class OrderPersistenceServiceTest {
         assertEquals("Payment successful", capturedPayment.getMessage());
         assertEquals(PaymentStatus.SUCCESS, capturedPayment.getStatus());
 
+        verify(paymentOutboxRepository, times(1)).deleteByOrderId(202L);
         verify(orderUpdateService, times(1)).handlePaymentSuccess(order);
         verify(orderUpdateService, never()).handlePaymentFailure(any());
     }
 
+    @Test
+    void finalizeOrder_paidButOutOfStock_RefundRequired() {
+        // Given: 결제 도중 점유가 만료되고 재고가 모자라 주문을 채우지 못함
+        Orders order = Orders.builder()
+                .id(207L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(7L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment pending = Payment.builder().id(8L).order(order).status(PaymentStatus.PENDING).build();
+        PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX33333", "Payment successful");
+
+        when(paymentRepository.findByOrderId(207L)).thenReturn(Optional.of(pending));
+        when(ordersRepository.transitionStatus(207L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(1);
+        when(orderUpdateService.handlePaymentSuccess(order)).thenReturn(false);
+
+        // When
+        OrderStatus status = orderPersistenceService.finalizeOrder(order, paymentResponse);
+
+        // Then
+        // 롤백하지 않고 ERROR 와 환불 대상 결제를 기록해, 대사 작업이 같은 결과를 다시 반영하지 않도록 아웃박스 행도 지움
+        assertEquals(OrderStatus.ERROR, status);
+        assertEquals(PaymentStatus.REFUND_REQUIRED, pending.getStatus());
+        assertEquals("TX33333", pending.getTransactionId());
+        verify(paymentOutboxRepository, times(1)).deleteByOrderId(207L);
+    }
+
+    @Test
+    void finalizeOrder_successAfterRefundRequired_AlreadyApplied() {
+        // Given: 환불 대상으로 정리된 주문에 같은 성공 결과가 웹훅으로 다시 도착
+        Orders order = Orders.builder()
+                .id(208L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(8L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment refund = Payment.builder().id(9L).order(order).transactionId("TX44444")
+                .status(PaymentStatus.REFUND_REQUIRED).build();
+
+        when(paymentRepository.findByOrderId(208L)).thenReturn(Optional.of(refund));
+        when(ordersRepository.transitionStatus(208L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(0);
+        when(ordersRepository.findStatusById(208L)).thenReturn(Optional.of(OrderStatus.ERROR));
+
+        // When
+        OrderStatus status = orderPersistenceService.finalizeOrder(order,
+                new PaymentResponseDto("SUCCESS", "TX44444", "Payment successful"));
+
+        // Then
+        assertEquals(OrderStatus.ERROR, status);
+        assertEquals(PaymentStatus.REFUND_REQUIRED, refund.getStatus());
+        verify(orderUpdateService, never()).handlePaymentSuccess(any());
+    }
+
+    @Test
+    void finalizeOrder_pendingPayment() {
+        // Given
+        Orders order = Orders.builder()
+                .id(206L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(6L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment pending = Payment.builder().id(7L).order(order).status(PaymentStatus.PENDING).build();
+
+        PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX22222", "Payment successful");
+
+        when(ordersRepository.findById(206L)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderId(206L)).thenReturn(Optional.of(pending));
+        when(ordersRepository.transitionStatus(206L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(1);
+
+        // When
+        orderPersistenceService.finalizeOrder(206L, paymentResponse);
+
+        // Then: 주문 생성 때 기록한 결제에 결과를 기록
+        verify(paymentRepository, times(1)).save(pending);
+        assertEquals(PaymentStatus.SUCCESS, pending.getStatus());
+        assertEquals("TX22222", pending.getTransactionId());
+        verify(paymentOutboxRepository, times(1)).deleteByOrderId(206L);
+        verify(orderUpdateService, times(1)).handlePaymentSuccess(order);
+    }
+
     @Test
     void finalizeOrder_paymentFailure() {
         // Given
@@ -176,6 +344,8 @@ class OrderPersistenceServiceTest {
 
         PaymentResponseDto paymentResponse = new PaymentResponseDto("FAILED", null, "Payment failed");
 
+        when(ordersRepository.transitionStatus(203L, OrderStatus.CREATED, OrderStatus.FAILED)).thenReturn(1);
+
         // When
         orderPersistenceService.finalizeOrder(order, paymentResponse);
 
@@ -190,4 +360,101 @@ class OrderPersistenceServiceTest {
         verify(orderUpdateService, times(1)).handlePaymentFailure(order);
         verify(orderUpdateService, never()).handlePaymentSuccess(any());
     }
+
+    @Test
+    void finalizeOrder_alreadyApplied() {
+        // Given: 웹훅이 같은 결과를 먼저 반영함
+        Orders order = Orders.builder()
+                .id(207L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(7L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment paid = Payment.builder().id(8L).order(order).status(PaymentStatus.SUCCESS).transactionId("TX33333").build();
+
+        when(paymentRepository.findByOrderId(207L)).thenReturn(Optional.of(paid));
+        when(ordersRepository.transitionStatus(207L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(0);
+        when(ordersRepository.findStatusById(207L)).thenReturn(Optional.of(OrderStatus.PAID));
+
+        // When
+        OrderStatus status = orderPersistenceService.finalizeOrder(order, new PaymentResponseDto("SUCCESS", "TX33333", "Payment successful"));
+
+        // Then: 다시 반영하지 않고 DB 의 상태만 반환 (엔터티는 건드리지 않음)
+        assertEquals(OrderStatus.PAID, status);
+        assertEquals(OrderStatus.CREATED, order.getStatus());
+        verify(paymentRepository, never()).save(any());
+        verify(orderUpdateService, never()).handlePaymentSuccess(any());
+    }
+
+    @Test
+    void finalizeOrder_failedResultForErrorOrder_Conflict() {
+        // Given: 결제 요청 실패로 ERROR 정리된 주문 (결제는 FAILED 로 기록됨)
+        Orders order = Orders.builder()
+                .id(209L)
+                .status(OrderStatus.ERROR)
+                .customer(Customer.builder().id(9L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment failed = Payment.builder().id(10L).order(order).status(PaymentStatus.FAILED).build();
+
+        when(paymentRepository.findByOrderId(209L)).thenReturn(Optional.of(failed));
+        when(ordersRepository.transitionStatus(209L, OrderStatus.CREATED, OrderStatus.FAILED)).thenReturn(0);
+        when(ordersRepository.findStatusById(209L)).thenReturn(Optional.of(OrderStatus.ERROR));
+
+        // When & Then: 늦게 온 FAILED 결과가 ERROR 주문을 FAILED 로 바꾸지 않음
+        BusinessException exception = assertThrows(BusinessException.class, () -> orderPersistenceService.finalizeOrder(
+                order, new PaymentResponseDto("FAILED", "TX55555", "Payment declined")));
+
+        assertEquals(ErrorCode.CONFLICT, exception.getErrorCode());
+        assertEquals(OrderStatus.ERROR, order.getStatus());
+        verify(orderUpdateService, never()).handlePaymentFailure(any());
+    }
+
+    @Test
+    void finalizeOrder_accepted() {
+        // Given: 게이트웨이가 요청만 받아들임
+        Orders order = Orders.builder()
+                .id(208L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(8L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+        Payment pending = Payment.builder().id(9L).order(order).status(PaymentStatus.PENDING).build();
+
+        when(paymentRepository.findByOrderId(208L)).thenReturn(Optional.of(pending));
+
+        // When
+        orderPersistenceService.finalizeOrder(order, new PaymentResponseDto("PENDING", "TX44444", "Payment accepted"));
+
+        // Then: 거래 ID만 기록하고 결과는 웹훅을 기다림
+        assertEquals(PaymentStatus.PENDING, pending.getStatus());
+        assertEquals("TX44444", pending.getTransactionId());
+        assertEquals(OrderStatus.CREATED, order.getStatus());
+        verify(ordersRepository, never()).transitionStatus(any(), any(), any());
+        verify(paymentOutboxRepository, never()).deleteByOrderId(any());
+    }
+
+    @Test
+    void finalizeOrder_alreadyResolved() {
+        // Given
+        Orders order = Orders.builder()
+                .id(204L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(4L).name("tester").build())
+                .orderItems(new ArrayList<>())
+                .build();
+
+        PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX11111", "Payment successful");
+
+        when(ordersRepository.transitionStatus(204L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(0);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> orderPersistenceService.finalizeOrder(order, paymentResponse));
+
+        assertEquals(ErrorCode.CONFLICT, exception.getErrorCode());
+        verify(paymentRepository, never()).save(any());
+        verify(paymentOutboxRepository, never()).deleteByOrderId(any());
+        verify(orderUpdateService, never()).handlePaymentSuccess(any());
+        verify(orderUpdateService, never()).handlePaymentFailure(any());
+    }
 }
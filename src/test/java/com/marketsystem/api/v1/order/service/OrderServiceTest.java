@@ -2,6 +2,7 @@ package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.common.exception.PaymentSentException;
 import com.marketsystem.api.v1.customer.entity.Customer;
 import com.marketsystem.api.v1.order.dto.OrderCreateResponseDto;
 import com.marketsystem.api.v1.order.dto.OrderResponseDto;
@@ -14,6 +15,7 @@ import com.marketsystem.api.v1.order.repository.OrdersRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.util.ArrayList;
 import java.util.Optional;
@@ -38,6 +40,12 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderUpdateService orderUpdateService;
+
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -87,8 +95,8 @@ class OrderServiceTest {
         when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
         when(orderPersistenceService.createOrder(draft)).thenReturn(savedOrder);
         when(paymentService.requestPayment(savedOrder)).thenReturn(paymentResponse);
-        doNothing().when(orderPersistenceService).finalizeOrder(savedOrder, paymentResponse);
-        when(orderMapper.toOrderCreateResponseDto(savedOrder, paymentResponse)).thenReturn(responseDto);
+        when(orderPersistenceService.finalizeOrder(savedOrder, paymentResponse)).thenReturn(OrderStatus.PAID);
+        when(orderMapper.toOrderCreateResponseDto(savedOrder, OrderStatus.PAID, paymentResponse)).thenReturn(responseDto);
 
         // When
         OrderCreateResponseDto result = orderService.placeOrder(customerId);
@@ -108,7 +116,41 @@ class OrderServiceTest {
         verify(orderPersistenceService, times(1)).createOrder(draft);
         verify(paymentService, times(1)).requestPayment(savedOrder);
         verify(orderPersistenceService, times(1)).finalizeOrder(savedOrder, paymentResponse);
-        verify(orderMapper, times(1)).toOrderCreateResponseDto(savedOrder, paymentResponse);
+        verify(orderMapper, times(1)).toOrderCreateResponseDto(savedOrder, OrderStatus.PAID, paymentResponse);
+    }
+
+    @Test
+    void placeOrder_finalizeFailedAfterPayment_ThrowsPaymentSent() {
+        // Given
+        Long customerId = 1L;
+        Customer customer = Customer.builder().id(customerId).name("tester").build();
+        OrderDraft draft = OrderDraft.builder()
+                .customer(customer)
+                .totalAmount(3000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+        Orders savedOrder = Orders.builder()
+                .id(100L)
+                .customer(customer)
+                .totalAmount(draft.getTotalAmount())
+                .status(OrderStatus.CREATED)
+                .orderItems(new ArrayList<>())
+                .build();
+        PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX99999", "Payment successful");
+
+        when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
+        when(orderPersistenceService.createOrder(draft, "key-1")).thenReturn(savedOrder);
+        when(paymentService.requestPayment(savedOrder)).thenReturn(paymentResponse);
+        when(orderPersistenceService.finalizeOrder(savedOrder, paymentResponse))
+                .thenThrow(new BusinessException(ErrorCode.OUT_OF_STOCK, "Product IDs out of stock: [3]"));
+
+        // When & Then
+        // 결제 요청을 보낸 뒤의 실패는 결제 전 실패와 구분 (같은 Idempotency-Key 로 다시 주문하지 않도록)
+        BusinessException exception = assertThrows(PaymentSentException.class,
+                () -> orderService.placeOrder(customerId, "key-1"));
+        assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
+        verify(orderMapper, never()).toOrderCreateResponseDto(any(), any(), any());
     }
 
     @Test
@@ -127,8 +169,8 @@ class OrderServiceTest {
         verify(orderCalculationService, times(1)).calculateOrderInfo(customerId);
         verify(orderPersistenceService, never()).createOrder(any());
         verify(paymentService, never()).requestPayment(any());
-        verify(orderPersistenceService, never()).finalizeOrder(any(), any());
-        verify(orderMapper, never()).toOrderCreateResponseDto(any(), any());
+        verify(orderPersistenceService, never()).finalizeOrder(any(Orders.class), any());
+        verify(orderMapper, never()).toOrderCreateResponseDto(any(), any(), any());
     }
 
     @Test
@@ -172,8 +214,8 @@ class OrderServiceTest {
         when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
         when(orderPersistenceService.createOrder(draft)).thenReturn(savedOrder);
         when(paymentService.requestPayment(savedOrder)).thenReturn(paymentResponse);
-        doNothing().when(orderPersistenceService).finalizeOrder(savedOrder, paymentResponse);
-        when(orderMapper.toOrderCreateResponseDto(savedOrder, paymentResponse)).thenReturn(responseDto);
+        when(orderPersistenceService.finalizeOrder(savedOrder, paymentResponse)).thenReturn(OrderStatus.FAILED);
+        when(orderMapper.toOrderCreateResponseDto(savedOrder, OrderStatus.FAILED, paymentResponse)).thenReturn(responseDto);
 
         // When
         OrderCreateResponseDto result = orderService.placeOrder(customerId);
@@ -193,7 +235,165 @@ class OrderServiceTest {
         verify(orderPersistenceService, times(1)).createOrder(draft);
         verify(paymentService, times(1)).requestPayment(savedOrder);
         verify(orderPersistenceService, times(1)).finalizeOrder(savedOrder, paymentResponse);
-        verify(orderMapper, times(1)).toOrderCreateResponseDto(savedOrder, paymentResponse);
+        verify(orderMapper, times(1)).toOrderCreateResponseDto(savedOrder, OrderStatus.FAILED, paymentResponse);
+    }
+
+    @Test
+    void placeOrder_paymentRequestError() {
+        // Given
+        Long customerId = 4L;
+
+        OrderDraft draft = OrderDraft.builder()
+                .customer(Customer.builder().id(customerId).name("tester").build())
+                .totalAmount(5000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+
+        Orders savedOrder = Orders.builder()
+                .id(103L)
+                .customer(draft.getCustomer())
+                .totalAmount(draft.getTotalAmount())
+                .status(OrderStatus.CREATED)
+                .orderItems(new ArrayList<>())
+                .build();
+
+        when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
+        when(orderPersistenceService.createOrder(draft)).thenReturn(savedOrder);
+        when(paymentService.requestPayment(savedOrder)).thenThrow(new ResourceAccessException("Read timed out"));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> orderService.placeOrder(customerId));
+
+        assertEquals(ErrorCode.PAYMENT_SERVER_ERROR, exception.getErrorCode());
+        assertEquals(OrderStatus.CREATED, savedOrder.getStatus()); // 대사 작업이 정리
+
+        verify(orderPersistenceService, never()).finalizeOrder(any(Orders.class), any());
+        verify(orderUpdateService, never()).markOrderAsError(any());
+        verify(orderMapper, never()).toOrderCreateResponseDto(any(), any(), any());
+    }
+
+    @Test
+    void placeOrder_paymentUnavailable() {
+        // Given: 서킷 브레이커가 열려 결제 요청을 보내지 못함
+        Long customerId = 7L;
+
+        OrderDraft draft = OrderDraft.builder()
+                .customer(Customer.builder().id(customerId).name("tester").build())
+                .totalAmount(5000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+
+        Orders savedOrder = Orders.builder()
+                .id(106L)
+                .customer(draft.getCustomer())
+                .totalAmount(draft.getTotalAmount())
+                .status(OrderStatus.CREATED)
+                .orderItems(new ArrayList<>())
+                .build();
+
+        when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
+        when(orderPersistenceService.createOrder(draft)).thenReturn(savedOrder);
+        when(paymentService.requestPayment(savedOrder))
+                .thenThrow(new BusinessException(ErrorCode.PAYMENT_UNAVAILABLE, "Payment circuit is open. Order ID: 106"));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> orderService.placeOrder(customerId));
+
+        assertEquals(ErrorCode.PAYMENT_UNAVAILABLE, exception.getErrorCode());
+        verify(orderUpdateService, times(1)).markOrderAsError(savedOrder.getId());
+        verify(orderPersistenceService, never()).finalizeOrder(any(Orders.class), any());
+    }
+
+    @Test
+    void placeOrderAsync_success() {
+        // Given
+        Long customerId = 5L;
+        OrderDraft draft = OrderDraft.builder()
+                .customer(Customer.builder().id(customerId).name("tester").build())
+                .totalAmount(6000L)
+                .orderItems(new ArrayList<>())
+                .cartItems(new ArrayList<>())
+                .build();
+
+        Orders savedOrder = Orders.builder()
+                .id(104L)
+                .customer(draft.getCustomer())
+                .totalAmount(draft.getTotalAmount())
+                .status(OrderStatus.CREATED)
+                .orderItems(new ArrayList<>())
+                .build();
+
+        OrderResponseDto responseDto = OrderResponseDto.builder()
+                .orderId(savedOrder.getId())
+                .orderStatus("CREATED")
+                .totalAmount(savedOrder.getTotalAmount())
+                .build();
+
+        when(orderCalculationService.calculateOrderInfo(customerId)).thenReturn(draft);
+        when(orderPersistenceService.createOrderForDispatch(draft)).thenReturn(savedOrder);
+        when(orderMapper.toOrderResponseDto(savedOrder)).thenReturn(responseDto);
+
+        // When
+        OrderResponseDto result = orderService.placeOrderAsync(customerId);
+
+        // Then: 결제는 아웃박스 디스패처가 보냄
+        assertEquals(savedOrder.getId(), result.getOrderId());
+        assertEquals("CREATED", result.getOrderStatus());
+        verify(orderPersistenceService, never()).createOrder(any());
+        verify(paymentService, never()).requestPayment(any());
+    }
+
+    @Test
+    void dispatchPayment_success() {
+        // Given
+        Long orderId = 105L;
+        PaymentResponseDto paymentResponse = new PaymentResponseDto("SUCCESS", "TX10000", "Payment successful");
+        when(paymentService.requestPayment(any(Orders.class))).thenReturn(paymentResponse);
+
+        // When
+        orderService.dispatchPayment(orderId, 7000L);
+
+        // Then
+        ArgumentCaptor<Orders> request = ArgumentCaptor.forClass(Orders.class);
+        InOrder inOrder = inOrder(paymentService, orderPersistenceService, orderStatusNotifier);
+        inOrder.verify(paymentService).requestPayment(request.capture());
+        inOrder.verify(orderPersistenceService).finalizeOrder(orderId, paymentResponse);
+        inOrder.verify(orderStatusNotifier).notifyChanged(orderId);
+        assertEquals(orderId, request.getValue().getId());
+        assertEquals(7000L, request.getValue().getTotalAmount());
+    }
+
+    @Test
+    void dispatchPayment_requestError() {
+        // Given
+        Long orderId = 106L;
+        when(paymentService.requestPayment(any(Orders.class))).thenThrow(new ResourceAccessException("Read timed out"));
+
+        // When
+        orderService.dispatchPayment(orderId, 7000L);
+
+        // Then: 결과를 모르므로 아웃박스에 남겨 대사 작업이 정리
+        verify(orderPersistenceService, never()).finalizeOrder(anyLong(), any());
+        verify(orderUpdateService, never()).markOrderAsError(any());
+        verify(orderStatusNotifier, times(1)).notifyChanged(orderId);
+    }
+
+    @Test
+    void dispatchPayment_paymentUnavailable() {
+        // Given
+        Long orderId = 107L;
+        when(paymentService.requestPayment(any(Orders.class)))
+                .thenThrow(new BusinessException(ErrorCode.PAYMENT_UNAVAILABLE, "Payment circuit is open. Order ID: 107"));
+
+        // When
+        orderService.dispatchPayment(orderId, 7000L);
+
+        // Then
+        verify(orderUpdateService, times(1)).markOrderAsError(orderId);
+        verify(orderPersistenceService, never()).finalizeOrder(anyLong(), any());
+        verify(orderStatusNotifier, times(1)).notifyChanged(orderId);
     }
 
     @Test
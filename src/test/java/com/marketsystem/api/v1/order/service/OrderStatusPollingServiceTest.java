@@ -0,0 +1,86 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.dto.OrderResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderStatusPollingServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    private OrderStatusNotifier orderStatusNotifier;
+
+    private OrderStatusPollingService orderStatusPollingService;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        orderStatusNotifier = new OrderStatusNotifier();
+        orderStatusPollingService = new OrderStatusPollingService(orderService, orderStatusNotifier, mvcAsyncExecutor);
+        ReflectionTestUtils.setField(orderStatusPollingService, "maxWaitMs", 5000L);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mvcAsyncExecutor).execute(any(Runnable.class));
+    }
+
+    private OrderResponseDto order(String status) {
+        return OrderResponseDto.builder().orderId(1L).orderStatus(status).totalAmount(1000L).build();
+    }
+
+    @Test
+    void awaitOrderDetail_alreadyFinished() throws Exception {
+        // Given
+        when(orderService.getOrderDetail(1L)).thenReturn(order("PAID"));
+
+        // When
+        CompletableFuture<OrderResponseDto> result = orderStatusPollingService.awaitOrderDetail(1L, 1000L);
+
+        // Then
+        assertTrue(result.isDone());
+        assertEquals("PAID", result.get().getOrderStatus());
+        assertEquals(0, orderStatusNotifier.waiterCount());
+    }
+
+    @Test
+    void awaitOrderDetail_wokenByNotify() throws Exception {
+        // Given
+        when(orderService.getOrderDetail(1L)).thenReturn(order("CREATED"), order("FAILED"));
+
+        // When
+        CompletableFuture<OrderResponseDto> result = orderStatusPollingService.awaitOrderDetail(1L, 5000L);
+        assertFalse(result.isDone());
+        orderStatusNotifier.notifyChanged(1L);
+
+        // Then
+        assertEquals("FAILED", result.get(1, TimeUnit.SECONDS).getOrderStatus());
+        assertEquals(0, orderStatusNotifier.waiterCount());
+    }
+
+    @Test
+    void awaitOrderDetail_timeout() throws Exception {
+        // Given
+        when(orderService.getOrderDetail(1L)).thenReturn(order("CREATED"));
+
+        // When
+        CompletableFuture<OrderResponseDto> result = orderStatusPollingService.awaitOrderDetail(1L, 50L);
+
+        // Then
+        assertEquals("CREATED", result.get(1, TimeUnit.SECONDS).getOrderStatus());
+        verify(orderService, times(2)).getOrderDetail(1L);
+        assertEquals(0, orderStatusNotifier.waiterCount());
+    }
+}
@@ -1,21 +1,25 @@
 package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.cart.service.CartService;
-import com.marketsystem.api.v1.common.enums.ErrorCode;
-import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.customer.entity.Customer;
 import com.marketsystem.api.v1.order.entity.OrderItem;
 import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.entity.Payment;
 import com.marketsystem.api.v1.order.enums.OrderStatus;
-import com.marketsystem.api.v1.product.entity.Product;
-import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.order.enums.PaymentStatus;
+import com.marketsystem.api.v1.inventory.service.InventoryJournal;
+import com.marketsystem.api.v1.inventory.service.StockReservationService;
 import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import com.marketsystem.api.v1.product.service.ProductStockService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,11 +30,23 @@ class OrderUpdateServiceTest {
     private OrdersRepository ordersRepository;
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductStockService productStockService;
+
+    @Mock
+    private StockReservationService stockReservationService;
 
     @Mock
     private CartService cartService;
 
+    @Mock
+    private InventoryJournal inventoryJournal;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentOutboxRepository paymentOutboxRepository;
+
     @InjectMocks
     private OrderUpdateService orderUpdateService;
 
@@ -66,6 +82,7 @@ class OrderUpdateServiceTest {
         assertEquals(com.marketsystem.api.v1.order.enums.OrderStatus.FAILED, order.getStatus());
         assertTrue(order.getOrderItems().isEmpty());
 
+        verify(stockReservationService, times(1)).release(order);
         verify(ordersRepository, times(1)).save(order);
     }
 
@@ -103,23 +120,8 @@ class OrderUpdateServiceTest {
         order.getOrderItems().add(item1);
         order.getOrderItems().add(item2);
 
-        // 실제 Product 인스턴스 생성
-        Product product1 = Product.builder()
-                .id(2001L)
-                .name("Product B")
-                .price(2000L)
-                .stock(10)
-                .build();
-
-        Product product2 = Product.builder()
-                .id(2002L)
-                .name("Product C")
-                .price(1500L)
-                .stock(5)
-                .build();
-
-        when(productRepository.findById(2001L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2002L)).thenReturn(Optional.of(product2));
+        // 모든 점유가 유효한 경우
+        when(stockReservationService.confirm(order)).thenReturn(Map.of());
 
         // When
         orderUpdateService.handlePaymentSuccess(order);
@@ -127,10 +129,8 @@ class OrderUpdateServiceTest {
         // Then
         assertEquals(OrderStatus.PAID, order.getStatus());
 
-        assertEquals(7, product1.getStock()); // 10 - 3
-        assertEquals(4, product2.getStock()); // 5 -1
-
-        verify(productRepository, never()).save(any(Product.class));
+        verify(stockReservationService, times(1)).confirm(order);
+        verify(productStockService, never()).decreaseStock(anyMap());
 
         verify(ordersRepository, times(1)).save(order);
 
@@ -138,7 +138,7 @@ class OrderUpdateServiceTest {
     }
 
     @Test
-    void handlePaymentSuccess_productNotFound() {
+    void handlePaymentSuccess_reservationExpired() {
         // Given
         Customer customer = Customer.builder()
                 .id(3L)
@@ -162,18 +162,99 @@ class OrderUpdateServiceTest {
 
         order.getOrderItems().add(item1);
 
-        when(productRepository.findById(3001L)).thenReturn(Optional.empty());
+        // 결제 도중 점유가 만료되어 해제된 경우
+        when(stockReservationService.confirm(order)).thenReturn(Map.of(3001L, 2));
+
+        // When
+        orderUpdateService.handlePaymentSuccess(order);
+
+        // Then
+        assertEquals(OrderStatus.PAID, order.getStatus());
+
+        verify(productStockService, times(1)).tryDecreaseStock(Map.of(3001L, 2));
+        verify(ordersRepository, times(1)).save(order);
+        verify(cartService, times(1)).clearCart(customer.getId());
+    }
+
+    @Test
+    void handlePaymentSuccess_outOfStock() {
+        // Given
+        Customer customer = Customer.builder()
+                .id(4L)
+                .name("tester")
+                .build();
+
+        Orders order = Orders.builder()
+                .id(4L)
+                .status(OrderStatus.CREATED)
+                .customer(customer)
+                .orderItems(new ArrayList<>())
+                .build();
 
-        // When & Then
-        BusinessException exception = assertThrows(BusinessException.class, () -> orderUpdateService.handlePaymentSuccess(order));
+        OrderItem item1 = OrderItem.builder()
+                .id(105L)
+                .productId(4001L)
+                .productName("Product E")
+                .productPrice(1000L)
+                .quantity(5)
+                .build();
 
-        assertEquals(ErrorCode.PRODUCT_NOT_FOUND, exception.getErrorCode());
-        assertEquals("Product ID: 3001", exception.getMessage());
+        order.getOrderItems().add(item1);
 
-        verify(productRepository, never()).save(any(Product.class));
+        when(stockReservationService.confirm(order)).thenReturn(Map.of(4001L, 5));
+        when(productStockService.tryDecreaseStock(Map.of(4001L, 5))).thenReturn(List.of(4001L));
 
-        verify(ordersRepository, never()).save(any(Orders.class));
+        // When
+        boolean paid = orderUpdateService.handlePaymentSuccess(order);
 
+        // Then
+        // 예외로 롤백하지 않고, 확정한 점유를 되돌린 뒤 ERROR 로 정리한 결과를 커밋
+        assertFalse(paid);
+        assertEquals(OrderStatus.ERROR, order.getStatus());
+        verify(stockReservationService, times(1)).releaseConfirmed(order);
+        verify(ordersRepository, times(1)).save(order);
+        verify(inventoryJournal, never()).append(any(), any(), anyMap());
+        verify(productStockService, never()).recordSale(any(), anyMap());
         verify(cartService, never()).clearCart(anyLong());
     }
+
+    @Test
+    void markOrderAsError() {
+        // Given
+        Orders order = Orders.builder()
+                .id(5L)
+                .status(OrderStatus.ERROR)
+                .orderItems(new ArrayList<>())
+                .customer(Customer.builder().id(1L).build())
+                .build();
+
+        when(ordersRepository.transitionStatus(5L, OrderStatus.CREATED, OrderStatus.ERROR)).thenReturn(1);
+        when(ordersRepository.findById(5L)).thenReturn(java.util.Optional.of(order));
+        Payment pending = Payment.builder().id(9L).order(order).status(PaymentStatus.PENDING).build();
+        when(paymentRepository.findByOrderId(5L)).thenReturn(java.util.Optional.of(pending));
+
+        // When
+        boolean handled = orderUpdateService.markOrderAsError(5L);
+
+        // Then
+        assertTrue(handled);
+        verify(stockReservationService, times(1)).release(order);
+        assertEquals(PaymentStatus.FAILED, pending.getStatus());
+        verify(paymentOutboxRepository, times(1)).deleteByOrderId(5L);
+    }
+
+    @Test
+    void markOrderAsError_alreadyFinalized() {
+        // Given
+        when(ordersRepository.transitionStatus(6L, OrderStatus.CREATED, OrderStatus.ERROR)).thenReturn(0);
+
+        // When
+        boolean handled = orderUpdateService.markOrderAsError(6L);
+
+        // Then
+        assertFalse(handled);
+        verify(ordersRepository, never()).findById(anyLong());
+        verify(stockReservationService, never()).release(any());
+        verify(paymentOutboxRepository, never()).deleteByOrderId(any());
+    }
 }
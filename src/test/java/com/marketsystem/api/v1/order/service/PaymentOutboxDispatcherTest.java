@@ -0,0 +1,110 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class PaymentOutboxDispatcherTest {
+
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ThreadPoolTaskExecutor orderPaymentExecutor;
+
+    @InjectMocks
+    private PaymentOutboxDispatcher paymentOutboxDispatcher;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        when(orderPaymentExecutor.getQueueCapacity()).thenReturn(1000);
+    }
+
+    @Test
+    void dispatch() {
+        // Given
+        PaymentOutbox entry1 = entry(1L, 100L);
+        PaymentOutbox entry2 = entry(2L, 101L);
+        when(paymentOutboxService.claimReady(eq(100), any(Duration.class))).thenReturn(List.of(entry1, entry2));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(orderPaymentExecutor).execute(any(Runnable.class));
+
+        // When
+        paymentOutboxDispatcher.dispatch();
+
+        // Then: 묶음이 다 차지 않았으면 다음 주기까지 기다림
+        verify(paymentOutboxService, times(1)).claimReady(anyInt(), any());
+        verify(orderService, times(1)).dispatchPayment(100L, 1000L);
+        verify(orderService, times(1)).dispatchPayment(101L, 1000L);
+    }
+
+    @Test
+    void dispatch_limitedByQueue() {
+        // Given: 큐에 두 자리만 남음
+        when(orderPaymentExecutor.getQueueSize()).thenReturn(998);
+        when(paymentOutboxService.claimReady(eq(2), any(Duration.class))).thenReturn(List.of());
+
+        // When
+        paymentOutboxDispatcher.dispatch();
+
+        // Then
+        verify(paymentOutboxService, times(1)).claimReady(eq(2), any());
+    }
+
+    @Test
+    void dispatch_queueFull() {
+        // Given
+        when(orderPaymentExecutor.getQueueSize()).thenReturn(1000);
+
+        // When
+        paymentOutboxDispatcher.dispatch();
+
+        // Then
+        verify(paymentOutboxService, never()).claimReady(anyInt(), any());
+    }
+
+    @Test
+    void dispatch_rejected() {
+        // Given: 두 번째 요청부터 풀이 거절
+        PaymentOutbox entry1 = entry(1L, 100L);
+        PaymentOutbox entry2 = entry(2L, 101L);
+        PaymentOutbox entry3 = entry(3L, 102L);
+        when(paymentOutboxService.claimReady(eq(100), any(Duration.class))).thenReturn(List.of(entry1, entry2, entry3));
+        doNothing().doThrow(new TaskRejectedException("full")).when(orderPaymentExecutor).execute(any(Runnable.class));
+
+        // When
+        paymentOutboxDispatcher.dispatch();
+
+        // Then: 보내지 못한 행은 READY 로 되돌림
+        verify(paymentOutboxService, never()).retry(1L);
+        verify(paymentOutboxService, times(1)).retry(2L);
+        verify(paymentOutboxService, times(1)).retry(3L);
+    }
+
+    private PaymentOutbox entry(Long id, Long orderId) {
+        return PaymentOutbox.builder()
+                .id(id)
+                .orderId(orderId)
+                .amount(1000L)
+                .status(OutboxStatus.DISPATCHING)
+                .attempts(1)
+                .availableAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+    }
+}
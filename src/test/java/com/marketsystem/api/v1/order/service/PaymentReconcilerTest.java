@@ -0,0 +1,183 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.marketsystem.api.v1.cart.service.CartService;
+import com.marketsystem.api.v1.customer.entity.Customer;
+import com.marketsystem.api.v1.inventory.service.InventoryJournal;
+import com.marketsystem.api.v1.inventory.service.StockReservationService;
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusDto;
+import com.marketsystem.api.v1.order.entity.OrderItem;
+import com.marketsystem.api.v1.order.entity.Orders;
+import com.marketsystem.api.v1.order.entity.Payment;
+import com.marketsystem.api.v1.order.entity.PaymentOutbox;
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.enums.OutboxStatus;
+import com.marketsystem.api.v1.order.enums.PaymentStatus;
+import com.marketsystem.api.v1.order.repository.IdempotencyRecordRepository;
+import com.marketsystem.api.v1.order.repository.OrdersRepository;
+import com.marketsystem.api.v1.order.repository.PaymentOutboxRepository;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import com.marketsystem.api.v1.product.service.ProductStockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconcilerTest {
+
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private OrderPersistenceService orderPersistenceService;
+
+    @Mock
+    private OrderUpdateService orderUpdateService;
+
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
+
+    @InjectMocks
+    private PaymentReconciler paymentReconciler;
+
+    @Captor
+    private ArgumentCaptor<PaymentResponseDto> responseCaptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void reconcile() {
+        // Given: 승인된 주문 100, 받지 못한 주문 101(재시도 가능), 102(시도 횟수 초과), 처리 중인 주문 103
+        when(paymentOutboxService.claimExpired(eq(100), any(Duration.class))).thenReturn(List.of(
+                entry(1L, 100L, 1), entry(2L, 101L, 1), entry(3L, 102L, 3), entry(4L, 103L, 1)));
+        when(paymentService.queryPaymentStatuses(List.of(100L, 101L, 102L, 103L))).thenReturn(Map.of(
+                100L, new PaymentStatusDto("100", "SUCCESS", "TX100", null),
+                103L, new PaymentStatusDto("103", "PROCESSING", null, null)));
+
+        // When
+        paymentReconciler.reconcile();
+
+        // Then: 게이트웨이는 한 번만 조회
+        verify(paymentService, times(1)).queryPaymentStatuses(anyList());
+
+        verify(orderPersistenceService, times(1)).finalizeOrder(eq(100L), responseCaptor.capture());
+        assertEquals("SUCCESS", responseCaptor.getValue().getStatus());
+        assertEquals("TX100", responseCaptor.getValue().getTransactionId());
+        verify(orderStatusNotifier, times(1)).notifyChanged(100L);
+
+        verify(paymentOutboxService, times(1)).retry(2L);
+        verify(orderStatusNotifier, never()).notifyChanged(101L);
+
+        verify(orderUpdateService, times(1)).markOrderAsError(102L);
+        verify(orderStatusNotifier, times(1)).notifyChanged(102L);
+
+        verify(orderPersistenceService, never()).finalizeOrder(eq(103L), any());
+        verify(paymentOutboxService, never()).retry(4L);
+        verify(orderUpdateService, never()).markOrderAsError(103L);
+    }
+
+    @Test
+    void reconcile_nothingExpired() {
+        // Given
+        when(paymentOutboxService.claimExpired(anyInt(), any(Duration.class))).thenReturn(List.of());
+
+        // When
+        paymentReconciler.reconcile();
+
+        // Then
+        verify(paymentService, never()).queryPaymentStatuses(anyList());
+    }
+
+    @Test
+    void reconcile_continuesAfterFailure() {
+        // Given: 첫 주문 반영이 실패해도 나머지는 정리
+        when(paymentOutboxService.claimExpired(eq(100), any(Duration.class)))
+                .thenReturn(List.of(entry(1L, 100L, 1), entry(2L, 101L, 1)));
+        when(paymentService.queryPaymentStatuses(List.of(100L, 101L))).thenReturn(Map.of(
+                100L, new PaymentStatusDto("100", "SUCCESS", "TX100", null),
+                101L, new PaymentStatusDto("101", "FAILED", null, "Payment declined")));
+        doThrow(new RuntimeException("deadlock")).when(orderPersistenceService).finalizeOrder(eq(100L), any());
+
+        // When
+        paymentReconciler.reconcile();
+
+        // Then
+        verify(orderPersistenceService, times(1)).finalizeOrder(eq(101L), any());
+        verify(orderStatusNotifier, times(1)).notifyChanged(101L);
+    }
+
+    @Test
+    void reconcile_paidButOutOfStock_EndsAsRefundRequired() {
+        // Given: 결제 도중 점유가 만료되고 재고가 다른 주문에 팔려, 승인된 결제를 주문에 반영할 수 없는 주문 100
+        OrdersRepository ordersRepository = mock(OrdersRepository.class);
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        PaymentOutboxRepository paymentOutboxRepository = mock(PaymentOutboxRepository.class);
+        StockReservationService stockReservationService = mock(StockReservationService.class);
+        ProductStockService productStockService = mock(ProductStockService.class);
+        OrderUpdateService updateService = new OrderUpdateService(ordersRepository, productStockService,
+                stockReservationService, mock(CartService.class), mock(InventoryJournal.class),
+                paymentRepository, paymentOutboxRepository);
+        OrderPersistenceService persistenceService = new OrderPersistenceService(ordersRepository, paymentRepository,
+                paymentOutboxRepository, updateService, stockReservationService, mock(IdempotencyRecordRepository.class));
+        PaymentReconciler reconciler = new PaymentReconciler(paymentOutboxService, paymentService,
+                persistenceService, updateService, orderStatusNotifier);
+
+        Orders order = Orders.builder()
+                .id(100L)
+                .status(OrderStatus.CREATED)
+                .customer(Customer.builder().id(1L).name("tester").build())
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().productId(3001L).quantity(2).build())))
+                .build();
+        Payment pending = Payment.builder().id(1L).order(order).status(PaymentStatus.PENDING).build();
+        when(paymentOutboxService.claimExpired(eq(100), any(Duration.class)))
+                .thenReturn(List.of(entry(1L, 100L, 1)))
+                .thenReturn(List.of());
+        when(paymentService.queryPaymentStatuses(List.of(100L))).thenReturn(Map.of(
+                100L, new PaymentStatusDto("100", "SUCCESS", "TX100", null)));
+        when(ordersRepository.findById(100L)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderId(100L)).thenReturn(Optional.of(pending));
+        when(ordersRepository.transitionStatus(100L, OrderStatus.CREATED, OrderStatus.PAID)).thenReturn(1);
+        when(stockReservationService.confirm(order)).thenReturn(Map.of(3001L, 2));
+        when(productStockService.tryDecreaseStock(Map.of(3001L, 2))).thenReturn(List.of(3001L));
+
+        // When
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        // Then
+        // 예외로 롤백되어 다음 대사에서 다시 반영되지 않도록, 주문은 ERROR, 결제는 환불 대상으로 정리하고 아웃박스 행을 지움
+        assertEquals(OrderStatus.ERROR, order.getStatus());
+        assertEquals(PaymentStatus.REFUND_REQUIRED, pending.getStatus());
+        assertEquals("TX100", pending.getTransactionId());
+        verify(paymentOutboxRepository, times(1)).deleteByOrderId(100L);
+        verify(stockReservationService, times(1)).releaseConfirmed(order);
+        verify(orderStatusNotifier, times(1)).notifyChanged(100L);
+        verify(paymentService, times(1)).queryPaymentStatuses(anyList());
+    }
+
+    private PaymentOutbox entry(Long id, Long orderId, int attempts) {
+        return PaymentOutbox.builder()
+                .id(id)
+                .orderId(orderId)
+                .amount(1000L)
+                .status(OutboxStatus.DISPATCHING)
+                .attempts(attempts)
+                .availableAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+    }
+}
@@ -2,10 +2,15 @@ package com.marketsystem.api.v1.order.service;
 
 import com.marketsystem.api.v1.common.exception.BusinessException;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.order.client.PaymentCircuitBreaker;
+import com.marketsystem.api.v1.order.client.PaymentGatewayBulkheadFullException;
 import com.marketsystem.api.v1.order.dto.OrderResponseDto;
 import com.marketsystem.api.v1.order.dto.PaymentDetailsDto;
 import com.marketsystem.api.v1.order.dto.PaymentRequestDto;
 import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusRequestDto;
+import com.marketsystem.api.v1.order.dto.PaymentStatusResponseDto;
 import com.marketsystem.api.v1.order.entity.Orders;
 import com.marketsystem.api.v1.order.entity.Payment;
 import com.marketsystem.api.v1.order.enums.PaymentStatus;
@@ -17,9 +22,14 @@ import org.mockito.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +46,9 @@ class PaymentServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private PaymentCircuitBreaker paymentCircuitBreaker;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -47,6 +60,9 @@ class PaymentServiceTest {
     @BeforeEach
     void setUp(){
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(paymentService, "paymentUrl", paymentUrl);
+        ReflectionTestUtils.setField(paymentService, "paymentStatusUrl", paymentUrl + "/status");
+        when(paymentCircuitBreaker.tryAcquirePermission()).thenReturn(true);
     }
 
     /**
@@ -108,6 +124,89 @@ class PaymentServiceTest {
         PaymentRequestDto capturedRequest = paymentRequestCaptor.getValue();
         assertEquals(order.getId().toString(), capturedRequest.getOrderId());
         assertEquals(order.getTotalAmount(), capturedRequest.getNumber());
+        verify(paymentCircuitBreaker, times(1)).onSuccess(anyLong());
+    }
+
+    /**
+     * 결제 게이트웨이가 5xx 로 응답하면 서킷 브레이커에 실패로 집계하고 예외를 그대로 던지는 경우를 테스트합니다.
+     */
+    @Test
+    void requestPayment_gatewayServerError() {
+        // Given
+        Orders order = Orders.builder()
+                .id(3L)
+                .totalAmount(5000L)
+                .build();
+
+        when(restTemplate.postForEntity(eq(paymentUrl), any(PaymentRequestDto.class), eq(PaymentResponseDto.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        // When & Then
+        assertThrows(HttpServerErrorException.class, () -> paymentService.requestPayment(order));
+
+        verify(paymentCircuitBreaker, times(1)).onError(anyLong());
+        verify(paymentCircuitBreaker, never()).onSuccess(anyLong());
+    }
+
+    /**
+     * 서킷 브레이커가 열려 있으면 게이트웨이를 호출하지 않고 바로 실패하는 경우를 테스트합니다.
+     */
+    @Test
+    void requestPayment_circuitOpen() {
+        // Given
+        Orders order = Orders.builder()
+                .id(4L)
+                .totalAmount(5000L)
+                .build();
+
+        when(paymentCircuitBreaker.tryAcquirePermission()).thenReturn(false);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> paymentService.requestPayment(order));
+
+        assertEquals(ErrorCode.PAYMENT_UNAVAILABLE, exception.getErrorCode());
+        verify(restTemplate, never()).postForEntity(anyString(), any(), any());
+    }
+
+    /**
+     * 동시 요청 한도가 가득 차 요청을 보내지 못하면 허가를 반납하고 바로 실패하는 경우를 테스트합니다.
+     */
+    @Test
+    void requestPayment_bulkheadFull() {
+        // Given
+        Orders order = Orders.builder()
+                .id(5L)
+                .totalAmount(5000L)
+                .build();
+
+        when(restTemplate.postForEntity(eq(paymentUrl), any(PaymentRequestDto.class), eq(PaymentResponseDto.class)))
+                .thenThrow(new ResourceAccessException("limit reached", new PaymentGatewayBulkheadFullException("limit reached")));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> paymentService.requestPayment(order));
+
+        assertEquals(ErrorCode.PAYMENT_UNAVAILABLE, exception.getErrorCode());
+        verify(paymentCircuitBreaker, times(1)).releasePermission();
+        verify(paymentCircuitBreaker, never()).onError(anyLong());
+    }
+
+    @Test
+    void queryPaymentStatuses() {
+        // Given: 게이트웨이는 주문 1 만 알고 있음
+        PaymentStatusResponseDto response = new PaymentStatusResponseDto(
+                List.of(new PaymentStatusDto("1", "SUCCESS", "TX12345", null)));
+        when(restTemplate.postForObject(eq(paymentUrl + "/status"), any(PaymentStatusRequestDto.class), eq(PaymentStatusResponseDto.class)))
+                .thenReturn(response);
+
+        // When
+        Map<Long, PaymentStatusDto> statuses = paymentService.queryPaymentStatuses(List.of(1L, 2L));
+
+        // Then
+        assertEquals(1, statuses.size());
+        assertEquals("TX12345", statuses.get(1L).getTransactionId());
+        ArgumentCaptor<PaymentStatusRequestDto> request = ArgumentCaptor.forClass(PaymentStatusRequestDto.class);
+        verify(restTemplate).postForObject(eq(paymentUrl + "/status"), request.capture(), eq(PaymentStatusResponseDto.class));
+        assertEquals(List.of("1", "2"), request.getValue().getOrderIds());
     }
 
     /**
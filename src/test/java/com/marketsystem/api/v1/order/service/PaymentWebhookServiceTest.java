@@ -0,0 +1,129 @@
+package com.marketsystem.api.v1.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.order.client.PaymentWebhookSignature;
+import com.marketsystem.api.v1.order.dto.PaymentResponseDto;
+import com.marketsystem.api.v1.order.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentWebhookServiceTest {
+
+    private static final String SECRET = "webhook-secret";
+
+    @Mock
+    private OrderPersistenceService orderPersistenceService;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private PaymentWebhookService paymentWebhookService;
+
+    @Captor
+    private ArgumentCaptor<PaymentResponseDto> responseCaptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(paymentWebhookService, "secret", SECRET);
+    }
+
+    @Test
+    void handle_byOrderId() {
+        // Given
+        byte[] body = "{\"orderId\":\"100\",\"transactionId\":\"TX1\",\"status\":\"success\",\"message\":\"ok\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        Long orderId = paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, body));
+
+        // Then
+        assertEquals(100L, orderId);
+        verify(orderPersistenceService, times(1)).finalizeOrder(eq(100L), responseCaptor.capture());
+        assertEquals("SUCCESS", responseCaptor.getValue().getStatus());
+        assertEquals("TX1", responseCaptor.getValue().getTransactionId());
+        verify(orderStatusNotifier, times(1)).notifyChanged(100L);
+        verify(paymentRepository, never()).findOrderIdByTransactionId(any());
+    }
+
+    @Test
+    void handle_byTransactionId() {
+        // Given: 주문 ID 없이 PENDING 응답으로 기록한 거래 ID만 옴
+        byte[] body = "{\"transactionId\":\"TX2\",\"status\":\"FAILED\",\"message\":\"declined\"}".getBytes(StandardCharsets.UTF_8);
+        when(paymentRepository.findOrderIdByTransactionId("TX2")).thenReturn(Optional.of(101L));
+
+        // When
+        paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, body));
+
+        // Then
+        verify(orderPersistenceService, times(1)).finalizeOrder(eq(101L), responseCaptor.capture());
+        assertEquals("FAILED", responseCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void handle_unknownTransaction() {
+        // Given
+        byte[] body = "{\"transactionId\":\"TX3\",\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+        when(paymentRepository.findOrderIdByTransactionId("TX3")).thenReturn(Optional.empty());
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, body)));
+        assertEquals(ErrorCode.PAYMENT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void handle_invalidSignature() {
+        // Given: 서명한 뒤 본문이 바뀜
+        byte[] signed = "{\"orderId\":\"100\",\"status\":\"FAILED\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] body = "{\"orderId\":\"100\",\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, signed)));
+        assertEquals(ErrorCode.WEBHOOK_SIGNATURE_INVALID, exception.getErrorCode());
+        assertThrows(BusinessException.class, () -> paymentWebhookService.handle(body, null));
+        verify(orderPersistenceService, never()).finalizeOrder(anyLong(), any());
+    }
+
+    @Test
+    void handle_secretNotConfigured() {
+        // Given: 키가 없으면 모든 웹훅을 거절
+        ReflectionTestUtils.setField(paymentWebhookService, "secret", "");
+        byte[] body = "{\"orderId\":\"100\",\"status\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, body)));
+        assertEquals(ErrorCode.WEBHOOK_SIGNATURE_INVALID, exception.getErrorCode());
+    }
+
+    @Test
+    void handle_unsupportedStatus() {
+        // Given
+        byte[] body = "{\"orderId\":\"100\",\"status\":\"PENDING\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> paymentWebhookService.handle(body, PaymentWebhookSignature.sign(SECRET, body)));
+        assertEquals(ErrorCode.BAD_PARAMETER, exception.getErrorCode());
+        verify(orderPersistenceService, never()).finalizeOrder(anyLong(), any());
+    }
+}
@@ -0,0 +1,125 @@
+package com.marketsystem.api.v1.product.controller;
+
+import com.marketsystem.api.v1.common.enums.BusinessCode;
+import com.marketsystem.api.v1.common.exception.GlobalExceptionHandler;
+import com.marketsystem.api.v1.product.dto.ProductResponseDto;
+import com.marketsystem.api.v1.product.dto.ProductSuggestionDto;
+import com.marketsystem.api.v1.product.service.ProductAutocomplete;
+import com.marketsystem.api.v1.product.service.ProductCache;
+import com.marketsystem.api.v1.product.service.ProductImportService;
+import com.marketsystem.api.v1.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProductControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductAutocomplete productAutocomplete;
+
+    @InjectMocks
+    private ProductController productController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/{productId} - ETag and If-None-Match")
+    void getProduct_IfNoneMatch_NotModified() throws Exception {
+        // Given
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 12, 5, 10, 0);
+        when(productService.getProduct(1L)).thenReturn(
+                new ProductResponseDto(1L, "Pen", null, 1000L, 5, updatedAt, updatedAt));
+        String etag = "\"p1-2024-12-05T10:00-5\"";
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/product/{productId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.data.name").value("Pen"));
+
+        mockMvc.perform(get("/api/v1/product/{productId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/all - Catalog version as ETag")
+    void getAllProductList_SameCatalogVersion_NotModifiedWithoutBuildingList() throws Exception {
+        // Given
+        when(productService.getCatalogVersion()).thenReturn("ab12.3");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/product/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"cab12.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"cab12.3\""));
+
+        verify(productService, never()).getAllProducts();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/all - No ETag before catalog is loaded")
+    void getAllProductList_CatalogNotReady_NoETag() throws Exception {
+        // Given
+        when(productService.getCatalogVersion()).thenReturn(null);
+        when(productService.getAllProducts()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/product/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"cab12.3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.code").value(BusinessCode.SUCCESS.getStatus()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/autocomplete - Suggestions from memory")
+    void autocompleteProducts_Success() throws Exception {
+        // Given
+        when(productAutocomplete.suggest("pe", 5)).thenReturn(List.of(new ProductSuggestionDto(4L, "Blue Pen")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/product/autocomplete").param("prefix", "pe").param("size", "5"))
+                .andExpect(status().isOk())
+                // 2^53 을 넘는 ID가 JavaScript 에서 깨지지 않도록 문자열로 응답
+                .andExpect(jsonPath("$.data[0].productId").isString())
+                .andExpect(jsonPath("$.data[0].productId").value("4"))
+                .andExpect(jsonPath("$.data[0].name").value("Blue Pen"));
+
+        mockMvc.perform(get("/api/v1/product/autocomplete").param("prefix", "pe").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productService);
+    }
+}
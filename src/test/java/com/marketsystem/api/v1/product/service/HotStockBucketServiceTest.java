@@ -0,0 +1,94 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.BucketStock;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.StockVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HotStockBucketServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private HotStockBucketService hotStockBucketService;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void decreaseHot_PicksBucketWithEnoughStock() {
+        // Given
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 3, 2L, 1));
+        when(productRepository.findBucketsByProductIds(quantities.keySet())).thenReturn(Map.of(1L, List.of(
+                new BucketStock(1L, 0, 1), new BucketStock(1L, 1, 50))));
+        when(productRepository.addToBucket(1L, 1, -3)).thenReturn(true);
+
+        // When
+        List<Long> failedIds = hotStockBucketService.decreaseHot(quantities);
+
+        // Then
+        // 핫 상품 줄은 처리 후 제거되고 일반 상품 줄만 남음
+        assertTrue(failedIds.isEmpty());
+        assertEquals(Map.of(2L, 1), quantities);
+        verify(productRepository, never()).findBuckets(anyLong(), eq(true));
+    }
+
+    @Test
+    void decreaseHot_RebalancesWhenNoSingleBucketIsEnough() {
+        // Given
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 30));
+        List<BucketStock> buckets = List.of(new BucketStock(1L, 0, 20), new BucketStock(1L, 1, 20));
+        when(productRepository.findBucketsByProductIds(any())).thenReturn(Map.of(1L, buckets));
+        when(productRepository.findBuckets(1L, true)).thenReturn(buckets);
+
+        // When
+        List<Long> failedIds = hotStockBucketService.decreaseHot(quantities);
+
+        // Then
+        // 남은 10개는 버킷당 기준치(10)보다 적으므로 첫 번째 버킷으로 합침
+        assertTrue(failedIds.isEmpty());
+        verify(productRepository).updateBuckets(List.of(new BucketStock(1L, 0, 10), new BucketStock(1L, 1, 0)));
+    }
+
+    @Test
+    void decreaseHot_OutOfStock() {
+        // Given
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 50));
+        List<BucketStock> buckets = List.of(new BucketStock(1L, 0, 20), new BucketStock(1L, 1, 20));
+        when(productRepository.findBucketsByProductIds(any())).thenReturn(Map.of(1L, buckets));
+        when(productRepository.findBuckets(1L, true)).thenReturn(buckets);
+
+        // When
+        List<Long> failedIds = hotStockBucketService.decreaseHot(quantities);
+
+        // Then
+        assertEquals(List.of(1L), failedIds);
+        verify(productRepository, never()).updateBuckets(anyList());
+    }
+
+    @Test
+    void changeBuckets_SpreadsProductAndBucketStock() {
+        // Given
+        when(productRepository.findStockVersions(List.of(1L), true)).thenReturn(List.of(new StockVersion(1L, 9, 3L)));
+        when(productRepository.findBuckets(1L, true)).thenReturn(List.of(new BucketStock(1L, 0, 1)));
+
+        // When
+        hotStockBucketService.changeBuckets(1L, 4);
+
+        // Then
+        verify(productRepository).deleteBuckets(1L);
+        verify(productRepository).insertBuckets(List.of(new BucketStock(1L, 0, 3), new BucketStock(1L, 1, 3),
+                new BucketStock(1L, 2, 2), new BucketStock(1L, 3, 2)));
+        verify(productRepository).updateStock(1L, 0);
+    }
+}
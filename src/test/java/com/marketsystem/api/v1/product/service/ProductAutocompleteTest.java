@@ -0,0 +1,123 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.order.enums.OrderStatus;
+import com.marketsystem.api.v1.order.repository.OrderItemRepository;
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import com.marketsystem.api.v1.product.dto.ProductSuggestionDto;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductAutocompleteTest {
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor productAutocompleteExecutor;
+
+    @InjectMocks
+    private ProductAutocomplete productAutocomplete;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private CatalogProduct product(Long id, String name) {
+        return new CatalogProduct(id, name, null, 1000L, 10, null, null);
+    }
+
+    private List<String> names(List<ProductSuggestionDto> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDto::getName).toList();
+    }
+
+    @Test
+    void suggest_MatchesWordPrefixesRankedByUnitsSold() {
+        // Given
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productCatalog.findAll()).thenReturn(List.of(
+                product(1L, "Blue Pen"), product(2L, "블루투스 스피커"), product(3L, "Pencil  Case"),
+                product(4L, "blue pen"), product(5L, "Notebook")));
+        when(orderItemRepository.sumQuantityByProductForStatus(OrderStatus.PAID))
+                .thenReturn(List.<Object[]>of(new Object[]{3L, 5L}, new Object[]{4L, 7L}, new Object[]{1L, 2L}));
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(productAutocompleteExecutor).execute(any(Runnable.class));
+
+        // When
+        productAutocomplete.scheduleRebuild();
+
+        // Then
+        // 같은 이름은 하나로 합치고(2 + 7 = 9) 가장 많이 팔린 4번을 대표로 보여줌
+        List<ProductSuggestionDto> pen = productAutocomplete.suggest("PEN", 10);
+        assertEquals(List.of("blue pen", "Pencil  Case"), names(pen));
+        assertEquals(4L, pen.get(0).getProductId());
+        assertEquals(List.of("Pencil  Case"), names(productAutocomplete.suggest("pencil c", 10)));
+        assertEquals(List.of("블루투스 스피커"), names(productAutocomplete.suggest("스피", 10)));
+        assertEquals(List.of("blue pen"), names(productAutocomplete.suggest("pen", 1)));
+        assertTrue(productAutocomplete.suggest("x", 10).isEmpty());
+        assertTrue(productAutocomplete.suggest("  ", 10).isEmpty());
+        verify(productRepository, never()).findAllCatalogProducts();
+    }
+
+    @Test
+    void suggest_BeforeFirstBuild_ReturnsEmpty() {
+        // When & Then
+        assertFalse(productAutocomplete.isReady());
+        assertTrue(productAutocomplete.suggest("pen", 10).isEmpty());
+    }
+
+    @Test
+    void build_PrecomputedPrefixesMatchScan() {
+        // Given
+        Random random = new Random(7);
+        String[] words = {"red", "ruby", "rose", "blue", "black", "bag", "ball", "cup", "cap"};
+        List<CatalogProduct> products = new ArrayList<>();
+        Map<Long, Long> unitsSold = new HashMap<>();
+        for (long id = 1; id <= 3000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + id;
+            products.add(product(id, name));
+            unitsSold.put(id, (long) random.nextInt(1000));
+        }
+
+        // When
+        ProductAutocomplete.Index index = ProductAutocomplete.build(products, unitsSold, 5, 16);
+
+        // Then
+        assertFalse(index.precomputed().isEmpty());
+        for (String prefix : List.of("r", "ru", "b", "bl", "ba", "cup", "red r", "1")) {
+            List<String> expected = products.stream()
+                    .filter(p -> (" " + p.name()).contains(" " + prefix))
+                    .sorted(Comparator.comparingLong((CatalogProduct p) -> -unitsSold.get(p.id()))
+                            .thenComparingInt(p -> p.name().length())
+                            .thenComparing(CatalogProduct::name))
+                    .limit(5)
+                    .map(CatalogProduct::name)
+                    .toList();
+            assertEquals(expected, names(index.suggest(prefix, 5)), prefix);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.dto.ProductCacheStatsDto;
+import com.marketsystem.api.v1.product.dto.ProductResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCache productCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp(){
+        productCache = new ProductCache(100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ProductResponseDto load(Long id) {
+        loads.incrementAndGet();
+        return new ProductResponseDto(id, "Product " + loads.get(), null, 1000L, 10, null, null);
+    }
+
+    @Test
+    void get_MissThenHit() {
+        // When
+        productCache.get(1L, this::load);
+        ProductResponseDto result = productCache.get(1L, this::load);
+
+        // Then
+        assertEquals("Product 1", result.getName());
+        assertEquals(1, loads.get());
+        ProductCacheStatsDto stats = productCache.snapshot();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void get_LoaderReturnsNull_NotCached() {
+        // When
+        assertNull(productCache.get(1L, id -> null));
+        productCache.get(1L, this::load);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(1, productCache.snapshot().getLoadFailures());
+    }
+
+    @Test
+    void evictAll_InTransaction_EvictsAgainAfterCompletion() {
+        // Given
+        productCache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        productCache.evictAll(List.of(1L));
+        // 커밋 전에 다른 요청이 이전 값을 다시 적재
+        productCache.get(1L, this::load);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertEquals("Product 3", productCache.get(1L, this::load).getName());
+        assertEquals(2, productCache.snapshot().getInvalidations());
+    }
+}
@@ -0,0 +1,151 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @InjectMocks
+    private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAllCatalogProducts()).thenReturn(List.of(
+                product(1L, 10), product(2L, 0), product(3L, 5), product(4L, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CatalogProduct product(Long id, int stock) {
+        return new CatalogProduct(id, "Product " + id, null, 1000L, stock, null, null);
+    }
+
+    private List<Long> ids(List<CatalogProduct> products) {
+        return products.stream().map(CatalogProduct::id).toList();
+    }
+
+    @Test
+    void isReady_BeforeFirstRebuild_False() {
+        // When & Then
+        assertFalse(productCatalog.isReady());
+        productCatalog.rebuild();
+        assertTrue(productCatalog.isReady());
+    }
+
+    @Test
+    void findAvailable_PagesOnlyAvailableProducts() {
+        // Given
+        productCatalog.rebuild();
+
+        // When
+        Page<CatalogProduct> first = productCatalog.findAvailable(PageRequest.of(0, 2));
+        Page<CatalogProduct> last = productCatalog.findAvailable(PageRequest.of(1, 2));
+        Page<CatalogProduct> beyond = productCatalog.findAvailable(PageRequest.of(5, 2));
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(first.getContent()));
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(4L), ids(last.getContent()));
+        assertTrue(last.isLast());
+        assertTrue(beyond.getContent().isEmpty());
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(productCatalog.findAll()));
+    }
+
+    @Test
+    void refresh_MergesInsertedUpdatedAndDeletedProducts() {
+        // Given
+        productCatalog.rebuild();
+        List<CatalogProduct> before = productCatalog.findAll();
+        when(productRepository.findCatalogProductsByIdIn(List.of(0L, 2L, 3L, 5L)))
+                .thenReturn(List.of(product(0L, 1), product(2L, 7), product(5L, 0)));
+
+        // When
+        productCatalog.markChanged(List.of(5L, 3L, 2L, 0L));
+        productCatalog.refresh();
+
+        // Then
+        List<CatalogProduct> after = productCatalog.findAll();
+        assertEquals(List.of(0L, 1L, 2L, 4L, 5L), ids(after));
+        assertEquals(7, after.get(2).stock());
+        assertEquals(List.of(0L, 1L, 2L, 4L), ids(productCatalog.findAvailable(PageRequest.of(0, 10)).getContent()));
+        // 이전 스냅샷을 읽던 쪽은 바뀌지 않은 목록을 계속 읽음
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(before));
+        verify(productSearchIndex).update(eq(Set.of(0L, 2L, 3L, 5L)),
+                argThat(loaded -> loaded.keySet().equals(Set.of(0L, 2L, 5L))));
+    }
+
+    @Test
+    void markChanged_InTransaction_AppliedAfterCommit() {
+        // Given
+        productCatalog.rebuild();
+        when(productRepository.findCatalogProductsByIdIn(List.of(2L))).thenReturn(List.of(product(2L, 3)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        productCatalog.markChanged(2L);
+        productCatalog.refresh();
+
+        // Then
+        verify(productRepository, never()).findCatalogProductsByIdIn(anyList());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        productCatalog.refresh();
+        assertEquals(3, productCatalog.findAll().get(1).stock());
+    }
+
+    @Test
+    void versionStamp_ChangesOnlyWhenSnapshotIsReplaced() {
+        // Given
+        productCatalog.rebuild();
+        String initial = productCatalog.versionStamp();
+
+        // When
+        productCatalog.refresh();
+        String unchanged = productCatalog.versionStamp();
+        productCatalog.markChanged(2L);
+        when(productRepository.findCatalogProductsByIdIn(List.of(2L))).thenReturn(List.of(product(2L, 3)));
+        productCatalog.refresh();
+
+        // Then
+        assertEquals(initial, unchanged);
+        assertNotEquals(initial, productCatalog.versionStamp());
+    }
+
+    @Test
+    void findById_BinarySearchesSnapshot() {
+        // Given
+        productCatalog.rebuild();
+
+        // When & Then
+        assertEquals(3L, productCatalog.findById(3L).orElseThrow().id());
+        assertTrue(productCatalog.findById(5L).isEmpty());
+        verify(productSearchIndex).rebuild(any());
+    }
+}
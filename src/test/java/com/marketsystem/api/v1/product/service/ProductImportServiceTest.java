@@ -0,0 +1,213 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.dto.ProductImportResultDto;
+import com.marketsystem.api.v1.product.dto.ProductRequestDto;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.mapper.ProductMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ProductImportServiceTest {
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    private static final MediaType CSV = new MediaType("text", "csv");
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private StatelessSession session;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productImportService = new ProductImportService(entityManagerFactory, productMapper, productStockService,
+                productCatalog, objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 2);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.openStatelessSession()).thenReturn(session);
+        when(session.beginTransaction()).thenReturn(transaction);
+        when(transaction.isActive()).thenReturn(true);
+        when(productMapper.toEntity(any(ProductRequestDto.Save.class))).thenAnswer(invocation -> {
+            ProductRequestDto.Save save = invocation.getArgument(0);
+            return Product.builder()
+                    .name(save.getName())
+                    .description(save.getDescription())
+                    .price(save.getPrice())
+                    .stock(save.getStock())
+                    .build();
+        });
+    }
+
+    private ProductImportResultDto importProducts(MediaType contentType, String body) {
+        return productImportService.importProducts(contentType,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Product> insertedProducts(int times) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(session, times(times)).insert(captor.capture());
+        return captor.getAllValues().stream().map(Product.class::cast).toList();
+    }
+
+    @Test
+    void importProducts_ndjson_commitsEveryChunkAndReportsRowErrors() {
+        // Given
+        String body = """
+                {"name":"A","price":1000,"stock":10}
+                {"name":"B","description":"desc","price":2000,"stock":0}
+                not json
+
+                {"name":"C","stock":5}
+                {"name":"D","price":"abc","stock":1}
+                {"name":"E","price":3000,"stock":3}""";
+
+        // When
+        ProductImportResultDto result = importProducts(NDJSON, body);
+
+        // Then
+        assertEquals(6, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(List.of(3L, 5L, 6L), result.getErrors().stream().map(ProductImportResultDto.RowError::getLine).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Invalid JSON"));
+        assertEquals("price: must not be null", result.getErrors().get(1).getMessage());
+        assertEquals("price: invalid value", result.getErrors().get(2).getMessage());
+
+        List<Product> inserted = insertedProducts(3);
+        assertEquals(List.of("A", "B", "E"), inserted.stream().map(Product::getName).toList());
+        assertNotNull(inserted.get(0).getCreatedAt());
+        verify(sessionFactory, times(2)).openStatelessSession();
+        verify(transaction, times(2)).commit();
+        verify(productStockService, times(2)).recordInitialStock(anyList());
+        verify(productCatalog, times(2)).markChanged(anyList());
+    }
+
+    @Test
+    void importProducts_csv_parsesHeaderAndQuotedFields() {
+        // Given
+        String body = "\uFEFFstock,Price,name,description\r\n"
+                + "10,1000,\"Pen, blue\",\"say \"\"hi\"\"\nsecond line\"\r\n"
+                + "5,x,Broken,\n"
+                + "1,500,Eraser,\n";
+
+        // When
+        ProductImportResultDto result = importProducts(CSV, body);
+
+        // Then
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("price: invalid value", result.getErrors().get(0).getMessage());
+
+        List<Product> inserted = insertedProducts(2);
+        assertEquals("Pen, blue", inserted.get(0).getName());
+        assertEquals("say \"hi\"\nsecond line", inserted.get(0).getDescription());
+        assertEquals(1000, inserted.get(0).getPrice());
+        assertEquals(10, inserted.get(0).getStock());
+        assertEquals("Eraser", inserted.get(1).getName());
+        assertNull(inserted.get(1).getDescription());
+    }
+
+    @Test
+    void importProducts_chunkFails_retriesRowByRow() {
+        // Given
+        when(session.insert(argThat(p -> p instanceof Product product && product.getName().equals("Bad"))))
+                .thenThrow(new RuntimeException("Data too long for column 'name'"));
+        String body = """
+                {"name":"Good","price":1000,"stock":1}
+                {"name":"Bad","price":1000,"stock":1}
+                """;
+
+        // When
+        ProductImportResultDto result = importProducts(NDJSON, body);
+
+        // Then
+        assertEquals(1, result.getImportedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("Data too long for column 'name'", result.getErrors().get(0).getMessage());
+        verify(transaction, times(2)).rollback();
+        verify(transaction, times(1)).commit();
+        verify(productStockService).recordInitialStock(argThat(products ->
+                products.size() == 1 && products.get(0).getName().equals("Good")));
+    }
+
+    @Test
+    void importProducts_longRowsAndManyErrors_keepsOnlyFirstErrors() {
+        // Given
+        ReflectionTestUtils.setField(productImportService, "maxRowLength", 50);
+        ReflectionTestUtils.setField(productImportService, "maxReportedErrors", 2);
+        String body = "{\"name\":\"" + "x".repeat(100) + "\",\"price\":1,\"stock\":1}\n"
+                + "{\"name\":\"\",\"price\":1,\"stock\":1}\n"
+                + "{\"price\":1}\n"
+                + "{\"name\":\"ok\",\"price\":1,\"stock\":1}\n";
+
+        // When
+        ProductImportResultDto result = importProducts(NDJSON, body);
+
+        // Then
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+        assertEquals("Row exceeds 50 characters", result.getErrors().get(0).getMessage());
+        assertEquals("name: must not be blank", result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void importProducts_csvWithoutRequiredColumns_throwsException() {
+        // When
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> importProducts(CSV, "name,description\nPen,blue\n"));
+
+        // Then
+        assertEquals(ErrorCode.BAD_PARAMETER, exception.getErrorCode());
+        verify(sessionFactory, never()).openStatelessSession();
+    }
+}
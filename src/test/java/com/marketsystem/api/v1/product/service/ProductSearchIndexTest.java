@@ -0,0 +1,139 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexTest {
+
+    @Mock
+    private ThreadPoolTaskExecutor productSearchIndexExecutor;
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        // 재색인을 호출한 스레드에서 바로 실행
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(productSearchIndexExecutor).execute(any(Runnable.class));
+        productSearchIndex.rebuild(new CatalogProduct[]{
+                product(1L, "블루투스 스피커", "휴대용 무선 스피커"),
+                product(2L, "USB-C Cable", "Fast charging cable for phones"),
+                product(3L, "스피커 스탠드", null),
+                product(4L, "Wireless Earbuds", "블루투스 5.3 이어폰"),
+                product(5L, "Notebook", "A5 paper notebook")
+        });
+    }
+
+    private CatalogProduct product(Long id, String name, String description) {
+        return new CatalogProduct(id, name, description, 1000L, 10, null, null);
+    }
+
+    private List<Long> search(String query, int limit) {
+        return productSearchIndex.search(query, limit).stream().map(ProductSearchIndex.Match::productId).toList();
+    }
+
+    @Test
+    void tokenize_SplitsHangulIntoBigramsAndLowercasesWords() {
+        // When & Then
+        assertEquals(List.of("블루", "루투", "투스", "usb", "c", "5", "3", "폰"),
+                ProductTokenizer.tokenize("블루투스 USB-C 5.3 폰"));
+        assertEquals(List.of("아이", "이폰", "15"), ProductTokenizer.tokenize("아이폰15"));
+        assertTrue(ProductTokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_RanksByBm25WithNameWeight() {
+        // When & Then
+        // 둘 다 상품명에 나오면 더 짧은 3번이 앞 (문서 길이 정규화)
+        assertEquals(List.of(3L, 1L), search("스피커", 10));
+        // 상품명에 나온 1번이 설명에만 나온 4번보다 앞
+        assertEquals(List.of(1L, 4L), search("블루투스", 10));
+        assertEquals(List.of(2L), search("CABLE", 10));
+        assertEquals(List.of(3L), search("스피커", 1));
+        assertTrue(search("없는상품", 10).isEmpty());
+        assertTrue(search("!!", 10).isEmpty());
+    }
+
+    @Test
+    void update_ReindexesChangedAndRemovesDeletedProducts() {
+        // When
+        productSearchIndex.update(List.of(2L, 3L, 6L), Map.of(
+                2L, product(2L, "USB-C Cable", "Fast charging cable for phones"),
+                6L, product(6L, "Speaker Cable", "스피커 케이블")));
+        productSearchIndex.update(List.of(5L), Map.of(5L, product(5L, "Cable Organizer", null)));
+
+        // Then
+        assertEquals(Set.of(1L, 6L), Set.copyOf(search("스피커", 10)));
+        assertEquals(Set.of(2L, 5L, 6L), Set.copyOf(search("cable", 10)));
+        assertTrue(search("notebook", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_UpdatesDuringBuildAreReplayedOnNewSegment() {
+        // Given: 재색인 작업을 바로 실행하지 않고 잡아 둠
+        reset(productSearchIndexExecutor);
+        productSearchIndex.rebuild(new CatalogProduct[]{
+                product(1L, "블루투스 스피커", null),
+                product(2L, "USB-C Cable", null)
+        });
+        ArgumentCaptor<Runnable> build = ArgumentCaptor.forClass(Runnable.class);
+        verify(productSearchIndexExecutor).execute(build.capture());
+
+        // When: 만드는 동안 상품이 바뀌고, 그 사이 재색인 요청은 건너뜀
+        productSearchIndex.update(List.of(2L, 7L), Map.of(7L, product(7L, "Speaker Cable", null)));
+        productSearchIndex.rebuild(new CatalogProduct[0]);
+        List<Long> beforeSwap = search("notebook", 10);
+        build.getValue().run();
+
+        // Then
+        verify(productSearchIndexExecutor, times(1)).execute(any(Runnable.class));
+        assertEquals(List.of(5L), beforeSwap);
+        assertEquals(List.of(7L), search("cable", 10));
+        assertEquals(List.of(1L), search("스피커", 10));
+        assertTrue(search("notebook", 10).isEmpty());
+    }
+
+    @Test
+    void search_TopKMatchesFullSort() {
+        // Given
+        Random random = new Random(42);
+        String[] words = {"red", "blue", "green", "pen", "cup", "bag", "shoe", "hat"};
+        CatalogProduct[] products = new CatalogProduct[2000];
+        for (int i = 0; i < products.length; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int w = 0; w < 1 + random.nextInt(4); w++) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            products[i] = product((long) i + 1, name.toString(), null);
+        }
+        productSearchIndex.rebuild(products);
+
+        // When
+        List<ProductSearchIndex.Match> all = productSearchIndex.search("red pen", products.length);
+        List<ProductSearchIndex.Match> top = productSearchIndex.search("red pen", 10);
+
+        // Then
+        assertEquals(all.subList(0, 10), top);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).score() >= all.get(i).score());
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package com.marketsystem.api.v1.product.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketsystem.api.v1.common.dto.CursorPageResponse;
+import com.marketsystem.api.v1.common.dto.PaginatedResponse;
 import com.marketsystem.api.v1.common.enums.ErrorCode;
 import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.dto.CatalogProduct;
 import com.marketsystem.api.v1.product.dto.ProductRequestDto;
 import com.marketsystem.api.v1.product.dto.ProductResponseDto;
 import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.enums.ProductExportFormat;
+import com.marketsystem.api.v1.product.enums.ProductSort;
 import com.marketsystem.api.v1.product.mapper.ProductMapper;
 import com.marketsystem.api.v1.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +43,24 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, Duration.ofMinutes(1));
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -39,7 +74,7 @@ class ProductServiceTest {
     }
 
     private ProductRequestDto.Update createProductUpdateDto(Long id, String name, String description, Long price, Integer stock) {
-        return new ProductRequestDto.Update(id, name, description, price, stock);
+        return new ProductRequestDto.Update(id, name, description, price, stock, null);
     }
 
     private Product createProductEntity(String name, String description, Long price, Integer stock) {
@@ -140,6 +175,69 @@ class ProductServiceTest {
         verify(productMapper, never()).toDto(any());
     }
 
+    @Test
+    void getProduct_SecondCall_ServedFromCache(){
+        // Given
+        Long productId = 1L;
+        Product product = createProductEntity("Product A", "Description A", 1000L, 10);
+        ProductResponseDto productResponseDto = createProductResponseDto(productId, "Product A", "Description A", 1000L, 10, LocalDateTime.now(), LocalDateTime.now());
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productMapper.toDto(product)).thenReturn(productResponseDto);
+
+        // When
+        productService.getProduct(productId);
+        ProductResponseDto result = productService.getProduct(productId);
+
+        // Then
+        assertEquals(productResponseDto, result);
+        verify(productRepository, times(1)).findById(productId);
+        assertEquals(1, productCache.snapshot().getHits());
+        assertEquals(1, productCache.snapshot().getMisses());
+    }
+
+    @Test
+    void getProduct_AfterUpdate_ReloadsFromDatabase(){
+        // Given
+        Long productId = 1L;
+        Product product = createProductEntity("Product A", "Description A", 1000L, 10);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productMapper.toDto(product))
+                .thenReturn(createProductResponseDto(productId, "Product A", "Description A", 1000L, 10, null, null))
+                .thenReturn(createProductResponseDto(productId, "Product A", "Description A", 1500L, 10, null, null));
+        productService.getProduct(productId);
+
+        // When
+        productService.updateProduct(createProductUpdateDto(productId, null, null, 1500L, null));
+        ProductResponseDto result = productService.getProduct(productId);
+
+        // Then
+        assertEquals(1500L, result.getPrice());
+        verify(productCache, times(1)).evict(productId);
+    }
+
+    @Test
+    void getProduct_LedgerEnabled_ReturnsLedgerStockWithoutChangingCache(){
+        // Given: 상품 테이블 재고는 10 이지만 점유가 있어 원장의 구매 가능 재고는 7
+        Long productId = 1L;
+        Product product = createProductEntity("Product A", "Description A", 1000L, 10);
+        ProductResponseDto cached = createProductResponseDto(productId, "Product A", "Description A", 1000L, 10, null, null);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productMapper.toDto(product)).thenReturn(cached);
+        when(productStockService.ledgerAvailableStocks(List.of(productId)))
+                .thenReturn(Map.of(productId, 7))
+                .thenReturn(Map.of(productId, 5));
+
+        // When
+        ProductResponseDto first = productService.getProduct(productId);
+        ProductResponseDto second = productService.getProduct(productId);
+
+        // Then
+        assertEquals(7, first.getStock());
+        assertEquals(5, second.getStock());
+        assertEquals(10, cached.getStock());
+        verify(productRepository, times(1)).findById(productId);
+    }
+
     // getAllProducts 메서드 테스트
 
     @Test
@@ -181,6 +279,249 @@ class ProductServiceTest {
         verify(productMapper, never()).toDtoList(any());
     }
 
+    @Test
+    void getAllProducts_CatalogReady_SkipsDatabase(){
+        // Given
+        CatalogProduct catalogProduct = new CatalogProduct(1L, "Product A", null, 1000L, 10, null, null);
+        ProductResponseDto productResponseDto = createProductResponseDto(1L, "Product A", null, 1000L, 10, null, null);
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productCatalog.findAll()).thenReturn(List.of(catalogProduct));
+        when(productMapper.catalogToDto(catalogProduct)).thenReturn(productResponseDto);
+
+        // When
+        List<ProductResponseDto> result = productService.getAllProducts();
+
+        // Then
+        assertEquals(List.of(productResponseDto), result);
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllProducts_CatalogReadyLedgerEnabled_ReturnsLedgerStock(){
+        // Given
+        CatalogProduct catalogProduct = new CatalogProduct(1L, "Product A", null, 1000L, 10, null, null);
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productCatalog.findAll()).thenReturn(List.of(catalogProduct));
+        when(productMapper.catalogToDto(catalogProduct)).thenReturn(createProductResponseDto(1L, "Product A", null, 1000L, 10, null, null));
+        when(productStockService.ledgerAvailableStocks(List.of(1L))).thenReturn(Map.of(1L, 3));
+
+        // When
+        List<ProductResponseDto> result = productService.getAllProducts();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getStock());
+        assertEquals("Product A", result.get(0).getName());
+    }
+
+    // searchProducts 메서드 테스트
+
+    @Test
+    void searchProducts_IndexReady_ReturnsCatalogProductsInRankOrder(){
+        // Given
+        CatalogProduct first = new CatalogProduct(7L, "블루투스 스피커", null, 1000L, 10, null, null);
+        CatalogProduct second = new CatalogProduct(3L, "스피커 스탠드", null, 2000L, 0, null, null);
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productSearchIndex.search("스피커", 20)).thenReturn(List.of(
+                new ProductSearchIndex.Match(7L, 2.0), new ProductSearchIndex.Match(9L, 1.5), new ProductSearchIndex.Match(3L, 1.0)));
+        when(productCatalog.findById(7L)).thenReturn(Optional.of(first));
+        when(productCatalog.findById(9L)).thenReturn(Optional.empty());
+        when(productCatalog.findById(3L)).thenReturn(Optional.of(second));
+        when(productMapper.catalogToDto(any(CatalogProduct.class))).thenAnswer(invocation -> {
+            CatalogProduct product = invocation.getArgument(0);
+            return createProductResponseDto(product.id(), product.name(), null, product.price(), product.stock(), null, null);
+        });
+
+        // When
+        List<ProductResponseDto> result = productService.searchProducts("스피커", 20);
+
+        // Then
+        assertEquals(List.of(7L, 3L), result.stream().map(ProductResponseDto::getId).toList());
+        verify(productRepository, never()).searchCatalogProducts(any(), any());
+    }
+
+    @Test
+    void searchProducts_IndexNotReady_SearchesDatabaseWithClampedSize(){
+        // Given
+        when(productSearchIndex.isReady()).thenReturn(false);
+        when(productRepository.searchCatalogProducts("pen", PageRequest.of(0, 100))).thenReturn(List.of());
+
+        // When
+        List<ProductResponseDto> result = productService.searchProducts(" pen ", 1000);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(productRepository).searchCatalogProducts("pen", PageRequest.of(0, 100));
+    }
+
+    @Test
+    void searchProducts_BlankQuery_ThrowsException(){
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> productService.searchProducts(" ", 20));
+
+        // Then
+        assertEquals(ErrorCode.BAD_PARAMETER, exception.getErrorCode());
+    }
+
+    // getAvailablePurchaseProducts 메서드 테스트
+
+    @Test
+    void getAvailablePurchaseProducts_CatalogReady_SkipsDatabase(){
+        // Given
+        Pageable pageable = PageRequest.of(1, 1);
+        CatalogProduct catalogProduct = new CatalogProduct(2L, "Product B", null, 2000L, 5, null, null);
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productCatalog.findAvailable(pageable)).thenReturn(new PageImpl<>(List.of(catalogProduct), pageable, 3));
+        when(productMapper.catalogToDto(catalogProduct)).thenReturn(createProductResponseDto(2L, "Product B", null, 2000L, 5, null, null));
+
+        // When
+        PaginatedResponse<ProductResponseDto> result = productService.getAvailablePurchaseProducts(pageable);
+
+        // Then
+        assertEquals(List.of(2L), result.getContent().stream().map(ProductResponseDto::getId).toList());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        assertFalse(result.isLast());
+        verify(productRepository, never()).findByStockGreaterThanEqual(anyInt(), any());
+    }
+
+    @Test
+    void getAvailablePurchaseProducts_CatalogNotReady_QueriesAvailableStock(){
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.findByStockGreaterThanEqual(1, pageable)).thenReturn(Page.empty(pageable));
+
+        // When
+        PaginatedResponse<ProductResponseDto> result = productService.getAvailablePurchaseProducts(pageable);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        verify(productRepository, times(1)).findByStockGreaterThanEqual(1, pageable);
+    }
+
+    // exportProducts 메서드 테스트
+
+    @Test
+    void exportProducts_Ndjson_WritesOneLinePerProductAndDetaches() throws Exception {
+        // Given
+        Product productA = createProductEntity("Product A", "Description A", 1000L, 10);
+        Product productB = createProductEntity("Product B", null, 2000L, 20);
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.of(productA, productB));
+        when(productMapper.toDto(productA)).thenReturn(createProductResponseDto(1L, "Product A", "Description A", 1000L, 10, null, null));
+        when(productMapper.toDto(productB)).thenReturn(createProductResponseDto(2L, "Product B", null, 2000L, 20, null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        productService.exportProducts(out, ProductExportFormat.NDJSON);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\",\"name\":\"Product A\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"2\",\"name\":\"Product B\""));
+        verify(entityManager).detach(productA);
+        verify(entityManager).detach(productB);
+    }
+
+    @Test
+    void exportProducts_Json_WritesArray() throws Exception {
+        // Given
+        Product productA = createProductEntity("Product A", "Description A", 1000L, 10);
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.of(productA));
+        when(productMapper.toDto(productA)).thenReturn(createProductResponseDto(1L, "Product A", "Description A", 1000L, 10, null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        productService.exportProducts(out, ProductExportFormat.JSON);
+
+        // Then
+        ProductResponseDto[] result = objectMapper.readValue(out.toByteArray(), ProductResponseDto[].class);
+        assertEquals(1, result.length);
+        assertEquals("Product A", result[0].getName());
+    }
+
+    @Test
+    void exportProducts_Empty_WritesEmptyArray() throws Exception {
+        // Given
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        productService.exportProducts(out, ProductExportFormat.JSON);
+
+        // Then
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    // browseAvailableProducts 메서드 테스트
+
+    private Product createProductEntity(Long id, String name, Long price) {
+        return Product.builder().id(id).name(name).price(price).stock(1).build();
+    }
+
+    @Test
+    void browseAvailableProducts_FirstPage_ReturnsCursorOfLastItem(){
+        // Given
+        List<Product> products = List.of(createProductEntity(3L, "C", 3000L),
+                createProductEntity(2L, "B", 2000L), createProductEntity(1L, "A", 2000L));
+        when(productRepository.findAvailableAfter(ProductSort.PRICE_DESC, null, null, 3)).thenReturn(products);
+        when(productMapper.toDtoList(anyList())).thenAnswer(invocation -> {
+            List<Product> page = invocation.getArgument(0);
+            return page.stream().map(p -> createProductResponseDto(p.getId(), p.getName(), null, p.getPrice(), 1, null, null)).toList();
+        });
+
+        // When
+        CursorPageResponse<ProductResponseDto> page = productService.browseAvailableProducts(ProductSort.PRICE_DESC, null, 2, false);
+
+        // Then
+        assertEquals(List.of(3L, 2L), page.getContent().stream().map(ProductResponseDto::getId).toList());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        verify(productRepository, never()).countAvailable();
+
+        // 다음 페이지는 마지막 상품 (2000, 2) 다음부터 조회
+        when(productRepository.findAvailableAfter(ProductSort.PRICE_DESC, 2000L, 2L, 3)).thenReturn(List.of(products.get(2)));
+        CursorPageResponse<ProductResponseDto> next = productService.browseAvailableProducts(ProductSort.PRICE_DESC, page.getNextCursor(), 2, false);
+        assertEquals(List.of(1L), next.getContent().stream().map(ProductResponseDto::getId).toList());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void browseAvailableProducts_WithTotal_ReusesCountWithinTtl(){
+        // Given
+        when(productRepository.findAvailableAfter(any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(productMapper.toDtoList(anyList())).thenReturn(List.of());
+        when(productRepository.countAvailable()).thenReturn(42L);
+
+        // When
+        CursorPageResponse<ProductResponseDto> first = productService.browseAvailableProducts(ProductSort.NEWEST, null, 10, true);
+        CursorPageResponse<ProductResponseDto> second = productService.browseAvailableProducts(ProductSort.NAME, null, 10, true);
+
+        // Then
+        assertEquals(42L, first.getTotalElements());
+        assertEquals(42L, second.getTotalElements());
+        verify(productRepository, times(1)).countAvailable();
+    }
+
+    @Test
+    void browseAvailableProducts_CursorFromOtherSort_ThrowsException(){
+        // Given
+        Product last = createProductEntity(1L, "A", 1000L);
+        when(productRepository.findAvailableAfter(ProductSort.NAME, null, null, 2)).thenReturn(List.of(last, last));
+        when(productMapper.toDtoList(anyList())).thenReturn(List.of());
+        String cursor = productService.browseAvailableProducts(ProductSort.NAME, null, 1, false).getNextCursor();
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productService.browseAvailableProducts(ProductSort.PRICE_ASC, cursor, 1, false));
+        assertEquals(ErrorCode.BAD_PARAMETER, exception.getErrorCode());
+        BusinessException invalid = assertThrows(BusinessException.class,
+                () -> productService.browseAvailableProducts(ProductSort.NAME, "not-a-cursor", 1, false));
+        assertEquals(ErrorCode.BAD_PARAMETER, invalid.getErrorCode());
+    }
+
     // updateProduct 메서드 테스트
 
     @Test
@@ -199,6 +540,7 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).findById(productId);
+        verify(productStockService, times(1)).adjustStock(productId, 5);
         verify(productMapper, times(1)).updateEntityFromDto(productUpdateDto, existingProduct);
         verify(productRepository, never()).save(any());
     }
@@ -219,6 +561,7 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).findById(productId);
+        verify(productStockService, times(1)).adjustStock(productId, -5);
         verify(productMapper, times(1)).updateEntityFromDto(productUpdateDto, existingProduct);
         verify(productRepository, never()).save(any());
     }
@@ -231,6 +574,8 @@ class ProductServiceTest {
         Product existingProduct = createProductEntity("Product A", "Description A", 1000L, 10); // Current stock = 10
 
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+        doThrow(new BusinessException(ErrorCode.OUT_OF_STOCK))
+                .when(productStockService).adjustStock(productId, -15);
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -273,6 +618,7 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).deleteById(productId);
+        verify(productCache, times(1)).evict(productId);
     }
 
     @Test
@@ -0,0 +1,199 @@
+package com.marketsystem.api.v1.product.service;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.inventory.service.InventoryJournal;
+import com.marketsystem.api.v1.inventory.service.StockLedger;
+import com.marketsystem.api.v1.product.entity.Product;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.strategy.StockConcurrencyStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductStockServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private StockConcurrencyStrategy stockConcurrencyStrategy;
+
+    @Mock
+    private HotStockBucketService hotStockBucketService;
+
+    @Mock
+    private InventoryJournal inventoryJournal;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @InjectMocks
+    private ProductStockService productStockService;
+
+    @Captor
+    private ArgumentCaptor<SortedMap<Long, Integer>> quantitiesCaptor;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void decreaseStock_Success() {
+        // Given
+        Map<Long, Integer> quantities = new HashMap<>(Map.of(2002L, 1, 2001L, 3));
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of());
+
+        // When
+        productStockService.decreaseStock(quantities);
+
+        // Then
+        // 락 순서를 맞추기 위해 상품 ID 오름차순으로 한 번의 배치 요청
+        verify(stockConcurrencyStrategy, times(1)).decreaseAll(quantitiesCaptor.capture());
+        assertEquals(List.of(2001L, 2002L), new ArrayList<>(quantitiesCaptor.getValue().keySet()));
+        verify(productRepository, never()).findAllByIdIn(anySet());
+        verify(productCache, times(1)).evictAll(Set.of(2001L, 2002L));
+    }
+
+    @Test
+    void decreaseStock_ProductNotFound() {
+        // Given
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of(3001L));
+        when(productRepository.findAllByIdIn(Set.of(3001L))).thenReturn(List.of());
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productStockService.decreaseStock(Map.of(3001L, 2)));
+
+        assertEquals(ErrorCode.PRODUCT_NOT_FOUND, exception.getErrorCode());
+        assertEquals("Product ID: 3001", exception.getMessage());
+    }
+
+    @Test
+    void decreaseStock_OutOfStock() {
+        // Given
+        Product product = Product.builder()
+                .id(4001L)
+                .name("Product E")
+                .price(1000L)
+                .stock(2)
+                .build();
+
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of(4001L));
+        when(productRepository.findAllByIdIn(Set.of(4001L))).thenReturn(List.of(product));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productStockService.decreaseStock(Map.of(4001L, 5)));
+
+        assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
+        assertEquals("Product IDs out of stock: [4001]", exception.getMessage());
+    }
+
+    @Test
+    void tryDecreaseStock_OutOfStock_RestoresAppliedRows() {
+        // Given
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of(2002L));
+
+        // When
+        List<Long> failedIds = productStockService.tryDecreaseStock(Map.of(2001L, 3, 2002L, 1));
+
+        // Then
+        // 예외를 던지지 않으므로 먼저 차감한 상품은 직접 되돌림
+        assertEquals(List.of(2002L), failedIds);
+        verify(stockConcurrencyStrategy, times(1)).increaseAll(new TreeMap<>(Map.of(2001L, 3)));
+    }
+
+    @Test
+    void increaseStock_Success() {
+        // When
+        productStockService.increaseStock(Map.of(1001L, 2));
+
+        // Then
+        verify(stockConcurrencyStrategy, times(1)).increaseAll(new TreeMap<>(Map.of(1001L, 2)));
+    }
+
+    @Test
+    void decreaseStock_LedgerEnabled() {
+        // Given
+        Map<Long, Integer> quantities = Map.of(2001L, 3);
+        when(stockLedger.isEnabled()).thenReturn(true);
+
+        // When
+        productStockService.decreaseStock(quantities);
+
+        // Then
+        // 원장 모드에서는 DB를 거치지 않음
+        verify(stockLedger, times(1)).decrease(quantities);
+        verify(stockConcurrencyStrategy, never()).decreaseAll(any());
+    }
+
+    @Test
+    void adjustStock_Decrease_OutOfStock() {
+        // Given
+        Product product = Product.builder()
+                .id(5001L)
+                .name("Product F")
+                .price(1000L)
+                .stock(3)
+                .build();
+
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of(5001L));
+        when(productRepository.findAllByIdIn(Set.of(5001L))).thenReturn(List.of(product));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productStockService.adjustStock(5001L, -5));
+
+        assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
+        verify(stockConcurrencyStrategy, times(1)).decreaseAll(new TreeMap<>(Map.of(5001L, 5)));
+    }
+
+    @Test
+    void adjustStock_Increase() {
+        // When
+        productStockService.adjustStock(5001L, 4);
+
+        // Then
+        verify(stockConcurrencyStrategy, times(1)).increaseAll(new TreeMap<>(Map.of(5001L, 4)));
+        verify(stockConcurrencyStrategy, never()).decreaseAll(any());
+    }
+
+    @Test
+    void decreaseStock_HotProductFailure() {
+        // Given
+        Product product = Product.builder()
+                .id(6001L)
+                .name("Product G")
+                .price(1000L)
+                .stock(1)
+                .build();
+
+        // 핫 상품 줄은 버킷 서비스가 처리하고 맵에서 제거
+        when(hotStockBucketService.decreaseHot(any())).thenAnswer(inv -> {
+            inv.<SortedMap<Long, Integer>>getArgument(0).remove(6001L);
+            return List.of(6001L);
+        });
+        when(stockConcurrencyStrategy.decreaseAll(any())).thenReturn(List.of());
+        when(productRepository.findAllByIdIn(Set.of(6001L))).thenReturn(List.of(product));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productStockService.decreaseStock(Map.of(6001L, 5, 6002L, 1)));
+
+        assertEquals(ErrorCode.OUT_OF_STOCK, exception.getErrorCode());
+        verify(stockConcurrencyStrategy, times(1)).decreaseAll(new TreeMap<>(Map.of(6002L, 1)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import com.marketsystem.api.v1.common.enums.ErrorCode;
+import com.marketsystem.api.v1.common.exception.BusinessException;
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepository.StockVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OptimisticStockStrategyTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private OptimisticStockStrategy optimisticStockStrategy;
+
+    @BeforeEach
+    void setUp(){
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(optimisticStockStrategy, "backoffMs", 0L);
+    }
+
+    @Test
+    void decreaseAll_RetriesOnlyConflictedProducts() {
+        // Given
+        when(productRepository.findStockVersions(any(), eq(false)))
+                .thenReturn(List.of(new StockVersion(1L, 10, 1L), new StockVersion(2L, 10, 1L)))
+                .thenReturn(List.of(new StockVersion(2L, 8, 2L)));
+        when(productRepository.compareAndSetStockAll(anyList()))
+                .thenReturn(List.of(2L))
+                .thenReturn(List.of());
+
+        // When
+        List<Long> failedIds = optimisticStockStrategy.decreaseAll(new TreeMap<>(Map.of(1L, 3, 2L, 3)));
+
+        // Then
+        assertTrue(failedIds.isEmpty());
+        verify(productRepository).compareAndSetStockAll(List.of(new StockVersion(1L, 7, 1L), new StockVersion(2L, 7, 1L)));
+        verify(productRepository).compareAndSetStockAll(List.of(new StockVersion(2L, 5, 2L)));
+        assertEquals(1, optimisticStockStrategy.conflictCount());
+    }
+
+    @Test
+    void decreaseAll_GivesUpAfterMaxAttempts() {
+        // Given
+        when(productRepository.findStockVersions(any(), eq(false))).thenReturn(List.of(new StockVersion(1L, 10, 1L)));
+        when(productRepository.compareAndSetStockAll(anyList())).thenReturn(List.of(1L));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> optimisticStockStrategy.decreaseAll(new TreeMap<>(Map.of(1L, 1))));
+
+        assertEquals(ErrorCode.CONFLICT, exception.getErrorCode());
+        verify(productRepository, times(5)).compareAndSetStockAll(anyList());
+    }
+
+    @Test
+    void decreaseAll_ConflictAfterOtherRowsUpdated_RetriesWithoutBackoff() {
+        // Given: 상품 1은 갱신되어 행 락을 잡았고 상품 2만 충돌 (대기하면 인터럽트로 실패하도록 인터럽트 상태로 호출)
+        when(productRepository.findStockVersions(any(), eq(false)))
+                .thenReturn(List.of(new StockVersion(1L, 10, 1L), new StockVersion(2L, 10, 1L)))
+                .thenReturn(List.of(new StockVersion(2L, 8, 2L)));
+        when(productRepository.compareAndSetStockAll(anyList()))
+                .thenReturn(List.of(2L))
+                .thenReturn(List.of());
+        Thread.currentThread().interrupt();
+
+        // When
+        List<Long> failedIds;
+        try {
+            failedIds = optimisticStockStrategy.decreaseAll(new TreeMap<>(Map.of(1L, 3, 2L, 3)));
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Then
+        assertTrue(failedIds.isEmpty());
+        verify(productRepository, times(2)).compareAndSetStockAll(anyList());
+    }
+
+    @Test
+    void decreaseAll_AllConflictedBeforeAnyUpdate_BacksOff() {
+        // Given: 갱신된 행이 없으므로 대기하며, 인터럽트 상태라 대기 중 실패
+        when(productRepository.findStockVersions(any(), eq(false))).thenReturn(List.of(new StockVersion(1L, 10, 1L)));
+        when(productRepository.compareAndSetStockAll(anyList())).thenReturn(List.of(1L));
+        Thread.currentThread().interrupt();
+
+        // When & Then
+        BusinessException exception;
+        try {
+            exception = assertThrows(BusinessException.class,
+                    () -> optimisticStockStrategy.decreaseAll(new TreeMap<>(Map.of(1L, 1))));
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(ErrorCode.CONFLICT, exception.getErrorCode());
+        verify(productRepository, times(1)).compareAndSetStockAll(anyList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.marketsystem.api.v1.product.strategy;
+
+import com.marketsystem.api.v1.product.repository.ProductRepository;
+import com.marketsystem.api.v1.product.repository.ProductStockRepositoryImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 재고 동시성 전략별 경합 벤치마크. (./gradlew benchmark)
+ * 소수의 인기 상품에 여러 스레드가 동시에 주문을 넣을 때 처리량과 중단(롤백) 비율을 비교하고,
+ * 커밋된 수량만큼만 재고가 줄었는지 함께 검증한다.
+ */
+@Tag("benchmark")
+class StockConcurrencyStrategyBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 300;
+    private static final int HOT_PRODUCTS = 4;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static ProductRepository productRepository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:stock_benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setMaximumPoolSize(THREADS);
+        dataSource.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        productRepository = mock(ProductRepository.class, withSettings().stubOnly()
+                .defaultAnswer(AdditionalAnswers.delegatesTo(new ProductStockRepositoryImpl(jdbcTemplate))));
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, stock INT NOT NULL, "
+                + "version BIGINT DEFAULT 0 NOT NULL, updated_at TIMESTAMP)");
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void resetStock() {
+        jdbcTemplate.update("DELETE FROM product");
+        for (long id = 1; id <= HOT_PRODUCTS; id++) {
+            jdbcTemplate.update("INSERT INTO product (id, stock) VALUES (?, ?)", id, INITIAL_STOCK);
+        }
+    }
+
+    @Test
+    void atomicSql() throws InterruptedException {
+        run("atomic", new AtomicSqlStockStrategy(productRepository));
+    }
+
+    @Test
+    void optimistic() throws InterruptedException {
+        OptimisticStockStrategy strategy = new OptimisticStockStrategy(productRepository);
+        Result result = run("optimistic", strategy);
+        System.out.printf("%-12s version conflicts retried=%d%n", "optimistic", strategy.conflictCount());
+        assertTrue(result.committed() > 0);
+    }
+
+    @Test
+    void pessimistic() throws InterruptedException {
+        run("pessimistic", new PessimisticStockStrategy(productRepository));
+    }
+
+    private Result run(String name, StockConcurrencyStrategy strategy) throws InterruptedException {
+        AtomicLong committed = new AtomicLong();
+        AtomicLong aborted = new AtomicLong();
+        AtomicLong soldUnits = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    SortedMap<Long, Integer> order = randomOrder();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            if (!strategy.decreaseAll(order).isEmpty()) {
+                                throw new IllegalStateException("out of stock");
+                            }
+                        });
+                        committed.incrementAndGet();
+                        soldUnits.addAndGet(order.values().stream().mapToInt(Integer::intValue).sum());
+                    } catch (RuntimeException e) {
+                        aborted.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        long total = committed.get() + aborted.get();
+        System.out.printf("%-12s orders=%d committed=%d aborted=%d abortRate=%.2f%% throughput=%.0f orders/s%n",
+                name, total, committed.get(), aborted.get(), 100.0 * aborted.get() / total, committed.get() / seconds);
+
+        // 커밋된 주문 수량만큼만 재고가 줄어야 한다. (갱신 손실 없음)
+        Long remaining = jdbcTemplate.queryForObject("SELECT SUM(stock) FROM product", Long.class);
+        assertEquals((long) INITIAL_STOCK * HOT_PRODUCTS - soldUnits.get(), remaining);
+        return new Result(committed.get(), aborted.get());
+    }
+
+    private SortedMap<Long, Integer> randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SortedMap<Long, Integer> order = new TreeMap<>();
+        int lines = random.nextInt(1, HOT_PRODUCTS);
+        while (order.size() < lines) {
+            order.put(random.nextLong(1, HOT_PRODUCTS + 1), random.nextInt(1, 3));
+        }
+        return order;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(long committed, long aborted) {
+    }
+}